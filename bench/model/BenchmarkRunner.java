@@ -0,0 +1,34 @@
+package model;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * BenchmarkRunner - Runs the JMH benchmarks of the model and view with the GC profiler
+ *
+ * Every benchmark reports throughput and, through the GC profiler,
+ * gc.alloc.rate.norm (bytes allocated per operation), so both slowdowns and
+ * new allocations in the hot paths show up when the numbers are compared.
+ *
+ * Usage: BenchmarkRunner [JMH options] [regex]
+ * Without a regex, all classes named *Benchmark under model and view are run.
+ */
+public class BenchmarkRunner {
+    private static final String ALL_BENCHMARKS = "(model|view)\\..*Benchmark";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine)
+               .addProfiler(GCProfiler.class)
+               .shouldFailOnError(true);
+        if (args.length == 0) {
+            builder.include(ALL_BENCHMARKS);
+        }
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,62 @@
+package model.core.entities;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Ownership registry operations: a buy followed by a sale, the lookup used
+ * before every purchase, and eliminating a player holding 10 properties.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BankBenchmark {
+    private Bank bank;
+    private Property[] properties;
+    private Player player;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Board board = BoardInitializer.createStandardBoard(new GameRandom(1L));
+        bank = new Bank(200000, board);
+        properties = board.getProperties().toArray(new Property[0]);
+        player = new Player("Jogador1", "Azul", new Car("Azul", board, 0), 4000);
+        bank.registerPlayer(player);
+    }
+
+    @Benchmark
+    public long buyAndSell() {
+        Property property = properties[next++ % properties.length];
+        bank.assignOwner(property, player);
+        bank.returnPropertyToBank(property);
+        return bank.getOwnershipVersion();
+    }
+
+    @Benchmark
+    public boolean isPropertyUnowned() {
+        return bank.isPropertyUnowned(properties[next++ % properties.length]);
+    }
+
+    @Benchmark
+    public long eliminatePlayer() {
+        for (int i = 0; i < 10; i++) {
+            bank.assignOwner(properties[i], player);
+        }
+        bank.returnAllPropertiesToBank(player);
+        return bank.getOwnershipVersion();
+    }
+}
@@ -0,0 +1,47 @@
+package model.core.entities;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Drawing from the luck deck the way LuckSpace does: draw, discard, and
+ * reshuffle the discard pile when the deck runs out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LuckDeckBenchmark {
+    private LuckDeck deck;
+
+    @Setup
+    public void setUp() {
+        deck = new LuckDeck(new GameRandom(1L));
+        deck.setPrisonSpace(new Prison("Prisão", null));
+        deck.setAllPlayers(new ArrayList<>());
+    }
+
+    @Benchmark
+    public LuckCard drawAndDiscard() {
+        LuckCard card = deck.drawCard();
+        if (card == null) {
+            deck.reset();
+            card = deck.drawCard();
+        }
+        deck.discard(card);
+        return card;
+    }
+}
@@ -0,0 +1,57 @@
+package model.core.entities;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Board movement: the bare index arithmetic of Car.advancePosition, and a
+ * full ModelFacade.moveCurrentPlayer including the event of the landing
+ * space (rent, luck cards, prison).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovementBenchmark {
+    private Car car;
+    private ModelFacade facade;
+    private GameRandom steps;
+
+    @Setup
+    public void setUp() {
+        Board board = BoardInitializer.createStandardBoard(new GameRandom(1L));
+        car = new Car("Azul", board, 0);
+
+        List<String> names = Arrays.asList("Jogador1", "Jogador2", "Jogador3", "Jogador4");
+        List<String> colors = Arrays.asList("Vermelho", "Azul", "Laranja", "Amarelo");
+        facade = new ModelFacade();
+        facade.initializeGame(names.size(), names, colors, 1L);
+        steps = new GameRandom(2L);
+    }
+
+    @Benchmark
+    public boolean carAdvancePosition() {
+        return car.advancePosition(steps.rollDie() + steps.rollDie());
+    }
+
+    @Benchmark
+    public void moveCurrentPlayer() {
+        int[] dice = facade.rollDice();
+        facade.moveCurrentPlayer(dice[0] + dice[1]);
+        facade.nextTurn();
+    }
+}
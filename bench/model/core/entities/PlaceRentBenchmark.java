@@ -0,0 +1,88 @@
+package model.core.entities;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Rent lookup of Place (precomputed int table) against the previous
+ * implementation (building counts in a map, rent recomputed with doubles on
+ * every landing). Both walk the same 28 places in mixed building states.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaceRentBenchmark {
+    private Place[] places;
+    private LegacyPlace[] legacyPlaces;
+
+    @Setup
+    public void setUp() {
+        Board board = BoardInitializer.createStandardBoard(new GameRandom(1L));
+        places = board.getPlaces().toArray(new Place[0]);
+        legacyPlaces = new LegacyPlace[places.length];
+
+        for (int i = 0; i < places.length; i++) {
+            int houses = i % 5;
+            int hotels = (i % 7 == 0 && houses > 0) ? 1 : 0;
+            places[i].setHouses(houses);
+            places[i].setHotels(hotels);
+            legacyPlaces[i] = new LegacyPlace(places[i].getCost(), places[i].getHotelRent(), houses, hotels);
+        }
+    }
+
+    @Benchmark
+    public void rentTable(Blackhole bh) {
+        for (Place place : places) {
+            bh.consume(place.calculateRent());
+        }
+    }
+
+    @Benchmark
+    public void legacyMapAndDoubles(Blackhole bh) {
+        for (LegacyPlace place : legacyPlaces) {
+            bh.consume(place.calculateRent());
+        }
+    }
+
+    /** The building state and rent formula Place used before the rent table. */
+    static class LegacyPlace {
+        private enum Building { HOUSE, HOTEL }
+
+        private final int cost;
+        private final int hotelRent;
+        private final Map<Building, Integer> buildings;
+
+        LegacyPlace(int cost, int hotelRent, int houses, int hotels) {
+            this.cost = cost;
+            this.hotelRent = hotelRent;
+            this.buildings = new HashMap<>();
+            buildings.put(Building.HOUSE, houses);
+            buildings.put(Building.HOTEL, hotels);
+        }
+
+        int calculateRent() {
+            int baseRent = (int) (cost * 0.10);
+            int rentPerHouse = (int) (cost * 0.15);
+            Integer houses = buildings.get(Building.HOUSE);
+            Integer hotels = buildings.get(Building.HOTEL);
+            int hotel = (hotels != null && hotels > 0) ? hotelRent : 0;
+            return baseRent + rentPerHouse * (houses == null ? 0 : houses) + hotel;
+        }
+    }
+}
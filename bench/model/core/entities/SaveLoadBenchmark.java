@@ -0,0 +1,108 @@
+package model.core.entities;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Save and load of a mid-game state (with a 500-message log) through the
+ * text and the compact binary formats used by the "Salvar"/"Carregar" buttons.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveLoadBenchmark {
+    private ModelFacade facade;
+    private File saveFile;
+    private String savePath;
+    private File binaryFile;
+    private String binaryPath;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> names = Arrays.asList("Jogador1", "Jogador2", "Jogador3", "Jogador4");
+        List<String> colors = Arrays.asList("Vermelho", "Azul", "Laranja", "Amarelo");
+        facade = new ModelFacade();
+        facade.initializeGame(names.size(), names, colors, 1L);
+
+        // Play some turns so the save has owners, buildings and prison state
+        for (int turn = 0; turn < 120; turn++) {
+            int[] dice = facade.rollDice();
+            facade.moveCurrentPlayer(dice[0] + dice[1]);
+            facade.handleManualLuckCard();
+            facade.buyCurrentProperty();
+            facade.nextTurn();
+        }
+
+        // A long game's history, as shown in the log panel
+        List<String> messages = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            messages.add("Jogador" + (i % 4 + 1) + " tirou " + (i % 11 + 2) + " e andou até a casa " + (i % 40));
+        }
+        controller.GameState.getInstance().setLogMessages(messages);
+
+        saveFile = File.createTempFile("bench_save", ".txt");
+        savePath = saveFile.getAbsolutePath();
+        GameStateSaver.saveToFile(savePath, facade);
+
+        binaryFile = File.createTempFile("bench_save", ".bin");
+        binaryPath = binaryFile.getAbsolutePath();
+        GameStateBinaryCodec.saveToFile(binaryPath, facade);
+    }
+
+    @TearDown
+    public void tearDown() {
+        saveFile.delete();
+        binaryFile.delete();
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        GameStateSaver.saveToFile(savePath, facade);
+    }
+
+    @Benchmark
+    public ModelFacade load() throws IOException {
+        return GameStateLoader.loadFromFile(savePath);
+    }
+
+    @Benchmark
+    public ModelFacade roundTrip() throws IOException {
+        GameStateSaver.saveToFile(savePath, facade);
+        return GameStateLoader.loadFromFile(savePath);
+    }
+
+    @Benchmark
+    public void saveBinary() throws IOException {
+        GameStateBinaryCodec.saveToFile(binaryPath, facade);
+    }
+
+    @Benchmark
+    public ModelFacade loadBinary() throws IOException {
+        return GameStateLoader.loadFromFile(binaryPath);
+    }
+
+    @Benchmark
+    public ModelFacade roundTripBinary() throws IOException {
+        GameStateBinaryCodec.saveToFile(binaryPath, facade);
+        return GameStateLoader.loadFromFile(binaryPath);
+    }
+}
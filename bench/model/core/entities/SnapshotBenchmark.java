@@ -0,0 +1,85 @@
+package model.core.entities;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rolling a mid-game state back with an in-memory GameSnapshot, compared to
+ * writing it as a text save and loading it again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+    private ModelFacade facade;
+    private GameSnapshot snapshot;
+    private File saveFile;
+    private String savePath;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> names = Arrays.asList("Jogador1", "Jogador2", "Jogador3", "Jogador4");
+        List<String> colors = Arrays.asList("Vermelho", "Azul", "Laranja", "Amarelo");
+        facade = new ModelFacade();
+        facade.initializeGame(names.size(), names, colors, 1L);
+
+        // Play some turns so the state has owners, buildings and prison state
+        for (int turn = 0; turn < 120; turn++) {
+            int[] dice = facade.rollDice();
+            facade.moveCurrentPlayer(dice[0] + dice[1]);
+            facade.handleManualLuckCard();
+            facade.buyCurrentProperty();
+            facade.buildHouseOnCurrentProperty();
+            facade.nextTurn();
+        }
+        snapshot = facade.snapshot();
+
+        saveFile = File.createTempFile("bench_snapshot", ".txt");
+        savePath = saveFile.getAbsolutePath();
+    }
+
+    @TearDown
+    public void tearDown() {
+        saveFile.delete();
+    }
+
+    @Benchmark
+    public GameSnapshot snapshot() {
+        return facade.snapshot();
+    }
+
+    @Benchmark
+    public ModelFacade restore() {
+        facade.restore(snapshot);
+        return facade;
+    }
+
+    @Benchmark
+    public ModelFacade copy() {
+        return facade.copy();
+    }
+
+    @Benchmark
+    public ModelFacade textRoundTrip() throws IOException {
+        GameStateSaver.saveToFile(savePath, facade);
+        return GameStateLoader.loadFromFile(savePath);
+    }
+}
@@ -0,0 +1,161 @@
+package view;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import controller.AutosaveManager;
+import controller.GameController;
+import controller.GameState;
+
+/**
+ * Frame time of BoardPanel for a pawn move, a dice change and a new message:
+ * painting the whole panel (as every notification did before) against
+ * painting only the dirty regions reported by collectDirtyRegions, clipped
+ * to their union the way Swing's RepaintManager does.
+ *
+ * Runs headless and loads the images from assets/, so it must be started
+ * from the project root.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BoardPanelRenderBenchmark {
+    private GameState gameState;
+    private BoardPanel panel;
+    private BufferedImage screen;
+    private Map<Integer, Integer> positionsA;
+    private Map<Integer, Integer> positionsB;
+    private boolean flip;
+    private final List<Rectangle> regions = new ArrayList<>();
+    private File journalFile;
+    private AutosaveManager autosave;
+
+    @Setup
+    public void setUp() throws InterruptedException, IOException {
+        // Own journal, so the benchmark never touches partidas_salvas/autosave.journal
+        journalFile = Files.createTempFile("bench_autosave", ".journal").toFile();
+        autosave = new AutosaveManager(journalFile);
+        GameController controller = new GameController(autosave);
+        controller.startNewGame(Arrays.asList("Jogador1", "Jogador2", "Jogador3"),
+                                Arrays.asList("Vermelho", "Azul", "Laranja"));
+        gameState = controller.getGameState();
+        panel = new BoardPanel(gameState, controller);
+        panel.setSize(1000, 800);
+        panel.awaitAssets(10000);
+        screen = new BufferedImage(1000, 800, BufferedImage.TYPE_INT_RGB);
+
+        positionsA = new HashMap<>(gameState.getAllPlayerPositions());
+        positionsB = new HashMap<>(positionsA);
+        positionsB.put(0, (positionsA.get(0) + 3) % 40);
+
+        // First paint builds the cached layers
+        paint(null);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        autosave.flush(5, TimeUnit.SECONDS);
+        autosave.shutdown();
+        journalFile.delete();
+    }
+
+    @Benchmark
+    public void pawnMoveFullRepaint() {
+        movePawn();
+        paint(null);
+    }
+
+    @Benchmark
+    public void pawnMoveDirtyRegions() {
+        movePawn();
+        paintDirty(GameState.CHANGE_POSITIONS);
+    }
+
+    @Benchmark
+    public void diceFullRepaint() {
+        rollDice();
+        paint(null);
+    }
+
+    @Benchmark
+    public void diceDirtyRegions() {
+        rollDice();
+        paintDirty(GameState.CHANGE_DICE);
+    }
+
+    @Benchmark
+    public void messageFullRepaint() {
+        newMessage();
+        paint(null);
+    }
+
+    @Benchmark
+    public void messageDirtyRegions() {
+        newMessage();
+        paintDirty(GameState.CHANGE_MESSAGE);
+    }
+
+    private void movePawn() {
+        flip = !flip;
+        gameState.setAllPlayerPositions(flip ? positionsB : positionsA);
+    }
+
+    private void rollDice() {
+        flip = !flip;
+        gameState.setDiceRoll(flip ? 3 : 5, flip ? 4 : 2);
+    }
+
+    private void newMessage() {
+        flip = !flip;
+        gameState.setMessage(flip ? "Vez do próximo jogador" : "Propriedade disponível");
+    }
+
+    private void paintDirty(int changes) {
+        regions.clear();
+        panel.collectDirtyRegions(changes, regions);
+        Rectangle union = null;
+        for (Rectangle region : regions) {
+            union = union == null ? new Rectangle(region) : union.union(region);
+        }
+        if (union != null) {
+            paint(union);
+        }
+    }
+
+    private void paint(Rectangle clip) {
+        Graphics2D g = screen.createGraphics();
+        try {
+            if (clip != null) {
+                g.setClip(clip);
+            }
+            panel.paint(g);
+        } finally {
+            g.dispose();
+        }
+    }
+}
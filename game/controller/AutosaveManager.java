@@ -0,0 +1,171 @@
+package controller;
+
+import model.core.entities.AutosaveJournal;
+import model.core.entities.GameRecording;
+import model.core.entities.ModelFacade;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.*;
+
+/**
+ * AutosaveManager - Salvamento automático a cada turno, em segundo plano
+ *
+ * Ao fim de cada turno o estado é copiado do Model (na thread da interface,
+ * leva microssegundos) e entregue a uma thread própria, que grava no diário
+ * (AutosaveJournal) só o que mudou no turno. A cada "checkpointTurns" turnos
+ * o estado completo é gravado e o diário recomeça. A EDT nunca espera pelo
+ * disco: se ele estiver lento, as gravações ficam na fila.
+ *
+ * Se o programa cair, recover() reconstrói a partida a partir do diário.
+ * Quando a partida termina, o diário é apagado.
+ *
+ * A mesma thread grava as gravações de partidas (GameRecording), quando o
+ * modo de gravação está ligado.
+ */
+public class AutosaveManager {
+    public static final int DEFAULT_CHECKPOINT_TURNS = Integer.getInteger("bancoimobiliario.checkpointTurns", 10);
+
+    private final AutosaveJournal journal;
+    private final String journalPath;
+    private final int checkpointTurns;
+    private final ExecutorService writer;
+    private int turn;
+
+    /**
+     * @param journalFile Arquivo do diário
+     */
+    public AutosaveManager(File journalFile) {
+        this(journalFile, DEFAULT_CHECKPOINT_TURNS);
+    }
+
+    /**
+     * @param journalFile Arquivo do diário
+     * @param checkpointTurns A cada quantos turnos gravar o estado completo
+     */
+    public AutosaveManager(File journalFile, int checkpointTurns) {
+        if (checkpointTurns < 1) {
+            throw new IllegalArgumentException("Intervalo de checkpoint inválido: " + checkpointTurns);
+        }
+        this.journalPath = journalFile.getAbsolutePath();
+        this.journal = new AutosaveJournal(journalPath);
+        this.checkpointTurns = checkpointTurns;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Partida nova ou carregada: grava o estado completo
+     *
+     * @param facade Partida atual
+     * @param turnsPlayed Turnos já jogados (0 para partida nova)
+     */
+    public void gameStarted(ModelFacade facade, int turnsPlayed) {
+        turn = turnsPlayed;
+        submit(AutosaveJournal.capture(facade, turn), true);
+    }
+
+    /**
+     * Fim de turno: grava o que mudou (ou o estado completo, a cada
+     * checkpointTurns turnos)
+     */
+    public void turnEnded(ModelFacade facade) {
+        turn++;
+        submit(AutosaveJournal.capture(facade, turn), turn % checkpointTurns == 0);
+    }
+
+    /**
+     * A partida terminou: não há o que recuperar
+     */
+    public void gameOver() {
+        writer.execute(() -> {
+            try {
+                journal.delete();
+            } catch (IOException e) {
+                System.err.println("Erro ao apagar o salvamento automático: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Grava a partida até aqui para reprodução. A gravação é copiada na
+     * thread que chama (a da interface) e escrita em segundo plano.
+     * 
+     * @param recording Gravação em andamento
+     * @param file Arquivo .rec (substituído a cada chamada)
+     */
+    public void saveRecording(GameRecording recording, File file) {
+        GameRecording copy = recording.copy();
+        String path = file.getAbsolutePath();
+        try {
+            writer.execute(() -> {
+                try {
+                    copy.saveToFile(path);
+                } catch (IOException e) {
+                    System.err.println("Erro ao gravar a partida: " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Já encerrado
+        }
+    }
+    
+    private void submit(AutosaveJournal.Capture capture, boolean checkpoint) {
+        try {
+            writer.execute(() -> {
+                try {
+                    journal.append(capture, checkpoint);
+                } catch (IOException | RuntimeException e) {
+                    // O próximo turno tenta de novo, com um checkpoint
+                    System.err.println("Erro no salvamento automático: " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Já encerrado
+        }
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Espera as gravações pendentes
+     *
+     * @return true se terminaram dentro do prazo
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        Future<?> done = writer.submit(() -> { });
+        try {
+            done.get(timeout, unit);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Grava o que falta e encerra a thread do diário
+     */
+    public void shutdown() {
+        writer.execute(journal::close);
+        writer.shutdown();
+    }
+
+    public boolean hasJournal() {
+        return journal.exists();
+    }
+
+    /**
+     * Reconstrói a última partida do diário. Lê o disco, então deve ser
+     * chamado fora da EDT.
+     *
+     * @return A partida recuperada, ou null se não há diário válido
+     */
+    public AutosaveJournal.Recovery recover() throws IOException {
+        return AutosaveJournal.replay(journalPath);
+    }
+}
@@ -4,29 +4,121 @@ import model.core.entities.ModelFacade;
 import model.core.entities.ModelFacade.PropertyInfo;
 import model.core.entities.ModelFacade.PropertyDetails;
 import model.core.entities.GameStateSaver;
+import model.core.entities.GameStateBinaryCodec;
 import model.core.entities.GameStateLoader;
+import model.core.entities.AutosaveJournal;
+import model.core.entities.GameRecording;
+import model.simulation.BotMove;
+import model.simulation.DecisionPolicy;
+import model.simulation.PurchaseAdvice;
+import model.simulation.PurchaseAdvisor;
+import model.simulation.ReplayEngine;
+import java.io.File;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Cada ação pública roda dentro de um lote do GameState
+ * (beginUpdate/endUpdate), então a View recebe uma única notificação por
+ * ação, com a máscara do que mudou.
+ *
+ * Ao fim de cada turno a partida é salva automaticamente (AutosaveManager),
+ * e pode ser recuperada se o programa fechar sem salvar.
+ *
+ * Com -Dbancoimobiliario.record=true cada partida nova também é gravada
+ * (GameRecording) em partidas_salvas/gravacoes, e uma gravação pode ser
+ * reproduzida turno a turno (startReplay/stepReplay). Durante a reprodução
+ * as ações dos jogadores ficam bloqueadas.
+ *
+ * Quando o jogador pode comprar ou construir onde parou, o PurchaseAdvisor
+ * simula a partida adiante em segundo plano (até ~200 ms) e a View mostra
+ * quanto a compra vale contra passar; a estimativa é cancelada assim que o
+ * estado muda (compra, fim do turno, desfazer...).
+ *
+ * Jogadores podem ser bots (DecisionPolicy). A jogada do bot é decidida
+ * numa cópia da partida, numa thread própria (playBotStep), e depois
+ * repetida aqui pelas mesmas ações que um jogador humano usaria.
+ */
 public class GameController {
     private ModelFacade modelFacade;  // Acesso ao Model via Facade
     private GameState gameState;       // Estado observável para View
     private String loadedFilePath;     // Caminho do arquivo carregado (para sobrescrever ao salvar)
+    private final AutosaveManager autosave;
+    private volatile AutosaveJournal.Recovery pendingRecovery;  // partida encontrada no diário
+    private final boolean recordGames;
+    private File recordingFile;        // Gravação da partida atual (null se não está gravando)
+    private ReplayEngine replay;       // Reprodução em andamento (null se é uma partida normal)
+    private boolean replayDiverged;    // A reprodução parou por não bater com a gravação
+    private final PurchaseAdvisor advisor = new PurchaseAdvisor();
+    private volatile PurchaseAdvisor.Request adviceRequest;  // estimativa do estado atual (ou null)
+    private long adviceStateHash;
+    private volatile Runnable adviceListener;
+    private final Map<String, DecisionPolicy> bots = new HashMap<>();  // jogador -> bot
+    private ExecutorService botThread;  // criada no primeiro passo de um bot
+    private boolean botStepPending;
+    private BotMove appliedBotMove;     // jogada do bot sendo repetida (ou null)
     
     public GameController() {
+        this(new AutosaveManager(SaveFileManager.getAutosaveFile()));
+    }
+    
+    public GameController(AutosaveManager autosave) {
+        this(autosave, Boolean.getBoolean("bancoimobiliario.record"));
+    }
+    
+    /**
+     * @param autosave Salvamento automático
+     * @param recordGames true para gravar as partidas novas para reprodução
+     */
+    public GameController(AutosaveManager autosave, boolean recordGames) {
         this.modelFacade = new ModelFacade();
         this.gameState = GameState.getInstance();
         this.loadedFilePath = null;
+        this.autosave = autosave;
+        this.recordGames = recordGames;
+        this.modelFacade.enableUndo();
     }
     
     /**
      * Inicializa novo jogo
      */
     public void startNewGame(List<String> playerNames, List<String> colors) {
-        // Delega para ModelFacade
-        modelFacade.initializeGame(playerNames.size(), playerNames, colors);
+        startNewGame(playerNames, colors, Collections.emptyList());
+    }
+    
+    /**
+     * Inicializa novo jogo com bots em alguns lugares
+     * 
+     * @param seatBots Bot de cada jogador, na ordem (null para humano); pode
+     *                 ser menor que a lista de jogadores
+     */
+    public void startNewGame(List<String> playerNames, List<String> colors, List<DecisionPolicy> seatBots) {
+        gameState.beginUpdate();
+        try {
+            bots.clear();
+            for (int i = 0; i < seatBots.size() && i < playerNames.size(); i++) {
+                if (seatBots.get(i) != null) {
+                    bots.put(playerNames.get(i), seatBots.get(i));
+                }
+            }
+            // Delega para ModelFacade
+            modelFacade.initializeGame(playerNames.size(), playerNames, colors);
+            replay = null;
+            recordingFile = null;
+            if (recordGames) {
+                modelFacade.startRecording();
+                recordingFile = SaveFileManager.generateRecordingFile(playerNames);
+                log("Gravando a partida em: " + recordingFile.getPath());
+            }
         
-        // Atualiza GameState com informações do primeiro jogador
-        updateGameState();
+            // Atualiza GameState com informações do primeiro jogador
+            updateGameState();
+            autosave.gameStarted(modelFacade, 0);
+        } finally {
+            gameState.endUpdate();
+        }
     }
     
     private void log(String msg) {
@@ -36,60 +128,70 @@ public class GameController {
      * Rola os dados e move o jogador atual
      */
     public void rollDice() {
-        // Reset shouldRollAgain at the start of a new roll
-        gameState.setShouldRollAgain(false);
+        if (blockedByReplay()) {
+            return;
+        }
+        gameState.beginUpdate();
+        modelFacade.beginAction();  // rolar, andar e a carta: um passo só para desfazer
+        try {
+            // Reset shouldRollAgain at the start of a new roll
+            gameState.setShouldRollAgain(false);
         
-        // Rola dados através do Facade
-        int[] diceResults = modelFacade.rollDice();
+            // Rola dados através do Facade
+            int[] diceResults = modelFacade.rollDice();
         
-        // Atualiza GameState com resultado dos dados
-        gameState.setDiceRoll(diceResults[0], diceResults[1]);
+            // Atualiza GameState com resultado dos dados
+            gameState.setDiceRoll(diceResults[0], diceResults[1]);
         
-        // Verifica se o jogador está na prisão
-        if (modelFacade.isCurrentPlayerInPrison()) {
-            handlePrisonTurn(diceResults[0], diceResults[1]);
-            return;
-        }
+            // Verifica se o jogador está na prisão
+            if (modelFacade.isCurrentPlayerInPrison()) {
+                handlePrisonTurn(diceResults[0], diceResults[1]);
+                return;
+            }
         
-        // Move jogador
-        int total = diceResults[0] + diceResults[1];
-        modelFacade.moveCurrentPlayer(total);
+            // Move jogador
+            int total = diceResults[0] + diceResults[1];
+            modelFacade.moveCurrentPlayer(total);
         
-        // Captura mensagem do evento
-        String eventMessage = modelFacade.getLastEventMessage();
-        if (!eventMessage.isEmpty()) {
-            log(modelFacade.getCurrentPlayerName() + ": " + eventMessage);
-            gameState.setMessage(eventMessage);
-        }
-        else{
-            log(modelFacade.getCurrentPlayerName() + " avançou para " + modelFacade.getCurrentSpaceName());
-        }
+            // Captura mensagem do evento
+            String eventMessage = modelFacade.getLastEventMessage();
+            if (!eventMessage.isEmpty()) {
+                log(modelFacade.getCurrentPlayerName() + ": " + eventMessage);
+                gameState.setMessage(eventMessage);
+            }
+            else{
+                log(modelFacade.getCurrentPlayerName() + " avançou para " + modelFacade.getCurrentSpaceName());
+            }
         
-        // Handle manual luck cards (e.g., GetOutPrisonCard)
-        handleManualLuckCard();
+            // Handle manual luck cards (e.g., GetOutPrisonCard)
+            handleManualLuckCard();
         
-        // Atualiza GameState completo
-        updateGameState();
+            // Atualiza GameState completo
+            updateGameState();
         
-        // Verifica falência após o movimento
-        if (modelFacade.isCurrentPlayerBankrupt()) {
-            gameState.setMessage("FALÊNCIA! Saldo negativo. Venda propriedades ou será eliminado!");
-        }
+            // Verifica falência após o movimento
+            if (modelFacade.isCurrentPlayerBankrupt()) {
+                gameState.setMessage("FALÊNCIA! Saldo negativo. Venda propriedades ou será eliminado!");
+            }
         
-        // Verifica se rolou dupla - se sim, permite rolar novamente (mas não na 3ª dupla)
-        if (modelFacade.wasLastRollDouble()) {
-            // Check if player was sent to prison for 3 consecutive doubles
-            if (modelFacade.wasPlayerSentToPrisonForDoubles()) {
-                // 3rd double - player was sent to prison, no roll again
-                gameState.setShouldRollAgain(false);
+            // Verifica se rolou dupla - se sim, permite rolar novamente (mas não na 3ª dupla)
+            if (modelFacade.wasLastRollDouble()) {
+                // Check if player was sent to prison for 3 consecutive doubles
+                if (modelFacade.wasPlayerSentToPrisonForDoubles()) {
+                    // 3rd double - player was sent to prison, no roll again
+                    gameState.setShouldRollAgain(false);
+                } else {
+                    // 1st or 2nd double - allow roll again
+                    gameState.setShouldRollAgain(true);
+                    gameState.setMessage(gameState.getMessage() + " Dupla! Você pode rolar novamente!");
+                    log(modelFacade.getCurrentPlayerName() + " rolou dupla e pode rolar novamente!");
+                }
             } else {
-                // 1st or 2nd double - allow roll again
-                gameState.setShouldRollAgain(true);
-                gameState.setMessage(gameState.getMessage() + " Dupla! Você pode rolar novamente!");
-                log(modelFacade.getCurrentPlayerName() + " rolou dupla e pode rolar novamente!");
+                gameState.setShouldRollAgain(false);
             }
-        } else {
-            gameState.setShouldRollAgain(false);
+        } finally {
+            modelFacade.endAction();
+            gameState.endUpdate();
         }
     }
     
@@ -104,7 +206,9 @@ public class GameController {
         String playerName = modelFacade.getCurrentPlayerName();
         
         // Check if player has a GetOutPrisonCard and use it automatically
-        if (modelFacade.hasGetOutPrisonCard()) {
+        // (um bot só usa se decidiu usar)
+        if (modelFacade.hasGetOutPrisonCard()
+                && (appliedBotMove == null || appliedBotMove.usedGetOutPrisonCard())) {
             if (modelFacade.useGetOutPrisonCard()) {
                 log(playerName + " usou a carta 'Saída Livre da Prisão' e saiu da prisão!");
                 gameState.setMessage("Você usou a carta 'Saída Livre da Prisão' e saiu da prisão!");
@@ -177,69 +281,79 @@ public class GameController {
     }
     
     public void rollDiceManual(int totalSteps) {
-        // Reset shouldRollAgain at the start of a new roll
-        gameState.setShouldRollAgain(false);
+        if (blockedByReplay()) {
+            return;
+        }
+        gameState.beginUpdate();
+        modelFacade.beginAction();
+        try {
+            // Reset shouldRollAgain at the start of a new roll
+            gameState.setShouldRollAgain(false);
         
-        // Divide o valor total em dois dados para manter a consistência visual
-        // Ex: Se o usuário quer andar 7, fazemos d1=3 e d2=4.
-        int d1 = totalSteps / 2;
-        int d2 = totalSteps - d1;
+            // Divide o valor total em dois dados para manter a consistência visual
+            // Ex: Se o usuário quer andar 7, fazemos d1=3 e d2=4.
+            int d1 = totalSteps / 2;
+            int d2 = totalSteps - d1;
         
-        // Garante que os dados visuais fiquem entre 1 e 6 para carregar a imagem correta.
+            // Garante que os dados visuais fiquem entre 1 e 6 para carregar a imagem correta.
         
-        int visualD1 = (d1 > 6) ? 6 : (d1 < 1 ? 1 : d1);
-        int visualD2 = (d2 > 6) ? 6 : (d2 < 1 ? 1 : d2);
+            int visualD1 = (d1 > 6) ? 6 : (d1 < 1 ? 1 : d1);
+            int visualD2 = (d2 > 6) ? 6 : (d2 < 1 ? 1 : d2);
 
-        // 1. Atualiza os valores dos dados no Model (usando a nova lógica do Dice)
-        modelFacade.rollDiceManual(visualD1, visualD2);
+            // 1. Atualiza os valores dos dados no Model (usando a nova lógica do Dice)
+            modelFacade.rollDiceManual(visualD1, visualD2);
         
-        // 2. Atualiza o GameState para a View desenhar os dados
-        gameState.setDiceRoll(visualD1, visualD2);
+            // 2. Atualiza o GameState para a View desenhar os dados
+            gameState.setDiceRoll(visualD1, visualD2);
         
-        // 3. Verifica se o jogador está na prisão
-        if (modelFacade.isCurrentPlayerInPrison()) {
-            handlePrisonTurn(visualD1, visualD2);
-            return;
-        }
+            // 3. Verifica se o jogador está na prisão
+            if (modelFacade.isCurrentPlayerInPrison()) {
+                handlePrisonTurn(visualD1, visualD2);
+                return;
+            }
         
-        // 4. Move o jogador o total de passos solicitado
-        modelFacade.moveCurrentPlayer(totalSteps);
+            // 4. Move o jogador o total de passos solicitado
+            modelFacade.moveCurrentPlayer(totalSteps);
         
-        // 5. Captura mensagem do evento (cair em propriedade, sorte, etc)
-        String eventMessage = modelFacade.getLastEventMessage();
-        if (!eventMessage.isEmpty()) {
-            log(modelFacade.getCurrentPlayerName() + ": " + eventMessage);
-            gameState.setMessage(eventMessage);
-        }
-        else {
-            log(modelFacade.getCurrentPlayerName() + " avançou para " + modelFacade.getCurrentSpaceName());
-        }
+            // 5. Captura mensagem do evento (cair em propriedade, sorte, etc)
+            String eventMessage = modelFacade.getLastEventMessage();
+            if (!eventMessage.isEmpty()) {
+                log(modelFacade.getCurrentPlayerName() + ": " + eventMessage);
+                gameState.setMessage(eventMessage);
+            }
+            else {
+                log(modelFacade.getCurrentPlayerName() + " avançou para " + modelFacade.getCurrentSpaceName());
+            }
         
-        // Handle manual luck cards (e.g., GetOutPrisonCard)
-        handleManualLuckCard();
+            // Handle manual luck cards (e.g., GetOutPrisonCard)
+            handleManualLuckCard();
         
-        // 6. Atualiza toda a tela
-        updateGameState();
+            // 6. Atualiza toda a tela
+            updateGameState();
         
-        // 7. Verifica falência
-        if (modelFacade.isCurrentPlayerBankrupt()) {
-            gameState.setMessage("FALÊNCIA! Saldo negativo. Venda propriedades ou será eliminado!");
-        }
+            // 7. Verifica falência
+            if (modelFacade.isCurrentPlayerBankrupt()) {
+                gameState.setMessage("FALÊNCIA! Saldo negativo. Venda propriedades ou será eliminado!");
+            }
         
-        // 8. Verifica se rolou dupla - se sim, permite rolar novamente (mas não na 3ª dupla)
-        if (modelFacade.wasLastRollDouble()) {
-            // Check if player was sent to prison for 3 consecutive doubles
-            if (modelFacade.wasPlayerSentToPrisonForDoubles()) {
-                // 3rd double - player was sent to prison, no roll again
-                gameState.setShouldRollAgain(false);
+            // 8. Verifica se rolou dupla - se sim, permite rolar novamente (mas não na 3ª dupla)
+            if (modelFacade.wasLastRollDouble()) {
+                // Check if player was sent to prison for 3 consecutive doubles
+                if (modelFacade.wasPlayerSentToPrisonForDoubles()) {
+                    // 3rd double - player was sent to prison, no roll again
+                    gameState.setShouldRollAgain(false);
+                } else {
+                    // 1st or 2nd double - allow roll again
+                    gameState.setShouldRollAgain(true);
+                    gameState.setMessage(gameState.getMessage() + " Dupla! Você pode rolar novamente!");
+                    log(modelFacade.getCurrentPlayerName() + " rolou dupla e pode rolar novamente!");
+                }
             } else {
-                // 1st or 2nd double - allow roll again
-                gameState.setShouldRollAgain(true);
-                gameState.setMessage(gameState.getMessage() + " Dupla! Você pode rolar novamente!");
-                log(modelFacade.getCurrentPlayerName() + " rolou dupla e pode rolar novamente!");
+                gameState.setShouldRollAgain(false);
             }
-        } else {
-            gameState.setShouldRollAgain(false);
+        } finally {
+            modelFacade.endAction();
+            gameState.endUpdate();
         }
     }
     
@@ -247,17 +361,25 @@ public class GameController {
      * Compra propriedade atual
      */
     public boolean buyCurrentProperty() {
-        boolean success = modelFacade.buyCurrentProperty();
-        
-        if (success) {
-            gameState.setMessage("Propriedade comprada com sucesso!");
-            log(modelFacade.getCurrentPlayerName() + " comprou a propriedade " + modelFacade.getCurrentSpaceName());
-            updateGameState();
-        } else {
-            gameState.setMessage("Não foi possível comprar a propriedade.");
+        if (blockedByReplay()) {
+            return false;
         }
+        gameState.beginUpdate();
+        try {
+            boolean success = modelFacade.buyCurrentProperty();
+        
+            if (success) {
+                gameState.setMessage("Propriedade comprada com sucesso!");
+                log(modelFacade.getCurrentPlayerName() + " comprou a propriedade " + modelFacade.getCurrentSpaceName());
+                updateGameState();
+            } else {
+                gameState.setMessage("Não foi possível comprar a propriedade.");
+            }
         
-        return success;
+            return success;
+        } finally {
+            gameState.endUpdate();
+        }
     }
     
     /**
@@ -265,17 +387,27 @@ public class GameController {
      * Se o jogador rolou dupla, não passa para o próximo jogador
      */
     public void endTurn() {
-        // Se o jogador pode rolar novamente (dupla), não passa o turno
-        if (gameState.shouldRollAgain()) {
-            gameState.setMessage("Você rolou dupla! Prepare-se para rolar novamente.");
+        if (blockedByReplay()) {
             return;
         }
+        gameState.beginUpdate();
+        try {
+            // Se o jogador pode rolar novamente (dupla), não passa o turno
+            if (gameState.shouldRollAgain()) {
+                gameState.setMessage("Você rolou dupla! Prepare-se para rolar novamente.");
+                return;
+            }
         
-        // Caso contrário, passa para o próximo jogador
-        modelFacade.nextTurn();
-        gameState.setMessage("");
-        gameState.setShouldRollAgain(false);
-        updateGameState();
+            // Caso contrário, passa para o próximo jogador
+            modelFacade.nextTurn();
+            gameState.setMessage("");
+            gameState.setShouldRollAgain(false);
+            updateGameState();
+            autosave.turnEnded(modelFacade);
+            saveRecording();
+        } finally {
+            gameState.endUpdate();
+        }
     }
     
     /**
@@ -289,51 +421,75 @@ public class GameController {
      * Constrói casa na propriedade atual
      */
     public boolean buildHouse() {
-        boolean success = modelFacade.buildHouseOnCurrentProperty();
-        
-        if (success) {
-            log(modelFacade.getCurrentPlayerName() + " construiu uma casa na propriedade " + modelFacade.getCurrentSpaceName());
-            gameState.setMessage("Casa construída com sucesso!");
-            updateGameState();
-        } else {
-            gameState.setMessage("Não foi possível construir casa.");
+        if (blockedByReplay()) {
+            return false;
         }
+        gameState.beginUpdate();
+        try {
+            boolean success = modelFacade.buildHouseOnCurrentProperty();
         
-        return success;
+            if (success) {
+                log(modelFacade.getCurrentPlayerName() + " construiu uma casa na propriedade " + modelFacade.getCurrentSpaceName());
+                gameState.setMessage("Casa construída com sucesso!");
+                updateGameState();
+            } else {
+                gameState.setMessage("Não foi possível construir casa.");
+            }
+        
+            return success;
+        } finally {
+            gameState.endUpdate();
+        }
     }
     
     /**
      * Constrói um HOTEL na propriedade atual
      */
     public boolean buildHotel() {
-        boolean success = modelFacade.buildHotelOnCurrentProperty();
-        
-        if (success) {
-            log(modelFacade.getCurrentPlayerName() + " construiu um hotel na propriedade " + modelFacade.getCurrentSpaceName());
-            gameState.setMessage("Hotel construído com sucesso!");
-            updateGameState();
-        } else {
-            gameState.setMessage("Não foi possível construir hotel.");
+        if (blockedByReplay()) {
+            return false;
         }
+        gameState.beginUpdate();
+        try {
+            boolean success = modelFacade.buildHotelOnCurrentProperty();
         
-        return success;
+            if (success) {
+                log(modelFacade.getCurrentPlayerName() + " construiu um hotel na propriedade " + modelFacade.getCurrentSpaceName());
+                gameState.setMessage("Hotel construído com sucesso!");
+                updateGameState();
+            } else {
+                gameState.setMessage("Não foi possível construir hotel.");
+            }
+        
+            return success;
+        } finally {
+            gameState.endUpdate();
+        }
     }
 
     /**
      * Vende propriedade atual ao banco
      */
     public boolean sellProperty() {
-        boolean success = modelFacade.sellCurrentPropertyToBank();
-        
-        if (success) {
-            log(modelFacade.getCurrentPlayerName() + " vendeu a propriedade " + modelFacade.getCurrentSpaceName() + " ao banco.");
-            gameState.setMessage("Propriedade vendida ao banco por 90%!");
-            updateGameState();
-        } else {
-            gameState.setMessage("Não foi possível vender a propriedade.");
+        if (blockedByReplay()) {
+            return false;
         }
+        gameState.beginUpdate();
+        try {
+            boolean success = modelFacade.sellCurrentPropertyToBank();
         
-        return success;
+            if (success) {
+                log(modelFacade.getCurrentPlayerName() + " vendeu a propriedade " + modelFacade.getCurrentSpaceName() + " ao banco.");
+                gameState.setMessage("Propriedade vendida ao banco por 90%!");
+                updateGameState();
+            } else {
+                gameState.setMessage("Não foi possível vender a propriedade.");
+            }
+        
+            return success;
+        } finally {
+            gameState.endUpdate();
+        }
     }
 
     /**
@@ -348,10 +504,18 @@ public class GameController {
      * Realiza a venda de uma propriedade específica
      */
     public void sellSpecificProperty(String propertyName) {
-        String result = modelFacade.sellPropertyByName(propertyName);
-        log(modelFacade.getCurrentPlayerName() + ": " + result);
-        gameState.setMessage(result);
-        updateGameState();
+        if (blockedByReplay()) {
+            return;
+        }
+        gameState.beginUpdate();
+        try {
+            String result = modelFacade.sellPropertyByName(propertyName);
+            log(modelFacade.getCurrentPlayerName() + ": " + result);
+            gameState.setMessage(result);
+            updateGameState();
+        } finally {
+            gameState.endUpdate();
+        }
     }
 
     /**
@@ -365,40 +529,62 @@ public class GameController {
      * Encerra o jogo imediatamente e declara vencedor quem tiver mais dinheiro.
      */
     public void finishGameByTimeLimit() {
-        List<String> winners = modelFacade.getRichestPlayers();
-        String winnerText;
-        
-        if (winners.size() == 1) {
-            // Apenas um vencedor
-            winnerText = winners.get(0);
-        } else {
-            // Empate: "Os jogadores A, B venceram!"
-            winnerText = "Os jogadores " + String.join(", ", winners) + " venceram (Empate)!";
+        if (blockedByReplay()) {
+            return;
         }
+        gameState.beginUpdate();
+        try {
+            List<String> winners = modelFacade.getRichestPlayers();
+            String winnerText;
         
-        // Atualiza o GameState para disparar o Fim de Jogo na View
-        gameState.setMessage("Jogo Encerrado Manualmente.");
-        gameState.setWinner(winnerText);
-        gameState.setGameOver(true);
-        updateGameState();
+            if (winners.size() == 1) {
+                // Apenas um vencedor
+                winnerText = winners.get(0);
+            } else {
+                // Empate: "Os jogadores A, B venceram!"
+                winnerText = "Os jogadores " + String.join(", ", winners) + " venceram (Empate)!";
+            }
+        
+            // Atualiza o GameState para disparar o Fim de Jogo na View
+            gameState.setMessage("Jogo Encerrado Manualmente.");
+            gameState.setWinner(winnerText);
+            gameState.setGameOver(true);
+            updateGameState();
+            autosave.gameOver();
+            saveRecording();
+        } finally {
+            gameState.endUpdate();
+        }
     }
     
     /**
      * Elimina o jogador atual por falência
      */
     public void eliminateCurrentPlayer() {
-        modelFacade.eliminateCurrentPlayer();
-        gameState.setMessage("Jogador eliminado por falência!");
-        
-        // Verificar se o jogo acabou
-        if (modelFacade.countActivePlayers() <= 1) {
-            String winner = modelFacade.getWinnerName();
-            gameState.setMessage("FIM DE JOGO! Vencedor: " + winner);
-            gameState.setWinner(winner);
-            gameState.setGameOver(true);
-            updateGameState();
-        } else {
-            endTurn();
+        if (blockedByReplay()) {
+            return;
+        }
+        gameState.beginUpdate();
+        modelFacade.beginAction();  // eliminação e passagem de vez juntas
+        try {
+            modelFacade.eliminateCurrentPlayer();
+            gameState.setMessage("Jogador eliminado por falência!");
+        
+            // Verificar se o jogo acabou
+            if (modelFacade.countActivePlayers() <= 1) {
+                String winner = modelFacade.getWinnerName();
+                gameState.setMessage("FIM DE JOGO! Vencedor: " + winner);
+                gameState.setWinner(winner);
+                gameState.setGameOver(true);
+                updateGameState();
+                autosave.gameOver();
+                saveRecording();
+            } else {
+                endTurn();
+            }
+        } finally {
+            modelFacade.endAction();
+            gameState.endUpdate();
         }
     }
     
@@ -447,6 +633,7 @@ public class GameController {
         gameState.setAllPlayerPositions(positions);
         List<ModelFacade.PlayerStatusInfo> allStatus = modelFacade.getAllPlayerStatusInfo();
         gameState.setAllPlayerStatusInfo(allStatus);
+        refreshAdvice();
     }
     
     public GameState getGameState() {
@@ -461,6 +648,22 @@ public class GameController {
         return modelFacade.getAllPropertiesWithOwners();
     }
     
+    /**
+     * Contador que muda a cada compra, venda ou devolução de propriedade.
+     * A View usa para saber quando redesenhar a camada de donos.
+     */
+    public long getOwnershipVersion() {
+        return modelFacade.getOwnershipVersion();
+    }
+    
+    /**
+     * Imagens de carta que devem aparecer em seguida (casa atual, casas
+     * alcançáveis na próxima rolagem e topo do baralho de sorte)
+     */
+    public List<String> getLikelyNextCardImageIds() {
+        return modelFacade.getLikelyNextCardImageIds();
+    }
+    
     /**
      * Retorna a cor do jogador pelo nome
      */
@@ -480,11 +683,19 @@ public class GameController {
      * (e.g., GetOutPrisonCard needs to be given to the player)
      */
     public void handleManualLuckCard() {
-        String result = modelFacade.handleManualLuckCard();
+        if (blockedByReplay()) {
+            return;
+        }
+        gameState.beginUpdate();
+        try {
+            String result = modelFacade.handleManualLuckCard();
         
-        if (result != null && !result.isEmpty()) {
-            gameState.setMessage(result);
-            log(modelFacade.getCurrentPlayerName() + ": " + result);
+            if (result != null && !result.isEmpty()) {
+                gameState.setMessage(result);
+                log(modelFacade.getCurrentPlayerName() + ": " + result);
+            }
+        } finally {
+            gameState.endUpdate();
         }
     }
     
@@ -492,16 +703,24 @@ public class GameController {
      * Uses the GetOutPrisonCard to escape prison
      */
     public boolean useGetOutPrisonCard() {
-        if (modelFacade.useGetOutPrisonCard()) {
-            String playerName = modelFacade.getCurrentPlayerName();
-            log(playerName + " usou a carta 'Saída Livre da Prisão' e saiu da prisão!");
-            gameState.setMessage("Você usou a carta e saiu da prisão!");
-            updateGameState();
-            return true;
-        } else {
-            gameState.setMessage("Você não tem uma carta 'Saída Livre da Prisão'!");
+        if (blockedByReplay()) {
             return false;
         }
+        gameState.beginUpdate();
+        try {
+            if (modelFacade.useGetOutPrisonCard()) {
+                String playerName = modelFacade.getCurrentPlayerName();
+                log(playerName + " usou a carta 'Saída Livre da Prisão' e saiu da prisão!");
+                gameState.setMessage("Você usou a carta e saiu da prisão!");
+                updateGameState();
+                return true;
+            } else {
+                gameState.setMessage("Você não tem uma carta 'Saída Livre da Prisão'!");
+                return false;
+            }
+        } finally {
+            gameState.endUpdate();
+        }
     }
     
     // ===== SAVE/LOAD FUNCTIONALITY =====
@@ -522,24 +741,36 @@ public class GameController {
      * @return true if save successful, false otherwise
      */
     public boolean saveGame(String filePath) {
+        if (blockedByReplay()) {
+            return false;
+        }
+        gameState.beginUpdate();
         try {
-            // Validate that we can save
-            if (!canSaveGame()) {
-                gameState.setMessage("Não é possível salvar após rolar os dados. Salve no início do turno.");
-                return false;
-            }
+            try {
+                // Validate that we can save
+                if (!canSaveGame()) {
+                    gameState.setMessage("Não é possível salvar após rolar os dados. Salve no início do turno.");
+                    return false;
+                }
             
-            // Save using GameStateSaver
-            GameStateSaver.saveToFile(filePath, modelFacade);
-            gameState.setMessage("Jogo salvo com sucesso!");
-            log("Jogo salvo em: " + filePath);
-            return true;
+                // The extension picks the format: .bin is compact binary, anything else is text
+                if (SaveFileManager.isBinarySave(filePath)) {
+                    GameStateBinaryCodec.saveToFile(filePath, modelFacade);
+                } else {
+                    GameStateSaver.saveToFile(filePath, modelFacade);
+                }
+                gameState.setMessage("Jogo salvo com sucesso!");
+                log("Jogo salvo em: " + filePath);
+                return true;
             
-        } catch (Exception e) {
-            gameState.setMessage("Erro ao salvar jogo: " + e.getMessage());
-            log("ERRO ao salvar: " + e.getMessage());
-            e.printStackTrace();
-            return false;
+            } catch (Exception e) {
+                gameState.setMessage("Erro ao salvar jogo: " + e.getMessage());
+                log("ERRO ao salvar: " + e.getMessage());
+                e.printStackTrace();
+                return false;
+            }
+        } finally {
+            gameState.endUpdate();
         }
     }
     
@@ -551,25 +782,409 @@ public class GameController {
      * @return true if load successful, false otherwise
      */
     public boolean loadGame(String filePath) {
+        gameState.beginUpdate();
         try {
-            // Load using GameStateLoader
-            this.modelFacade = GameStateLoader.loadFromFile(filePath);
+            try {
+                // Load using GameStateLoader (detects text or binary saves)
+                this.modelFacade = GameStateLoader.loadFromFile(filePath);
+                this.modelFacade.enableUndo();
+                this.bots.clear();  // o arquivo não guarda quem era bot
+                this.replay = null;
+                this.recordingFile = null;
             
-            // Store the loaded file path so we can overwrite it when saving
-            this.loadedFilePath = filePath;
+                // Store the loaded file path so we can overwrite it when saving
+                this.loadedFilePath = filePath;
             
-            // Update GameState with loaded data
-            updateGameState();
-            gameState.setMessage("Jogo carregado com sucesso!");
-            log("Jogo carregado de: " + filePath);
-            return true;
+                // Update GameState with loaded data
+                updateGameState();
+                gameState.setMessage("Jogo carregado com sucesso!");
+                log("Jogo carregado de: " + filePath);
+                autosave.gameStarted(modelFacade, 0);
+                return true;
             
+            } catch (Exception e) {
+                gameState.setMessage("Erro ao carregar jogo: " + e.getMessage());
+                log("ERRO ao carregar: " + e.getMessage());
+                e.printStackTrace();
+                return false;
+            }
+        } finally {
+            gameState.endUpdate();
+        }
+    }
+    
+    /**
+     * Procura uma partida interrompida no salvamento automático. Lê o disco,
+     * então deve ser chamado fora da EDT (ex.: num SwingWorker).
+     * 
+     * @return true se há uma partida para recuperar
+     */
+    public boolean findAutosave() {
+        try {
+            pendingRecovery = autosave.recover();
         } catch (Exception e) {
-            gameState.setMessage("Erro ao carregar jogo: " + e.getMessage());
-            log("ERRO ao carregar: " + e.getMessage());
-            e.printStackTrace();
+            System.err.println("Erro ao ler o salvamento automático: " + e.getMessage());
+            pendingRecovery = null;
+        }
+        return pendingRecovery != null;
+    }
+    
+    /**
+     * Turnos jogados na partida encontrada por findAutosave()
+     */
+    public int getAutosaveTurn() {
+        AutosaveJournal.Recovery recovery = pendingRecovery;
+        return recovery == null ? 0 : recovery.getTurn();
+    }
+    
+    /**
+     * Continua a partida encontrada por findAutosave()
+     * 
+     * @return true se havia uma partida para continuar
+     */
+    public boolean resumeAutosave() {
+        AutosaveJournal.Recovery recovery = pendingRecovery;
+        if (recovery == null) {
             return false;
         }
+        pendingRecovery = null;
+        gameState.beginUpdate();
+        try {
+            this.modelFacade = recovery.getFacade();
+            this.modelFacade.enableUndo();
+            this.bots.clear();
+            this.replay = null;
+            this.recordingFile = null;
+            gameState.setLogMessages(recovery.getLog());
+            updateGameState();
+            gameState.setMessage("Partida recuperada do salvamento automático!");
+            log("Partida recuperada do salvamento automático (turno " + recovery.getTurn() + ")");
+            autosave.gameStarted(modelFacade, recovery.getTurn());
+            return true;
+        } finally {
+            gameState.endUpdate();
+        }
+    }
+    
+    /**
+     * Descarta a partida encontrada por findAutosave()
+     */
+    public void discardAutosave() {
+        pendingRecovery = null;
+        autosave.gameOver();
+    }
+    
+    // ===== CONSELHO DE COMPRA =====
+    
+    /**
+     * Cancela a estimativa de um estado que já passou e, se o jogador pode
+     * comprar ou construir onde parou, pede uma nova ao PurchaseAdvisor
+     */
+    private void refreshAdvice() {
+        PurchaseAdvisor.Request current = adviceRequest;
+        boolean canDecide = replay == null && !gameState.isGameOver() && !isCurrentPlayerBot()
+                && PurchaseAdvisor.choiceFor(modelFacade) != null;
+        long stateHash = canDecide ? modelFacade.getStateHash() : 0;
+        if (current != null && canDecide && stateHash == adviceStateHash) {
+            return;  // mesmo estado: a estimativa em andamento continua valendo
+        }
+        if (current != null) {
+            current.cancel();
+            adviceRequest = null;
+        }
+        if (!canDecide) {
+            return;
+        }
+        PurchaseAdvisor.Request request = advisor.start(modelFacade);
+        adviceStateHash = stateHash;
+        adviceRequest = request;
+        request.whenDone(advice -> {
+            Runnable listener = adviceListener;
+            if (listener != null && adviceRequest == request) {
+                listener.run();
+            }
+        });
+    }
+    
+    /**
+     * Estimativa pronta para a decisão atual do jogador
+     * 
+     * @return A estimativa, ou null se não há decisão ou ainda está calculando
+     */
+    public PurchaseAdvice getPurchaseAdvice() {
+        PurchaseAdvisor.Request request = adviceRequest;
+        if (request == null || !request.isDone() || request.isCancelled()) {
+            return null;
+        }
+        PurchaseAdvice advice = request.join();
+        return advice.getRollouts() > 0 ? advice : null;
+    }
+    
+    /**
+     * Define quem é avisado quando uma estimativa fica pronta (ou null). É
+     * chamado numa thread do PurchaseAdvisor; a View deve repassar para a EDT.
+     */
+    public void setAdviceListener(Runnable listener) {
+        this.adviceListener = listener;
+    }
+    
+    // ===== BOTS =====
+    
+    /**
+     * Verifica se o jogador da vez é um bot (e a partida está em andamento)
+     */
+    public boolean isCurrentPlayerBot() {
+        return replay == null && !isGameOver() && bots.containsKey(modelFacade.getCurrentPlayerName());
+    }
+    
+    /**
+     * Joga uma rolagem do bot da vez sem travar a View: a cópia da partida
+     * é feita aqui, a decisão roda na thread dos bots e as ações são
+     * aplicadas pelo executor da View (ex.: SwingUtilities::invokeLater).
+     * Se a partida mudou nesse meio tempo (desfazer, carregar...), a jogada
+     * é descartada.
+     * 
+     * @param ui Executor da thread que mexe na partida
+     * @param onDone Chamado nessa thread quando o passo termina
+     * @return true se um passo foi iniciado
+     */
+    public boolean playBotStep(Executor ui, Runnable onDone) {
+        if (botStepPending || !isCurrentPlayerBot()) {
+            return false;
+        }
+        DecisionPolicy bot = bots.get(modelFacade.getCurrentPlayerName());
+        ModelFacade copy = modelFacade.copy();
+        botStepPending = true;
+        if (botThread == null) {
+            botThread = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "bot");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        botThread.execute(() -> {
+            BotMove move = BotMove.play(copy, bot);
+            ui.execute(() -> {
+                botStepPending = false;
+                if (move.getStateHash() == modelFacade.getStateHash() && isCurrentPlayerBot()) {
+                    applyBotMove(move);
+                }
+                onDone.run();
+            });
+        });
+        return true;
+    }
+    
+    /**
+     * A partida em jogo (usado pelos testes)
+     */
+    ModelFacade getModelFacade() {
+        return modelFacade;
+    }
+    
+    /**
+     * Repete na partida a jogada que o bot fez na cópia: mesmos dados,
+     * mesmas decisões
+     */
+    private void applyBotMove(BotMove move) {
+        gameState.beginUpdate();
+        appliedBotMove = move;
+        try {
+            rollDice();
+            if (move.bought()) {
+                buyCurrentProperty();
+            }
+            if (move.builtHotel()) {
+                buildHotel();
+            } else if (move.builtHouse()) {
+                buildHouse();
+            }
+            for (String propertyName : move.getSales()) {
+                sellSpecificProperty(propertyName);
+            }
+            if (move.eliminated()) {
+                eliminateCurrentPlayer();
+            } else if (!move.rollsAgain() && !isGameOver()) {
+                endTurn();
+            }
+        } finally {
+            appliedBotMove = null;
+            gameState.endUpdate();
+        }
+    }
+    
+    // ===== DESFAZER / REFAZER =====
+    
+    public boolean canUndo() {
+        return replay == null && !gameState.isGameOver() && modelFacade.canUndo();
+    }
+    
+    public boolean canRedo() {
+        return replay == null && !gameState.isGameOver() && modelFacade.canRedo();
+    }
+    
+    /**
+     * Desfaz a última ação (um clique: a rolagem desfaz também o movimento
+     * e a carta tirada)
+     * 
+     * @return true se alguma ação foi desfeita
+     */
+    public boolean undo() {
+        if (blockedByReplay() || gameState.isGameOver()) {
+            return false;
+        }
+        gameState.beginUpdate();
+        try {
+            String description = modelFacade.undo();
+            if (description == null) {
+                gameState.setMessage("Nada para desfazer.");
+                return false;
+            }
+            refreshAfterHistory("Desfeito: " + description);
+            return true;
+        } finally {
+            gameState.endUpdate();
+        }
+    }
+    
+    /**
+     * Refaz a última ação desfeita
+     * 
+     * @return true se alguma ação foi refeita
+     */
+    public boolean redo() {
+        if (blockedByReplay() || gameState.isGameOver()) {
+            return false;
+        }
+        gameState.beginUpdate();
+        try {
+            String description = modelFacade.redo();
+            if (description == null) {
+                gameState.setMessage("Nada para refazer.");
+                return false;
+            }
+            refreshAfterHistory("Refeito: " + description);
+            return true;
+        } finally {
+            gameState.endUpdate();
+        }
+    }
+    
+    /**
+     * Depois de desfazer/refazer, os dados e o "rolar novamente" vêm do Model
+     */
+    private void refreshAfterHistory(String message) {
+        int[] dice = modelFacade.getLastDiceRoll();
+        gameState.setDiceRoll(dice[0], dice[1]);
+        gameState.setShouldRollAgain(modelFacade.hasDiceRolled()
+                && !modelFacade.isCurrentPlayerInPrison()
+                && modelFacade.wasLastRollDouble()
+                && !modelFacade.wasPlayerSentToPrisonForDoubles());
+        updateGameState();
+        gameState.setMessage(message);
+        log(modelFacade.getCurrentPlayerName() + " - " + message);
+    }
+    
+    // ===== GRAVAÇÃO E REPRODUÇÃO =====
+    
+    /**
+     * Grava em segundo plano a partida até aqui, se ela está sendo gravada
+     */
+    private void saveRecording() {
+        GameRecording recording = modelFacade.getRecording();
+        if (recordingFile != null && recording != null) {
+            autosave.saveRecording(recording, recordingFile);
+        }
+    }
+    
+    /**
+     * Durante a reprodução só stepReplay() mexe na partida
+     */
+    private boolean blockedByReplay() {
+        if (replay == null) {
+            return false;
+        }
+        gameState.setMessage("Reprodução em andamento: use 'Próximo Turno'.");
+        return true;
+    }
+    
+    public boolean isReplaying() {
+        return replay != null;
+    }
+    
+    /**
+     * Abre uma gravação e prepara a partida no início, para ser reproduzida
+     * com stepReplay()
+     * 
+     * @param filePath Caminho do arquivo .rec
+     * @return true se a gravação foi aberta
+     */
+    public boolean startReplay(String filePath) {
+        gameState.beginUpdate();
+        try {
+            try {
+                GameRecording recording = GameRecording.loadFromFile(filePath);
+                this.replay = new ReplayEngine(recording);
+                this.replayDiverged = false;
+                this.modelFacade = replay.getGame();
+                this.bots.clear();
+                this.loadedFilePath = null;
+                this.recordingFile = null;
+                gameState.setLogMessages(new ArrayList<>());
+                gameState.setGameOver(false);
+                updateGameState();
+                gameState.setMessage("Reproduzindo gravação (" + recording.getTurns() + " turnos)");
+                log("Reproduzindo gravação de: " + filePath);
+                return true;
+            } catch (Exception e) {
+                this.replay = null;
+                gameState.setMessage("Erro ao abrir gravação: " + e.getMessage());
+                log("ERRO ao abrir gravação: " + e.getMessage());
+                e.printStackTrace();
+                return false;
+            }
+        } finally {
+            gameState.endUpdate();
+        }
+    }
+    
+    /**
+     * Reproduz o próximo turno da gravação, conferindo o estado no fim dele
+     * 
+     * @return true se ainda há turnos para reproduzir
+     */
+    public boolean stepReplay() {
+        if (replay == null || replay.isFinished() || replayDiverged) {
+            return false;
+        }
+        gameState.beginUpdate();
+        try {
+            try {
+                GameRecording.Event event;
+                do {
+                    String playerName = modelFacade.getCurrentPlayerName();
+                    event = replay.step();
+                    log(playerName + ": " + event);
+                } while (event.getAction() != GameRecording.Action.NEXT_TURN && !replay.isFinished());
+                
+                if (replay.isFinished()) {
+                    gameState.setMessage("Reprodução concluída: " + replay.getTurn() + " turnos conferidos.");
+                } else {
+                    gameState.setMessage("Turno " + replay.getTurn() + " conferido.");
+                }
+            } catch (IllegalStateException e) {
+                // A partida fica como estava no ponto da divergência
+                replayDiverged = true;
+                gameState.setMessage("A reprodução divergiu da gravação!");
+                log("ERRO na reprodução: " + e.getMessage());
+                updateGameState();
+                return false;
+            }
+            updateGameState();
+            return !replay.isFinished();
+        } finally {
+            gameState.endUpdate();
+        }
     }
     
     /**
@@ -0,0 +1,285 @@
+package controller;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * GameLog - Histórico da partida em um buffer circular com números de sequência
+ *
+ * Cada mensagem recebe uma sequência (0, 1, 2, ...). As últimas "capacity"
+ * mensagens ficam em memória; as mais antigas são despejadas em um arquivo
+ * temporário, de modo que o histórico completo continua disponível para o
+ * salvamento. Leitores guardam a próxima sequência que querem ver e chamam
+ * readSince(), que entrega só as mensagens novas, sem copiar listas.
+ *
+ * Há um único escritor (a thread do controller). Leituras do trecho em
+ * memória não usam locks: o escritor avança "head" antes de sobrescrever uma
+ * posição e "published" depois, e o leitor descarta o valor lido se "head"
+ * mostrar que a posição foi reaproveitada nesse meio tempo, buscando a
+ * mensagem no disco. Só o acesso ao arquivo é sincronizado.
+ */
+public class GameLog {
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final AtomicReferenceArray<String> ring;
+    private final int capacity;
+    private final int mask;
+
+    private volatile long head;       // sequências já reservadas pelo escritor
+    private volatile long published;  // sequências visíveis para os leitores
+    private volatile int epoch;       // muda quando o histórico é substituído
+
+    private final Object spillLock = new Object();
+    private Path spillPath;
+    private BufferedWriter spillWriter;
+    private List<String> spillMemory; // usado se o arquivo não puder ser escrito
+    private long spilled;             // mensagens [0, spilled) estão fora do anel
+
+    public GameLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Mensagens mantidas em memória (arredondado para potência de 2)
+     */
+    public GameLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacidade inválida: " + capacity);
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = this.capacity - 1;
+        this.ring = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    /**
+     * Acrescenta uma mensagem. Só pode ser chamado pelo escritor.
+     *
+     * @return A sequência da mensagem
+     */
+    public long append(String message) {
+        Objects.requireNonNull(message, "message");
+        long seq = head;
+        int slot = (int) (seq & mask);
+        if (seq >= capacity) {
+            // A mensagem seq - capacity sai do anel: vai para o disco antes
+            // que algum leitor possa perceber a sobrescrita
+            spill(ring.get(slot));
+        }
+        head = seq + 1;
+        ring.set(slot, message);
+        published = seq + 1;
+        return seq;
+    }
+
+    /**
+     * Sequência da próxima mensagem, ou seja, o total de mensagens registradas.
+     */
+    public long getSequence() {
+        return published;
+    }
+
+    /**
+     * Total de mensagens do histórico (em memória e no disco).
+     */
+    public int size() {
+        return (int) published;
+    }
+
+    /**
+     * Muda sempre que o histórico é substituído (reset), para que os leitores
+     * saibam que devem recomeçar da sequência 0.
+     */
+    public int getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Entrega ao leitor todas as mensagens a partir de uma sequência.
+     *
+     * @param seq Primeira sequência desejada
+     * @param reader Recebe cada mensagem, em ordem
+     * @return A sequência a ser usada na próxima chamada
+     */
+    public long readSince(long seq, Consumer<String> reader) {
+        return read(seq, published, reader);
+    }
+
+    /**
+     * Entrega ao leitor as mensagens das sequências [from, to).
+     *
+     * @return A sequência seguinte à última entregue
+     */
+    public long read(long from, long to, Consumer<String> reader) {
+        long next = Math.max(from, 0);
+        long end = Math.min(to, published);
+        while (next < end) {
+            if (next < head - capacity) {
+                // Já saiu do anel: lê do disco tudo o que estiver lá
+                long after = readSpilled(next, end, reader);
+                if (after == next) {
+                    break; // arquivo incompleto; não há mais o que entregar
+                }
+                next = after;
+                continue;
+            }
+            String message = ring.get((int) (next & mask));
+            if (next < head - capacity) {
+                continue; // sobrescrita durante a leitura, relê do disco
+            }
+            reader.accept(message);
+            next++;
+        }
+        return next;
+    }
+
+    /**
+     * Copia o histórico completo. É O(n); prefira readSince().
+     */
+    public List<String> toList() {
+        List<String> messages = new ArrayList<>(size());
+        readSince(0, messages::add);
+        return messages;
+    }
+
+    /**
+     * Substitui o histórico (ao carregar uma partida). Só pode ser chamado
+     * pelo escritor.
+     */
+    public void reset(List<String> messages) {
+        synchronized (spillLock) {
+            closeSpill();
+            spillMemory = null;
+            spilled = 0;
+        }
+        for (int i = 0; i < capacity; i++) {
+            ring.set(i, null);
+        }
+        head = 0;
+        published = 0;
+        epoch++;
+        for (String message : messages) {
+            append(message);
+        }
+    }
+
+    // ===== ARQUIVO DE DESPEJO =====
+
+    private void spill(String message) {
+        synchronized (spillLock) {
+            if (spillMemory == null) {
+                try {
+                    if (spillWriter == null) {
+                        spillPath = Files.createTempFile("banco-log-", ".txt");
+                        spillPath.toFile().deleteOnExit();
+                        spillWriter = Files.newBufferedWriter(spillPath, StandardCharsets.UTF_8);
+                    }
+                    spillWriter.write(escape(message));
+                    spillWriter.write('\n');
+                } catch (IOException e) {
+                    fallBackToMemory(e);
+                    spillMemory.add(message);
+                }
+            } else {
+                spillMemory.add(message);
+            }
+            spilled++;
+        }
+    }
+
+    private long readSpilled(long from, long to, Consumer<String> reader) {
+        synchronized (spillLock) {
+            long end = Math.min(to, spilled);
+            if (spillMemory != null) {
+                for (long seq = from; seq < end; seq++) {
+                    reader.accept(spillMemory.get((int) seq));
+                }
+                return Math.max(from, end);
+            }
+            try {
+                spillWriter.flush();
+                try (BufferedReader in = Files.newBufferedReader(spillPath, StandardCharsets.UTF_8)) {
+                    long seq = 0;
+                    String line;
+                    while (seq < end && (line = in.readLine()) != null) {
+                        if (seq >= from) {
+                            reader.accept(unescape(line));
+                        }
+                        seq++;
+                    }
+                    return Math.max(from, seq);
+                }
+            } catch (IOException e) {
+                fallBackToMemory(e);
+                return readSpilled(from, to, reader);
+            }
+        }
+    }
+
+    /**
+     * Se o arquivo falhar, passa a guardar as mensagens antigas em memória,
+     * recuperando o que já tinha sido gravado.
+     */
+    private void fallBackToMemory(IOException cause) {
+        System.err.println("Histórico: não foi possível usar o arquivo de despejo (" + cause.getMessage() + ")");
+        List<String> recovered = new ArrayList<>();
+        if (spillPath != null) {
+            try {
+                spillWriter.flush();
+                for (String line : Files.readAllLines(spillPath, StandardCharsets.UTF_8)) {
+                    recovered.add(unescape(line));
+                }
+            } catch (IOException | RuntimeException ignored) {
+                // o que não puder ser lido se perde
+            }
+        }
+        while (recovered.size() < spilled) {
+            recovered.add("");
+        }
+        closeSpill();
+        spillMemory = recovered;
+    }
+
+    private void closeSpill() {
+        if (spillWriter != null) {
+            try {
+                spillWriter.close();
+            } catch (IOException ignored) {
+            }
+            spillWriter = null;
+        }
+        if (spillPath != null) {
+            try {
+                Files.deleteIfExists(spillPath);
+            } catch (IOException ignored) {
+            }
+            spillPath = null;
+        }
+    }
+
+    private static String escape(String message) {
+        return message.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String line) {
+        StringBuilder sb = new StringBuilder(line.length());
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < line.length()) {
+                char n = line.charAt(++i);
+                sb.append(n == 'n' ? '\n' : n == 'r' ? '\r' : n);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -3,9 +3,32 @@ package controller;
 import java.util.*;
 import model.core.entities.ModelFacade.PlayerStatusInfo;
 
+/**
+ * GameState - Estado observável da partida para a View
+ *
+ * Cada setter marca o que mudou em uma máscara de bits. Fora de um lote a
+ * notificação sai na hora; dentro de beginUpdate()/endUpdate() as mudanças
+ * são acumuladas e os observers recebem uma única notificação no final, com
+ * a máscara (Integer) como argumento de update(). Use affects(arg, mask)
+ * para decidir o que redesenhar.
+ */
 public class GameState extends Observable {
+    public static final int CHANGE_CURRENT_PLAYER = 1;
+    public static final int CHANGE_DICE = 1 << 1;
+    public static final int CHANGE_SPACE = 1 << 2;
+    public static final int CHANGE_POSITIONS = 1 << 3;
+    public static final int CHANGE_PLAYER_STATUS = 1 << 4;
+    public static final int CHANGE_MESSAGE = 1 << 5;
+    public static final int CHANGE_LOG = 1 << 6;
+    public static final int CHANGE_GAME_OVER = 1 << 7;
+    public static final int CHANGE_ROLL_AGAIN = 1 << 8;
+    public static final int CHANGE_ALL = (1 << 9) - 1;
+    
     private static GameState instance;
     
+    private int batchDepth;       // lotes abertos (podem ser aninhados)
+    private int pendingChanges;   // máscara ainda não publicada
+    
     private String currentPlayerName;
     private int currentPlayerBalance;
     private String currentPlayerColor;
@@ -17,7 +40,7 @@ public class GameState extends Observable {
     private boolean gameOver;
     private String winner;
     private List<PlayerStatusInfo> allPlayerStatusInfo;
-    private List<String> logMessages;
+    private final GameLog log;
     private boolean shouldRollAgain;
     
     // Singleton
@@ -26,7 +49,7 @@ public class GameState extends Observable {
         this.currentPlayerProperties = new ArrayList<>();
         this.allPlayerStatusInfo = new ArrayList<>();
         this.allPlayerPositions = new HashMap<>();
-        this.logMessages = new ArrayList<>();
+        this.log = new GameLog(GameLog.DEFAULT_CAPACITY);
         this.message = "";
         this.shouldRollAgain = false;
     }
@@ -41,52 +64,129 @@ public class GameState extends Observable {
     public void addLogMessage(String message) {
         if (message == null || message.trim().isEmpty()) return;
         
-        this.logMessages.add(message);
+        this.log.append(message);
         // Notifica a View que algo mudou
+        markChanged(CHANGE_LOG);
+    }
+    
+    // ===== LOTES DE ATUALIZAÇÃO =====
+    
+    /**
+     * Abre um lote: as mudanças seguintes só são publicadas no endUpdate()
+     * correspondente. Lotes podem ser aninhados.
+     */
+    public void beginUpdate() {
+        batchDepth++;
+    }
+    
+    /**
+     * Fecha um lote. Ao fechar o mais externo, publica uma única notificação
+     * com tudo o que mudou (se algo mudou).
+     */
+    public void endUpdate() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("endUpdate() sem beginUpdate()");
+        }
+        batchDepth--;
+        if (batchDepth == 0) {
+            publish();
+        }
+    }
+    
+    /**
+     * Indica se a notificação recebida em update() inclui alguma das mudanças.
+     * Argumentos que não são máscara (notificações antigas) contam como tudo.
+     */
+    public static boolean affects(Object arg, int mask) {
+        return !(arg instanceof Integer) || (((Integer) arg) & mask) != 0;
+    }
+    
+    private void markChanged(int mask) {
+        pendingChanges |= mask;
+        if (batchDepth == 0) {
+            publish();
+        }
+    }
+    
+    private void publish() {
+        if (pendingChanges == 0) {
+            return;
+        }
+        int changes = pendingChanges;
+        pendingChanges = 0;
         setChanged();
-        notifyObservers();
+        notifyObservers(Integer.valueOf(changes));
     }
 
 // ===== SETTERS (chamados pelo Controller) =====
 
 public void setAllPlayerStatusInfo(List<PlayerStatusInfo> allStatus) {
     this.allPlayerStatusInfo = allStatus;
-    notifyObserversAndUpdate();
+    markChanged(CHANGE_PLAYER_STATUS);
 }
 
 public void updateCurrentPlayer(String name, int balance, String color, List<String> properties) {
+        if (Objects.equals(this.currentPlayerName, name) && this.currentPlayerBalance == balance
+                && Objects.equals(this.currentPlayerColor, color)
+                && Objects.equals(this.currentPlayerProperties, properties)) {
+            return;
+        }
         this.currentPlayerName = name;
         this.currentPlayerBalance = balance;
         this.currentPlayerColor = color;
         this.currentPlayerProperties = properties;
-        notifyObserversAndUpdate();
+        markChanged(CHANGE_CURRENT_PLAYER);
     }
     
     public void setDiceRoll(int dice1, int dice2) {
+        if (lastDiceRoll[0] == dice1 && lastDiceRoll[1] == dice2) {
+            return;
+        }
         this.lastDiceRoll[0] = dice1;
         this.lastDiceRoll[1] = dice2;
-        notifyObserversAndUpdate();
+        markChanged(CHANGE_DICE);
     }
     
     public void setCurrentSpaceName(String spaceName) {
+        if (Objects.equals(this.currentSpaceName, spaceName)) {
+            return;
+        }
         this.currentSpaceName = spaceName;
-        notifyObserversAndUpdate();
+        markChanged(CHANGE_SPACE);
     }
     
     public void setAllPlayerPositions(Map<Integer, Integer> positions) {
+        if (Objects.equals(this.allPlayerPositions, positions)) {
+            return;
+        }
         this.allPlayerPositions = positions;
-        notifyObserversAndUpdate();
+        markChanged(CHANGE_POSITIONS);
     }
     
     public void setMessage(String message) {
+        if (Objects.equals(this.message, message)) {
+            return;
+        }
         this.message = message;
-        notifyObserversAndUpdate();
+        markChanged(CHANGE_MESSAGE);
     }
     
     // ===== GETTERS (para a View) =====
     
+    /**
+     * Histórico da partida. Leitores devem guardar a sequência e usar
+     * readSince() para receber só as mensagens novas.
+     */
+    public GameLog getLog() {
+        return log;
+    }
+    
+    /**
+     * Cópia do histórico completo (inclui o que foi para o disco). É O(n);
+     * quem lê com frequência deve usar getLog().readSince().
+     */
     public List<String> getLogMessages() {
-        return new ArrayList<>(logMessages); // Retorna cópia para segurança
+        return log.toList();
     }
     
     /**
@@ -95,9 +195,8 @@ public void updateCurrentPlayer(String name, int balance, String color, List<Str
      * @param messages List of log messages to restore
      */
     public void setLogMessages(List<String> messages) {
-        this.logMessages = new ArrayList<>(messages);
-        setChanged();
-        notifyObservers();
+        this.log.reset(messages);
+        markChanged(CHANGE_LOG);
     }
     public List<PlayerStatusInfo> getAllPlayerStatusInfo() {
         return allPlayerStatusInfo;
@@ -136,8 +235,11 @@ public void updateCurrentPlayer(String name, int balance, String color, List<Str
     }
     
     public void setGameOver(boolean gameOver) {
+        if (this.gameOver == gameOver) {
+            return;
+        }
         this.gameOver = gameOver;
-        notifyObserversAndUpdate();
+        markChanged(CHANGE_GAME_OVER);
     }
     
     public boolean isGameOver() {
@@ -145,8 +247,11 @@ public void updateCurrentPlayer(String name, int balance, String color, List<Str
     }
     
     public void setWinner(String winner) {
+        if (Objects.equals(this.winner, winner)) {
+            return;
+        }
         this.winner = winner;
-        notifyObserversAndUpdate();
+        markChanged(CHANGE_GAME_OVER);
     }
     
     public String getWinner() {
@@ -154,16 +259,14 @@ public void updateCurrentPlayer(String name, int balance, String color, List<Str
     }
     
     public void setShouldRollAgain(boolean shouldRoll) {
+        if (this.shouldRollAgain == shouldRoll) {
+            return;
+        }
         this.shouldRollAgain = shouldRoll;
-        notifyObserversAndUpdate();
+        markChanged(CHANGE_ROLL_AGAIN);
     }
     
     public boolean shouldRollAgain() {
         return shouldRollAgain;
     }
-    
-    private void notifyObserversAndUpdate() {
-        setChanged();
-        notifyObservers();
-    }
 }
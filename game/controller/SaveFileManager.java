@@ -1,6 +1,7 @@
 package controller;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileFilter;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.io.File;
 import java.text.SimpleDateFormat;
@@ -14,9 +15,24 @@ import java.util.List;
  * - Criação e acesso à pasta de saves
  * - Geração de nomes de arquivo informativos
  * - Configuração de JFileChoosers para save/load
+ * - Escolha do formato (texto .txt ou binário compacto .bin) pela extensão
+ * - Gravações de partidas (.rec) para reprodução
+ * - Índice dos saves (SaveIndex) para a tela de carregar
  */
 public class SaveFileManager {
     private static final String SAVES_DIR = "partidas_salvas";
+    public static final String TEXT_EXTENSION = "txt";
+    public static final String BINARY_EXTENSION = "bin";
+    private static final String AUTOSAVE_FILE = "autosave.journal";
+    private static final String RECORDINGS_DIR = "gravacoes";
+    public static final String RECORDING_EXTENSION = "rec";
+    
+    private static SaveIndex saveIndex;
+    
+    private static final FileNameExtensionFilter TEXT_FILTER = 
+        new FileNameExtensionFilter("Arquivos de Salvamento (*.txt)", TEXT_EXTENSION);
+    private static final FileNameExtensionFilter BINARY_FILTER = 
+        new FileNameExtensionFilter("Salvamento Compacto (*.bin)", BINARY_EXTENSION);
     
     /**
      * Retorna o diretório de saves, criando-o se não existir
@@ -34,6 +50,54 @@ public class SaveFileManager {
         return savesDir;
     }
     
+    /**
+     * Retorna o arquivo do salvamento automático (diário da partida em andamento)
+     * 
+     * @return File dentro do diretório de saves
+     */
+    public static File getAutosaveFile() {
+        return new File(getSavesDirectory(), AUTOSAVE_FILE);
+    }
+    
+    /**
+     * Retorna o índice dos saves da pasta partidas_salvas (criado na
+     * primeira chamada)
+     * 
+     * @return SaveIndex compartilhado
+     */
+    public static synchronized SaveIndex getSaveIndex() {
+        if (saveIndex == null) {
+            saveIndex = new SaveIndex(getSavesDirectory());
+        }
+        return saveIndex;
+    }
+    
+    /**
+     * Retorna o diretório das gravações de partidas, criando-o se não existir
+     * 
+     * @return File dentro do diretório de saves
+     */
+    public static File getRecordingsDirectory() {
+        File recordingsDir = new File(getSavesDirectory(), RECORDINGS_DIR);
+        if (!recordingsDir.exists()) {
+            recordingsDir.mkdirs();
+        }
+        return recordingsDir;
+    }
+    
+    /**
+     * Gera o arquivo da gravação de uma partida nova, com o mesmo nome
+     * sugerido para os saves
+     * 
+     * @param playerNames Lista de nomes dos jogadores
+     * @return Arquivo .rec no diretório de gravações
+     */
+    public static File generateRecordingFile(List<String> playerNames) {
+        String saveName = generateSaveFileName(playerNames);
+        String baseName = saveName.substring(0, saveName.length() - TEXT_EXTENSION.length() - 1);
+        return new File(getRecordingsDirectory(), baseName + "." + RECORDING_EXTENSION);
+    }
+    
     /**
      * Gera um nome de arquivo sugerido baseado nos jogadores e timestamp
      * 
@@ -66,7 +130,7 @@ public class SaveFileManager {
         fileName.append("_").append(timestamp);
         
         // Adicionar extensão
-        fileName.append(".txt");
+        fileName.append(".").append(TEXT_EXTENSION);
         
         return fileName.toString();
     }
@@ -87,10 +151,8 @@ public class SaveFileManager {
         // Configurar título
         fileChooser.setDialogTitle("Salvar Jogo");
         
-        // Configurar filtro de extensão
-        FileNameExtensionFilter filter = 
-            new FileNameExtensionFilter("Arquivos de Salvamento (*.txt)", "txt");
-        fileChooser.setFileFilter(filter);
+        // Configurar filtros de extensão (texto ou binário)
+        addSaveFilters(fileChooser);
         
         // Configurar nome sugerido
         if (suggestedFileName != null && !suggestedFileName.isEmpty()) {
@@ -114,15 +176,16 @@ public class SaveFileManager {
         // Configurar título
         fileChooser.setDialogTitle("Salvar Jogo");
         
-        // Configurar filtro de extensão
-        FileNameExtensionFilter filter = 
-            new FileNameExtensionFilter("Arquivos de Salvamento (*.txt)", "txt");
-        fileChooser.setFileFilter(filter);
+        // Configurar filtros de extensão (texto ou binário)
+        addSaveFilters(fileChooser);
         
         // Se temos um arquivo existente, usar ele
         if (existingFilePath != null && !existingFilePath.isEmpty()) {
             File existingFile = new File(existingFilePath);
             if (existingFile.exists()) {
+                if (isBinarySave(existingFilePath)) {
+                    fileChooser.setFileFilter(BINARY_FILTER);
+                }
                 fileChooser.setSelectedFile(existingFile);
                 fileChooser.setCurrentDirectory(existingFile.getParentFile());
                 return fileChooser;
@@ -154,14 +217,28 @@ public class SaveFileManager {
         // Configurar título
         fileChooser.setDialogTitle("Carregar Jogo Salvo");
         
-        // Configurar filtro de extensão
+        // Configurar filtro de extensão (aceita os dois formatos)
         FileNameExtensionFilter filter = 
-            new FileNameExtensionFilter("Arquivos de Salvamento (*.txt)", "txt");
+            new FileNameExtensionFilter("Arquivos de Salvamento (*.txt, *.bin)", TEXT_EXTENSION, BINARY_EXTENSION);
         fileChooser.setFileFilter(filter);
         
         return fileChooser;
     }
     
+    /**
+     * Cria um JFileChooser configurado para abrir gravações de partidas
+     * 
+     * @return JFileChooser configurado
+     */
+    public static JFileChooser createRecordingChooser() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setCurrentDirectory(getRecordingsDirectory());
+        fileChooser.setDialogTitle("Reproduzir Gravação");
+        fileChooser.setFileFilter(
+            new FileNameExtensionFilter("Gravações de Partidas (*.rec)", RECORDING_EXTENSION));
+        return fileChooser;
+    }
+    
     /**
      * Verifica se o diretório de saves existe e contém arquivos
      * 
@@ -173,8 +250,43 @@ public class SaveFileManager {
             return false;
         }
         
-        File[] files = savesDir.listFiles((dir, name) -> name.endsWith(".txt"));
-        return files != null && files.length > 0;
+        // O índice só relê os arquivos que mudaram
+        return !getSaveIndex().refresh().isEmpty();
+    }
+    
+    /**
+     * Indica se o arquivo deve ser salvo no formato binário compacto
+     * 
+     * @param filePath Caminho do arquivo
+     * @return true se a extensão for .bin
+     */
+    public static boolean isBinarySave(String filePath) {
+        return filePath.toLowerCase().endsWith("." + BINARY_EXTENSION);
+    }
+    
+    /**
+     * Garante que o caminho tenha uma extensão de save, usando a do filtro
+     * escolhido no JFileChooser quando o usuário não digitou nenhuma
+     * 
+     * @param filePath Caminho escolhido
+     * @param filter Filtro selecionado no JFileChooser
+     * @return Caminho terminado em .txt ou .bin
+     */
+    public static String ensureSaveExtension(String filePath, FileFilter filter) {
+        String lower = filePath.toLowerCase();
+        if (lower.endsWith("." + TEXT_EXTENSION) || lower.endsWith("." + BINARY_EXTENSION)) {
+            return filePath;
+        }
+        return filePath + "." + (filter == BINARY_FILTER ? BINARY_EXTENSION : TEXT_EXTENSION);
+    }
+    
+    /**
+     * Adiciona os filtros de texto e binário, com texto como padrão
+     */
+    private static void addSaveFilters(JFileChooser fileChooser) {
+        fileChooser.addChoosableFileFilter(TEXT_FILTER);
+        fileChooser.addChoosableFileFilter(BINARY_FILTER);
+        fileChooser.setFileFilter(TEXT_FILTER);
     }
 }
 
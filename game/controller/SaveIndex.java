@@ -0,0 +1,239 @@
+package controller;
+
+import model.core.entities.SaveSummary;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+
+/**
+ * SaveIndex - Índice dos saves da pasta partidas_salvas
+ *
+ * Guarda o resumo de cada save (SaveSummary: jogadores, saldos, de quem é a
+ * vez, data, hash) num arquivo de índice dentro da própria pasta. Listar os
+ * saves só relê os arquivos cujo tamanho ou data mudaram; os outros vêm do
+ * índice, sem abrir o arquivo.
+ *
+ * Com startWatching(), uma thread acompanha a pasta (WatchService) e
+ * atualiza o índice arquivo por arquivo quando um save é criado, alterado ou
+ * apagado, avisando o listener (na thread do índice; a View deve repassar
+ * para a EDT).
+ *
+ * Quem lê ou altera o índice (load, refresh, o acompanhamento) faz isso com
+ * o lock do índice e no fim publica uma lista pronta e imutável; getSaves()
+ * só devolve essa lista, sem lock e sem disco, e pode ser chamado da EDT.
+ */
+public class SaveIndex {
+    private static final String INDEX_FILE = "indice.dat";
+
+    private final Path directory;
+    private final String indexPath;
+    private final Map<String, SaveSummary> summaries = new HashMap<>();
+    private boolean loaded;
+    private volatile List<SaveSummary> saves = Collections.emptyList();  // publicada pelos escritores
+    private volatile Runnable listener;
+    private Thread watcher;
+    private WatchService watchService;
+
+    /**
+     * @param directory Pasta dos saves (o índice fica nela)
+     */
+    public SaveIndex(File directory) {
+        this.directory = directory.toPath().toAbsolutePath();
+        this.indexPath = new File(directory, INDEX_FILE).getAbsolutePath();
+    }
+
+    /**
+     * Confere a pasta inteira: relê os saves novos ou alterados e tira do
+     * índice os que foram apagados. Deve ser chamado fora da EDT.
+     *
+     * @return Os saves, do mais recente para o mais antigo
+     */
+    public synchronized List<SaveSummary> refresh() {
+        loadIndex();
+        boolean changed = false;
+        Set<String> present = new HashSet<>();
+        File[] files = directory.toFile().listFiles((dir, name) -> isSaveFile(name));
+        if (files != null) {
+            for (File file : files) {
+                present.add(file.getName());
+                changed |= update(file.toPath());
+            }
+        }
+        changed |= summaries.keySet().retainAll(present);
+        if (changed) {
+            saveIndex();
+            publish();
+        }
+        return saves;
+    }
+
+    /**
+     * Lê o arquivo de índice, se ainda não foi lido, sem olhar a pasta. Lê o
+     * disco, então deve ser chamado fora da EDT.
+     *
+     * @return Os saves do índice, do mais recente para o mais antigo
+     */
+    public synchronized List<SaveSummary> load() {
+        loadIndex();
+        return saves;
+    }
+
+    /**
+     * Os saves publicados pela última leitura ou atualização do índice, do
+     * mais recente para o mais antigo (vazia antes de load() ou refresh()).
+     * Não lê o disco nem espera as atualizações em andamento.
+     */
+    public List<SaveSummary> getSaves() {
+        return saves;
+    }
+
+    /**
+     * Publica o conteúdo atual do índice para getSaves()
+     */
+    private void publish() {
+        List<SaveSummary> sorted = new ArrayList<>(summaries.values());
+        sorted.sort(Comparator.comparingLong(SaveSummary::getLastModified).reversed()
+                              .thenComparing(SaveSummary::getFileName));
+        saves = Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Caminho completo de um save do índice
+     */
+    public String getPath(SaveSummary summary) {
+        return directory.resolve(summary.getFileName()).toString();
+    }
+
+    /**
+     * Atualiza a entrada de um arquivo
+     *
+     * @return true se o índice mudou
+     */
+    private boolean update(Path file) {
+        String name = file.getFileName().toString();
+        SaveSummary current = summaries.get(name);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return summaries.remove(name) != null;
+            }
+            if (current != null && !current.isStale(attributes.size(), attributes.lastModifiedTime().toMillis())) {
+                return false;
+            }
+            summaries.put(name, SaveSummary.read(file));
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            // Apagado, ilegível ou ainda sendo escrito: fica fora da lista até mudar de novo
+            return summaries.remove(name) != null;
+        }
+    }
+
+    private void loadIndex() {
+        if (!loaded) {
+            for (SaveSummary summary : SaveSummary.readIndex(indexPath)) {
+                summaries.put(summary.getFileName(), summary);
+            }
+            loaded = true;
+            publish();
+        }
+    }
+
+    private void saveIndex() {
+        try {
+            SaveSummary.writeIndex(indexPath, summaries.values());
+        } catch (IOException e) {
+            // Sem índice em disco a próxima abertura só relê os saves
+            System.err.println("Erro ao gravar o índice de saves: " + e.getMessage());
+        }
+    }
+
+    static boolean isSaveFile(String name) {
+        String lower = name.toLowerCase();
+        return lower.endsWith("." + SaveFileManager.TEXT_EXTENSION)
+            || lower.endsWith("." + SaveFileManager.BINARY_EXTENSION);
+    }
+
+    // ===== ACOMPANHAMENTO DA PASTA =====
+
+    /**
+     * Define quem é avisado quando o índice muda (ou null)
+     */
+    public void setListener(Runnable listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Começa a acompanhar a pasta numa thread própria. Chamar de novo não
+     * faz nada.
+     */
+    public synchronized void startWatching() throws IOException {
+        if (watcher != null) {
+            return;
+        }
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                           StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        WatchService service = watchService;
+        watcher = new Thread(() -> watch(service), "indice-saves");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Para de acompanhar a pasta
+     */
+    public synchronized void stopWatching() {
+        if (watcher == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // A thread termina de qualquer jeito
+        }
+        watcher = null;
+        watchService = null;
+    }
+
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                synchronized (this) {
+                    loadIndex();
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            // Eventos perdidos: confere a pasta inteira
+                            refresh();
+                            changed = true;
+                            continue;
+                        }
+                        Path name = (Path) event.context();
+                        if (isSaveFile(name.toString())) {
+                            changed |= update(directory.resolve(name));
+                        }
+                    }
+                    if (changed) {
+                        saveIndex();
+                        publish();
+                    }
+                }
+                if (changed) {
+                    Runnable current = listener;
+                    if (current != null) {
+                        current.run();
+                    }
+                }
+                if (!key.reset()) {
+                    return; // a pasta foi apagada
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // stopWatching()
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package model.core.entities;
+
+abstract class AutomaticCard extends LuckCard {
+    public AutomaticCard(String imageId, LuckType type, String story) {
+        super(imageId, type, story);
+    }
+
+    @Override
+    public boolean onDraw(Player player) {
+        return this.use(player);
+    }
+}
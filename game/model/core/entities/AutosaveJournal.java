@@ -0,0 +1,338 @@
+package model.core.entities;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * AutosaveJournal - Append-only journal of the game, one record per turn
+ *
+ * The file starts with a checkpoint (a complete binary save, see
+ * GameStateBinaryCodec) followed by deltas: for each turn, only the numbers
+ * that changed since the previous record (balances, positions, owners,
+ * buildings, dice...) and the log messages added in between. Writing a new
+ * checkpoint replaces the whole file, which keeps it short.
+ *
+ * capture() copies the state out of the model and must run on the thread
+ * that owns the model; append() only touches the copy and the GameLog (which
+ * supports readers on other threads), so it can run in the background.
+ *
+ * Every record is framed as type, length, payload and a CRC32 of the
+ * payload. A record cut short by a crash fails the check and replay stops at
+ * the last complete turn.
+ */
+public class AutosaveJournal {
+    private static final int CHECKPOINT = 1;
+    private static final int DELTA = 2;
+
+    private final Path file;
+    private FileChannel channel;                        // open for appending after a checkpoint
+    private GameStateBinaryCodec.State lastState;
+    private long lastLogSequence;
+    private int lastLogEpoch;
+
+    /**
+     * The state of the game at the end of a turn, copied out of the model
+     */
+    public static final class Capture {
+        final GameStateBinaryCodec.State state;
+        final int turn;
+        final long logSequence;
+        final int logEpoch;
+
+        Capture(GameStateBinaryCodec.State state, int turn, long logSequence, int logEpoch) {
+            this.state = state;
+            this.turn = turn;
+            this.logSequence = logSequence;
+            this.logEpoch = logEpoch;
+        }
+
+        public int getTurn() {
+            return turn;
+        }
+    }
+
+    /**
+     * Game rebuilt from a journal
+     */
+    public static final class Recovery {
+        private final ModelFacade facade;
+        private final List<String> log;
+        private final int turn;
+
+        Recovery(ModelFacade facade, List<String> log, int turn) {
+            this.facade = facade;
+            this.log = log;
+            this.turn = turn;
+        }
+
+        public ModelFacade getFacade() {
+            return facade;
+        }
+
+        /** Game history up to the recovered turn (not yet applied to the GameState). */
+        public List<String> getLog() {
+            return log;
+        }
+
+        /** Turns played when the last complete record was written. */
+        public int getTurn() {
+            return turn;
+        }
+    }
+
+    /**
+     * @param filePath Path of the journal file (created on the first checkpoint)
+     */
+    public AutosaveJournal(String filePath) {
+        this.file = Paths.get(filePath).toAbsolutePath();
+    }
+
+    /**
+     * Copies the savable state out of the model. Takes microseconds, so it
+     * can be called on the EDT at the end of each turn.
+     *
+     * @param facade Game to capture
+     * @param turn Number of turns played so far
+     */
+    public static Capture capture(ModelFacade facade, int turn) {
+        controller.GameLog log = controller.GameState.getInstance().getLog();
+        return new Capture(GameStateBinaryCodec.capture(facade), turn, log.getSequence(), log.getEpoch());
+    }
+
+    /**
+     * Writes a captured turn. A checkpoint is written instead of a delta when
+     * requested, when nothing was written yet, when players were eliminated
+     * or when the log was replaced since the last record.
+     *
+     * @param capture State at the end of the turn
+     * @param checkpoint true to write the complete state
+     * @return true if a checkpoint was written
+     * @throws IOException If writing fails (the next call writes a checkpoint)
+     */
+    public synchronized boolean append(Capture capture, boolean checkpoint) throws IOException {
+        controller.GameLog log = controller.GameState.getInstance().getLog();
+        boolean full = checkpoint
+            || !capture.state.sameLayout(lastState)
+            || capture.logEpoch != lastLogEpoch
+            || capture.logSequence < lastLogSequence;
+
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            GameStateBinaryCodec.writeVarint(payload, capture.turn);
+            if (full) {
+                GameStateBinaryCodec.writeHeader(payload);
+                GameStateBinaryCodec.writeState(payload, capture.state);
+                GameStateBinaryCodec.writeLog(payload, log, capture.logSequence);
+            } else {
+                writeChanges(payload, lastState.values, capture.state.values);
+                writeMessages(payload, log, lastLogSequence, capture.logSequence);
+            }
+            if (log.getEpoch() != capture.logEpoch) {
+                // The log was replaced while reading it; the next turn writes a checkpoint
+                lastState = null;
+                return false;
+            }
+
+            byte[] record = frame(full ? CHECKPOINT : DELTA, payload.toByteArray());
+            if (full) {
+                closeChannel();
+                GameStateSaver.writeAtomically(file.toString(), out -> out.write(record));
+                channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            } else {
+                ByteBuffer buffer = ByteBuffer.wrap(record);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            // Unknown what reached the disk: start over with a checkpoint
+            closeChannel();
+            lastState = null;
+            throw e;
+        }
+
+        lastState = capture.state;
+        lastLogSequence = capture.logSequence;
+        lastLogEpoch = capture.logEpoch;
+        return full;
+    }
+
+    /**
+     * Changed fields as (distance from the previous changed field, new value)
+     */
+    private static void writeChanges(OutputStream out, int[] before, int[] after) throws IOException {
+        int changed = 0;
+        for (int i = 0; i < after.length; i++) {
+            if (before[i] != after[i]) {
+                changed++;
+            }
+        }
+        GameStateBinaryCodec.writeVarint(out, changed);
+        int previous = 0;
+        for (int i = 0; i < after.length; i++) {
+            if (before[i] != after[i]) {
+                GameStateBinaryCodec.writeVarint(out, i - previous);
+                GameStateBinaryCodec.writeVarint(out, GameStateBinaryCodec.zigzag(after[i]));
+                previous = i;
+            }
+        }
+    }
+
+    private static void writeMessages(OutputStream out, controller.GameLog log, long from, long to) throws IOException {
+        GameStateBinaryCodec.writeVarint(out, to - from);
+        IOException[] error = new IOException[1];
+        long next = log.read(from, to, message -> {
+            try {
+                GameStateBinaryCodec.writeString(out, message);
+            } catch (IOException e) {
+                error[0] = e;
+            }
+        });
+        if (error[0] != null) {
+            throw error[0];
+        }
+        if (next != to) {
+            throw new IOException("Log messages " + next + " to " + to + " are no longer available");
+        }
+    }
+
+    private static byte[] frame(int type, byte[] payload) throws IOException {
+        ByteArrayOutputStream record = new ByteArrayOutputStream(payload.length + 10);
+        record.write(type);
+        GameStateBinaryCodec.writeVarint(record, payload.length);
+        record.write(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        new DataOutputStream(record).writeInt((int) crc.getValue());
+        return record.toByteArray();
+    }
+
+    /**
+     * Deletes the journal (the game ended or was discarded)
+     */
+    public synchronized void delete() throws IOException {
+        closeChannel();
+        lastState = null;
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Closes the file; the next append writes a checkpoint
+     */
+    public synchronized void close() {
+        closeChannel();
+        lastState = null;
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nothing left to write through it
+            }
+            channel = null;
+        }
+    }
+
+    public boolean exists() {
+        return Files.isRegularFile(file);
+    }
+
+    /**
+     * Rebuilds the game from the journal: the checkpoint plus every complete
+     * delta after it. Neither the file nor the GameState is modified.
+     *
+     * @param filePath Path of the journal
+     * @return The recovered game, or null if there is no journal or no complete checkpoint
+     * @throws IOException If the file cannot be read
+     */
+    public static Recovery replay(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        Board board = BoardInitializer.createStandardBoard();
+        GameStateBinaryCodec.State state = null;
+        List<String> log = new ArrayList<>();
+        int turn = 0;
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            byte[] payload;
+            int type;
+            while ((type = in.read()) >= 0 && (payload = readPayload(in)) != null) {
+                InputStream record = new ByteArrayInputStream(payload);
+                try {
+                    int recordTurn = GameStateBinaryCodec.readInt(record);
+                    if (type == CHECKPOINT) {
+                        GameStateBinaryCodec.readHeader(record);
+                        state = GameStateBinaryCodec.readState(record, board.getBoardSize());
+                        log = new ArrayList<>(GameStateBinaryCodec.readLog(record));
+                    } else if (type == DELTA && state != null) {
+                        state = applyChanges(record, state);
+                        readMessages(record, log);
+                    } else {
+                        break;
+                    }
+                    turn = recordTurn;
+                } catch (EOFException | IllegalArgumentException e) {
+                    break; // the CRC matched but the record does not parse: keep what we have
+                }
+            }
+        }
+
+        if (state == null) {
+            return null;
+        }
+        return new Recovery(GameStateBinaryCodec.restore(state, board), log, turn);
+    }
+
+    /**
+     * Reads the rest of a record after its type
+     *
+     * @return The payload, or null if the record is incomplete or corrupt
+     */
+    private static byte[] readPayload(InputStream in) throws IOException {
+        try {
+            int length = GameStateBinaryCodec.readInt(in);
+            byte[] payload = in.readNBytes(length);
+            byte[] checksum = in.readNBytes(4);
+            if (payload.length != length || checksum.length != 4) {
+                return null;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            return ByteBuffer.wrap(checksum).getInt() == (int) crc.getValue() ? payload : null;
+        } catch (EOFException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static GameStateBinaryCodec.State applyChanges(InputStream in, GameStateBinaryCodec.State state)
+            throws IOException {
+        int[] values = state.values.clone();
+        int changed = GameStateBinaryCodec.readInt(in);
+        int index = 0;
+        for (int i = 0; i < changed; i++) {
+            index += GameStateBinaryCodec.readInt(in);
+            if (index >= values.length) {
+                throw new IllegalArgumentException("Field out of range: " + index);
+            }
+            values[index] = GameStateBinaryCodec.unzigzag(GameStateBinaryCodec.readVarint(in));
+        }
+        return new GameStateBinaryCodec.State(state.names, state.colors, values);
+    }
+
+    private static void readMessages(InputStream in, List<String> log) throws IOException {
+        int count = GameStateBinaryCodec.readInt(in);
+        for (int i = 0; i < count; i++) {
+            log.add(GameStateBinaryCodec.readString(in));
+        }
+    }
+}
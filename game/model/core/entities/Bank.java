@@ -2,13 +2,43 @@ package model.core.entities;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
+/**
+ * The bank and the ownership registry of the game.
+ *
+ * Every property has a slot (its board index when the bank is built from a
+ * board). The registry keeps a BitSet of unowned slots, the seat of the owner
+ * of each slot and, for every seat, a bitmask of the slots it owns, so buying,
+ * selling and eliminating a player are O(1) per property and the whole
+ * ownership state can be copied as a few words. Property.owner and the
+ * player's property list are kept in sync by the registry and should not be
+ * changed around it.
+ */
 class Bank {
+    /** Masks are one long per seat, so slots must fit in 64 bits. */
+    static final int MAX_SLOTS = Long.SIZE;
+
     /** The total money the bank has. */
     private int treasury;
-    /** List of properties that have not yet been purchased by any player. */
-    private final List<Property> unownedProperties;
-    
+    /** Slot of each registered property. */
+    private final Map<Property, Integer> slotOf;
+    /** Property in each slot (null for slots that are not properties). */
+    private final Property[] propertyAt;
+    /** Slots of properties that have not yet been purchased by any player. */
+    private final BitSet unowned;
+    /** Seat of the owner of each slot, or -1. */
+    private final int[] ownerSeat;
+    /** Slots owned by each seat. */
+    private long[] seatMasks;
+    /** Players by seat. */
+    private final List<Player> seats;
+    /** Incremented on every ownership change. */
+    private long ownershipVersion;
+
     /**
      * Returns the current balance of the bank's treasury.
      * @return The current treasury value.
@@ -17,15 +47,63 @@ class Bank {
         return this.treasury;
     }
 
+    /**
+     * Creates a bank whose slots are the positions of the properties in the list.
+     *
+     * @param initialTreasury The initial treasury.
+     * @param allProperties All properties of the game.
+     */
     public Bank(int initialTreasury, List<Property> allProperties) {
-        // Constructor implementation would go here...
+        this(initialTreasury, allProperties, positions(allProperties.size()));
+    }
+
+    /**
+     * Creates a bank whose slots are the board indices of the properties.
+     *
+     * @param initialTreasury The initial treasury.
+     * @param board The board holding all properties of the game.
+     */
+    public Bank(int initialTreasury, Board board) {
+        this(initialTreasury, board.getProperties(), board.getPropertyIndices());
+    }
+
+    private Bank(int initialTreasury, List<Property> allProperties, int[] slots) {
+        int slotCount = 0;
+        for (int slot : slots) {
+            slotCount = Math.max(slotCount, slot + 1);
+        }
+        if (slotCount > MAX_SLOTS) {
+            throw new IllegalArgumentException("Ownership registry supports at most " + MAX_SLOTS + " slots");
+        }
+
         this.treasury = initialTreasury;
-        this.unownedProperties = new ArrayList<>(allProperties);
+        this.slotOf = new IdentityHashMap<>();
+        this.propertyAt = new Property[slotCount];
+        this.unowned = new BitSet(slotCount);
+        this.ownerSeat = new int[slotCount];
+        this.seatMasks = new long[0];
+        this.seats = new ArrayList<>();
+        Arrays.fill(ownerSeat, -1);
+
+        for (int i = 0; i < slots.length; i++) {
+            Property property = allProperties.get(i);
+            slotOf.put(property, slots[i]);
+            propertyAt[slots[i]] = property;
+            unowned.set(slots[i]);
+        }
+    }
+
+    private static int[] positions(int count) {
+        int[] slots = new int[count];
+        for (int i = 0; i < count; i++) {
+            slots[i] = i;
+        }
+        return slots;
     }
 
     /**
      * Adds an amount of money to the bank's treasury.
-     * 
+     *
      * @param amount The amount to be credited. Must be positive.
      */
     public void credit(int amount) {
@@ -36,38 +114,194 @@ class Bank {
 
     /**
      * Removes an amount of money from the bank's treasury.
-     * 
+     *
      * @param amount The amount to be debited.
      */
     public void debit(int amount) {
     }
 
+    /**
+     * Gives the player the next free seat of the registry. Players are
+     * registered in turn order so seats match the original player indices.
+     *
+     * @param player The player to register.
+     * @return The seat of the player.
+     */
+    int registerPlayer(Player player) {
+        if (player.getSeat() >= 0 && player.getSeat() < seats.size() && seats.get(player.getSeat()) == player) {
+            return player.getSeat();
+        }
+        int seat = seats.size();
+        seats.add(player);
+        seatMasks = Arrays.copyOf(seatMasks, seats.size());
+        player.setSeat(seat);
+        return seat;
+    }
+
     /**
      * Checks if a specific property belongs to the bank (has no owner).
-     * 
+     *
      * @param property The property to be checked.
-     * @return true if the property is in the unowned list, false otherwise.
+     * @return true if the property is unowned, false otherwise.
      */
     public boolean isPropertyUnowned(Property property) {
-        return this.unownedProperties.contains(property);
+        Integer slot = slotOf.get(property);
+        return slot != null && unowned.get(slot);
     }
 
     /**
-     * Removes a property from the unowned list (when a player buys it).
-     * 
+     * Removes a property from the unowned set without an owner (legacy
+     * callers that set the owner themselves).
+     *
      * @param property The property that was purchased.
      */
     public void markPropertyAsOwned(Property property) {
-        this.unownedProperties.remove(property);
+        Integer slot = slotOf.get(property);
+        if (slot != null && unowned.get(slot)) {
+            unowned.clear(slot);
+            ownershipVersion++;
+        }
     }
 
     /**
-     * Adds a property back to the unowned list (e.g.: bankruptcy to
-     * the bank).
-     * 
+     * Registers the player as owner of the property. Does not move money.
+     *
+     * @param property The property.
+     * @param player The new owner.
+     */
+    void assignOwner(Property property, Player player) {
+        Integer slot = slotOf.get(property);
+        if (slot == null) {
+            throw new IllegalArgumentException("Property is not registered in this bank: " + property.getName());
+        }
+        releaseSlot(slot);
+
+        int seat = registerPlayer(player);
+        unowned.clear(slot);
+        ownerSeat[slot] = seat;
+        seatMasks[seat] |= 1L << slot;
+        player.addPropertyWithoutPayment(property);
+        property.setOwner(player);
+        ownershipVersion++;
+    }
+
+    /**
+     * Adds a property back to the unowned set (e.g.: sale or bankruptcy to
+     * the bank), removing it from its owner.
+     *
      * @param property The property to be returned to the bank.
      */
     public void returnPropertyToBank(Property property) {
-        this.unownedProperties.add(property);
+        Integer slot = slotOf.get(property);
+        if (slot == null) {
+            return;
+        }
+        releaseSlot(slot);
+        if (property.getOwner() != null) {
+            property.getOwner().sellProperty(property);
+            property.setOwner(null);
+        }
+        unowned.set(slot);
+        ownershipVersion++;
+    }
+
+    /**
+     * Returns every property of the player to the bank.
+     *
+     * @param player The player leaving the game.
+     */
+    void returnAllPropertiesToBank(Player player) {
+        int seat = player.getSeat();
+        if (seat < 0 || seat >= seats.size() || seats.get(seat) != player) {
+            return;
+        }
+        for (long mask = seatMasks[seat]; mask != 0; mask &= mask - 1) {
+            returnPropertyToBank(propertyAt[Long.numberOfTrailingZeros(mask)]);
+        }
+    }
+
+    /**
+     * Gives every property back to the bank at once. The players' property
+     * lists are left alone: this is only used when they are rebuilt right
+     * after (see GameSnapshot).
+     */
+    void clearOwners() {
+        for (int slot = 0; slot < propertyAt.length; slot++) {
+            if (propertyAt[slot] != null) {
+                propertyAt[slot].setOwner(null);
+                ownerSeat[slot] = -1;
+                unowned.set(slot);
+            }
+        }
+        Arrays.fill(seatMasks, 0L);
+        ownershipVersion++;
+    }
+
+    private void releaseSlot(int slot) {
+        int seat = ownerSeat[slot];
+        if (seat >= 0) {
+            seatMasks[seat] &= ~(1L << slot);
+            ownerSeat[slot] = -1;
+        }
+    }
+
+    /**
+     * Returns the seat of the owner of a slot.
+     *
+     * @param slot The slot (board index).
+     * @return The seat, or -1 if the slot is unowned or not a property.
+     */
+    int getOwnerSeat(int slot) {
+        return slot >= 0 && slot < ownerSeat.length ? ownerSeat[slot] : -1;
+    }
+
+    /**
+     * Returns the player sitting on a seat.
+     *
+     * @param seat The seat.
+     * @return The player.
+     */
+    Player getPlayerAtSeat(int seat) {
+        return seats.get(seat);
+    }
+
+    /**
+     * Returns the slots owned by a seat as a bitmask (bit i = slot i).
+     *
+     * @param seat The seat.
+     * @return The ownership mask, 0 for unknown seats.
+     */
+    long getOwnershipMask(int seat) {
+        return seat >= 0 && seat < seatMasks.length ? seatMasks[seat] : 0L;
+    }
+
+    /**
+     * Checks if a seat owns every slot of the mask (e.g. a color group).
+     *
+     * @param seat The seat.
+     * @param slots The slots to check, as a bitmask.
+     * @return true if all slots are owned by the seat.
+     */
+    boolean ownsAll(int seat, long slots) {
+        return (getOwnershipMask(seat) & slots) == slots;
+    }
+
+    /**
+     * Returns a copy of the unowned slots.
+     *
+     * @return The unowned set.
+     */
+    BitSet getUnownedSlots() {
+        return (BitSet) unowned.clone();
+    }
+
+    /**
+     * Returns a counter that changes whenever the ownership changes, so
+     * callers can cache anything derived from it.
+     *
+     * @return The ownership version.
+     */
+    long getOwnershipVersion() {
+        return ownershipVersion;
     }
-}
\ No newline at end of file
+}
@@ -2,21 +2,57 @@ package model.core.entities;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 
 class Board {
     private List<Space> spaces;
+    private Map<Space, Integer> indexBySpace;
+    private LuckDeck luckDeck;
+    
+    // Lookup tables, built once from the space list
+    private int startIndex;
+    private int prisonIndex;
+    private int[] propertyIndices;
+    private int[] luckIndices;
+    private List<Property> properties;
+    private List<Place> places;
+    private List<Company> companies;
+    private Map<String, Property> propertyByName;
+    private int[][] colorGroups;
+    private int[] colorGroupOfSpace;
     // private List<Car> cars;
     
     Board() {
         this.spaces = new ArrayList<>();
         // this.cars = new ArrayList<>();
         initializeBoard();
+        indexSpaces();
     }
     
     Board(List<Space> spaces) {
         this.spaces = new ArrayList<>(spaces);
+        indexSpaces();
+    }
+    
+    Board(List<Space> spaces, LuckDeck luckDeck) {
+        this(spaces);
+        this.luckDeck = luckDeck;
+    }
+    
+    /**
+     * Creates a board whose places are split in color groups.
+     * 
+     * @param spaces The spaces, in board order.
+     * @param luckDeck The deck used by the luck spaces.
+     * @param colorGroups The names of the places of each color group.
+     */
+    Board(List<Space> spaces, LuckDeck luckDeck, String[][] colorGroups) {
+        this(spaces, luckDeck);
+        indexColorGroups(colorGroups);
     }
     
     /**
@@ -49,6 +85,86 @@ class Board {
         }
     }
     
+    /**
+     * Builds the space -> index lookup, so positions are found without
+     * scanning the board.
+     */
+    private void indexSpaces() {
+        this.indexBySpace = new IdentityHashMap<>();
+        this.startIndex = -1;
+        this.prisonIndex = -1;
+        this.properties = new ArrayList<>();
+        this.places = new ArrayList<>();
+        this.companies = new ArrayList<>();
+        this.propertyByName = new HashMap<>();
+        List<Integer> propertyList = new ArrayList<>();
+        List<Integer> luckList = new ArrayList<>();
+        
+        for (int i = 0; i < spaces.size(); i++) {
+            Space space = spaces.get(i);
+            indexBySpace.put(space, i);
+            
+            if (space instanceof Start && startIndex < 0) {
+                startIndex = i;
+            } else if (space instanceof Prison && prisonIndex < 0) {
+                prisonIndex = i;
+            } else if (space instanceof LuckSpace) {
+                luckList.add(i);
+            } else if (space instanceof Property) {
+                Property property = (Property) space;
+                propertyList.add(i);
+                properties.add(property);
+                propertyByName.put(property.getName(), property);
+                if (property instanceof Place) {
+                    places.add((Place) property);
+                } else if (property instanceof Company) {
+                    companies.add((Company) property);
+                }
+            }
+        }
+        
+        // Boards without a Start space (e.g. in tests) start at their first space
+        if (startIndex < 0 && !spaces.isEmpty()) {
+            startIndex = 0;
+        }
+        
+        this.propertyIndices = toArray(propertyList);
+        this.luckIndices = toArray(luckList);
+        this.properties = Collections.unmodifiableList(properties);
+        this.places = Collections.unmodifiableList(places);
+        this.companies = Collections.unmodifiableList(companies);
+        this.colorGroups = new int[0][];
+        this.colorGroupOfSpace = new int[spaces.size()];
+        Arrays.fill(colorGroupOfSpace, -1);
+    }
+    
+    /**
+     * Resolves the color groups by name into board indices.
+     */
+    private void indexColorGroups(String[][] groupNames) {
+        this.colorGroups = new int[groupNames.length][];
+        for (int g = 0; g < groupNames.length; g++) {
+            int[] group = new int[groupNames[g].length];
+            for (int j = 0; j < group.length; j++) {
+                Property property = propertyByName.get(groupNames[g][j]);
+                if (!(property instanceof Place)) {
+                    throw new IllegalArgumentException("Color group refers to unknown place: " + groupNames[g][j]);
+                }
+                group[j] = indexBySpace.get(property);
+                colorGroupOfSpace[group[j]] = g;
+            }
+            colorGroups[g] = group;
+        }
+    }
+    
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+    
     /**
      * Returns the space at the given position.
      * 
@@ -69,7 +185,8 @@ class Board {
      * @return The position of the space, or -1 if not found.
      */
     int getPosition(Space space) {
-        return spaces.indexOf(space);
+        Integer index = indexBySpace.get(space);
+        return index != null ? index : -1;
     }
     
     // /**
@@ -122,22 +239,173 @@ class Board {
      * @return The start space.
      */
     Space getStartSpace() {
-        return spaces.isEmpty() ? null : spaces.get(0);
+        return startIndex < 0 ? null : spaces.get(startIndex);
     }
     
     /**
-     * Finds the prison space on the board.
+     * Returns the index of the start space.
      * 
-     * @return The prison space, or null if not found.
+     * @return The start index, or -1 if the board is empty.
+     */
+    int getStartIndex() {
+        return startIndex;
+    }
+    
+    /**
+     * Returns the prison space of the board.
+     * 
+     * @return The prison space, or null if the board has none.
      */
     Prison getPrisonSpace() {
-        for (Space space : spaces) {
-            if (space instanceof Prison) {
-                return (Prison) space;
-            }
+        return prisonIndex < 0 ? null : (Prison) spaces.get(prisonIndex);
+    }
+    
+    /**
+     * Returns the index of the prison space.
+     * 
+     * @return The prison index, or -1 if the board has none.
+     */
+    int getPrisonIndex() {
+        return prisonIndex;
+    }
+    
+    /**
+     * Returns the board indices of all properties, in board order.
+     * 
+     * @return A copy of the property indices.
+     */
+    int[] getPropertyIndices() {
+        return propertyIndices.clone();
+    }
+    
+    /**
+     * Returns the number of properties on the board.
+     * 
+     * @return The property count.
+     */
+    int propertyCount() {
+        return propertyIndices.length;
+    }
+    
+    /**
+     * Returns the board index of the i-th property, in board order, without
+     * copying the index array.
+     * 
+     * @param i The property number, from 0 to {@link #propertyCount()} - 1.
+     * @return The board index of the property.
+     */
+    int propertyIndexAt(int i) {
+        return propertyIndices[i];
+    }
+    
+    /**
+     * Returns the board indices of all luck spaces, in board order.
+     * 
+     * @return A copy of the luck space indices.
+     */
+    int[] getLuckIndices() {
+        return luckIndices.clone();
+    }
+    
+    /**
+     * Returns all properties, in board order.
+     * 
+     * @return An unmodifiable list of properties.
+     */
+    List<Property> getProperties() {
+        return properties;
+    }
+    
+    /**
+     * Returns all places, in board order.
+     * 
+     * @return An unmodifiable list of places.
+     */
+    List<Place> getPlaces() {
+        return places;
+    }
+    
+    /**
+     * Returns all companies, in board order.
+     * 
+     * @return An unmodifiable list of companies.
+     */
+    List<Company> getCompanies() {
+        return companies;
+    }
+    
+    /**
+     * Finds a property by its name.
+     * 
+     * @param name The property name.
+     * @return The property, or null if no property has that name.
+     */
+    Property getPropertyByName(String name) {
+        return propertyByName.get(name);
+    }
+    
+    /**
+     * Returns the number of color groups.
+     * 
+     * @return The color group count.
+     */
+    int getColorGroupCount() {
+        return colorGroups.length;
+    }
+    
+    /**
+     * Returns the color group of the space at the given index.
+     * 
+     * @param position The board index.
+     * @return The group number, or -1 if the space is not in a color group.
+     */
+    int getColorGroupOf(int position) {
+        if (position < 0 || position >= colorGroupOfSpace.length) {
+            return -1;
         }
-        System.out.println("Retornei Nulo");
-        return null;
+        return colorGroupOfSpace[position];
+    }
+    
+    /**
+     * Returns the board indices of the places in a color group.
+     * 
+     * @param group The group number.
+     * @return A copy of the indices of the group.
+     */
+    int[] getColorGroup(int group) {
+        return colorGroups[group].clone();
+    }
+    
+    /**
+     * Returns the number of places in a color group.
+     * 
+     * @param group The group number.
+     * @return The size of the group.
+     */
+    int colorGroupSize(int group) {
+        return colorGroups[group].length;
+    }
+    
+    /**
+     * Returns the board index of the k-th place of a color group, without
+     * copying the group.
+     * 
+     * @param group The group number.
+     * @param k The position inside the group, from 0 to
+     *          {@link #colorGroupSize(int)} - 1.
+     * @return The board index of the place.
+     */
+    int colorGroupAt(int group, int k) {
+        return colorGroups[group][k];
+    }
+    
+    /**
+     * Returns the luck deck used by the luck spaces of this board.
+     * 
+     * @return The luck deck, or null if the board has no luck spaces.
+     */
+    LuckDeck getLuckDeck() {
+        return luckDeck;
     }
     
     /**
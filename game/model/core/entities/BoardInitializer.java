@@ -6,13 +6,40 @@ import java.util.List;
 import java.util.Map;
 
 public class BoardInitializer {
-    private static LuckDeck sharedLuckDeck;
     
+    /** Places of the same color, by name. */
+    private static final String[][] COLOR_GROUPS = {
+        {"Leblon", "Av. Presidente Vargas", "Av. Nossa Sra. De Copacabana"},
+        {"Av. Brigadeiro Faria Lima", "Av. Rebouças", "Av. 9 de Julho"},
+        {"Av. Europa", "Rua Augusta", "Av. Pacaembú"},
+        {"Interlagos", "Morumbi"},
+        {"Flamengo", "Botafogo"},
+        {"Av. Brasil", "Av. Paulista", "Jardim Europa"},
+        {"Copacabana", "Av. Vieira Souto", "Av. Atlântica", "Ipanema"},
+        {"Jardim Paulista", "Brooklin"}
+    };
+    
+    /**
+     * Creates the standard board with an unseeded luck deck.
+     * 
+     * @return A new board, independent from any other board.
+     */
     public static Board createStandardBoard() {
+        return createStandardBoard(new GameRandom());
+    }
+    
+    /**
+     * Creates the standard board. Every call builds its own spaces and its own
+     * luck deck, so several games can run in the same JVM at once.
+     * 
+     * @param random Source of randomness used to shuffle the luck deck.
+     * @return A new board, independent from any other board.
+     */
+    static Board createStandardBoard(GameRandom random) {
         List<Space> spaces = new ArrayList<>(40);
         
-        // Create a shared luck deck for all luck spaces (will be initialized after prison is created)
-        sharedLuckDeck = new LuckDeck();
+        // Create the luck deck shared by all luck spaces of this board (will be initialized after prison is created)
+        LuckDeck sharedLuckDeck = new LuckDeck(random);
         
         // Create all 40 spaces
         // Position 0: START
@@ -151,7 +178,7 @@ public class BoardInitializer {
         sharedLuckDeck.setPrisonSpace(prisonSpace);
         
         // Create board
-        Board board = new Board(spaces);
+        Board board = new Board(spaces, sharedLuckDeck, COLOR_GROUPS);
         
         return board;
     }
@@ -174,14 +201,5 @@ public class BoardInitializer {
         
         return new Place(name, cost, null, baseRent, housePrice, hotelPrice, hotelRent, houseRent);
     }
-    
-    /**
-     * Returns the shared luck deck instance.
-     * 
-     * @return The shared LuckDeck.
-     */
-    public static LuckDeck getSharedLuckDeck() {
-        return sharedLuckDeck;
-    }
 }
 
@@ -2,25 +2,64 @@ package model.core.entities;
 
 class Car {
     private Space position;
+    private int positionIndex;
+    /** Table row holding the position index once the car belongs to a player. */
+    private PlayerTable table;
+    private int row = -1;
+    private final Board board;
     private boolean in_prison;
     private String color;
 
+    /**
+     * Creates a car that moves by following the spaces' next links.
+     * 
+     * @param color The car color.
+     * @param startPosition The space where the car starts.
+     */
     public Car(String color, Space startPosition) {
         this.color = color;
         this.position = startPosition;
+        this.positionIndex = -1;
+        this.board = null;
         this.in_prison = false; // Initially, the car is not in prison
     }
 
+    /**
+     * Creates a car addressed by board index: moving is a modular addition
+     * instead of a walk through the linked spaces.
+     * 
+     * @param color The car color.
+     * @param board The board the car moves on.
+     * @param startIndex The index of the space where the car starts.
+     */
+    public Car(String color, Board board, int startIndex) {
+        this.color = color;
+        this.board = board;
+        this.positionIndex = startIndex;
+        this.position = board.getSpace(startIndex);
+        this.in_prison = false;
+    }
+
     /**
      * Advances the car position by the specified number of steps.
      * 
      * @param steps The number of spaces to move forward.
+     * @return true if the car went past the last space of the board back to
+     *         index 0 (only known for cars created with a board).
      */
-    public void advancePosition(int steps) {
+    public boolean advancePosition(int steps) {
+        if (board != null) {
+            int target = getPositionIndex() + steps;
+            int size = board.getBoardSize();
+            storeIndex(target % size);
+            return target >= size;
+        }
+
         // move the car forward by 'steps'(according to the dice roll) spaces
         for (int i = 0; i < steps; i++) {
             position = position.getNext();
         }
+        return false;
     }
     
     public boolean isInPrison() {
@@ -36,9 +75,58 @@ class Car {
         return position;
     }  
 
+    /**
+     * Returns the board index of the current position.
+     * 
+     * @return The index, or -1 for cars that are not addressed by index.
+     */
+    public int getPositionIndex() {
+        return table != null ? table.getPosition(row) : positionIndex;
+    }
+
     public void setPosition(Space newPosition) {
         //useful for the "Go to Prison" space, for example
         position = newPosition;
+        if (board != null) {
+            int index = board.getPosition(newPosition);
+            if (index < 0) {
+                throw new IllegalArgumentException("Space " + newPosition.getName() + " is not on this car's board");
+            }
+            storeIndex(index);
+        }
+    }
+
+    /**
+     * Moves the car directly to a board index.
+     * 
+     * @param index The index of the destination space.
+     */
+    public void setPositionIndex(int index) {
+        if (board == null) {
+            throw new IllegalStateException("Car is not addressed by board index");
+        }
+        storeIndex(index);
+    }
+
+    private void storeIndex(int index) {
+        if (table != null) {
+            table.setPosition(row, index);
+        } else {
+            positionIndex = index;
+        }
+        position = board.getSpace(index);
+    }
+
+    /**
+     * Moves the position index into the owner's row of the player table.
+     * 
+     * @param table The table of the car's owner.
+     * @param row The owner's row.
+     */
+    void attach(PlayerTable table, int row) {
+        table.setPosition(row, getPositionIndex());
+        this.table = table;
+        this.row = row;
     }
 
     public String getColor() {
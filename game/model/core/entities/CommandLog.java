@@ -0,0 +1,156 @@
+package model.core.entities;
+
+import java.util.ArrayDeque;
+
+/**
+ * The undo/redo history of a game: the GameCommands of its mutating calls,
+ * most recent first.
+ *
+ * Undoing pops a command and moves it to the redo stack; a new command
+ * empties the redo stack. Both are O(1) per step and never rebuild the
+ * board. Only the last {@link #DEFAULT_LIMIT} commands are kept.
+ *
+ * Commands pushed between beginGroup() and endGroup() become one
+ * GameCommand.Compound, so one click of the player is one step of the history.
+ *
+ * If the game is being recorded, the recording follows the history: undoing
+ * drops the events of the command (and of the failed calls after it, which
+ * changed nothing), redoing adds them back, so the recording still replays
+ * to the current state.
+ */
+final class CommandLog {
+    static final int DEFAULT_LIMIT = 500;
+
+    private final int limit;
+    private final ArrayDeque<GameCommand> done = new ArrayDeque<>();
+    private final ArrayDeque<GameCommand> undone = new ArrayDeque<>();
+    /** Recording size after the last command pushed, undone or redone. */
+    private int recorded;
+    /** Commands of the open group, and how many groups are open. */
+    private GameCommand.Compound group;
+    private int depth;
+
+    CommandLog() {
+        this(DEFAULT_LIMIT);
+    }
+
+    CommandLog(int limit) {
+        this.limit = Math.max(1, limit);
+    }
+
+    /**
+     * Forgets every command (new game, load, or a state set from outside)
+     *
+     * @param recording The game's recording, or null
+     */
+    void reset(GameRecording recording) {
+        done.clear();
+        undone.clear();
+        group = null;
+        depth = 0;
+        recorded = recording == null ? 0 : recording.size();
+    }
+
+    /**
+     * Starts collecting commands into one. Groups may nest; only the
+     * outermost one counts.
+     */
+    void beginGroup() {
+        if (depth++ == 0) {
+            group = new GameCommand.Compound();
+        }
+    }
+
+    /**
+     * Ends the group started by beginGroup(), adding its commands as one
+     */
+    void endGroup(ModelFacade game) {
+        if (depth == 0 || --depth > 0) {
+            return;
+        }
+        GameCommand.Compound finished = group;
+        group = null;
+        if (finished.size() > 0) {
+            store(game, finished.size() == 1 ? finished.first() : finished);
+        }
+    }
+
+    /**
+     * Adds a command whose call has just succeeded
+     */
+    void push(ModelFacade game, GameCommand command) {
+        command.finish(game);
+        if (group != null) {
+            group.add(command);
+        } else {
+            store(game, command);
+        }
+    }
+
+    private void store(ModelFacade game, GameCommand command) {
+        GameRecording recording = game.getRecording();
+        if (recording != null) {
+            command.setRecorded(recorded, recording.eventsFrom(recorded));
+            recorded = recording.size();
+        }
+        undone.clear();
+        done.push(command);
+        if (done.size() > limit) {
+            done.removeLast();
+        }
+    }
+
+    /**
+     * Undoes the most recent command
+     *
+     * @return The command, or null if there is nothing to undo
+     */
+    GameCommand undo(ModelFacade game) {
+        GameCommand command = done.poll();
+        if (command == null) {
+            return null;
+        }
+        command.undo(game);
+        GameRecording recording = game.getRecording();
+        if (recording != null) {
+            recording.truncate(command.getRecordFrom());
+            recorded = command.getRecordFrom();
+        }
+        undone.push(command);
+        return command;
+    }
+
+    /**
+     * Redoes the most recently undone command
+     *
+     * @return The command, or null if there is nothing to redo
+     */
+    GameCommand redo(ModelFacade game) {
+        GameCommand command = undone.poll();
+        if (command == null) {
+            return null;
+        }
+        command.redo(game);
+        GameRecording recording = game.getRecording();
+        if (recording != null) {
+            recording.truncate(command.getRecordFrom());
+            recording.append(command.getRecorded());
+            recorded = recording.size();
+        }
+        done.push(command);
+        return command;
+    }
+
+    boolean canUndo() {
+        return !done.isEmpty();
+    }
+
+    boolean canRedo() {
+        return !undone.isEmpty();
+    }
+
+    /** Commands that can be undone. */
+    int size() {
+        return done.size();
+    }
+}
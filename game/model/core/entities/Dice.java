@@ -1,14 +1,28 @@
 package model.core.entities;
 
-import java.util.Random;
-
 class Dice {
+    private final GameRandom rand;
+    
+    public Dice() {
+        this(new GameRandom());
+    }
+    
+    /**
+     * Creates a die that rolls with the given source of randomness.
+     * 
+     * @param rand The game's random source (seeded for reproducible games).
+     */
+    public Dice(GameRandom rand) {
+        this.rand = rand;
+    }
+    
+    /**
+     * Rolls the die. Does not allocate.
+     * 
+     * @return A value between 1 and 6.
+     */
     public int roll() {
-    	Random rand = new Random();
-    	int min = 1;
-    	int max = 6;
-    	
-        return rand.nextInt((max - min) + 1) + min;
+        return rand.rollDie();
     }
     public int rollFixed(int value) {
         if (value < 1) value = 1;
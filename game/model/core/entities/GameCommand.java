@@ -0,0 +1,685 @@
+package model.core.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One change made by a mutating ModelFacade call, kept by the CommandLog so
+ * it can be undone and redone.
+ *
+ * A command is created before the call, reading what the call may change,
+ * and finished right after it, reading the new values; undo() and redo()
+ * then just write one set or the other back. Calls that touch a few fields
+ * (buying, building, selling, dice, turn change, prison) keep only those
+ * fields. A move keeps the current player's position and prison state, the
+ * balances of the few players, and undoes its luck card draw on the deck in
+ * place; only a draw that reshuffles the deck (once per pass through it)
+ * keeps the order of the whole deck. Eliminations keep the properties and
+ * cards of the player leaving, never the whole game.
+ *
+ * undo() is only valid when the game is in the state finish() saw, and
+ * redo() when it is in the state the constructor saw: the CommandLog keeps
+ * them in that order.
+ */
+abstract class GameCommand {
+    /** Recording events before this command, and the events it added. */
+    private int recordFrom;
+    private GameRecording.Event[] recorded = new GameRecording.Event[0];
+
+    /** Reads the new values, right after the call. */
+    abstract void finish(ModelFacade game);
+
+    /** Puts back the values read before the call. */
+    abstract void undo(ModelFacade game);
+
+    /** Puts back the values read after the call. */
+    abstract void redo(ModelFacade game);
+
+    /** What the command did, for the players (e.g.: "compra de Leblon"). */
+    abstract String describe();
+
+    void setRecorded(int recordFrom, GameRecording.Event[] recorded) {
+        this.recordFrom = recordFrom;
+        this.recorded = recorded;
+    }
+
+    int getRecordFrom() {
+        return recordFrom;
+    }
+
+    GameRecording.Event[] getRecorded() {
+        return recorded;
+    }
+
+    /**
+     * Dice roll, random or manual: the dice shown and the dice stream position
+     */
+    static final class Roll extends GameCommand {
+        private final boolean rolledBefore;
+        private final int die1Before;
+        private final int die2Before;
+        private final long streamBefore;
+        private int die1After;
+        private int die2After;
+        private long streamAfter;
+
+        Roll(ModelFacade game) {
+            int[] dice = game.getLastDiceRoll();
+            this.rolledBefore = game.getDiceRolledThisTurn();
+            this.die1Before = dice[0];
+            this.die2Before = dice[1];
+            this.streamBefore = game.getDiceRandom().getState();
+        }
+
+        @Override
+        void finish(ModelFacade game) {
+            int[] dice = game.getLastDiceRoll();
+            die1After = dice[0];
+            die2After = dice[1];
+            streamAfter = game.getDiceRandom().getState();
+        }
+
+        @Override
+        void undo(ModelFacade game) {
+            set(game, rolledBefore, die1Before, die2Before, streamBefore);
+        }
+
+        @Override
+        void redo(ModelFacade game) {
+            set(game, true, die1After, die2After, streamAfter);
+        }
+
+        private static void set(ModelFacade game, boolean rolled, int die1, int die2, long stream) {
+            game.setLastDiceRoll(die1, die2);
+            game.setGameFlags(game.getHasBuiltThisTurn(), game.getPropertyJustBought(), rolled);
+            GameRandom random = game.getDiceRandom();
+            random.setState(stream, random.getGamma());
+        }
+
+        @Override
+        String describe() {
+            return "rolagem dos dados (" + die1After + "+" + die2After + ")";
+        }
+    }
+
+    /**
+     * Purchase of the current property
+     */
+    static final class Buy extends GameCommand {
+        private final Player player;
+        private final Property property;
+        private final int balanceBefore;
+        private final Property justBoughtBefore;
+        private int balanceAfter;
+
+        Buy(ModelFacade game) {
+            this.player = game.getCurrentPlayer();
+            this.property = (Property) player.getCar().getPosition();
+            this.balanceBefore = player.getBalance();
+            this.justBoughtBefore = game.getPropertyJustBought();
+        }
+
+        @Override
+        void finish(ModelFacade game) {
+            balanceAfter = player.getBalance();
+        }
+
+        @Override
+        void undo(ModelFacade game) {
+            game.getBank().returnPropertyToBank(property);
+            player.setBalance(balanceBefore);
+            game.setGameFlags(game.getHasBuiltThisTurn(), justBoughtBefore, game.getDiceRolledThisTurn());
+        }
+
+        @Override
+        void redo(ModelFacade game) {
+            game.getBank().assignOwner(property, player);
+            player.setBalance(balanceAfter);
+            game.setGameFlags(game.getHasBuiltThisTurn(), property, game.getDiceRolledThisTurn());
+        }
+
+        @Override
+        String describe() {
+            return "compra de " + property.getName();
+        }
+    }
+
+    /**
+     * House or hotel built on the current place
+     */
+    static final class Build extends GameCommand {
+        private final Player player;
+        private final Place place;
+        private final int housesBefore;
+        private final int hotelsBefore;
+        private final int balanceBefore;
+        private int housesAfter;
+        private int hotelsAfter;
+        private int balanceAfter;
+
+        Build(ModelFacade game) {
+            this.player = game.getCurrentPlayer();
+            this.place = (Place) player.getCar().getPosition();
+            this.housesBefore = place.getNumOfHouses();
+            this.hotelsBefore = place.getNumOfHotels();
+            this.balanceBefore = player.getBalance();
+        }
+
+        @Override
+        void finish(ModelFacade game) {
+            housesAfter = place.getNumOfHouses();
+            hotelsAfter = place.getNumOfHotels();
+            balanceAfter = player.getBalance();
+        }
+
+        @Override
+        void undo(ModelFacade game) {
+            set(game, housesBefore, hotelsBefore, balanceBefore, false);
+        }
+
+        @Override
+        void redo(ModelFacade game) {
+            set(game, housesAfter, hotelsAfter, balanceAfter, true);
+        }
+
+        private void set(ModelFacade game, int houses, int hotels, int balance, boolean built) {
+            place.setHouses(houses);
+            place.setHotels(hotels);
+            player.setBalance(balance);
+            game.setGameFlags(built, game.getPropertyJustBought(), game.getDiceRolledThisTurn());
+        }
+
+        @Override
+        String describe() {
+            return (hotelsAfter > hotelsBefore ? "hotel em " : "casa em ") + place.getName();
+        }
+    }
+
+    /**
+     * Sale of a property to the bank
+     */
+    static final class Sell extends GameCommand {
+        private final Player player;
+        private final Property property;
+        private final List<Property> ownedBefore;
+        private final int balanceBefore;
+        private int balanceAfter;
+
+        Sell(ModelFacade game, Property property) {
+            this.player = game.getCurrentPlayer();
+            this.property = property;
+            this.ownedBefore = player.getLiquidAssets();
+            this.balanceBefore = player.getBalance();
+        }
+
+        @Override
+        void finish(ModelFacade game) {
+            balanceAfter = player.getBalance();
+        }
+
+        @Override
+        void undo(ModelFacade game) {
+            game.getBank().assignOwner(property, player);
+            // Back to its place in the player's list, not at the end
+            player.clearProperties();
+            for (Property owned : ownedBefore) {
+                player.addPropertyWithoutPayment(owned);
+            }
+            player.setBalance(balanceBefore);
+        }
+
+        @Override
+        void redo(ModelFacade game) {
+            game.getBank().returnPropertyToBank(property);
+            player.setBalance(balanceAfter);
+        }
+
+        @Override
+        String describe() {
+            return "venda de " + property.getName();
+        }
+    }
+
+    /**
+     * Turn passed to the next player
+     */
+    static final class NextTurn extends GameCommand {
+        private final int indexBefore;
+        private final boolean builtBefore;
+        private final boolean rolledBefore;
+        private final Property justBoughtBefore;
+        private int indexAfter;
+
+        NextTurn(ModelFacade game) {
+            this.indexBefore = game.getCurrentPlayerIndex();
+            this.builtBefore = game.getHasBuiltThisTurn();
+            this.rolledBefore = game.getDiceRolledThisTurn();
+            this.justBoughtBefore = game.getPropertyJustBought();
+        }
+
+        @Override
+        void finish(ModelFacade game) {
+            indexAfter = game.getCurrentPlayerIndex();
+        }
+
+        @Override
+        void undo(ModelFacade game) {
+            game.setCurrentPlayerIndex(indexBefore);
+            game.setGameFlags(builtBefore, justBoughtBefore, rolledBefore);
+        }
+
+        @Override
+        void redo(ModelFacade game) {
+            game.setCurrentPlayerIndex(indexAfter);
+            game.setGameFlags(false, null, false);
+        }
+
+        @Override
+        String describe() {
+            return "passagem de vez";
+        }
+    }
+
+    /**
+     * Prison state of the current player (release or one more turn inside)
+     */
+    static final class PrisonTurn extends GameCommand {
+        private final Player player;
+        private final boolean released;
+        private final boolean inPrisonBefore;
+        private final int turnsBefore;
+        private final int doublesBefore;
+        private boolean inPrisonAfter;
+        private int turnsAfter;
+        private int doublesAfter;
+
+        PrisonTurn(ModelFacade game, boolean released) {
+            this.player = game.getCurrentPlayer();
+            this.released = released;
+            this.inPrisonBefore = player.isInPrison();
+            this.turnsBefore = player.getTurnsInPrison();
+            this.doublesBefore = player.getConsecutiveDoubles();
+        }
+
+        @Override
+        void finish(ModelFacade game) {
+            inPrisonAfter = player.isInPrison();
+            turnsAfter = player.getTurnsInPrison();
+            doublesAfter = player.getConsecutiveDoubles();
+        }
+
+        @Override
+        void undo(ModelFacade game) {
+            player.setPrisonState(inPrisonBefore, turnsBefore);
+            player.setConsecutiveDoubles(doublesBefore);
+        }
+
+        @Override
+        void redo(ModelFacade game) {
+            player.setPrisonState(inPrisonAfter, turnsAfter);
+            player.setConsecutiveDoubles(doublesAfter);
+        }
+
+        @Override
+        String describe() {
+            return released ? "saída da prisão" : "turno na prisão";
+        }
+    }
+
+    /**
+     * Move of the current player and the event of the space it stops on: the
+     * player's position and prison state, every balance (rent and luck cards
+     * can pay any player) and the luck card drawn, if any
+     */
+    static final class Move extends GameCommand {
+        private final int steps;
+        private final Player player;
+        private final int[] balancesBefore;
+        private final int positionBefore;
+        private final boolean inPrisonBefore;
+        private final int turnsBefore;
+        private final int doublesBefore;
+        private final String messageBefore;
+        private int[] balancesAfter;
+        private int positionAfter;
+        private boolean inPrisonAfter;
+        private int turnsAfter;
+        private int doublesAfter;
+        private String messageAfter;
+        /** Luck space the player stopped on, its card before and after. */
+        private LuckSpace luckSpace;
+        private LuckCard shownBefore;
+        private LuckCard shownAfter;
+        private int deckCursorBefore;
+        private int deckDiscardsBefore;
+        private LuckCard drawn;
+        private boolean discarded;
+        /** Whole deck order, only when the draw reshuffled the deck. */
+        private DeckOrder orderBefore;
+        private DeckOrder orderAfter;
+
+        Move(ModelFacade game, int steps) {
+            this.steps = steps;
+            this.player = game.getCurrentPlayer();
+            this.balancesBefore = balances(game);
+            this.positionBefore = player.getCar().getPositionIndex();
+            this.inPrisonBefore = player.isInPrison();
+            this.turnsBefore = player.getTurnsInPrison();
+            this.doublesBefore = player.getConsecutiveDoubles();
+            this.messageBefore = game.getLastEventMessage();
+        }
+
+        /**
+         * Called once the car has moved, before the space event: reads the
+         * luck space and the deck the event may change
+         */
+        void landedOn(Space space) {
+            if (!(space instanceof LuckSpace)) {
+                return;
+            }
+            luckSpace = (LuckSpace) space;
+            LuckDeck deck = luckSpace.getDeck();
+            shownBefore = luckSpace.getCurrentCard();
+            deckCursorBefore = deck.getCursor();
+            deckDiscardsBefore = deck.discardSize();
+            if (deck.isEmpty()) {
+                // The draw reshuffles: keep the order of the whole deck
+                orderBefore = new DeckOrder(deck);
+            }
+        }
+
+        @Override
+        void finish(ModelFacade game) {
+            balancesAfter = balances(game);
+            positionAfter = player.getCar().getPositionIndex();
+            inPrisonAfter = player.isInPrison();
+            turnsAfter = player.getTurnsInPrison();
+            doublesAfter = player.getConsecutiveDoubles();
+            messageAfter = game.getLastEventMessage();
+            if (luckSpace == null) {
+                return;
+            }
+            LuckDeck deck = luckSpace.getDeck();
+            shownAfter = luckSpace.getCurrentCard();
+            if (orderBefore != null) {
+                orderAfter = new DeckOrder(deck);
+            } else if (deck.getCursor() == deckCursorBefore + 1) {
+                drawn = shownAfter;
+                discarded = deck.discardSize() == deckDiscardsBefore + 1;
+            }
+        }
+
+        @Override
+        void undo(ModelFacade game) {
+            if (luckSpace != null) {
+                LuckDeck deck = luckSpace.getDeck();
+                if (orderBefore != null) {
+                    orderBefore.restore(deck);
+                } else if (drawn != null) {
+                    deck.undoDraw(drawn, discarded);
+                }
+                luckSpace.setCurrentCard(shownBefore);
+            }
+            set(game, balancesBefore, positionBefore, inPrisonBefore, turnsBefore, doublesBefore, messageBefore);
+        }
+
+        @Override
+        void redo(ModelFacade game) {
+            if (luckSpace != null) {
+                LuckDeck deck = luckSpace.getDeck();
+                if (orderAfter != null) {
+                    orderAfter.restore(deck);
+                } else if (drawn != null) {
+                    deck.drawCard();
+                    if (discarded) {
+                        deck.discard(drawn);
+                    }
+                }
+                luckSpace.setCurrentCard(shownAfter);
+            }
+            set(game, balancesAfter, positionAfter, inPrisonAfter, turnsAfter, doublesAfter, messageAfter);
+        }
+
+        private void set(ModelFacade game, int[] balances, int position, boolean inPrison,
+                         int turns, int doubles, String message) {
+            List<Player> roster = game.getRoster();
+            for (int row = 0; row < balances.length; row++) {
+                roster.get(row).setBalance(balances[row]);
+            }
+            player.getCar().setPositionIndex(position);
+            player.setPrisonState(inPrison, turns);
+            player.setConsecutiveDoubles(doubles);
+            game.setLastEventMessage(message);
+        }
+
+        /** Balance of every player, by table row. */
+        private static int[] balances(ModelFacade game) {
+            List<Player> roster = game.getRoster();
+            int[] balances = new int[roster.size()];
+            for (int row = 0; row < balances.length; row++) {
+                balances[row] = roster.get(row).getBalance();
+            }
+            return balances;
+        }
+
+        @Override
+        String describe() {
+            return "movimento de " + steps + " casas";
+        }
+    }
+
+    /**
+     * "Get Out of Prison" card drawn and handed to the current player
+     */
+    static final class TakePrisonCard extends GameCommand {
+        private final Player player;
+        private final GetOutPrisonCard card;
+
+        TakePrisonCard(ModelFacade game, GetOutPrisonCard card) {
+            this.player = game.getCurrentPlayer();
+            this.card = card;
+        }
+
+        @Override
+        void finish(ModelFacade game) {
+            // Nothing else changes: the card left the deck when it was drawn
+        }
+
+        @Override
+        void undo(ModelFacade game) {
+            player.dropGetOutPrisonCard(card);
+        }
+
+        @Override
+        void redo(ModelFacade game) {
+            player.receiveGetOutPrisonCard(card);
+        }
+
+        @Override
+        String describe() {
+            return "carta de sorte";
+        }
+    }
+
+    /**
+     * "Get Out of Prison" card used by the current player: the prison state,
+     * and the card going from the player's hand to the bottom of the deck
+     */
+    static final class UsePrisonCard extends GameCommand {
+        private final Player player;
+        private final GetOutPrisonCard card;
+        private final boolean inPrisonBefore;
+        private final int turnsBefore;
+        private final int doublesBefore;
+        private boolean inPrisonAfter;
+        private int turnsAfter;
+        private int doublesAfter;
+
+        UsePrisonCard(ModelFacade game, GetOutPrisonCard card) {
+            this.player = game.getCurrentPlayer();
+            this.card = card;
+            this.inPrisonBefore = player.isInPrison();
+            this.turnsBefore = player.getTurnsInPrison();
+            this.doublesBefore = player.getConsecutiveDoubles();
+        }
+
+        @Override
+        void finish(ModelFacade game) {
+            inPrisonAfter = player.isInPrison();
+            turnsAfter = player.getTurnsInPrison();
+            doublesAfter = player.getConsecutiveDoubles();
+        }
+
+        @Override
+        void undo(ModelFacade game) {
+            LuckDeck deck = game.getBoard().getLuckDeck();
+            if (deck != null) {
+                deck.undoReturn(card);
+            }
+            player.putBackGetOutPrisonCard(card);
+            player.setPrisonState(inPrisonBefore, turnsBefore);
+            player.setConsecutiveDoubles(doublesBefore);
+        }
+
+        @Override
+        void redo(ModelFacade game) {
+            player.useGetOutPrisonCard();
+            game.returnGetOutPrisonCard(card);
+            player.setPrisonState(inPrisonAfter, turnsAfter);
+            player.setConsecutiveDoubles(doublesAfter);
+        }
+
+        @Override
+        String describe() {
+            return "uso da carta de saída da prisão";
+        }
+    }
+
+    /**
+     * Elimination of the current player: the player's properties, in the
+     * player's order, the prison cards returned to the deck and the place in
+     * the turn order
+     */
+    static final class Eliminate extends GameCommand {
+        private final Player player;
+        private final int indexBefore;
+        private final List<Property> ownedBefore;
+        private final List<GetOutPrisonCard> cardsBefore = new ArrayList<>();
+        private int indexAfter;
+
+        Eliminate(ModelFacade game) {
+            this.player = game.getCurrentPlayer();
+            this.indexBefore = game.getCurrentPlayerIndex();
+            this.ownedBefore = player.getLiquidAssets();
+            for (int i = 0; i < player.getGetOutPrisonCardCount(); i++) {
+                cardsBefore.add(player.getGetOutPrisonCard(i));
+            }
+        }
+
+        @Override
+        void finish(ModelFacade game) {
+            indexAfter = game.getCurrentPlayerIndex();
+        }
+
+        @Override
+        void undo(ModelFacade game) {
+            LuckDeck deck = game.getBoard().getLuckDeck();
+            // Returned in hand order: take them back from the last one
+            for (int i = cardsBefore.size() - 1; i >= 0; i--) {
+                if (deck != null) {
+                    deck.undoReturn(cardsBefore.get(i));
+                }
+                player.putBackGetOutPrisonCard(cardsBefore.get(i));
+            }
+            for (Property property : ownedBefore) {
+                game.getBank().assignOwner(property, player);
+            }
+            game.reinstatePlayer(indexBefore, player);
+            game.setCurrentPlayerIndex(indexBefore);
+        }
+
+        @Override
+        void redo(ModelFacade game) {
+            game.getBank().returnAllPropertiesToBank(player);
+            while (player.hasGetOutPrisonCard()) {
+                game.returnGetOutPrisonCard(player.useGetOutPrisonCard());
+            }
+            game.removePlayer(indexBefore);
+            game.setCurrentPlayerIndex(indexAfter);
+        }
+
+        @Override
+        String describe() {
+            return "eliminação de " + player.getName();
+        }
+    }
+
+    /**
+     * Order of every card of a deck and its random stream, for the rare move
+     * whose draw reshuffles the deck
+     */
+    private static final class DeckOrder {
+        private final int[] slots;
+        private final int cursor;
+        private final int discards;
+        private final long state;
+        private final long gamma;
+
+        DeckOrder(LuckDeck deck) {
+            this.slots = deck.slotOrder();
+            this.cursor = deck.getCursor();
+            this.discards = deck.discardSize();
+            this.state = deck.getRandom().getState();
+            this.gamma = deck.getRandom().getGamma();
+        }
+
+        void restore(LuckDeck deck) {
+            deck.restoreOrder(slots, cursor, discards);
+            deck.getRandom().setState(state, gamma);
+        }
+    }
+
+    /**
+     * Several commands undone and redone as one (e.g.: a roll and the move and
+     * card it led to, see ModelFacade.beginAction)
+     */
+    static final class Compound extends GameCommand {
+        private final List<GameCommand> commands = new ArrayList<>();
+
+        void add(GameCommand command) {
+            commands.add(command);
+        }
+
+        int size() {
+            return commands.size();
+        }
+
+        GameCommand first() {
+            return commands.get(0);
+        }
+
+        @Override
+        void finish(ModelFacade game) {
+            // Each command was finished when it was added
+        }
+
+        @Override
+        void undo(ModelFacade game) {
+            for (int i = commands.size() - 1; i >= 0; i--) {
+                commands.get(i).undo(game);
+            }
+        }
+
+        @Override
+        void redo(ModelFacade game) {
+            for (GameCommand command : commands) {
+                command.redo(game);
+            }
+        }
+
+        @Override
+        String describe() {
+            return commands.get(0).describe();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package model.core.entities;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Source of randomness of a single game.
+ * 
+ * The SplitMix64 generator of java.util.SplittableRandom, producing exactly
+ * the same numbers for the same seed, but with its state in a field of its
+ * own: {@link #getState()} / {@link #setState(long, long)} let a game snapshot
+ * rewind the dice and the deck (see GameSnapshot). Rolling dice allocates
+ * nothing, and the whole game can be reproduced from its seed. Independent
+ * streams (one for the dice, one for the luck deck) are obtained with
+ * {@link #split()}, so drawing more dice never changes the card order.
+ */
+class GameRandom {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+    private long gamma;
+    private long state;
+    
+    /**
+     * Creates a random source with an arbitrary seed. The seed can still be
+     * read back with {@link #getSeed()} to reproduce the game.
+     */
+    public GameRandom() {
+        this(new SplittableRandom().nextLong());
+    }
+    
+    /**
+     * Creates a reproducible random source.
+     * 
+     * @param seed The seed of the game.
+     */
+    public GameRandom(long seed) {
+        this(seed, seed, GOLDEN_GAMMA);
+    }
+    
+    private GameRandom(long seed, long state, long gamma) {
+        this.seed = seed;
+        this.state = state;
+        this.gamma = gamma;
+    }
+    
+    /**
+     * Returns the seed this source (or the source it was split from) was created with.
+     * 
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+    
+    /**
+     * Rolls a six-sided die.
+     * 
+     * @return A value between 1 and 6.
+     */
+    public int rollDie() {
+        return 1 + nextInt(6);
+    }
+    
+    /**
+     * Returns a value between 0 (inclusive) and bound (exclusive).
+     * 
+     * @param bound The upper bound. Must be positive.
+     * @return The random value.
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        int r = mix32(nextState());
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return r & m;
+        }
+        // Rejects the top values that would make the result biased
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(nextState()) >>> 1) {
+        }
+        return r;
+    }
+    
+    /**
+     * Creates an independent stream. Splitting in the same order always
+     * produces the same streams for the same seed.
+     * 
+     * @return A new random source.
+     */
+    public GameRandom split() {
+        long childState = mix64(nextState());
+        return new GameRandom(seed, childState, mixGamma(nextState()));
+    }
+    
+    /**
+     * Returns the position of this stream. A stream set back to a state
+     * (and gamma) returned here produces the same numbers again.
+     * 
+     * @return The state.
+     */
+    long getState() {
+        return state;
+    }
+    
+    /**
+     * Returns the step of this stream, fixed when it was created or split.
+     * 
+     * @return The gamma.
+     */
+    long getGamma() {
+        return gamma;
+    }
+    
+    /**
+     * Turns this stream into the one a state and gamma were read from
+     * (itself earlier, or the same stream in another copy of the game).
+     * 
+     * @param state The state.
+     * @param gamma The gamma.
+     */
+    void setState(long state, long gamma) {
+        this.state = state;
+        this.gamma = gamma;
+    }
+    
+    private long nextState() {
+        return state += gamma;
+    }
+    
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+    
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+    
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+    
+    /**
+     * Shuffles a list in place (Fisher-Yates).
+     * 
+     * @param list The list to shuffle.
+     */
+    public <T> void shuffle(List<T> list) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = nextInt(i + 1);
+            T tmp = list.get(i);
+            list.set(i, list.get(j));
+            list.set(j, tmp);
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package model.core.entities;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * GameRecording - Everything needed to play a game again, exactly
+ *
+ * Holds the seed and the players of a new game plus every call that changed
+ * it, in order: dice (random or manual), moves with the luck card they drew,
+ * purchases, buildings, sales, prison decisions, eliminations and turn
+ * changes. After each turn change the recording also keeps a hash of the
+ * game state, so a replay can tell exactly where it stopped matching.
+ *
+ * Recordings are started with ModelFacade.startRecording() right after
+ * initializeGame() and played back with model.simulation.ReplayEngine.
+ *
+ * File layout: magic "BIMR", version, seed, players (name, color), then the
+ * events as (action, arguments), integers as varints (see
+ * GameStateBinaryCodec).
+ */
+public class GameRecording {
+    private static final byte[] MAGIC = {'B', 'I', 'M', 'R'};
+    private static final int VERSION = 1;
+
+    /**
+     * Recorded calls. Arguments:
+     * ROLL, ROLL_MANUAL: the two dice;
+     * MOVE: steps, and the image of the luck card drawn (null if none);
+     * SELL_BY_NAME: the property name;
+     * NEXT_TURN: state hash after the turn;
+     * the others: none.
+     */
+    public enum Action {
+        ROLL, ROLL_MANUAL, MOVE, LUCK_CARD, BUY, BUILD_HOUSE, BUILD_HOTEL,
+        SELL_CURRENT, SELL_BY_NAME, USE_PRISON_CARD, RELEASE_FROM_PRISON,
+        PRISON_TURN, ELIMINATE, NEXT_TURN
+    }
+
+    /**
+     * One recorded call
+     */
+    public static final class Event {
+        private final Action action;
+        private final long a;
+        private final long b;
+        private final String text;
+
+        Event(Action action, long a, long b, String text) {
+            this.action = action;
+            this.a = a;
+            this.b = b;
+            this.text = text;
+        }
+
+        public Action getAction() {
+            return action;
+        }
+
+        /** First die, steps or state hash, depending on the action. */
+        public long getA() {
+            return a;
+        }
+
+        /** Second die. */
+        public long getB() {
+            return b;
+        }
+
+        /** Luck card image or property name, depending on the action. */
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public String toString() {
+            switch (action) {
+                case ROLL:
+                case ROLL_MANUAL:
+                    return action + " " + a + "+" + b;
+                case MOVE:
+                    return action + " " + a + (text != null ? " " + text : "");
+                case SELL_BY_NAME:
+                    return action + " " + text;
+                case NEXT_TURN:
+                    return action + " #" + Long.toHexString(a);
+                default:
+                    return action.toString();
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Event)) {
+                return false;
+            }
+            Event event = (Event) other;
+            return action == event.action && a == event.a && b == event.b && Objects.equals(text, event.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(action, a, b, text);
+        }
+    }
+
+    private final long seed;
+    private final List<String> playerNames;
+    private final List<String> colors;
+    private final List<Event> events = new ArrayList<>();
+    private int turns;
+
+    GameRecording(long seed, List<String> playerNames, List<String> colors) {
+        this.seed = seed;
+        this.playerNames = Collections.unmodifiableList(new ArrayList<>(playerNames));
+        this.colors = Collections.unmodifiableList(new ArrayList<>(colors));
+    }
+
+    void add(Action action) {
+        events.add(new Event(action, 0, 0, null));
+    }
+
+    void add(Action action, long a, long b, String text) {
+        events.add(new Event(action, a, b, text));
+        if (action == Action.NEXT_TURN) {
+            turns++;
+        }
+    }
+
+    /**
+     * Drops the events from an index on (an undone action, see CommandLog)
+     *
+     * @param size Number of events to keep
+     */
+    void truncate(int size) {
+        while (events.size() > size) {
+            if (events.remove(events.size() - 1).action == Action.NEXT_TURN) {
+                turns--;
+            }
+        }
+    }
+
+    /**
+     * Copy of the events from an index on
+     */
+    Event[] eventsFrom(int index) {
+        return events.subList(Math.min(index, events.size()), events.size()).toArray(new Event[0]);
+    }
+
+    /**
+     * Adds events taken with eventsFrom() back (a redone action)
+     */
+    void append(Event[] added) {
+        for (Event event : added) {
+            events.add(event);
+            if (event.action == Action.NEXT_TURN) {
+                turns++;
+            }
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public List<String> getPlayerNames() {
+        return playerNames;
+    }
+
+    public List<String> getColors() {
+        return colors;
+    }
+
+    public int size() {
+        return events.size();
+    }
+
+    public Event getEvent(int index) {
+        return events.get(index);
+    }
+
+    /** Number of turn changes recorded (state hash checkpoints). */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Copy of the recording as it is now, which later actions do not change.
+     * Events are immutable, so only the list is copied.
+     */
+    public GameRecording copy() {
+        GameRecording copy = new GameRecording(seed, playerNames, colors);
+        copy.events.addAll(events);
+        copy.turns = turns;
+        return copy;
+    }
+
+    // ===== FILES =====
+
+    /**
+     * Saves the recording, replacing the file atomically
+     */
+    public void saveToFile(String filePath) throws IOException {
+        GameStateSaver.writeAtomically(filePath, this::writeTo);
+    }
+
+    public static GameRecording loadFromFile(String filePath) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(filePath))) {
+            return readFrom(in);
+        }
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(MAGIC);
+        GameStateBinaryCodec.writeVarint(out, VERSION);
+        new DataOutputStream(out).writeLong(seed);
+        GameStateBinaryCodec.writeVarint(out, playerNames.size());
+        for (int i = 0; i < playerNames.size(); i++) {
+            GameStateBinaryCodec.writeString(out, playerNames.get(i));
+            GameStateBinaryCodec.writeString(out, colors.get(i));
+        }
+
+        GameStateBinaryCodec.writeVarint(out, events.size());
+        for (Event event : events) {
+            GameStateBinaryCodec.writeVarint(out, event.action.ordinal());
+            switch (event.action) {
+                case ROLL:
+                case ROLL_MANUAL:
+                    GameStateBinaryCodec.writeVarint(out, event.a);
+                    GameStateBinaryCodec.writeVarint(out, event.b);
+                    break;
+                case MOVE:
+                    GameStateBinaryCodec.writeVarint(out, event.a);
+                    GameStateBinaryCodec.writeString(out, event.text == null ? "" : event.text);
+                    break;
+                case SELL_BY_NAME:
+                    GameStateBinaryCodec.writeString(out, event.text);
+                    break;
+                case NEXT_TURN:
+                    new DataOutputStream(out).writeLong(event.a);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    static GameRecording readFrom(InputStream in) throws IOException {
+        byte[] magic = in.readNBytes(MAGIC.length);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IllegalArgumentException("Not a game recording");
+        }
+        int version = GameStateBinaryCodec.readInt(in);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported recording version: " + version);
+        }
+        DataInputStream data = new DataInputStream(in);
+        long seed = data.readLong();
+        int playerCount = GameStateBinaryCodec.readInt(in);
+        List<String> names = new ArrayList<>();
+        List<String> colors = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            names.add(GameStateBinaryCodec.readString(in));
+            colors.add(GameStateBinaryCodec.readString(in));
+        }
+
+        GameRecording recording = new GameRecording(seed, names, colors);
+        Action[] actions = Action.values();
+        int count = GameStateBinaryCodec.readInt(in);
+        for (int i = 0; i < count; i++) {
+            int ordinal = GameStateBinaryCodec.readInt(in);
+            if (ordinal >= actions.length) {
+                throw new IllegalArgumentException("Unknown action: " + ordinal);
+            }
+            Action action = actions[ordinal];
+            switch (action) {
+                case ROLL:
+                case ROLL_MANUAL:
+                    recording.add(action, GameStateBinaryCodec.readVarint(in), GameStateBinaryCodec.readVarint(in), null);
+                    break;
+                case MOVE: {
+                    long steps = GameStateBinaryCodec.readVarint(in);
+                    String card = GameStateBinaryCodec.readString(in);
+                    recording.add(action, steps, 0, card.isEmpty() ? null : card);
+                    break;
+                }
+                case SELL_BY_NAME:
+                    recording.add(action, 0, 0, GameStateBinaryCodec.readString(in));
+                    break;
+                case NEXT_TURN:
+                    recording.add(action, data.readLong(), 0, null);
+                    break;
+                default:
+                    recording.add(action);
+                    break;
+            }
+        }
+        return recording;
+    }
+
+    /**
+     * Hash of everything a save keeps (players, balances, positions, prison,
+     * owners, buildings, current player, dice). Two games with the same hash
+     * are, for practical purposes, in the same state.
+     */
+    static long stateHash(ModelFacade facade) {
+        GameStateBinaryCodec.State state = GameStateBinaryCodec.capture(facade);
+        // FNV-1a, 64 bits
+        long hash = 0xcbf29ce484222325L;
+        for (String name : state.names) {
+            for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+            }
+        }
+        for (int value : state.values) {
+            hash = (hash ^ value) * 0x100000001b3L;
+        }
+        return hash;
+    }
+}
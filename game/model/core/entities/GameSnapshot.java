@@ -0,0 +1,242 @@
+package model.core.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GameSnapshot - The whole state of a game, copied out of the model
+ *
+ * Players (the rows of the PlayerTable, who is still playing and in which
+ * order), ownership in each player's order, houses and hotels, who holds the
+ * "Get Out of Prison" cards, the luck deck order and the last card drawn on
+ * each luck space, the turn flags and dice, and the position of the dice and
+ * deck random streams. Everything is stored as arrays of indices (table
+ * rows, board indices, deck catalog indices), so a snapshot holds no
+ * reference to the model and never changes once taken.
+ *
+ * Taking and restoring one costs a few hundred array writes and builds no
+ * board, no player and no card (see ModelFacade.snapshot / restore), so a
+ * game can be rolled back, or copied for a search, many thousand times per
+ * second. A snapshot can be restored into the game it was taken from or
+ * into any copy of it (ModelFacade.copy); since the random streams are part
+ * of it, a restored game rolls the same dice and draws the same cards again.
+ *
+ * The game log and an ongoing GameRecording are not part of the snapshot.
+ */
+public final class GameSnapshot {
+    private final long seed;
+    private final String[] names;        // by table row
+    private final String[] colors;
+    private final PlayerTable table;
+    private final int[] players;         // rows still playing, in turn order
+    private final int currentPlayer;
+    private final boolean hasBuilt;
+    private final boolean diceRolled;
+    private final int justBought;        // board index, -1 = none
+    private final int die1;
+    private final int die2;
+    private final String lastEventMessage;
+    private final int[][] properties;    // by row: board indices, in the player's order
+    private final int[] houses;          // by place (Board.getPlaces order)
+    private final int[] hotels;
+    private final int[][] prisonCards;   // by row: deck catalog indices
+    private final int[] deckSlots;
+    private final int deckCursor;
+    private final int deckDiscards;
+    private final int[] lastDrawn;       // by luck space (Board.getLuckIndices order), -1 = none
+    private final long diceState;
+    private final long diceGamma;
+    private final long deckState;
+    private final long deckGamma;
+
+    private GameSnapshot(ModelFacade facade) {
+        Board board = facade.getBoard();
+        List<Player> roster = facade.getRoster();
+        PlayerTable source = facade.getPlayerTable();
+        LuckDeck deck = board.getLuckDeck();
+
+        this.seed = facade.getSeed();
+        this.names = new String[roster.size()];
+        this.colors = new String[roster.size()];
+        this.properties = new int[roster.size()][];
+        this.prisonCards = new int[roster.size()][];
+        for (int row = 0; row < roster.size(); row++) {
+            Player player = roster.get(row);
+            names[row] = player.getName();
+            colors[row] = player.getCar().getColor();
+
+            List<Property> owned = player.getLiquidAssets();
+            properties[row] = new int[owned.size()];
+            for (int i = 0; i < owned.size(); i++) {
+                properties[row][i] = board.getPosition(owned.get(i));
+            }
+            prisonCards[row] = new int[player.getGetOutPrisonCardCount()];
+            for (int i = 0; i < prisonCards[row].length; i++) {
+                prisonCards[row][i] = deck.indexOf(player.getGetOutPrisonCard(i));
+            }
+        }
+        this.table = source.copy();
+
+        List<Player> listed = facade.getAllPlayers();
+        this.players = new int[listed.size()];
+        for (int i = 0; i < listed.size(); i++) {
+            players[i] = listed.get(i).getRow();
+        }
+        this.currentPlayer = facade.getCurrentPlayerIndex();
+        this.hasBuilt = facade.getHasBuiltThisTurn();
+        this.diceRolled = facade.getDiceRolledThisTurn();
+        Property bought = facade.getPropertyJustBought();
+        this.justBought = bought == null ? -1 : board.getPosition(bought);
+        int[] dice = facade.getLastDiceRollArray();
+        this.die1 = dice[0];
+        this.die2 = dice[1];
+        this.lastEventMessage = facade.getLastEventMessage();
+
+        List<Place> places = board.getPlaces();
+        this.houses = new int[places.size()];
+        this.hotels = new int[places.size()];
+        for (int i = 0; i < places.size(); i++) {
+            houses[i] = places.get(i).getNumOfHouses();
+            hotels[i] = places.get(i).getNumOfHotels();
+        }
+
+        this.deckSlots = deck.slotOrder();
+        this.deckCursor = deck.getCursor();
+        this.deckDiscards = deck.discardSize();
+        this.deckState = deck.getRandom().getState();
+        this.deckGamma = deck.getRandom().getGamma();
+        this.diceState = facade.getDiceRandom().getState();
+        this.diceGamma = facade.getDiceRandom().getGamma();
+
+        int[] luckIndices = board.getLuckIndices();
+        this.lastDrawn = new int[luckIndices.length];
+        for (int i = 0; i < luckIndices.length; i++) {
+            LuckCard card = ((LuckSpace) board.getSpace(luckIndices[i])).getCurrentCard();
+            lastDrawn[i] = card == null ? -1 : deck.indexOf(card);
+        }
+    }
+
+    /**
+     * Copies the state of a game
+     */
+    static GameSnapshot capture(ModelFacade facade) {
+        return new GameSnapshot(facade);
+    }
+
+    /**
+     * Puts the state back into a game, reusing its board, players and cards
+     *
+     * @param facade The game the snapshot was taken from, or a copy of it
+     * @throws IllegalArgumentException If the game has other players
+     */
+    void restore(ModelFacade facade) {
+        Board board = facade.getBoard();
+        List<Player> roster = facade.getRoster();
+        checkSameGame(roster);
+
+        // Numbers of every player, then what the Car keeps apart from the table
+        facade.getPlayerTable().copyFrom(table);
+        for (Player player : roster) {
+            Car car = player.getCar();
+            car.setPositionIndex(table.getPosition(player.getRow()));
+            car.setInPrison(table.isInPrison(player.getRow()));
+        }
+
+        // Ownership, in each player's own order
+        Bank bank = facade.getBank();
+        bank.clearOwners();
+        for (int row = 0; row < roster.size(); row++) {
+            Player player = roster.get(row);
+            player.clearProperties();
+            for (int position : properties[row]) {
+                bank.assignOwner((Property) board.getSpace(position), player);
+            }
+        }
+        List<Place> places = board.getPlaces();
+        for (int i = 0; i < places.size(); i++) {
+            places.get(i).setHouses(houses[i]);
+            places.get(i).setHotels(hotels[i]);
+        }
+
+        // Cards: deck order, then who holds the prison cards
+        LuckDeck deck = board.getLuckDeck();
+        deck.restoreOrder(deckSlots, deckCursor, deckDiscards);
+        deck.getRandom().setState(deckState, deckGamma);
+        for (int index = 0; index < deck.catalogSize(); index++) {
+            LuckCard card = deck.cardAt(index);
+            if (card instanceof GetOutPrisonCard) {
+                ((GetOutPrisonCard) card).setOwner(null);
+            }
+        }
+        for (int row = 0; row < roster.size(); row++) {
+            Player player = roster.get(row);
+            player.clearGetOutPrisonCards();
+            for (int index : prisonCards[row]) {
+                player.receiveGetOutPrisonCard((GetOutPrisonCard) deck.cardAt(index));
+            }
+        }
+        int[] luckIndices = board.getLuckIndices();
+        for (int i = 0; i < luckIndices.length; i++) {
+            ((LuckSpace) board.getSpace(luckIndices[i])).setCurrentCard(lastDrawn[i] < 0 ? null : deck.cardAt(lastDrawn[i]));
+        }
+
+        // Turn
+        facade.getDiceRandom().setState(diceState, diceGamma);
+        facade.restoreTurn(players, currentPlayer, hasBuilt, diceRolled,
+                           justBought < 0 ? null : (Property) board.getSpace(justBought),
+                           die1, die2, lastEventMessage);
+    }
+
+    private void checkSameGame(List<Player> roster) {
+        if (roster.size() != names.length) {
+            throw new IllegalArgumentException("Snapshot has " + names.length + " players, game has " + roster.size());
+        }
+        for (int row = 0; row < names.length; row++) {
+            if (!roster.get(row).getName().equals(names[row])) {
+                throw new IllegalArgumentException("Snapshot is from another game: player " + row + " is " + names[row]);
+            }
+        }
+    }
+
+    /** Seed of the game the snapshot was taken from. */
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Names of every player who started the game, eliminated ones included. */
+    public List<String> getPlayerNames() {
+        return List.of(names);
+    }
+
+    /** Colors of every player who started the game, eliminated ones included. */
+    public List<String> getColors() {
+        return List.of(colors);
+    }
+
+    /** Players still in the game when the snapshot was taken. */
+    public int getActivePlayerCount() {
+        return players.length;
+    }
+
+    /**
+     * Balance of a player, by turn order at the time of the snapshot
+     *
+     * @param player Index among the players still in the game
+     */
+    public int getBalance(int player) {
+        return table.getBalance(players[player]);
+    }
+
+    /** Names of the players still in the game, in turn order. */
+    public List<String> getActivePlayerNames() {
+        List<String> active = new ArrayList<>(players.length);
+        for (int row : players) {
+            active.add(names[row]);
+        }
+        return active;
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayer;
+    }
+}
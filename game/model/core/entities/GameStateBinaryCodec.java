@@ -0,0 +1,583 @@
+package model.core.entities;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * GameStateBinaryCodec - Compact binary save format
+ *
+ * Same content as the text format (see SAVE_FORMAT.txt), but integers are
+ * varints, properties are addressed by board index, players by their index
+ * in the file, and only properties with an owner or buildings are written.
+ * The log block is deflate-compressed when that makes it smaller.
+ *
+ * Layout (version 1):
+ *   magic "BIMB", version
+ *   game state: current player, flags (built, dice rolled), property just
+ *               bought (board index + 1, 0 = none), last dice roll
+ *   players:    count, then name, color, balance (zigzag), position, flags
+ *               (in prison), turns in prison, prison cards, doubles
+ *   properties: count, then board index, owner (player index + 1, 0 = none),
+ *               houses, hotels
+ *   log:        message count, compressed flag, byte length, then the block
+ *               of (length, UTF-8 bytes) messages
+ */
+public class GameStateBinaryCodec {
+    /** First bytes of every binary save. */
+    static final byte[] MAGIC = {'B', 'I', 'M', 'B'};
+    /** Current format version. */
+    static final int VERSION = 1;
+
+    private static final int FLAG_BUILT = 1;
+    private static final int FLAG_DICE_ROLLED = 2;
+    private static final int FLAG_IN_PRISON = 1;
+    /** The game is for 2 to 6 players; more means a corrupt file. */
+    static final int MAX_PLAYERS = 6;
+    /** Log blocks smaller than this are not worth compressing. */
+    private static final int COMPRESS_THRESHOLD = 256;
+
+    /**
+     * Saves the complete game state to a binary file
+     *
+     * @param filePath Path to save the file
+     * @param facade ModelFacade containing game state
+     * @throws IOException If file writing fails
+     * @throws IllegalStateException If trying to save after dice roll
+     */
+    public static void saveToFile(String filePath, ModelFacade facade) throws IOException {
+        if (facade.getDiceRolledThisTurn()) {
+            throw new IllegalStateException("Cannot save game after dice have been rolled. Please save at the start of a turn.");
+        }
+        GameStateSaver.writeAtomically(filePath, out -> write(out, facade));
+    }
+
+    /**
+     * Loads a binary save and returns a configured ModelFacade
+     *
+     * @param filePath Path to the save file
+     * @return ModelFacade with loaded game state
+     * @throws IOException If file reading fails or the file is truncated
+     * @throws IllegalArgumentException If file format is invalid
+     */
+    public static ModelFacade loadFromFile(String filePath) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(filePath))) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Checks if a file starts with the binary save magic
+     *
+     * @param filePath Path to the file
+     * @return true for binary saves, false otherwise (e.g. text saves)
+     */
+    public static boolean isBinarySave(String filePath) throws IOException {
+        try (InputStream in = new FileInputStream(filePath)) {
+            byte[] head = new byte[MAGIC.length];
+            int read = in.readNBytes(head, 0, head.length);
+            return read == head.length && Arrays.equals(head, MAGIC);
+        }
+    }
+
+    /**
+     * Writes the game state (and the log of the GameState) to a stream
+     */
+    static void write(OutputStream out, ModelFacade facade) throws IOException {
+        writeHeader(out);
+        writeState(out, capture(facade));
+        controller.GameLog log = controller.GameState.getInstance().getLog();
+        writeLog(out, log, log.getSequence());
+    }
+
+    /**
+     * Reads a game state written by write() and restores the log of the GameState
+     */
+    static ModelFacade read(InputStream in) throws IOException {
+        readHeader(in);
+        Board board = BoardInitializer.createStandardBoard();
+        State state = readState(in, board.getBoardSize());
+        List<String> log = readLog(in);
+
+        ModelFacade facade = restore(state, board);
+        if (!log.isEmpty()) {
+            GameStateLoader.restoreLog(log);
+        }
+        return facade;
+    }
+
+    static void writeHeader(OutputStream out) throws IOException {
+        out.write(MAGIC);
+        writeVarint(out, VERSION);
+    }
+
+    static void readHeader(InputStream in) throws IOException {
+        byte[] magic = in.readNBytes(MAGIC.length);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IllegalArgumentException("Not a binary save file");
+        }
+        int version = readInt(in);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary save version: " + version);
+        }
+    }
+
+    /**
+     * Reads only the start of a binary save: header, game fields and players
+     * (the properties and the log are not read)
+     */
+    static SaveSummary readSummary(InputStream in) throws IOException {
+        readHeader(in);
+        int[] game = new int[State.GAME_FIELDS];
+        for (int field = 0; field < State.GAME_FIELDS; field++) {
+            game[field] = readInt(in);
+        }
+        int playerCount = readInt(in);
+        if (playerCount > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Invalid player count: " + playerCount);
+        }
+        List<String> names = new ArrayList<>();
+        int[] balances = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            names.add(readString(in));
+            readString(in); // color
+            balances[i] = unzigzag(readVarint(in));
+            for (int field = State.POSITION; field < State.PLAYER_FIELDS; field++) {
+                readInt(in);
+            }
+        }
+        return SaveSummary.partial(names, balances, game[State.CURRENT_PLAYER]);
+    }
+
+    // ===== STATE =====
+
+    /**
+     * Game state detached from the model: player names and colors, plus every
+     * number of the save in one flat array (game fields, then a block per
+     * player, then a block per board space). Capturing one costs a few
+     * hundred int writes, so it can be taken on the EDT and encoded elsewhere.
+     */
+    static final class State {
+        static final int CURRENT_PLAYER = 0;
+        static final int FLAGS = 1;
+        static final int JUST_BOUGHT = 2;    // board index + 1, 0 = none
+        static final int DIE_1 = 3;
+        static final int DIE_2 = 4;
+        static final int GAME_FIELDS = 5;
+
+        static final int BALANCE = 0;
+        static final int POSITION = 1;
+        static final int IN_PRISON = 2;
+        static final int TURNS_IN_PRISON = 3;
+        static final int PRISON_CARDS = 4;
+        static final int DOUBLES = 5;
+        static final int PLAYER_FIELDS = 6;
+
+        static final int OWNER = 0;          // player index + 1, 0 = bank
+        static final int HOUSES = 1;
+        static final int HOTELS = 2;
+        static final int SPACE_FIELDS = 3;
+
+        final String[] names;
+        final String[] colors;
+        final int[] values;
+
+        State(String[] names, String[] colors, int boardSize) {
+            this(names, colors, new int[GAME_FIELDS + names.length * PLAYER_FIELDS + boardSize * SPACE_FIELDS]);
+        }
+
+        State(String[] names, String[] colors, int[] values) {
+            this.names = names;
+            this.colors = colors;
+            this.values = values;
+        }
+
+        int playerCount() {
+            return names.length;
+        }
+
+        int boardSize() {
+            return (values.length - GAME_FIELDS - names.length * PLAYER_FIELDS) / SPACE_FIELDS;
+        }
+
+        int player(int index) {
+            return GAME_FIELDS + index * PLAYER_FIELDS;
+        }
+
+        int space(int position) {
+            return GAME_FIELDS + names.length * PLAYER_FIELDS + position * SPACE_FIELDS;
+        }
+
+        /**
+         * Same players in the same order, so values can be compared field by field
+         */
+        boolean sameLayout(State other) {
+            return other != null && values.length == other.values.length
+                && Arrays.equals(names, other.names) && Arrays.equals(colors, other.colors);
+        }
+    }
+
+    /**
+     * Copies the savable state out of the model
+     */
+    static State capture(ModelFacade facade) {
+        Board board = facade.getBoard();
+        List<Player> players = facade.getAllPlayers();
+        String[] names = new String[players.size()];
+        String[] colors = new String[players.size()];
+        Map<Player, Integer> playerIndex = new IdentityHashMap<>();
+        for (int i = 0; i < players.size(); i++) {
+            names[i] = players.get(i).getName();
+            colors[i] = players.get(i).getCar().getColor();
+            playerIndex.put(players.get(i), i);
+        }
+        State state = new State(names, colors, board.getBoardSize());
+        int[] v = state.values;
+
+        v[State.CURRENT_PLAYER] = facade.getCurrentPlayerIndex();
+        v[State.FLAGS] = (facade.getHasBuiltThisTurn() ? FLAG_BUILT : 0)
+                       | (facade.getDiceRolledThisTurn() ? FLAG_DICE_ROLLED : 0);
+        Property justBought = facade.getPropertyJustBought();
+        v[State.JUST_BOUGHT] = justBought == null ? 0 : board.getPosition(justBought) + 1;
+        int[] diceRoll = facade.getLastDiceRollArray();
+        v[State.DIE_1] = diceRoll[0];
+        v[State.DIE_2] = diceRoll[1];
+
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            int base = state.player(i);
+            v[base + State.BALANCE] = player.getBalance();
+            v[base + State.POSITION] = player.getCar().getPositionIndex();
+            v[base + State.IN_PRISON] = player.isInPrison() ? FLAG_IN_PRISON : 0;
+            v[base + State.TURNS_IN_PRISON] = player.getTurnsInPrison();
+            v[base + State.PRISON_CARDS] = player.getGetOutPrisonCardCount();
+            v[base + State.DOUBLES] = player.getConsecutiveDoubles();
+        }
+
+        List<Property> properties = board.getProperties();
+        int[] indices = board.getPropertyIndices();
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            int base = state.space(indices[i]);
+            Integer owner = property.isOwned() ? playerIndex.get(property.getOwner()) : null;
+            v[base + State.OWNER] = owner == null ? 0 : owner + 1;
+            if (property instanceof Place) {
+                v[base + State.HOUSES] = ((Place) property).getNumOfHouses();
+                v[base + State.HOTELS] = ((Place) property).getNumOfHotels();
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Rebuilds the model from a captured state on a new standard board
+     *
+     * @param board A new board, with no players on it yet
+     */
+    static ModelFacade restore(State state, Board board) {
+        int[] v = state.values;
+        if (state.boardSize() != board.getBoardSize()) {
+            throw new IllegalArgumentException("Saved board has " + state.boardSize() + " spaces");
+        }
+
+        Property propertyJustBought = null;
+        if (v[State.JUST_BOUGHT] > 0) {
+            propertyJustBought = propertyAt(board, v[State.JUST_BOUGHT] - 1);
+        }
+
+        // Players
+        List<Player> players = new ArrayList<>();
+        LuckDeck luckDeck = board.getLuckDeck();
+        if (luckDeck != null) {
+            luckDeck.setAllPlayers(players);
+        }
+        PlayerTable table = new PlayerTable(state.playerCount());
+        for (int i = 0; i < state.playerCount(); i++) {
+            int base = state.player(i);
+            players.add(GameStateLoader.restorePlayer(board, table, state.names[i], state.colors[i],
+                                                      v[base + State.BALANCE],
+                                                      v[base + State.POSITION],
+                                                      (v[base + State.IN_PRISON] & FLAG_IN_PRISON) != 0,
+                                                      v[base + State.TURNS_IN_PRISON],
+                                                      v[base + State.PRISON_CARDS],
+                                                      v[base + State.DOUBLES]));
+        }
+        if (v[State.CURRENT_PLAYER] < 0 || v[State.CURRENT_PLAYER] >= players.size()) {
+            throw new IllegalArgumentException("Invalid current player index: " + v[State.CURRENT_PLAYER]);
+        }
+
+        // Properties
+        Bank bank = new Bank(200000, board);
+        for (Player player : players) {
+            bank.registerPlayer(player);
+        }
+        for (int position = 0; position < board.getBoardSize(); position++) {
+            int base = state.space(position);
+            int owner = v[base + State.OWNER] - 1;
+            int houses = v[base + State.HOUSES];
+            int hotels = v[base + State.HOTELS];
+            if (owner < 0 && houses == 0 && hotels == 0) {
+                continue;
+            }
+            Property property = propertyAt(board, position);
+            if (owner >= players.size()) {
+                throw new IllegalArgumentException("Property owner not found: " + owner);
+            }
+            if (owner >= 0) {
+                bank.assignOwner(property, players.get(owner));
+            }
+            if (property instanceof Place) {
+                ((Place) property).setHouses(houses);
+                ((Place) property).setHotels(hotels);
+            }
+        }
+
+        ModelFacade facade = new ModelFacade();
+        facade.loadGameState(board, bank, players, v[State.CURRENT_PLAYER],
+                             (v[State.FLAGS] & FLAG_BUILT) != 0, (v[State.FLAGS] & FLAG_DICE_ROLLED) != 0,
+                             propertyJustBought, new int[]{v[State.DIE_1], v[State.DIE_2]});
+        return facade;
+    }
+
+    /**
+     * Writes the game and player fields, and only the board spaces that
+     * differ from a new game (owned or built)
+     */
+    static void writeState(OutputStream out, State state) throws IOException {
+        int[] v = state.values;
+
+        // Game state
+        writeVarint(out, v[State.CURRENT_PLAYER]);
+        writeVarint(out, v[State.FLAGS]);
+        writeVarint(out, v[State.JUST_BOUGHT]);
+        writeVarint(out, v[State.DIE_1]);
+        writeVarint(out, v[State.DIE_2]);
+
+        // Players
+        writeVarint(out, state.playerCount());
+        for (int i = 0; i < state.playerCount(); i++) {
+            int base = state.player(i);
+            writeString(out, state.names[i]);
+            writeString(out, state.colors[i]);
+            writeVarint(out, zigzag(v[base + State.BALANCE]));
+            for (int field = State.POSITION; field < State.PLAYER_FIELDS; field++) {
+                writeVarint(out, v[base + field]);
+            }
+        }
+
+        // Properties that differ from a new game
+        int changed = 0;
+        for (int position = 0; position < state.boardSize(); position++) {
+            if (isChanged(state, position)) {
+                changed++;
+            }
+        }
+        writeVarint(out, changed);
+        for (int position = 0; position < state.boardSize(); position++) {
+            if (!isChanged(state, position)) {
+                continue;
+            }
+            int base = state.space(position);
+            writeVarint(out, position);
+            writeVarint(out, v[base + State.OWNER]);
+            writeVarint(out, v[base + State.HOUSES]);
+            writeVarint(out, v[base + State.HOTELS]);
+        }
+    }
+
+    private static boolean isChanged(State state, int position) {
+        int base = state.space(position);
+        return state.values[base + State.OWNER] != 0
+            || state.values[base + State.HOUSES] != 0
+            || state.values[base + State.HOTELS] != 0;
+    }
+
+    /**
+     * Reads what writeState() wrote
+     *
+     * @param boardSize Number of spaces of the board the state belongs to
+     */
+    static State readState(InputStream in, int boardSize) throws IOException {
+        int[] game = new int[State.GAME_FIELDS];
+        for (int field = 0; field < State.GAME_FIELDS; field++) {
+            game[field] = readInt(in);
+        }
+
+        int playerCount = readInt(in);
+        if (playerCount > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Invalid player count: " + playerCount);
+        }
+        String[] names = new String[playerCount];
+        String[] colors = new String[playerCount];
+        int[][] fields = new int[playerCount][State.PLAYER_FIELDS];
+        for (int i = 0; i < playerCount; i++) {
+            names[i] = readString(in);
+            colors[i] = readString(in);
+            fields[i][State.BALANCE] = unzigzag(readVarint(in));
+            for (int field = State.POSITION; field < State.PLAYER_FIELDS; field++) {
+                fields[i][field] = readInt(in);
+            }
+        }
+
+        State state = new State(names, colors, boardSize);
+        int[] v = state.values;
+        System.arraycopy(game, 0, v, 0, State.GAME_FIELDS);
+        for (int i = 0; i < playerCount; i++) {
+            System.arraycopy(fields[i], 0, v, state.player(i), State.PLAYER_FIELDS);
+        }
+
+        int propertyCount = readInt(in);
+        for (int i = 0; i < propertyCount; i++) {
+            int position = readInt(in);
+            if (position >= boardSize) {
+                throw new IllegalArgumentException("Board index " + position + " is not a property");
+            }
+            int base = state.space(position);
+            v[base + State.OWNER] = readInt(in);
+            v[base + State.HOUSES] = readInt(in);
+            v[base + State.HOTELS] = readInt(in);
+        }
+        return state;
+    }
+
+    private static Property propertyAt(Board board, int index) {
+        Space space = board.getSpace(index);
+        if (!(space instanceof Property)) {
+            throw new IllegalArgumentException("Board index " + index + " is not a property");
+        }
+        return (Property) space;
+    }
+
+    // ===== LOG =====
+
+    /**
+     * Writes the first count messages of the log as one block, compressed
+     * when that makes it smaller. GameLog supports reads from other threads,
+     * so this can run off the EDT.
+     */
+    static void writeLog(OutputStream out, controller.GameLog log, long count) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        IOException[] error = new IOException[1];
+        log.read(0, count, message -> {
+            try {
+                writeString(raw, message);
+            } catch (IOException e) {
+                error[0] = e;
+            }
+        });
+        if (error[0] != null) {
+            throw error[0];
+        }
+
+        byte[] block = raw.toByteArray();
+        boolean compressed = false;
+        if (block.length >= COMPRESS_THRESHOLD) {
+            // Log text is repetitive, so the fastest level already shrinks it several times
+            ByteArrayOutputStream packed = new ByteArrayOutputStream(block.length / 4);
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (DeflaterOutputStream stream = new DeflaterOutputStream(packed, deflater, 8192)) {
+                stream.write(block);
+            } finally {
+                deflater.end();
+            }
+            if (packed.size() < block.length) {
+                block = packed.toByteArray();
+                compressed = true;
+            }
+        }
+
+        writeVarint(out, count);
+        writeVarint(out, compressed ? 1 : 0);
+        writeVarint(out, block.length);
+        out.write(block);
+    }
+
+    static List<String> readLog(InputStream in) throws IOException {
+        int count = readInt(in);
+        boolean compressed = readInt(in) != 0;
+        int length = readInt(in);
+        byte[] block = in.readNBytes(length);
+        if (block.length != length) {
+            throw new EOFException("Truncated log block");
+        }
+
+        InputStream messages = new ByteArrayInputStream(block);
+        Inflater inflater = null;
+        if (compressed) {
+            inflater = new Inflater();
+            messages = new BufferedInputStream(new InflaterInputStream(messages, inflater, 8192), 8192);
+        }
+        try {
+            List<String> log = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                log.add(readString(messages));
+            }
+            return log;
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+
+    // ===== VARINTS AND STRINGS =====
+
+    static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated binary save");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    static int readInt(InputStream in) throws IOException {
+        long value = readVarint(in);
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Value out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    static long zigzag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+
+    static int unzigzag(long value) {
+        int bits = (int) value;
+        return (bits >>> 1) ^ -(bits & 1);
+    }
+
+    static void writeString(OutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(InputStream in) throws IOException {
+        int length = readInt(in);
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Truncated binary save");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
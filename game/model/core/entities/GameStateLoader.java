@@ -9,7 +9,8 @@ import java.util.*;
  * 
  * This class is responsible for loading and reconstructing the complete game state
  * from a .txt file in UTF-8 encoding. The format must match the specification in
- * SAVE_FORMAT.txt.
+ * SAVE_FORMAT.txt. Binary saves (see GameStateBinaryCodec) are detected and
+ * delegated automatically.
  */
 public class GameStateLoader {
     
@@ -22,6 +23,11 @@ public class GameStateLoader {
      * @throws IllegalArgumentException If file format is invalid
      */
     public static ModelFacade loadFromFile(String filePath) throws IOException {
+        // Binary saves are recognized by their first bytes, whatever the extension
+        if (GameStateBinaryCodec.isBinarySave(filePath)) {
+            return GameStateBinaryCodec.loadFromFile(filePath);
+        }
+        
         Map<String, String> gameStateData = new HashMap<>();
         Map<Integer, Map<String, String>> playersData = new HashMap<>();
         Map<Integer, Map<String, String>> propertiesData = new HashMap<>();
@@ -94,6 +100,60 @@ public class GameStateLoader {
         return reconstructGameState(gameStateData, playersData, propertiesData, logData);
     }
     
+    /**
+     * Reads only the [GAME_STATE] and [PLAYERS] sections of a text save,
+     * stopping at [PROPERTIES] (the properties and the log are not read)
+     */
+    static SaveSummary readSummary(InputStream in) throws IOException {
+        Map<String, String> gameStateData = new HashMap<>();
+        Map<Integer, Map<String, String>> playersData = new HashMap<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String currentSection = null;
+        String line;
+        
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (line.startsWith("[") && line.endsWith("]")) {
+                currentSection = line.substring(1, line.length() - 1);
+                if (!currentSection.equals("GAME_STATE") && !currentSection.equals("PLAYERS")) {
+                    break;
+                }
+                continue;
+            }
+            if (currentSection != null && line.contains("=")) {
+                String[] parts = line.split("=", 2);
+                String key = parts[0].trim();
+                String value = parts.length > 1 ? parts[1].trim() : "";
+                if (currentSection.equals("GAME_STATE")) {
+                    gameStateData.put(key, value);
+                } else {
+                    parsePlayerLine(key, value, playersData);
+                }
+            }
+        }
+        
+        if (gameStateData.isEmpty()) {
+            throw new IllegalArgumentException("Missing [GAME_STATE] section");
+        }
+        if (playersData.isEmpty()) {
+            throw new IllegalArgumentException("Missing [PLAYERS] section");
+        }
+        List<String> names = new ArrayList<>();
+        int[] balances = new int[playersData.size()];
+        for (int i = 0; i < playersData.size(); i++) {
+            Map<String, String> data = playersData.get(i);
+            if (data == null || data.get("Name") == null) {
+                throw new IllegalArgumentException("Missing data for player " + i);
+            }
+            names.add(data.get("Name"));
+            balances[i] = Integer.parseInt(data.getOrDefault("Balance", "0"));
+        }
+        return SaveSummary.partial(names, balances, Integer.parseInt(gameStateData.getOrDefault("CurrentPlayerIndex", "0")));
+    }
+    
     /**
      * Parses a player data line and stores it
      */
@@ -167,18 +227,13 @@ public class GameStateLoader {
         // Reconstruct players
         List<Player> players = reconstructPlayers(playersData, board);
         
-        // Extract properties from board and apply ownership/buildings
-        List<Property> boardProperties = new ArrayList<>();
-        for (int i = 0; i < board.getBoardSize(); i++) {
-            Space space = board.getSpace(i);
-            if (space instanceof Property) {
-                boardProperties.add((Property) space);
-            }
+        // Create bank with all properties of the board, seat the players in
+        // turn order, then apply ownership/buildings
+        Bank bank = new Bank(200000, board);
+        for (Player player : players) {
+            bank.registerPlayer(player);
         }
         
-        // Create bank
-        Bank bank = new Bank(200000, boardProperties);
-        
         // Apply property ownership and buildings
         applyPropertyState(propertiesData, board, players, bank);
         
@@ -190,7 +245,7 @@ public class GameStateLoader {
         String justBoughtName = gameStateData.get("PropertyJustBought");
         Property propertyJustBought = null;
         if (justBoughtName != null && !justBoughtName.equals("null") && !justBoughtName.isEmpty()) {
-            propertyJustBought = findPropertyByName(board, justBoughtName);
+            propertyJustBought = board.getPropertyByName(justBoughtName);
         }
         
         String[] diceValues = gameStateData.get("LastDiceRoll").split(",");
@@ -212,8 +267,7 @@ public class GameStateLoader {
             }
             
             // Set messages in GameState
-            controller.GameState gameState = controller.GameState.getInstance();
-            gameState.setLogMessages(logMessages);
+            restoreLog(logMessages);
         }
         
         return facade;
@@ -225,9 +279,17 @@ public class GameStateLoader {
     private static List<Player> reconstructPlayers(Map<Integer, Map<String, String>> playersData, Board board) {
         List<Player> players = new ArrayList<>();
         
+        // The deck is ready once it knows the players, so saved
+        // GetOutPrisonCards can be taken out of it
+        LuckDeck luckDeck = board.getLuckDeck();
+        if (luckDeck != null) {
+            luckDeck.setAllPlayers(players);
+        }
+        
         // Sort by index to maintain order
         List<Integer> indices = new ArrayList<>(playersData.keySet());
         Collections.sort(indices);
+        PlayerTable table = new PlayerTable(indices.size());
         
         for (int index : indices) {
             Map<String, String> playerData = playersData.get(index);
@@ -241,23 +303,43 @@ public class GameStateLoader {
             int getOutPrisonCards = Integer.parseInt(playerData.get("GetOutPrisonCards"));
             int consecutiveDoubles = Integer.parseInt(playerData.get("ConsecutiveDoubles"));
             
-            // Create car at the correct position
-            Space startSpace = board.getSpace(position);
-            Car car = new Car(color, startSpace);
-            
-            // Create player with initial balance (will be set correctly below)
-            Player player = new Player(name, color, car, 0);
-            player.setBalance(balance);
-            player.setPrisonState(inPrison, turnsInPrison);
-            player.setConsecutiveDoubles(consecutiveDoubles);
-            player.addGetOutPrisonCards(getOutPrisonCards);
-            
-            players.add(player);
+            players.add(restorePlayer(board, table, name, color, balance, position, inPrison,
+                                      turnsInPrison, getOutPrisonCards, consecutiveDoubles));
         }
         
         return players;
     }
     
+    /**
+     * Creates a saved player on the board, in a new row of the game's player
+     * table. The board's luck deck must already know the player list, so held
+     * GetOutPrisonCards can be taken from it.
+     */
+    static Player restorePlayer(Board board, PlayerTable table, String name, String color, int balance, int position,
+                                boolean inPrison, int turnsInPrison, int getOutPrisonCards,
+                                int consecutiveDoubles) {
+        // Create car at the correct position
+        if (position < 0 || position >= board.getBoardSize()) {
+            throw new IllegalArgumentException("Invalid position for player " + name + ": " + position);
+        }
+        Car car = new Car(color, board, position);
+        
+        // Create player with initial balance (will be set correctly below)
+        Player player = new Player(name, car, table, 0);
+        player.setBalance(balance);
+        player.setPrisonState(inPrison, turnsInPrison);
+        player.setConsecutiveDoubles(consecutiveDoubles);
+        player.addGetOutPrisonCards(getOutPrisonCards, board.getLuckDeck());
+        return player;
+    }
+    
+    /**
+     * Replaces the game history shown by the view with the saved messages
+     */
+    static void restoreLog(List<String> messages) {
+        controller.GameState.getInstance().setLogMessages(messages);
+    }
+    
     /**
      * Applies property ownership and building state from parsed data
      */
@@ -295,8 +377,7 @@ public class GameStateLoader {
                     throw new IllegalArgumentException("Property owner not found: " + ownerName);
                 }
                 
-                owner.addPropertyWithoutPayment(property);
-                bank.markPropertyAsOwned(property);
+                bank.assignOwner(property, owner);
             }
             
             // Set buildings (only for Place instances)
@@ -319,21 +400,4 @@ public class GameStateLoader {
         }
         return null;
     }
-    
-    /**
-     * Finds a property by name on the board
-     */
-    private static Property findPropertyByName(Board board, String name) {
-        for (int i = 0; i < board.getBoardSize(); i++) {
-            Space space = board.getSpace(i);
-            if (space instanceof Property) {
-                Property prop = (Property) space;
-                if (prop.getName().equals(name)) {
-                    return prop;
-                }
-            }
-        }
-        return null;
-    }
 }
-
@@ -1,7 +1,10 @@
 package model.core.entities;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
 
 /**
@@ -10,9 +13,23 @@ import java.util.*;
  * This class is responsible for saving the complete game state to a .txt file
  * in UTF-8 encoding. The format is human-readable and can be manually edited.
  * See SAVE_FORMAT.txt for complete format specification.
+ * 
+ * Sections are streamed to a temporary file as they are formatted (the save
+ * is never held in memory as a whole) and the file is then renamed over the
+ * target, so an interrupted save never corrupts an existing one.
  */
 public class GameStateSaver {
     
+    /** Buffer between the section writers and the file channel. */
+    private static final int BUFFER_SIZE = 16 * 1024;
+    
+    /**
+     * Writes the contents of a save to a stream
+     */
+    interface SaveWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+    
     /**
      * Saves the complete game state to a file
      * 
@@ -27,142 +44,154 @@ public class GameStateSaver {
             throw new IllegalStateException("Cannot save game after dice have been rolled. Please save at the start of a turn.");
         }
         
-        StringBuilder content = new StringBuilder();
-        
-        // Header
-        content.append("# Banco Imobiliário - Partida Salva\n");
-        content.append("# Data: ").append(new Date().toString()).append("\n");
-        content.append("# Encoding: UTF-8\n");
-        content.append("\n");
-        
-        // Game State Section
-        content.append(formatGameStateSection(facade));
-        content.append("\n");
-        
-        // Players Section
-        content.append(formatPlayersSection(facade));
-        content.append("\n");
-        
-        // Properties Section
-        content.append(formatPropertiesSection(facade));
-        content.append("\n");
-        
-        // Log Section (historical messages)
-        content.append(formatLogSection());
-        
-        // Write to file with UTF-8 encoding
-        try (BufferedWriter writer = new BufferedWriter(
-                new OutputStreamWriter(new FileOutputStream(filePath), StandardCharsets.UTF_8))) {
-            writer.write(content.toString());
+        writeAtomically(filePath, out -> {
+            // Sections go straight to the file, UTF-8 encoded, as they are formatted
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            
+            // Header
+            writer.write("# Banco Imobiliário - Partida Salva\n");
+            writer.write("# Data: " + new Date() + "\n");
+            writer.write("# Encoding: UTF-8\n");
+            writer.write("\n");
+            
+            // Game State Section
+            writeGameStateSection(writer, facade);
+            writer.write("\n");
+            
+            // Players Section
+            writePlayersSection(writer, facade);
+            writer.write("\n");
+            
+            // Properties Section
+            writePropertiesSection(writer, facade);
+            writer.write("\n");
+            
+            // Log Section (historical messages)
+            writeLogSection(writer);
+            writer.flush();
+        });
+    }
+    
+    /**
+     * Writes a save through a temporary file in the same directory, then
+     * renames it over the target. A crash mid-save leaves the previous file
+     * intact (plus at most a stray .tmp file), never a truncated save.
+     * 
+     * @param filePath Path of the save file
+     * @param content Writes the file contents
+     * @throws IOException If writing or renaming fails
+     */
+    static void writeAtomically(String filePath, SaveWriter content) throws IOException {
+        Path target = Paths.get(filePath).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                                                        StandardOpenOption.WRITE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+                content.writeTo(out);
+                out.flush();
+                // Make the data durable before the rename makes it visible
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
         }
     }
     
     /**
-     * Formats the [GAME_STATE] section
+     * Writes the [GAME_STATE] section
      */
-    private static String formatGameStateSection(ModelFacade facade) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("[GAME_STATE]\n");
-        sb.append("CurrentPlayerIndex=").append(facade.getCurrentPlayerIndex()).append("\n");
-        sb.append("HasBuiltThisTurn=").append(facade.getHasBuiltThisTurn()).append("\n");
-        sb.append("DiceRolledThisTurn=").append(facade.getDiceRolledThisTurn()).append("\n");
+    private static void writeGameStateSection(Writer out, ModelFacade facade) throws IOException {
+        out.write("[GAME_STATE]\n");
+        out.write("CurrentPlayerIndex=" + facade.getCurrentPlayerIndex() + "\n");
+        out.write("HasBuiltThisTurn=" + facade.getHasBuiltThisTurn() + "\n");
+        out.write("DiceRolledThisTurn=" + facade.getDiceRolledThisTurn() + "\n");
         
         Property justBought = facade.getPropertyJustBought();
-        sb.append("PropertyJustBought=").append(justBought != null ? justBought.getName() : "null").append("\n");
+        out.write("PropertyJustBought=" + (justBought != null ? justBought.getName() : "null") + "\n");
         
         int[] diceRoll = facade.getLastDiceRollArray();
-        sb.append("LastDiceRoll=").append(diceRoll[0]).append(",").append(diceRoll[1]).append("\n");
-        
-        return sb.toString();
+        out.write("LastDiceRoll=" + diceRoll[0] + "," + diceRoll[1] + "\n");
     }
     
     /**
-     * Formats the [PLAYERS] section
+     * Writes the [PLAYERS] section
      */
-    private static String formatPlayersSection(ModelFacade facade) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("[PLAYERS]\n");
+    private static void writePlayersSection(Writer out, ModelFacade facade) throws IOException {
+        out.write("[PLAYERS]\n");
         
         List<Player> players = facade.getAllPlayers();
-        sb.append("PlayerCount=").append(players.size()).append("\n");
+        out.write("PlayerCount=" + players.size() + "\n");
         
         for (int i = 0; i < players.size(); i++) {
-            Player player = players.get(i);
-            sb.append(formatPlayerData(i, player, facade.getBoard()));
+            writePlayerData(out, i, players.get(i));
         }
-        
-        return sb.toString();
     }
     
     /**
-     * Formats data for a single player
+     * Writes data for a single player
      */
-    private static String formatPlayerData(int index, Player player, Board board) {
-        StringBuilder sb = new StringBuilder();
+    private static void writePlayerData(Writer out, int index, Player player) throws IOException {
         String prefix = "Player" + index + "_";
         
-        sb.append(prefix).append("Name=").append(player.getName()).append("\n");
-        sb.append(prefix).append("Color=").append(player.getCar().getColor()).append("\n");
-        sb.append(prefix).append("Balance=").append(player.getBalance()).append("\n");
+        out.write(prefix + "Name=" + player.getName() + "\n");
+        out.write(prefix + "Color=" + player.getCar().getColor() + "\n");
+        out.write(prefix + "Balance=" + player.getBalance() + "\n");
         
-        // Find player position on board
-        Space playerPosition = player.getCar().getPosition();
-        int positionIndex = findSpaceIndex(board, playerPosition);
-        sb.append(prefix).append("Position=").append(positionIndex).append("\n");
+        // Cars are addressed by board index
+        out.write(prefix + "Position=" + player.getCar().getPositionIndex() + "\n");
         
-        sb.append(prefix).append("InPrison=").append(player.isInPrison()).append("\n");
-        sb.append(prefix).append("TurnsInPrison=").append(player.getTurnsInPrison()).append("\n");
-        sb.append(prefix).append("GetOutPrisonCards=").append(player.getGetOutPrisonCardCount()).append("\n");
-        sb.append(prefix).append("ConsecutiveDoubles=").append(player.getConsecutiveDoubles()).append("\n");
+        out.write(prefix + "InPrison=" + player.isInPrison() + "\n");
+        out.write(prefix + "TurnsInPrison=" + player.getTurnsInPrison() + "\n");
+        out.write(prefix + "GetOutPrisonCards=" + player.getGetOutPrisonCardCount() + "\n");
+        out.write(prefix + "ConsecutiveDoubles=" + player.getConsecutiveDoubles() + "\n");
         
-        // Format properties list
+        // Write properties list
         List<Property> properties = player.getLiquidAssets();
-        sb.append(prefix).append("Properties=");
-        if (!properties.isEmpty()) {
-            StringJoiner joiner = new StringJoiner(",");
-            for (Property prop : properties) {
-                joiner.add(prop.getName());
+        out.write(prefix + "Properties=");
+        for (int i = 0; i < properties.size(); i++) {
+            if (i > 0) {
+                out.write(",");
             }
-            sb.append(joiner.toString());
+            out.write(properties.get(i).getName());
         }
-        sb.append("\n");
-        
-        return sb.toString();
+        out.write("\n");
     }
     
     /**
-     * Formats the [PROPERTIES] section
+     * Writes the [PROPERTIES] section
      */
-    private static String formatPropertiesSection(ModelFacade facade) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("[PROPERTIES]\n");
+    private static void writePropertiesSection(Writer out, ModelFacade facade) throws IOException {
+        out.write("[PROPERTIES]\n");
         
         Board board = facade.getBoard();
-        List<Property> properties = extractPropertiesFromBoard(board);
+        List<Property> properties = board.getProperties();
         
-        sb.append("PropertyCount=").append(properties.size()).append("\n");
+        out.write("PropertyCount=" + properties.size() + "\n");
         
         for (int i = 0; i < properties.size(); i++) {
-            Property prop = properties.get(i);
-            sb.append(formatPropertyData(i, prop, board));
+            writePropertyData(out, i, properties.get(i), board);
         }
-        
-        return sb.toString();
     }
     
     /**
-     * Formats data for a single property
+     * Writes data for a single property
      */
-    private static String formatPropertyData(int index, Property property, Board board) {
-        StringBuilder sb = new StringBuilder();
+    private static void writePropertyData(Writer out, int index, Property property, Board board) throws IOException {
         String prefix = "Property_" + index + "_";
         
-        sb.append(prefix).append("Name=").append(property.getName()).append("\n");
+        out.write(prefix + "Name=" + property.getName() + "\n");
         
-        int boardIndex = findSpaceIndex(board, property);
-        sb.append(prefix).append("BoardIndex=").append(boardIndex).append("\n");
+        int boardIndex = board.getPosition(property);
+        out.write(prefix + "BoardIndex=" + boardIndex + "\n");
         
-        sb.append(prefix).append("Owner=").append(property.isOwned() ? property.getOwner().getName() : "null").append("\n");
+        out.write(prefix + "Owner=" + (property.isOwned() ? property.getOwner().getName() : "null") + "\n");
         
         // Houses and hotels (only for Place instances)
         int houses = 0;
@@ -172,60 +201,39 @@ public class GameStateSaver {
             houses = place.getNumOfHouses();
             hotels = place.getNumOfHotels();
         }
-        sb.append(prefix).append("Houses=").append(houses).append("\n");
-        sb.append(prefix).append("Hotels=").append(hotels).append("\n");
-        
-        return sb.toString();
-    }
-    
-    /**
-     * Extracts all Property instances from the board
-     */
-    private static List<Property> extractPropertiesFromBoard(Board board) {
-        List<Property> properties = new ArrayList<>();
-        for (int i = 0; i < board.getBoardSize(); i++) {
-            Space space = board.getSpace(i);
-            if (space instanceof Property) {
-                properties.add((Property) space);
-            }
-        }
-        return properties;
+        out.write(prefix + "Houses=" + houses + "\n");
+        out.write(prefix + "Hotels=" + hotels + "\n");
     }
     
     /**
-     * Finds the index of a space on the board
+     * Writes the [LOG] section with game history messages
      */
-    private static int findSpaceIndex(Board board, Space space) {
-        for (int i = 0; i < board.getBoardSize(); i++) {
-            if (board.getSpace(i) == space) {
-                return i;
-            }
-        }
-        return -1; // Not found
-    }
-    
-    /**
-     * Formats the [LOG] section with game history messages
-     */
-    private static String formatLogSection() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("[LOG]\n");
+    private static void writeLogSection(Writer out) throws IOException {
+        out.write("[LOG]\n");
         
-        // Get log messages from GameState
-        controller.GameState gameState = controller.GameState.getInstance();
-        List<String> logMessages = gameState.getLogMessages();
+        // Stream the full history (memory and spilled entries) from the log
+        controller.GameLog log = controller.GameState.getInstance().getLog();
+        long count = log.getSequence();
         
-        sb.append("MessageCount=").append(logMessages.size()).append("\n");
+        out.write("MessageCount=" + count + "\n");
         
         // Save each log message (escape newlines and special characters)
-        for (int i = 0; i < logMessages.size(); i++) {
-            String message = logMessages.get(i);
+        int[] index = {0};
+        IOException[] error = new IOException[1];
+        log.read(0, count, message -> {
+            if (error[0] != null) {
+                return;
+            }
             // Escape special characters: newline, equals sign
-            message = message.replace("\n", "\\n").replace("=", "\\=");
-            sb.append("Message_").append(i).append("=").append(message).append("\n");
+            String escaped = message.replace("\n", "\\n").replace("=", "\\=");
+            try {
+                out.write("Message_" + index[0]++ + "=" + escaped + "\n");
+            } catch (IOException e) {
+                error[0] = e;
+            }
+        });
+        if (error[0] != null) {
+            throw error[0];
         }
-        
-        return sb.toString();
     }
 }
-
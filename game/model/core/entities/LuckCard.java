@@ -1,11 +1,11 @@
 package model.core.entities;
 
-enum LuckType { LUCKY, MISFORTUNE }
-
 abstract class LuckCard {
     private final String imageId;
     private final LuckType type;
     private final String story;
+    /** Position in the catalog of the deck that owns the card, -1 until it joins one. */
+    private int deckIndex = -1;
 
     public LuckCard(String imageId, LuckType type, String story) {
         this.imageId = imageId;
@@ -16,28 +16,8 @@ abstract class LuckCard {
     public LuckType getType() { return type; }
     public String getStory()  { return story; }
     public String getImageId() { return imageId; }
+    int getDeckIndex() { return deckIndex; }
+    void setDeckIndex(int deckIndex) { this.deckIndex = deckIndex; }
     public abstract boolean use(Player player);
     public abstract boolean onDraw(Player player);
 }
-
-abstract class AutomaticCard extends LuckCard {
-    public AutomaticCard(String imageId, LuckType type, String story) {
-        super(imageId, type, story);
-    }
-
-    @Override
-    public boolean onDraw(Player player) {
-        return this.use(player);
-    }
-}
-
-abstract class ManualCard extends LuckCard {
-    public ManualCard(String imageId, LuckType type, String story) {
-        super(imageId, type, story);
-    }
-
-    @Override
-    public boolean onDraw(Player player) {
-        return false;
-    }
-}
\ No newline at end of file
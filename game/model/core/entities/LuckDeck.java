@@ -2,16 +2,51 @@ package model.core.entities;
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 
+/**
+ * The luck card deck, kept in a fixed array of card slots.
+ * 
+ * The draw pile fills the end of the array, [cursor, cards.length), with the
+ * top card at cursor; the discard pile fills [0, discardCount). Cards held
+ * by players (GetOutPrisonCard) are in neither, so there is always a free
+ * slot between both piles when a card comes back. Drawing and discarding are
+ * O(1), and reshuffling moves the discard pile next to the draw pile and
+ * shuffles it in place: the cards are created once and never rebuilt.
+ * 
+ * Every card also has a fixed place in the deck's catalog (the order the
+ * cards were created in), so a GameSnapshot can record the deck order as
+ * catalog indices and put it back in another copy of the game.
+ */
 class LuckDeck {
-    private List<LuckCard> deck;
+    private LuckCard[] cards;
+    /** Every card of this deck, in creation order (see LuckCard.getDeckIndex). */
+    private LuckCard[] catalog;
+    /** Which catalog cards are held by a player, by catalog index. */
+    private boolean[] held;
+    private int cursor;
+    private int discardCount;
+    private final GameRandom random;
     private Prison prisonSpace;
     private List<Player> allPlayers;
     private boolean initialized;
     
     public LuckDeck() {
-        this.deck = new ArrayList<>();
+        this(new GameRandom());
+    }
+    
+    /**
+     * Creates a deck that shuffles with the given source of randomness.
+     * 
+     * @param random The game's random source (seeded for reproducible games).
+     */
+    public LuckDeck(GameRandom random) {
+        this.random = random;
+        this.cards = new LuckCard[0];
+        this.catalog = new LuckCard[0];
+        this.held = new boolean[0];
+        this.cursor = 0;
+        this.discardCount = 0;
         this.prisonSpace = null;
         this.allPlayers = null;
         this.initialized = false;
@@ -34,6 +69,14 @@ class LuckDeck {
      */
     public void setAllPlayers(List<Player> allPlayers) {
         this.allPlayers = allPlayers;
+        if (initialized) {
+            // Cards already created keep following the current players list
+            for (LuckCard card : cards) {
+                if (card instanceof ReceiveFromOthersCard) {
+                    ((ReceiveFromOthersCard) card).setAllPlayers(allPlayers);
+                }
+            }
+        }
         initializeDeckIfReady();
     }
     
@@ -48,57 +91,74 @@ class LuckDeck {
     }
     
     /**
-     * Initializes the deck with standard luck cards.
+     * Creates the standard luck cards. Called once per deck.
      */
     private void initializeDeck() {
-        // Clear existing deck
-        this.deck.clear();
+        List<LuckCard> pool = new ArrayList<>();
         
         // Add some example cards - in a real game these would be loaded from configuration
-        this.deck.add(new ReceiveCard("chance1", 25, "A prefeitura mandou abrir uma nova avenida, para o que desapropriou vários prédios. Em consequência seu terreno valorizou. Receba 25"));
-        this.deck.add(new ReceiveCard("chance2", 150, "Houve um assalto à sua loja, mas você estava segurado. Receba 150"));
-        this.deck.add(new ReceiveCard("chance3", 80, "Um amigo tinha lhe pedido um empréstimo e se esqueceu de devolver. Ele acaba de se lembrar. Receba 80"));
-        this.deck.add(new ReceiveCard("chance4", 200, "Você está com sorte. Suas ações na Bolsa de Valores estão em alta. Receba 200"));
-        this.deck.add(new ReceiveCard("chance5", 50, "Você trocou seu carro usado com um amigo e ainda saiu lucrando. Receba 50"));
-        this.deck.add(new ReceiveCard("chance6", 50, "Você acaba de receber uma parcela do seu 13° salário. Receba 50"));
-        this.deck.add(new ReceiveCard("chance7", 100, "Você tirou o primeiro lugar no Torneio de Tênis do seu clube. Parabéns! Receba 100"));
-        this.deck.add(new ReceiveCard("chance8", 100, "O seu cachorro policial tirou 1° prêmio na exposição do Kennel Club. Receba 100"));
-        this.deck.add(new GetOutPrisonCard("chance9", "Saída livre da prisão.", null)); // Owner will be set when drawn
+        pool.add(new ReceiveCard("chance1", 25, "A prefeitura mandou abrir uma nova avenida, para o que desapropriou vários prédios. Em consequência seu terreno valorizou. Receba 25"));
+        pool.add(new ReceiveCard("chance2", 150, "Houve um assalto à sua loja, mas você estava segurado. Receba 150"));
+        pool.add(new ReceiveCard("chance3", 80, "Um amigo tinha lhe pedido um empréstimo e se esqueceu de devolver. Ele acaba de se lembrar. Receba 80"));
+        pool.add(new ReceiveCard("chance4", 200, "Você está com sorte. Suas ações na Bolsa de Valores estão em alta. Receba 200"));
+        pool.add(new ReceiveCard("chance5", 50, "Você trocou seu carro usado com um amigo e ainda saiu lucrando. Receba 50"));
+        pool.add(new ReceiveCard("chance6", 50, "Você acaba de receber uma parcela do seu 13° salário. Receba 50"));
+        pool.add(new ReceiveCard("chance7", 100, "Você tirou o primeiro lugar no Torneio de Tênis do seu clube. Parabéns! Receba 100"));
+        pool.add(new ReceiveCard("chance8", 100, "O seu cachorro policial tirou 1° prêmio na exposição do Kennel Club. Receba 100"));
+        pool.add(new GetOutPrisonCard("chance9", "Saída livre da prisão.", null)); // Owner will be set when drawn
         
         // Create and configure ReceiveFromOthersCard
         ReceiveFromOthersCard receiveCard = new ReceiveFromOthersCard("chance11", 50, "Você apostou com os parceiros deste jogo e ganhou. Cada um lhe paga 50.");
         if (this.allPlayers != null) {
             receiveCard.setAllPlayers(this.allPlayers);
         }
-        this.deck.add(receiveCard);
-        this.deck.add(new ReceiveCard("chance12", 45, "Você saiu de férias e se hospedou na casa de um amigo. Você economizou o hotel. Receba 45"));
-        this.deck.add(new ReceiveCard("chance13", 100, "Inesperadamente você recebeu uma herança que já estava esquecida. Receba 100"));
-        this.deck.add(new ReceiveCard("chance14", 100, "Você foi promovido a diretor da sua empresa. Receba 100"));
-        this.deck.add(new ReceiveCard("chance15", 20, "Você jogou na Loteria Esportiva com um grupo de amigos. Ganharam! Receba 20"));
-        this.deck.add(new PayCard("chance16", 15, "Um amigo pediu-lhe um empréstimo. Você não pode recusar. Pague 15."));
-        this.deck.add(new PayCard("chance17", 25, "Você vai casar e está comprando um apartamento novo. Pague 25."));
-        this.deck.add(new PayCard("chance18", 45, "O médico lhe recomendou repouso num bom hotel de montanha. Pague 45."));
-        this.deck.add(new PayCard("chance19", 30, "Você achou interessante assistir a estréia da temporada de ballet. Compre os ingressos. Pague 30."));
-        this.deck.add(new PayCard("chance20", 100, "Parabéns! Você convidou seus amigos para festejar o aniversário. Pague 100."));
-        this.deck.add(new PayCard("chance21", 100, "Você é papai outra vez! Despezas de maternidade. Pague 100."));
-        this.deck.add(new PayCard("chance22", 40, "Papai os livros do ano passado não servem mais, preciso de livros novos. Pague 40."));
-        this.deck.add(new GoToPrisonCard("chance23", "Vá para a prisão sem receber nada. (talvez eu lhe faça uma visita...)", prisonSpace));
-        this.deck.add(new PayCard("chance24", 30, "Você estacionou seu carro em lugar proibido e entrou na contra mão. Pague 30."));
-        this.deck.add(new PayCard("chance25", 50, "Você acaba de receber comunicação do Imposto de Renda. Pague 50."));
-        this.deck.add(new PayCard("chance26", 25, "Seu clube está ampliando as piscinas. os sócios devem contribuir. Pague 25."));
-        this.deck.add(new PayCard("chance27", 30, "Renove a tempo a licença do seu automóvel. Pague 30."));
-        this.deck.add(new PayCard("chance28", 45, "Seus parentes do interior vieram passar umas \"férias\" na sua casa. Pague 45."));
-        this.deck.add(new PayCard("chance29", 50, "Seus filhos já vão para a escola. Pague a primeira mensalidade. Pague 50."));
-        this.deck.add(new PayCard("chance30", 50, "A geada prejudicou a sua safra de café. Pague 50."));
+        pool.add(receiveCard);
+        pool.add(new ReceiveCard("chance12", 45, "Você saiu de férias e se hospedou na casa de um amigo. Você economizou o hotel. Receba 45"));
+        pool.add(new ReceiveCard("chance13", 100, "Inesperadamente você recebeu uma herança que já estava esquecida. Receba 100"));
+        pool.add(new ReceiveCard("chance14", 100, "Você foi promovido a diretor da sua empresa. Receba 100"));
+        pool.add(new ReceiveCard("chance15", 20, "Você jogou na Loteria Esportiva com um grupo de amigos. Ganharam! Receba 20"));
+        pool.add(new PayCard("chance16", 15, "Um amigo pediu-lhe um empréstimo. Você não pode recusar. Pague 15."));
+        pool.add(new PayCard("chance17", 25, "Você vai casar e está comprando um apartamento novo. Pague 25."));
+        pool.add(new PayCard("chance18", 45, "O médico lhe recomendou repouso num bom hotel de montanha. Pague 45."));
+        pool.add(new PayCard("chance19", 30, "Você achou interessante assistir a estréia da temporada de ballet. Compre os ingressos. Pague 30."));
+        pool.add(new PayCard("chance20", 100, "Parabéns! Você convidou seus amigos para festejar o aniversário. Pague 100."));
+        pool.add(new PayCard("chance21", 100, "Você é papai outra vez! Despezas de maternidade. Pague 100."));
+        pool.add(new PayCard("chance22", 40, "Papai os livros do ano passado não servem mais, preciso de livros novos. Pague 40."));
+        pool.add(new GoToPrisonCard("chance23", "Vá para a prisão sem receber nada. (talvez eu lhe faça uma visita...)", prisonSpace));
+        pool.add(new PayCard("chance24", 30, "Você estacionou seu carro em lugar proibido e entrou na contra mão. Pague 30."));
+        pool.add(new PayCard("chance25", 50, "Você acaba de receber comunicação do Imposto de Renda. Pague 50."));
+        pool.add(new PayCard("chance26", 25, "Seu clube está ampliando as piscinas. os sócios devem contribuir. Pague 25."));
+        pool.add(new PayCard("chance27", 30, "Renove a tempo a licença do seu automóvel. Pague 30."));
+        pool.add(new PayCard("chance28", 45, "Seus parentes do interior vieram passar umas \"férias\" na sua casa. Pague 45."));
+        pool.add(new PayCard("chance29", 50, "Seus filhos já vão para a escola. Pague a primeira mensalidade. Pague 50."));
+        pool.add(new PayCard("chance30", 50, "A geada prejudicou a sua safra de café. Pague 50."));
+        
+        // Keep cards added before the deck was ready
+        for (int i = cursor; i < cards.length; i++) {
+            pool.add(cards[i]);
+        }
         
+        this.cards = pool.toArray(new LuckCard[0]);
+        this.catalog = cards.clone();
+        this.held = new boolean[catalog.length];
+        for (int i = 0; i < catalog.length; i++) {
+            catalog[i].setDeckIndex(i);
+        }
+        this.cursor = 0;
+        this.discardCount = 0;
         shuffle();
     }
     
     /**
-     * Shuffles the deck.
+     * Shuffles the draw pile in place (Fisher-Yates).
      */
     public void shuffle() {
-        Collections.shuffle(this.deck);
+        for (int i = cards.length - 1; i > cursor; i--) {
+            int j = cursor + random.nextInt(i - cursor + 1);
+            LuckCard tmp = cards[i];
+            cards[i] = cards[j];
+            cards[j] = tmp;
+        }
     }
     
     /**
@@ -107,21 +167,143 @@ class LuckDeck {
      * @return The next luck card, or null if deck is empty.
      */
     public LuckCard drawCard() {
-        if (deck.isEmpty()) {
+        if (cursor == cards.length) {
             return null;
         }
         
-        // Remove and return the first card
-        return deck.remove(0);
+        LuckCard card = cards[cursor];
+        cards[cursor++] = null;
+        if (card instanceof ManualCard) {
+            // Kept by the player who drew it until it is used
+            setHeld(card, true);
+        }
+        return card;
+    }
+    
+    /**
+     * Returns the next card without drawing it.
+     * 
+     * @return The top card, or null if the deck is empty.
+     */
+    public LuckCard peekCard() {
+        return cursor == cards.length ? null : cards[cursor];
+    }
+    
+    /**
+     * Puts a card that was already played on the discard pile.
+     * 
+     * @param card The played card.
+     */
+    public void discard(LuckCard card) {
+        if (discardCount == cursor) {
+            // Only happens for cards that never came from this deck
+            grow();
+        }
+        register(card);
+        setHeld(card, false);
+        cards[discardCount++] = card;
+    }
+    
+    /**
+     * Puts a card back at the bottom of the deck, as a used
+     * GetOutPrisonCard is returned.
+     * 
+     * @param card The card to return.
+     */
+    public void returnToDeck(LuckCard card) {
+        if (discardCount == cursor) {
+            grow();
+        }
+        register(card);
+        setHeld(card, false);
+        // Slide the draw pile one slot up to free the bottom slot
+        System.arraycopy(cards, cursor, cards, cursor - 1, cards.length - cursor);
+        cursor--;
+        cards[cards.length - 1] = card;
+    }
+    
+    /**
+     * Undoes the last drawCard(), and the discard() of the same card if it
+     * followed: the card goes back on top of the draw pile.
+     * 
+     * @param card The card drawn.
+     * @param discarded Whether the card was discarded after being drawn.
+     */
+    void undoDraw(LuckCard card, boolean discarded) {
+        if (discarded) {
+            cards[--discardCount] = null;
+        }
+        cards[--cursor] = card;
+        setHeld(card, false);
     }
     
     /**
-     * Adds a card to the deck.
+     * Undoes the last returnToDeck(): takes the card back from the bottom of
+     * the draw pile, to the player who held it.
+     * 
+     * @param card The card returned.
+     */
+    void undoReturn(LuckCard card) {
+        System.arraycopy(cards, cursor, cards, cursor + 1, cards.length - 1 - cursor);
+        cards[cursor++] = null;
+        setHeld(card, true);
+    }
+    
+    /**
+     * Adds a card to the bottom of the deck.
      * 
      * @param card The card to add.
      */
     public void addCard(LuckCard card) {
-        this.deck.add(card);
+        returnToDeck(card);
+    }
+    
+    /**
+     * Removes a GetOutPrisonCard from the draw pile, to hand it to a player
+     * when a saved game is loaded.
+     * 
+     * @return The card, or null if the draw pile has none.
+     */
+    GetOutPrisonCard takeGetOutPrisonCard() {
+        for (int i = cursor; i < cards.length; i++) {
+            if (cards[i] instanceof GetOutPrisonCard) {
+                GetOutPrisonCard card = (GetOutPrisonCard) cards[i];
+                System.arraycopy(cards, cursor, cards, cursor + 1, i - cursor);
+                cards[cursor++] = null;
+                setHeld(card, true);
+                return card;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Marks a card of the catalog as held by a player or back in the deck.
+     */
+    private void setHeld(LuckCard card, boolean isHeld) {
+        if (card != null) {
+            held[card.getDeckIndex()] = isHeld;
+        }
+    }
+    
+    /**
+     * Adds a card that was not created by this deck to the catalog.
+     */
+    private void register(LuckCard card) {
+        if (card != null) {
+            indexOf(card);
+        }
+    }
+    
+    /**
+     * Adds a free slot between the discard pile and the draw pile.
+     */
+    private void grow() {
+        LuckCard[] larger = new LuckCard[cards.length + 1];
+        System.arraycopy(cards, 0, larger, 0, discardCount);
+        System.arraycopy(cards, cursor, larger, cursor + 1, cards.length - cursor);
+        this.cards = larger;
+        this.cursor++;
     }
     
     /**
@@ -130,7 +312,16 @@ class LuckDeck {
      * @return The deck size.
      */
     public int size() {
-        return this.deck.size();
+        return cards.length - cursor;
+    }
+    
+    /**
+     * Returns the number of cards on the discard pile.
+     * 
+     * @return The discard pile size.
+     */
+    public int discardSize() {
+        return discardCount;
     }
     
     /**
@@ -139,15 +330,131 @@ class LuckDeck {
      * @return true if empty, false otherwise.
      */
     public boolean isEmpty() {
-        return this.deck.isEmpty();
+        return cursor == cards.length;
     }
     
     /**
-     * Resets the deck to its initial state with all default cards.
-     * Useful when the deck becomes empty and needs to be replenished.
+     * Puts every card that is not held by a player back in the deck and
+     * shuffles it, as a new deck would be: the discard pile and any card
+     * drawn but never discarded come back, without creating new cards.
+     * Manual cards (GetOutPrisonCard) out of the deck are held by players
+     * and come back through returnToDeck() once used.
+     * 
+     * The draw pile is rebuilt in place from the catalog, in O(catalog size).
      */
     public void reset() {
-        this.deck.clear();
-        initializeDeck();
+        int size = 0;
+        for (int i = 0; i < catalog.length; i++) {
+            if (!held[i]) {
+                size++;
+            }
+        }
+        if (cards.length < size) {
+            // Only happens after cards that never came from this deck
+            cards = new LuckCard[size];
+        }
+        this.cursor = cards.length - size;
+        Arrays.fill(cards, 0, cursor, null);
+        int slot = cursor;
+        for (int i = 0; i < catalog.length; i++) {
+            if (!held[i]) {
+                cards[slot++] = catalog[i];
+            }
+        }
+        this.discardCount = 0;
+        shuffle();
+    }
+    
+    // ===== SNAPSHOTS =====
+    
+    /**
+     * Returns the card at a catalog index.
+     * 
+     * @param index The index (see LuckCard.getDeckIndex).
+     * @return The card.
+     * @throws IllegalArgumentException If this deck has no such card.
+     */
+    LuckCard cardAt(int index) {
+        if (index < 0 || index >= catalog.length) {
+            throw new IllegalArgumentException("Deck has no card " + index);
+        }
+        return catalog[index];
+    }
+    
+    /**
+     * Returns the catalog index of a card, adding the card to the catalog if
+     * it was not created by this deck (a prison card made up when loading).
+     * 
+     * @param card The card.
+     * @return The index.
+     */
+    int indexOf(LuckCard card) {
+        int index = card.getDeckIndex();
+        if (index >= 0 && index < catalog.length && catalog[index] == card) {
+            return index;
+        }
+        catalog = Arrays.copyOf(catalog, catalog.length + 1);
+        catalog[catalog.length - 1] = card;
+        // Not in the deck until a caller puts it in a pile
+        held = Arrays.copyOf(held, catalog.length);
+        held[catalog.length - 1] = card instanceof ManualCard;
+        card.setDeckIndex(catalog.length - 1);
+        return catalog.length - 1;
+    }
+    
+    /**
+     * Returns the number of cards the deck has ever held.
+     */
+    int catalogSize() {
+        return catalog.length;
+    }
+    
+    /**
+     * Returns the catalog index of the card in every slot, -1 for empty slots.
+     */
+    int[] slotOrder() {
+        int[] slots = new int[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            slots[i] = cards[i] == null ? -1 : cards[i].getDeckIndex();
+        }
+        return slots;
+    }
+    
+    /**
+     * Returns the slot of the top card of the draw pile.
+     */
+    int getCursor() {
+        return cursor;
+    }
+    
+    /**
+     * Puts the cards back in an order returned by slotOrder().
+     * 
+     * @param slots Catalog index of the card in every slot, -1 for empty slots.
+     * @param cursor Slot of the top card of the draw pile.
+     * @param discardCount Number of cards on the discard pile.
+     */
+    void restoreOrder(int[] slots, int cursor, int discardCount) {
+        if (cards.length != slots.length) {
+            cards = new LuckCard[slots.length];
+        }
+        for (int i = 0; i < catalog.length; i++) {
+            held[i] = catalog[i] instanceof ManualCard;
+        }
+        for (int i = 0; i < slots.length; i++) {
+            cards[i] = slots[i] < 0 ? null : cardAt(slots[i]);
+            if (slots[i] >= 0) {
+                held[slots[i]] = false;
+            }
+        }
+        this.cursor = cursor;
+        this.discardCount = discardCount;
+    }
+    
+    /**
+     * Returns the random stream the deck shuffles with.
+     */
+    GameRandom getRandom() {
+        return random;
     }
 }
@@ -28,7 +28,7 @@ class LuckSpace extends Space {
         // Draw a card from the deck
         LuckCard card = deck.drawCard();
         
-        // If deck is empty, reset it and draw again
+        // If deck is empty, reshuffle the discard pile and draw again
         if (card == null) {
             deck.reset();
             card = deck.drawCard();
@@ -45,6 +45,12 @@ class LuckSpace extends Space {
         // Execute the card's onDraw effect
         card.onDraw(player);
         
+        // Automatic cards are done once played; manual ones stay with the
+        // player until used (see ModelFacade.useGetOutPrisonCard)
+        if (card instanceof AutomaticCard) {
+            deck.discard(card);
+        }
+        
         // Return the card's story as the message
         return card.getStory();
     }
@@ -52,4 +58,20 @@ class LuckSpace extends Space {
     public LuckCard getCurrentCard() {
         return lastDrawnCard;
     }
+    
+    /**
+     * Returns the deck this space draws from.
+     */
+    LuckDeck getDeck() {
+        return deck;
+    }
+    
+    /**
+     * Sets the last drawn card (restoring a GameSnapshot).
+     * 
+     * @param card The card, or null.
+     */
+    void setCurrentCard(LuckCard card) {
+        this.lastDrawnCard = card;
+    }
 }
@@ -0,0 +1,3 @@
+package model.core.entities;
+
+enum LuckType { LUCKY, MISFORTUNE }
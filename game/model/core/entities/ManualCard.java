@@ -0,0 +1,12 @@
+package model.core.entities;
+
+abstract class ManualCard extends LuckCard {
+    public ManualCard(String imageId, LuckType type, String story) {
+        super(imageId, type, story);
+    }
+
+    @Override
+    public boolean onDraw(Player player) {
+        return false;
+    }
+}
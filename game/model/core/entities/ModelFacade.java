@@ -7,6 +7,8 @@ public class ModelFacade {
     private Bank bank;
     private List<Player> players;
     private int currentPlayerIndex;
+    private GameRandom random;
+    private GameRandom diceRandom;     // fluxo dos dois dados (ver GameSnapshot)
     private Dice dice1;
     private Dice dice2;
     private int[] lastDiceRoll;
@@ -15,12 +17,20 @@ public class ModelFacade {
     private Property propertyJustBought = null;
     private boolean hasTradedThisTurn = false;
     private boolean diceRolledThisTurn = false;
+    private GameRecording recording;
+    private PlayerTable playerTable;   // saldos, posições e prisão de todos, em arrays paralelos
+    private List<Player> roster;       // todos os jogadores por linha da tabela, inclusive eliminados
+    private CommandLog history;        // desfazer/refazer (null se desligado, ver enableUndo)
     
     public ModelFacade() {
-        this.dice1 = new Dice();
-        this.dice2 = new Dice();
+        this.random = new GameRandom();
+        this.diceRandom = random;
+        this.dice1 = new Dice(random);
+        this.dice2 = new Dice(random);
         this.lastDiceRoll = new int[]{0, 0};
         this.players = new ArrayList<>();
+        this.roster = new ArrayList<>();
+        this.playerTable = new PlayerTable();
         this.currentPlayerIndex = 0;
     }
     
@@ -28,41 +38,71 @@ public class ModelFacade {
      * Inicializa novo jogo com tabuleiro e jogadores
      */
     public void initializeGame(int numPlayers, List<String> playerNames, List<String> colors) {
+        setupGame(numPlayers, playerNames, colors, new GameRandom());
+    }
+    
+    /**
+     * Inicializa novo jogo reproduzível: a mesma semente gera sempre os mesmos
+     * dados e a mesma ordem de cartas de sorte.
+     * 
+     * @param seed Semente da partida
+     */
+    public void initializeGame(int numPlayers, List<String> playerNames, List<String> colors, long seed) {
+        setupGame(numPlayers, playerNames, colors, new GameRandom(seed));
+    }
+    
+    private void setupGame(int numPlayers, List<String> playerNames, List<String> colors, GameRandom random) {
+        // Dados e baralho usam fluxos independentes da mesma semente:
+        // rolar mais dados nunca altera a ordem das cartas
+        this.random = random;
+        this.diceRandom = random.split();
+        this.dice1 = new Dice(diceRandom);
+        this.dice2 = new Dice(diceRandom);
+        
         // Criar tabuleiro através do inicializador
-        this.board = BoardInitializer.createStandardBoard();
+        this.board = BoardInitializer.createStandardBoard(random.split());
         
         // Extrair propriedades do tabuleiro para o banco
-        List<Property> properties = extractPropertiesFromBoard();
-        this.bank = new Bank(200000, properties);
+        this.bank = new Bank(200000, board);
         
         // Criar jogadores
         this.players = new ArrayList<>();
-        Space startSpace = board.getStartSpace();
+        this.playerTable = new PlayerTable(numPlayers);
+        int startIndex = board.getStartIndex();
         
         for (int i = 0; i < numPlayers; i++) {
-            Car car = new Car(colors.get(i), startSpace);
-            Player player = new Player(playerNames.get(i), colors.get(i), car, 4000);
+            Car car = new Car(colors.get(i), board, startIndex);
+            Player player = new Player(playerNames.get(i), car, playerTable, 4000);
+            bank.registerPlayer(player);
             players.add(player);
         }
+        this.roster = new ArrayList<>(players);
         
-        // Configure the shared luck deck with players list
-        LuckDeck sharedDeck = BoardInitializer.getSharedLuckDeck();
-        if (sharedDeck != null) {
-            sharedDeck.setAllPlayers(this.players);
+        // Configure this board's luck deck with players list
+        LuckDeck luckDeck = board.getLuckDeck();
+        if (luckDeck != null) {
+            luckDeck.setAllPlayers(this.players);
         }
         
         this.currentPlayerIndex = 0;
+        this.recording = null;
+        resetHistory();
     }
     
     /**
      * Rola os dados (aleatório)
      */
     public int[] rollDice() {
+        GameCommand command = history != null ? new GameCommand.Roll(this) : null;
         this.diceRolledThisTurn = true;
         int d1 = dice1.roll();
         int d2 = dice2.roll();
         this.lastDiceRoll[0] = d1;
         this.lastDiceRoll[1] = d2;
+        if (recording != null) {
+            recording.add(GameRecording.Action.ROLL, d1, d2, null);
+        }
+        done(command);
         return lastDiceRoll;
     }
     
@@ -70,12 +110,71 @@ public class ModelFacade {
     public boolean hasDiceRolled() {
         return diceRolledThisTurn;
     }
+    
+    /**
+     * Retorna a semente da partida (para reproduzir o jogo)
+     */
+    public long getSeed() {
+        return random.getSeed();
+    }
+    
+    /**
+     * Começa a gravar a partida (semente, jogadores e cada ação) para que
+     * ela possa ser reproduzida com model.simulation.ReplayEngine. Deve ser
+     * chamado logo depois de initializeGame().
+     * 
+     * @return A gravação, que cresce a cada ação
+     */
+    public GameRecording startRecording() {
+        if (board == null) {
+            throw new IllegalStateException("Game not initialized");
+        }
+        List<String> names = new ArrayList<>();
+        List<String> colors = new ArrayList<>();
+        for (Player player : players) {
+            names.add(player.getName());
+            colors.add(player.getCar().getColor());
+        }
+        this.recording = new GameRecording(random.getSeed(), names, colors);
+        resetHistory();
+        return recording;
+    }
+    
+    /**
+     * Retorna a gravação em andamento (ou null se a partida não está sendo gravada)
+     */
+    public GameRecording getRecording() {
+        return recording;
+    }
+    
+    /**
+     * Retorna um hash do estado salvável da partida (jogadores, saldos,
+     * posições, donos, construções, dados), para comparar duas partidas
+     */
+    public long getStateHash() {
+        return GameRecording.stateHash(this);
+    }
+    
+    private void record(GameRecording.Action action) {
+        if (recording != null) {
+            recording.add(action);
+        }
+    }
+    
+    /**
+     * Retorna um contador que muda a cada compra, venda ou eliminação,
+     * para quem quiser guardar em cache algo derivado da posse das propriedades
+     */
+    public long getOwnershipVersion() {
+        return bank.getOwnershipVersion();
+    }
 
     
     /**
      * Move o jogador atual e executa evento da casa
      */
     public void moveCurrentPlayer(int steps) {
+        GameCommand.Move command = history != null ? new GameCommand.Move(this, steps) : null;
         Player currentPlayer = players.get(currentPlayerIndex);
         
         // Process dice roll to check for consecutive doubles
@@ -86,22 +185,24 @@ public class ModelFacade {
             Prison prisonSpace = board.getPrisonSpace();
             currentPlayer.sendToPrison(prisonSpace);
             lastEventMessage = "3 duplas consecutivas! Você foi enviado para a PRISÃO!";
+            if (recording != null) {
+                recording.add(GameRecording.Action.MOVE, steps, 0, null);
+            }
+            done(command);
             return;
         }
         
-        // Get start space and current position before moving
+        // Move the car; passing the start comes from wrapping around the board
         Space startSpace = board.getStartSpace();
-        Space positionBeforeMove = currentPlayer.getCar().getPosition();
-        
-        // Move the car
-        currentPlayer.getCar().advancePosition(steps);
-        
-        // Check if passed over start (but didn't land on it)
+        boolean wrapped = currentPlayer.getCar().advancePosition(steps);
         Space finalPosition = currentPlayer.getCar().getPosition();
-        boolean passedStart = checkPassedStart(positionBeforeMove, finalPosition, startSpace, steps);
+        if (command != null) {
+            command.landedOn(finalPosition);
+        }
         
-        // Apply start pass bonus if player passed over start (but didn't land on it)
-        if (passedStart) {
+        // Apply start pass bonus if player passed over start (but didn't land on it,
+        // since landing is already paid by the Start event)
+        if (wrapped && finalPosition != startSpace) {
             Start start = (Start) startSpace;
             currentPlayer.credit(start.getPassBonus());
         }
@@ -112,6 +213,13 @@ public class ModelFacade {
         }
         // Executa evento da casa e captura mensagem
         lastEventMessage = finalPosition.event(currentPlayer);
+        
+        if (recording != null) {
+            // A carta tirada é gravada para conferir o baralho na reprodução
+            LuckCard card = finalPosition instanceof LuckSpace ? ((LuckSpace) finalPosition).getCurrentCard() : null;
+            recording.add(GameRecording.Action.MOVE, steps, 0, card != null ? card.getImageId() : null);
+        }
+        done(command);
     }
 
     /**
@@ -120,14 +228,9 @@ public class ModelFacade {
      */
     public List<String> getRichestPlayers() {
         List<String> winners = new ArrayList<>();
-        int maxBalance = Integer.MIN_VALUE;//Usamos esse valor para o caso extremo de todos os jogadores terem saldo mega negativo.
         
-        // 1. Encontra o maior saldo
-        for (Player p : players) {
-            if (p.getBalance() > maxBalance) {
-                maxBalance = p.getBalance();
-            }
-        }
+        // 1. Encontra o maior saldo (varrendo só o array de saldos)
+        int maxBalance = playerTable.maxActiveBalance();
         
         // 2. Coleta todos os jogadores que têm esse saldo (empate)
         for (Player p : players) {
@@ -139,32 +242,11 @@ public class ModelFacade {
         return winners;
     }
     
-    /**
-     * Checks if the player passed over the start space during movement
-     */
-    private boolean checkPassedStart(Space startPosition, Space endPosition, Space startSpace, int steps) {
-        // If landed on start, didn't pass over it
-        if (endPosition == startSpace) {
-            return false;
-        }
-        
-        // Traverse the path taken and check if we crossed start
-        Space current = startPosition;
-        for (int i = 0; i < steps; i++) {
-            current = current.getNext();
-            // If we hit start before the last step, we passed over it
-            if (current == startSpace && i < steps - 1) {
-                return true;
-            }
-        }
-        
-        return false;
-    }
-    
     /**
      * Tenta comprar a propriedade onde o jogador atual está
      */
     public boolean buyCurrentProperty() {
+        record(GameRecording.Action.BUY);
         Player currentPlayer = players.get(currentPlayerIndex);
         Space currentSpace = currentPlayer.getCar().getPosition();
         
@@ -182,9 +264,11 @@ public class ModelFacade {
             return false;
         }
         
-        currentPlayer.buyProperty(property);
-        bank.markPropertyAsOwned(property);
+        GameCommand command = history != null ? new GameCommand.Buy(this) : null;
+        currentPlayer.debit(property.getCost());
+        bank.assignOwner(property, currentPlayer);
         this.propertyJustBought = property;
+        done(command);
         
         return true;
     }
@@ -193,10 +277,15 @@ public class ModelFacade {
      * Passa para o próximo jogador
      */
     public void nextTurn() {
+        GameCommand command = history != null ? new GameCommand.NextTurn(this) : null;
     	this.hasBuiltThisTurn = false;
         this.propertyJustBought = null;
         currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
         this.diceRolledThisTurn = false;
+        if (recording != null) {
+            recording.add(GameRecording.Action.NEXT_TURN, getStateHash(), 0, null);
+        }
+        done(command);
     }
     
     /**
@@ -230,23 +319,27 @@ public class ModelFacade {
      * Elimina o jogador atual (saldo negativo sem como pagar)
      */
     public void eliminateCurrentPlayer() {
+        record(GameRecording.Action.ELIMINATE);
         Player currentPlayer = players.get(currentPlayerIndex);
+        GameCommand command = history != null ? new GameCommand.Eliminate(this) : null;
         
         // Devolver todas as propriedades ao banco
-        List<Property> playerProperties = new ArrayList<>(currentPlayer.getLiquidAssets());
-        for (Property prop : playerProperties) {
-            currentPlayer.sellProperty(prop);
-            bank.returnPropertyToBank(prop);
-            prop.setOwner(null);
+        bank.returnAllPropertiesToBank(currentPlayer);
+        
+        // Devolver as cartas de saída da prisão ao baralho
+        while (currentPlayer.hasGetOutPrisonCard()) {
+            returnGetOutPrisonCard(currentPlayer.useGetOutPrisonCard());
         }
         
         // Marcar como eliminado (saldo muito negativo)
         // currentPlayer.debit(1000000);
         players.remove(currentPlayerIndex);
+        playerTable.deactivate(currentPlayer.getRow());
         currentPlayerIndex--;
         if (currentPlayerIndex < 0) {
             currentPlayerIndex = 0;
         }
+        done(command);
 
     }
     
@@ -311,9 +404,7 @@ public class ModelFacade {
     public Map<Integer, Integer> getAllPlayerPositions() {
         Map<Integer, Integer> positions = new HashMap<>();
         for (int i = 0; i < players.size(); i++) {
-            Space position = players.get(i).getCar().getPosition();
-            int spaceIndex = findSpaceIndex(position);
-            positions.put(i, spaceIndex);
+            positions.put(i, players.get(i).getCar().getPositionIndex());
         }
         return positions;
     }
@@ -342,14 +433,9 @@ public class ModelFacade {
                 hasHotel = place.getNumOfHotels() > 0;
                 currentPrice = place.getTotalValue();
                 isPlace = true;
-                if (place.isOwned() && place.getOwner() == currentPlayer && !this.hasBuiltThisTurn) {//regra de limite por turno
-                     // Verifica também a regra do "propertyJustBought"
-                     boolean justBought = (this.propertyJustBought != null && this.propertyJustBought == place);
-                     
-                     if (!justBought) {
-                         canBuildHouse = place.canBuildHouse();
-                         canBuildHotel = place.canBuildHotel();
-                     }
+                if (buildablePlace() != null) {
+                     canBuildHouse = place.canBuildHouse();
+                     canBuildHotel = place.canBuildHotel();
                 }
             }
             return new PropertyInfo(
@@ -368,28 +454,6 @@ public class ModelFacade {
         return null;
     }
     
-    // ===== MÉTODOS AUXILIARES PRIVADOS =====
-    
-    private List<Property> extractPropertiesFromBoard() {
-        List<Property> properties = new ArrayList<>();
-        for (int i = 0; i < board.getBoardSize(); i++) {
-            Space space = board.getSpace(i);
-            if (space instanceof Property) {
-                properties.add((Property) space);
-            }
-        }
-        return properties;
-    }
-    
-    private int findSpaceIndex(Space space) {
-        for (int i = 0; i < board.getBoardSize(); i++) {
-            if (board.getSpace(i) == space) {
-                return i;
-            }
-        }
-        return 0;
-    }
-    
     /**
      * Retorna lista detalhada das propriedades do jogador atual
      */
@@ -423,6 +487,7 @@ public class ModelFacade {
      * Tenta construir casa na propriedade atual
      */
     public boolean buildHouseOnCurrentProperty() {
+        record(GameRecording.Action.BUILD_HOUSE);
     	
     	if (this.hasBuiltThisTurn) {
             return false; // Erro: Jogador já construiu nesta rodada.
@@ -458,10 +523,12 @@ public class ModelFacade {
         }
         
         // Construir casa
+        GameCommand command = history != null ? new GameCommand.Build(this) : null;
         place.buildHouse();
         currentPlayer.debit(housePrice);
         
         this.hasBuiltThisTurn = true;
+        done(command);
         
         return true;
     }
@@ -470,6 +537,7 @@ public class ModelFacade {
      * Tenta construir HOTEL na propriedade atual - Função bem parecida com a de construir casa, mas com regras adicionais fornecidas pelo Model.
      */
     public boolean buildHotelOnCurrentProperty() {
+        record(GameRecording.Action.BUILD_HOTEL);
         // Regra de Limite por Turno
         if (this.hasBuiltThisTurn) {
             return false; // Já construiu algo nesta rodada
@@ -506,11 +574,13 @@ public class ModelFacade {
         }
         
         // Executa a construção
+        GameCommand command = history != null ? new GameCommand.Build(this) : null;
         place.buildHotel();
         currentPlayer.debit(hotelPrice);
         
         // Marca que já construiu nesta rodada
         this.hasBuiltThisTurn = true;
+        done(command);
         
         return true;
     }
@@ -519,6 +589,7 @@ public class ModelFacade {
      * Vende propriedade atual ao banco por 90% do valor
      */
     public boolean sellCurrentPropertyToBank() {
+        record(GameRecording.Action.SELL_CURRENT);
         Player currentPlayer = players.get(currentPlayerIndex);
         Space currentSpace = currentPlayer.getCar().getPosition();
         
@@ -548,10 +619,10 @@ public class ModelFacade {
         int sellValue = (int) (totalValue * 0.9);
         
         // Vender ao banco
-        currentPlayer.sellProperty(property);
+        GameCommand command = history != null ? new GameCommand.Sell(this, property) : null;
         currentPlayer.credit(sellValue);
-        property.setOwner(null);
         bank.returnPropertyToBank(property);
+        done(command);
         
         return true;
     }
@@ -585,18 +656,15 @@ public class ModelFacade {
      * Retorna Strings de erro ou sucesso para exibir na tela.
      */
     public String sellPropertyByName(String propertyName) {
+        if (recording != null) {
+            recording.add(GameRecording.Action.SELL_BY_NAME, 0, 0, propertyName);
+        }
         Player currentPlayer = players.get(currentPlayerIndex);
         
-        // 1. Encontrar a propriedade na lista do jogador
-        Property targetProp = null;
-        for (Property prop : currentPlayer.getLiquidAssets()) {
-            if (prop.getName().equals(propertyName)) {
-                targetProp = prop;
-                break;
-            }
-        }
+        // 1. Encontrar a propriedade no tabuleiro e conferir o dono
+        Property targetProp = board.getPropertyByName(propertyName);
         
-        if (targetProp == null) {
+        if (targetProp == null || targetProp.getOwner() != currentPlayer) {
             return "Erro: Propriedade não encontrada.";
         }
         
@@ -613,12 +681,10 @@ public class ModelFacade {
         int sellValue = (int) (totalValue * 0.9);
         
         // 4. Realizar a venda
-        currentPlayer.sellProperty(targetProp);
+        GameCommand command = history != null ? new GameCommand.Sell(this, targetProp) : null;
         currentPlayer.credit(sellValue);
         bank.returnPropertyToBank(targetProp);
-        
-        // Resetar dono
-        targetProp.setOwner(null);
+        done(command);
         
         return "Vendida " + propertyName + " por $" + sellValue;
     }
@@ -731,6 +797,7 @@ public class ModelFacade {
    }
    
    public int[] rollDiceManual(int d1, int d2) {
+       GameCommand command = history != null ? new GameCommand.Roll(this) : null;
        this.diceRolledThisTurn = true;     
        // Pede para cada dado assumir um valor específico
        int result1 = dice1.rollFixed(d1);
@@ -739,10 +806,189 @@ public class ModelFacade {
        // Atualiza o histórico da jogada
        this.lastDiceRoll[0] = result1;
        this.lastDiceRoll[1] = result2;
+       if (recording != null) {
+           recording.add(GameRecording.Action.ROLL_MANUAL, result1, result2, null);
+       }
+       done(command);
        
        return lastDiceRoll;
    }
    
+   /**
+    * Retorna os índices das casas do mesmo grupo de cor da casa informada
+    * (lista vazia se a casa não pertence a um grupo)
+    */
+   public List<Integer> getColorGroupIndices(int boardIndex) {
+       int group = board.getColorGroupOf(boardIndex);
+       List<Integer> indices = new ArrayList<>();
+       if (group < 0) {
+           return indices;
+       }
+       for (int index : board.getColorGroup(group)) {
+           indices.add(index);
+       }
+       return indices;
+   }
+   
+   // ===== CONSULTAS SEM ALOCAÇÃO (para bots) =====
+   // Só tipos primitivos e índices de casa: uma DecisionPolicy pode chamar
+   // estes métodos milhões de vezes sem criar objetos.
+   
+   /**
+    * Índice da casa onde está o jogador atual
+    */
+   public int getCurrentPlayerPosition() {
+       return players.get(currentPlayerIndex).getCar().getPositionIndex();
+   }
+   
+   /**
+    * Preço da propriedade onde está o jogador atual (0 se não é propriedade)
+    */
+   public int getCurrentPropertyCost() {
+       Space space = players.get(currentPlayerIndex).getCar().getPosition();
+       return space instanceof Property ? ((Property) space).getCost() : 0;
+   }
+   
+   /**
+    * Preço de uma casa no terreno onde está o jogador atual (0 se não é terreno)
+    */
+   public int getCurrentHousePrice() {
+       Space space = players.get(currentPlayerIndex).getCar().getPosition();
+       return space instanceof Place ? ((Place) space).getHousePrice() : 0;
+   }
+   
+   /**
+    * Preço de um hotel no terreno onde está o jogador atual (0 se não é terreno)
+    */
+   public int getCurrentHotelPrice() {
+       Space space = players.get(currentPlayerIndex).getCar().getPosition();
+       return space instanceof Place ? ((Place) space).getHotelPrice() : 0;
+   }
+   
+   /**
+    * Indica se a casa é uma propriedade com dono
+    */
+   public boolean isPropertyOwned(int boardIndex) {
+       Space space = board.getSpace(boardIndex);
+       return space instanceof Property && ((Property) space).isOwned();
+   }
+   
+   /**
+    * Indica se o jogador atual pode construir uma casa onde está agora
+    */
+   public boolean canBuildHouseOnCurrentProperty() {
+       Place place = buildablePlace();
+       return place != null && place.canBuildHouse();
+   }
+   
+   /**
+    * Indica se o jogador atual pode construir um hotel onde está agora
+    */
+   public boolean canBuildHotelOnCurrentProperty() {
+       Place place = buildablePlace();
+       return place != null && place.canBuildHotel();
+   }
+   
+   /**
+    * O terreno onde está o jogador atual, se as regras do turno permitem
+    * construir nele (é dele, não construiu neste turno e não acabou de
+    * comprá-lo), ou null
+    */
+   private Place buildablePlace() {
+       Player currentPlayer = players.get(currentPlayerIndex);
+       Space space = currentPlayer.getCar().getPosition();
+       if (!(space instanceof Place) || this.hasBuiltThisTurn || space == this.propertyJustBought) {
+           return null;
+       }
+       Place place = (Place) space;
+       return place.getOwner() == currentPlayer ? place : null;
+   }
+   
+   /**
+    * Número de propriedades do tabuleiro (veja getPropertyIndex)
+    */
+   public int getPropertyCount() {
+       return board.propertyCount();
+   }
+   
+   /**
+    * Índice da casa da i-ésima propriedade do tabuleiro
+    */
+   public int getPropertyIndex(int i) {
+       return board.propertyIndexAt(i);
+   }
+   
+   /**
+    * Nome da casa de um índice do tabuleiro (null se não existe)
+    */
+   public String getSpaceName(int boardIndex) {
+       Space space = board.getSpace(boardIndex);
+       return space != null ? space.getName() : null;
+   }
+   
+   public boolean isOwnedByCurrentPlayer(int boardIndex) {
+       Space space = board.getSpace(boardIndex);
+       return space instanceof Property && ((Property) space).getOwner() == players.get(currentPlayerIndex);
+   }
+   
+   /**
+    * Indica se o jogador atual pode vender a propriedade agora (é dele e não
+    * foi comprada neste turno)
+    */
+   public boolean canSellProperty(int boardIndex) {
+       return isOwnedByCurrentPlayer(boardIndex) && board.getSpace(boardIndex) != propertyJustBought;
+   }
+   
+   /**
+    * Quanto o banco paga pela propriedade (90% do valor total, 0 se não é propriedade)
+    */
+   public int getPropertySaleValue(int boardIndex) {
+       Space space = board.getSpace(boardIndex);
+       if (!(space instanceof Property)) {
+           return 0;
+       }
+       int totalValue = space instanceof Place ? ((Place) space).getTotalValue() : ((Property) space).getCost();
+       return (int) (totalValue * 0.9);
+   }
+   
+   /**
+    * Número de casas do grupo de cor da casa informada (0 se não tem grupo)
+    */
+   public int getColorGroupSize(int boardIndex) {
+       int group = board.getColorGroupOf(boardIndex);
+       return group < 0 ? 0 : board.colorGroupSize(group);
+   }
+   
+   /**
+    * Quantas casas do grupo de cor da casa informada são do jogador atual
+    */
+   public int countColorGroupOwnedByCurrentPlayer(int boardIndex) {
+       return countColorGroupOwners(boardIndex, true);
+   }
+   
+   /**
+    * Quantas casas do grupo de cor da casa informada são de outros jogadores
+    */
+   public int countColorGroupOwnedByOthers(int boardIndex) {
+       return countColorGroupOwners(boardIndex, false);
+   }
+   
+   private int countColorGroupOwners(int boardIndex, boolean mine) {
+       int group = board.getColorGroupOf(boardIndex);
+       if (group < 0) {
+           return 0;
+       }
+       Player current = players.get(currentPlayerIndex);
+       int count = 0;
+       for (int k = 0; k < board.colorGroupSize(group); k++) {
+           Player owner = ((Property) board.getSpace(board.colorGroupAt(group, k))).getOwner();
+           if (owner != null && (owner == current) == mine) {
+               count++;
+           }
+       }
+       return count;
+   }
+   
    /**
     * Retorna um mapa de todas as propriedades com seus donos
     * Formato: Map<índice da casa, nome do dono (ou null se sem dono)>
@@ -750,13 +996,10 @@ public class ModelFacade {
    public Map<Integer, String> getAllPropertiesWithOwners() {
        Map<Integer, String> propertiesMap = new HashMap<>();
        
-       for (int i = 0; i < board.getBoardSize(); i++) {
-           Space space = board.getSpace(i);
-           if (space instanceof Property) {
-               Property prop = (Property) space;
-               String ownerName = prop.isOwned() ? prop.getOwner().getName() : null;
-               propertiesMap.put(i, ownerName);
-           }
+       for (int index : board.getPropertyIndices()) {
+           Property prop = (Property) board.getSpace(index);
+           String ownerName = prop.isOwned() ? prop.getOwner().getName() : null;
+           propertiesMap.put(index, ownerName);
        }
        
        return propertiesMap;
@@ -774,6 +1017,41 @@ public class ModelFacade {
        return null;
    }
    
+   /** Somas de dois dados, da mais provável para a menos provável. */
+   private static final int[] ROLLS_BY_LIKELIHOOD = {7, 6, 8, 5, 9, 4, 10, 3, 11, 2, 12};
+   
+   /**
+    * Retorna os nomes das imagens de carta que devem aparecer em seguida (para
+    * a View ler antes): a carta da casa atual, as propriedades alcançáveis na
+    * próxima rolagem do jogador atual (mais prováveis primeiro) e a carta do
+    * topo do baralho de sorte, se alguma casa de sorte estiver ao alcance.
+    */
+   public List<String> getLikelyNextCardImageIds() {
+       List<String> ids = new ArrayList<>();
+       if (players == null || players.isEmpty()) {
+           return ids;
+       }
+       int position = players.get(currentPlayerIndex).getCar().getPositionIndex();
+       int size = board.getBoardSize();
+       boolean luckReachable = false;
+       
+       for (int i = -1; i < ROLLS_BY_LIKELIHOOD.length; i++) {
+           int steps = i < 0 ? 0 : ROLLS_BY_LIKELIHOOD[i];
+           Space space = board.getSpace((position + steps) % size);
+           if (space instanceof Property) {
+               ids.add(space.getName());
+           } else if (space instanceof LuckSpace) {
+               luckReachable = true;
+           }
+       }
+       
+       LuckDeck deck = board.getLuckDeck();
+       if (luckReachable && deck != null && deck.peekCard() != null) {
+           ids.add(deck.peekCard().getImageId());
+       }
+       return ids;
+   }
+   
    /**
     * Retorna informações sobre a carta de sorte atual (se o jogador estiver em um LuckSpace)
     */
@@ -808,16 +1086,22 @@ public class ModelFacade {
     * Releases the current player from prison
     */
    public void releasePlayerFromPrison() {
+       record(GameRecording.Action.RELEASE_FROM_PRISON);
+       GameCommand command = history != null ? new GameCommand.PrisonTurn(this, true) : null;
        Player currentPlayer = players.get(currentPlayerIndex);
        currentPlayer.releaseFromPrison();
+       done(command);
    }
    
    /**
     * Increments the prison turn counter for the current player
     */
    public void incrementPlayerPrisonTurns() {
+       record(GameRecording.Action.PRISON_TURN);
+       GameCommand command = history != null ? new GameCommand.PrisonTurn(this, false) : null;
        Player currentPlayer = players.get(currentPlayerIndex);
        currentPlayer.incrementTurnsInPrison();
+       done(command);
    }
    
    /**
@@ -856,6 +1140,7 @@ public class ModelFacade {
     * @return A message describing what was done, or null if no action was taken
     */
    public String handleManualLuckCard() {
+       record(GameRecording.Action.LUCK_CARD);
        LuckCard card = getCurrentLuckCard();
        
        if (card == null) {
@@ -868,8 +1153,13 @@ public class ModelFacade {
        if (card.getClass().getSimpleName().equals("GetOutPrisonCard")) {
            // Cast to GetOutPrisonCard and give it to the player
            GetOutPrisonCard prisonCard = (GetOutPrisonCard) card;
+           if (prisonCard.getOwner() != null) {
+               return null; // já foi entregue a alguém
+           }
+           GameCommand command = history != null ? new GameCommand.TakePrisonCard(this, prisonCard) : null;
            prisonCard.setOwner(currentPlayer);
            currentPlayer.receiveGetOutPrisonCard(prisonCard);
+           done(command);
            
            return "Você recebeu uma carta 'Saída Livre da Prisão'!";
        }
@@ -893,20 +1183,37 @@ public class ModelFacade {
     * @return true if the card was used successfully, false otherwise
     */
    public boolean useGetOutPrisonCard() {
+       record(GameRecording.Action.USE_PRISON_CARD);
        Player currentPlayer = players.get(currentPlayerIndex);
        
        if (!currentPlayer.hasGetOutPrisonCard()) {
            return false;
        }
        
-       GetOutPrisonCard card = (GetOutPrisonCard) currentPlayer.useGetOutPrisonCard();
-       if (card != null) {
-           return card.use(currentPlayer);
+       // A carta se remove do jogador ao ser usada; depois volta ao baralho
+       GetOutPrisonCard card = currentPlayer.peekGetOutPrisonCard();
+       GameCommand command = history != null && card != null && card.canBeUsedBy(currentPlayer)
+           ? new GameCommand.UsePrisonCard(this, card) : null;
+       if (card != null && card.use(currentPlayer)) {
+           returnGetOutPrisonCard(card);
+           done(command);
+           return true;
        }
        
        return false;
    }
    
+   /**
+    * Devolve uma carta de saída da prisão para o fundo do baralho
+    */
+   void returnGetOutPrisonCard(GetOutPrisonCard card) {
+       card.setOwner(null);
+       LuckDeck luckDeck = board.getLuckDeck();
+       if (luckDeck != null) {
+           luckDeck.returnToDeck(card);
+       }
+   }
+   
    // ===== GETTERS FOR SAVE/LOAD FUNCTIONALITY =====
    
    /**
@@ -981,6 +1288,231 @@ public class ModelFacade {
        return this.lastDiceRoll.clone();
    }
    
+   // ===== DESFAZER / REFAZER =====
+   
+   /**
+    * Liga o histórico de ações: a partir daqui cada ação que muda a partida
+    * (dados, movimento, compra, construção, venda, prisão, cartas,
+    * eliminação, passagem de vez) pode ser desfeita com undo() e refeita com
+    * redo(). Fica desligado por padrão, para não custar nada nas simulações.
+    */
+   public void enableUndo() {
+       if (history == null) {
+           history = new CommandLog();
+           history.reset(recording);
+       }
+   }
+   
+   /**
+    * Junta as ações até endAction() numa só para desfazer (ex.: rolar os
+    * dados, andar e tirar uma carta num clique só)
+    */
+   public void beginAction() {
+       if (history != null) {
+           history.beginGroup();
+       }
+   }
+   
+   /**
+    * Termina o grupo começado por beginAction()
+    */
+   public void endAction() {
+       if (history != null) {
+           history.endGroup(this);
+       }
+   }
+   
+   public boolean canUndo() {
+       return history != null && history.canUndo();
+   }
+   
+   public boolean canRedo() {
+       return history != null && history.canRedo();
+   }
+   
+   /**
+    * Desfaz a última ação
+    * 
+    * @return O que foi desfeito (ex.: "compra de Leblon"), ou null se não há o que desfazer
+    */
+   public String undo() {
+       GameCommand command = history != null ? history.undo(this) : null;
+       return command != null ? command.describe() : null;
+   }
+   
+   /**
+    * Refaz a última ação desfeita
+    * 
+    * @return O que foi refeito, ou null se não há o que refazer
+    */
+   public String redo() {
+       GameCommand command = history != null ? history.redo(this) : null;
+       return command != null ? command.describe() : null;
+   }
+   
+   private void done(GameCommand command) {
+       if (command != null) {
+           history.push(this, command);
+       }
+   }
+   
+   private void resetHistory() {
+       if (history != null) {
+           history.reset(recording);
+       }
+   }
+   
+   /**
+    * Sets the dice shown (undo/redo of a roll)
+    */
+   void setLastDiceRoll(int die1, int die2) {
+       this.lastDiceRoll[0] = die1;
+       this.lastDiceRoll[1] = die2;
+   }
+   
+   // ===== SNAPSHOTS =====
+   
+   /**
+    * Copies the whole state of the game into an immutable snapshot (see
+    * GameSnapshot). Cheap enough to take before every action.
+    * 
+    * @return The snapshot
+    */
+   public GameSnapshot snapshot() {
+       return GameSnapshot.capture(this);
+   }
+   
+   /**
+    * Puts the game back in the state of a snapshot, in place: the board,
+    * players and cards are reused, nothing is rebuilt. Dice and cards come
+    * out again as they did after the snapshot. An ongoing recording stops,
+    * since it could no longer be replayed.
+    * 
+    * @param snapshot A snapshot of this game or of a copy of it
+    * @throws IllegalArgumentException If the snapshot is from another game
+    */
+   public void restore(GameSnapshot snapshot) {
+       snapshot.restore(this);
+       this.recording = null;
+       resetHistory();
+   }
+   
+   /**
+    * Creates an independent game in the same state as this one (same
+    * players, board, cards and random streams), to be played ahead without
+    * touching this one.
+    * 
+    * @return The copy
+    */
+   public ModelFacade copy() {
+       GameSnapshot snapshot = snapshot();
+       ModelFacade copy = new ModelFacade();
+       copy.setupGame(snapshot.getPlayerNames().size(), snapshot.getPlayerNames(), snapshot.getColors(),
+                      new GameRandom(snapshot.getSeed()));
+       copy.restore(snapshot);
+       return copy;
+   }
+   
+   /**
+    * Gives the dice and the cards still in the luck deck a new random order,
+    * so that a copy() plays one of the possible futures of the game instead
+    * of the one already decided by its seed. The seed reported by getSeed()
+    * does not change, so snapshots of the original still fit. An ongoing
+    * recording stops and the undo history is dropped.
+    * 
+    * @param seed Seed of the new order
+    */
+   public void reseed(long seed) {
+       GameRandom fresh = new GameRandom(seed);
+       GameRandom dice = fresh.split();
+       GameRandom cards = fresh.split();
+       diceRandom.setState(dice.getState(), dice.getGamma());
+       LuckDeck deck = board.getLuckDeck();
+       deck.getRandom().setState(cards.getState(), cards.getGamma());
+       deck.shuffle();
+       this.recording = null;
+       resetHistory();
+   }
+   
+   /**
+    * Net worth of a player: balance plus what the bank pays for each of
+    * their properties (90% of the total value, as in a sale). Eliminated
+    * players count their balance only.
+    * 
+    * @param playerName Name of the player
+    * @return The net worth, or 0 if there is no such player
+    */
+   public int getPlayerNetWorth(String playerName) {
+       for (Player player : roster) {
+           if (player.getName().equals(playerName)) {
+               int worth = player.getBalance();
+               for (Property prop : player.getLiquidAssets()) {
+                   int totalValue = prop instanceof Place ? ((Place) prop).getTotalValue() : prop.getCost();
+                   worth += (int) (totalValue * 0.9);
+               }
+               return worth;
+           }
+       }
+       return 0;
+   }
+   
+   /**
+    * Returns every player by table row, eliminated players included
+    */
+   List<Player> getRoster() {
+       return roster;
+   }
+   
+   PlayerTable getPlayerTable() {
+       return playerTable;
+   }
+   
+   GameRandom getDiceRandom() {
+       return diceRandom;
+   }
+   
+   /**
+    * Sets who is still playing and the turn state (restoring a GameSnapshot)
+    * 
+    * @param rows Table rows of the players still in the game, in turn order
+    */
+   void restoreTurn(int[] rows, int currentIndex, boolean hasBuilt, boolean diceRolled,
+                    Property justBought, int die1, int die2, String message) {
+       players.clear();
+       for (int row : rows) {
+           players.add(roster.get(row));
+       }
+       this.currentPlayerIndex = currentIndex;
+       this.hasBuiltThisTurn = hasBuilt;
+       this.diceRolledThisTurn = diceRolled;
+       this.propertyJustBought = justBought;
+       this.lastDiceRoll[0] = die1;
+       this.lastDiceRoll[1] = die2;
+       this.lastEventMessage = message;
+   }
+   
+   void setLastEventMessage(String message) {
+       this.lastEventMessage = message;
+   }
+   
+   /**
+    * Põe de volta na vez um jogador eliminado (desfazendo a eliminação)
+    * 
+    * @param index Posição do jogador na ordem dos turnos
+    */
+   void reinstatePlayer(int index, Player player) {
+       players.add(index, player);
+       playerTable.activate(player.getRow());
+   }
+   
+   /**
+    * Tira da vez o jogador numa posição (refazendo a eliminação)
+    */
+   void removePlayer(int index) {
+       Player player = players.remove(index);
+       playerTable.deactivate(player.getRow());
+   }
+   
    // ===== SETTERS FOR SAVE/LOAD FUNCTIONALITY =====
    
    /**
@@ -1001,17 +1533,23 @@ public class ModelFacade {
        this.board = board;
        this.bank = bank;
        this.players = new ArrayList<>(players);
+       // Os jogadores carregados compartilham uma tabela (ver GameStateLoader.restorePlayer)
+       this.playerTable = players.isEmpty() ? new PlayerTable() : players.get(0).getTable();
+       this.roster = new ArrayList<>(players);
        this.currentPlayerIndex = currentIndex;
        this.hasBuiltThisTurn = hasBuilt;
        this.diceRolledThisTurn = diceRolled;
        this.propertyJustBought = justBought;
        this.lastDiceRoll = diceRoll.clone();
        this.lastEventMessage = "";
+       // A gravação só vale a partir do início da partida
+       this.recording = null;
+       resetHistory();
        
-       // Configure the shared luck deck with loaded players list
-       LuckDeck sharedDeck = BoardInitializer.getSharedLuckDeck();
-       if (sharedDeck != null) {
-           sharedDeck.setAllPlayers(this.players);
+       // Configure the board's luck deck with loaded players list
+       LuckDeck luckDeck = board.getLuckDeck();
+       if (luckDeck != null) {
+           luckDeck.setAllPlayers(this.players);
        }
    }
    
@@ -1,22 +1,22 @@
 package model.core.entities;
 
-import java.util.HashMap;
 import java.util.Map;
 
-
-enum Building {
-    HOUSE,
-    HOTEL
-}
-
 class Place extends Property {
+    /** Houses allowed before the hotel. */
+    private static final int MAX_HOUSES = 4;
+    /** Stride of the hotel flag in the rent table. */
+    private static final int HOTEL_STRIDE = MAX_HOUSES + 1;
     
     private final int base_rent;
     private final int house_price;
     private final int hotel_price;
     private final int hotel_rent;
-    private final Map<Integer, Integer> house_rent;
-    private Map<Building, Integer> buildings;
+    private final int[] house_rent; // indexed by number of houses
+    // Rent for every building state, indexed by houses + HOTEL_STRIDE * hotels
+    private final int[] rent_table;
+    private int houses;
+    private int hotels;
     private int current_rent; // How will we update this value when a house or hotel is built? -> updateCurrentRent()
 
     public Place (String name, int cost, Space next, int base_rent, int house_price, int hotel_price, int hotel_rent, Map<Integer, Integer> house_rent) {
@@ -25,13 +25,31 @@ class Place extends Property {
         this.house_price = house_price;
         this.hotel_price = hotel_price;
         this.hotel_rent = hotel_rent;
-        this.house_rent = house_rent;
+        this.house_rent = new int[MAX_HOUSES + 1];
+        for (int n = 1; n <= MAX_HOUSES; n++) {
+            this.house_rent[n] = house_rent.getOrDefault(n, 0);
+        }
+        this.rent_table = buildRentTable(cost, hotel_rent);
         current_rent = base_rent; // Initially, the rent is the base rent
-
-        buildings = new HashMap<>();    
-        buildings.put(Building.HOUSE, 0);
-        buildings.put(Building.HOTEL, 0);
-
+    }
+    
+    /**
+     * Precomputes the rent of every building state, so landing on the place
+     * is a single array read. Uses the formula documented in calculateRent().
+     */
+    private static int[] buildRentTable(int propertyCost, int hotelRent) {
+        // Vb: Base rent value (10% of property cost)
+        int baseRent = (int) (propertyCost * 0.10);
+        // Vc: Rent value for a single house (15% of property cost)
+        int rentPerHouse = (int) (propertyCost * 0.15);
+        
+        int[] table = new int[2 * HOTEL_STRIDE];
+        for (int hotel = 0; hotel <= 1; hotel++) {
+            for (int n = 0; n <= MAX_HOUSES; n++) {
+                table[n + HOTEL_STRIDE * hotel] = baseRent + rentPerHouse * n + hotelRent * hotel;
+            }
+        }
+        return table;
     }
     
     public int getTotalValue() {
@@ -69,15 +87,15 @@ class Place extends Property {
     }
 
     public int getRentForHouses(int numHouses) {
-        if (numHouses <= 0 || numHouses > 4) {
+        if (numHouses <= 0 || numHouses > MAX_HOUSES) {
             return 0;
         }
-        return house_rent.getOrDefault(numHouses, 0);
+        return house_rent[numHouses];
     }
 
     @Override
     protected boolean hasAtLeastOneHouse() {
-        return getNumOfHouses() > 0 || getNumOfHotels() > 0;
+        return houses > 0 || hotels > 0;
     }
 
     /**
@@ -86,28 +104,11 @@ class Place extends Property {
      * * Vb (Base Rent) = 10% of property cost
      * Vc (Rent per House) = 15% of property cost
      * Vh (Hotel Rent) = 30% of property cost
+     * The values for every state are precomputed by buildRentTable().
      */
     @Override
     public int calculateRent() {
-        // 1. Get the property cost (Valor do território)
-        int propertyCost = super.getCost(); 
-        
-        // Vb: Base rent value (10% of property cost)
-        int baseRent = (int) (propertyCost * 0.10);
-        
-        // Vc: Rent value for a single house (15% of property cost)
-        int rentPerHouse = (int) (propertyCost * 0.15);
-        
-        // n: Number of houses currently on the property
-        int numberOfHouses = getNumOfHouses();
-        
-        int hotelRent = 0;
-        if (getNumOfHotels() > 0) {
-            hotelRent = this.hotel_rent;
-        }
-        
-        // Va: Final Calculation
-        return baseRent + (rentPerHouse * numberOfHouses) + hotelRent;
+        return rent_table[houses + HOTEL_STRIDE * hotels];
     }
 
     private void updateCurrentRent() {
@@ -116,28 +117,21 @@ class Place extends Property {
     }
 
     public int getNumOfHouses() {
-        Integer housesCount = buildings.get(Building.HOUSE);
-        return housesCount == null ? 0 : housesCount;
+        return houses;
     }
 
     public int getNumOfHotels() {
-        Integer hotelsCount = buildings.get(Building.HOTEL);
-        return hotelsCount == null ? 0 : hotelsCount;
+        return hotels;
     }
 
     public boolean canBuildHouse() {
         // If the player has less than 4 houses at this property, they can build a house
-        int housesCount = getNumOfHouses();
-
-        return housesCount < 4; 
+        return houses < MAX_HOUSES;
     }
     
     public boolean canBuildHotel() {
         // If the player has at least one house at this property, they can build a hotel
-        int housesCount = getNumOfHouses();
-        int hotelsCount = getNumOfHotels();
-
-        if (housesCount < 1 || hotelsCount == 1) {
+        if (houses < 1 || hotels == 1) {
             return false;
         } 
         else {
@@ -152,8 +146,7 @@ class Place extends Property {
             throw new IllegalStateException("Cannot build more houses on this property");
         }
         else{
-        int housesCount = getNumOfHouses();
-        buildings.put(Building.HOUSE, housesCount + 1);
+        houses++;
         updateCurrentRent();
         }        
     }    
@@ -164,7 +157,7 @@ class Place extends Property {
             throw new IllegalStateException("Cannot build a hotel on this property");
         }
         else {
-        buildings.put(Building.HOTEL, 1);
+        hotels = 1;
         updateCurrentRent();
         }
     }
@@ -177,8 +170,8 @@ class Place extends Property {
      * @param houses Number of houses (0-4)
      */
     void setHouses(int houses) {
-        if (houses >= 0 && houses <= 4) {
-            buildings.put(Building.HOUSE, houses);
+        if (houses >= 0 && houses <= MAX_HOUSES) {
+            this.houses = houses;
             updateCurrentRent();
         }
     }
@@ -190,7 +183,7 @@ class Place extends Property {
      */
     void setHotels(int hotels) {
         if (hotels == 0 || hotels == 1) {
-            buildings.put(Building.HOTEL, hotels);
+            this.hotels = hotels;
             updateCurrentRent();
         }
     }
@@ -2,26 +2,53 @@ package model.core.entities;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
+/**
+ * A player. Balance, prison state and doubles live in a row of a
+ * PlayerTable shared by all players of the game (see PlayerTable); this
+ * object is a view over that row plus what is not numeric (name, car,
+ * properties, cards).
+ */
 class Player {
     private final String name;
-    private int balance;
+    private final PlayerTable table;
+    private final int row;
     private final Car car;
-    private final List<Property> ownedProperties;
-    private boolean inPrison;
-    private int turnsInPrison;
+    /** Insertion ordered, so selling and buying are O(1) and the list order is kept. */
+    private final Set<Property> ownedProperties;
     private List<GetOutPrisonCard> getOutPrisonCards;
-    private int consecutiveDoubles;
+    /** Seat in the bank's ownership registry, -1 until registered. */
+    private int seat;
 
+    /**
+     * Creates a player with a table of its own (a player outside a game).
+     */
     public Player(String name, String carColor, Car ownCar, int initialBalance) {
+        this(name, ownCar, new PlayerTable(1), initialBalance);
+    }
+
+    /**
+     * Creates a player in a new row of the game's table. The car's position
+     * is kept in the same row.
+     * 
+     * @param name The player name.
+     * @param ownCar The player's car, or null.
+     * @param table The table of all players of the game.
+     * @param initialBalance The starting balance.
+     */
+    Player(String name, Car ownCar, PlayerTable table, int initialBalance) {
         this.name = name;
-        this.balance = initialBalance;
+        this.table = table;
+        this.row = table.add(initialBalance);
         this.car = ownCar;
-        this.ownedProperties = new ArrayList<>();
-        this.inPrison = false;
-        this.turnsInPrison = 0;
+        this.ownedProperties = new LinkedHashSet<>();
         this.getOutPrisonCards = new ArrayList<>();
-        this.consecutiveDoubles = 0;
+        this.seat = -1;
+        if (ownCar != null) {
+            ownCar.attach(table, row);
+        }
     }
 
     public String getName() {
@@ -38,7 +65,7 @@ class Player {
      * @return The balance value.
      */
     public int getBalance() {
-        return this.balance;
+        return table.getBalance(row);
     }
 
     /**
@@ -48,7 +75,7 @@ class Player {
      */
     public void credit(int amount) {
         if (amount > 0) {
-            this.balance += amount;
+            table.addBalance(row, amount);
         }
     }
 
@@ -61,7 +88,7 @@ class Player {
      */
     public void debit(int amount) {
         if (amount > 0) {
-            this.balance -= amount;
+            table.addBalance(row, -amount);
         }
     }
 
@@ -93,9 +120,7 @@ class Player {
      * * @param property The property to be sold/removed.
      */
     public void sellProperty(Property property) {
-        if (this.ownedProperties.contains(property)) {
-            this.ownedProperties.remove(property);
-        }
+        this.ownedProperties.remove(property);
     }
     /**
      * Checks if the player has properties that can be sold/mortgaged.
@@ -124,9 +149,9 @@ class Player {
         if (this.ownedProperties.contains(asset)) {
             int sellPrice = asset.getCost() / 2; // TODO: change to 90%
             this.credit(sellPrice);
+            bank.returnPropertyToBank(asset);
             this.ownedProperties.remove(asset);
             asset.setOwner(null);
-            bank.returnPropertyToBank(asset);
         }
     }
 
@@ -134,12 +159,12 @@ class Player {
      * Zeros the balance and removes ownership of all player's properties.
      */
     public void declareBankruptcy(Bank bank) {
-        this.balance = 0;
+        table.setBalance(row, 0);
         // Converts the list to a stream to avoid ConcurrentModificationException
         // while removing ownership.
         new ArrayList<>(this.ownedProperties).forEach(prop -> {
-            prop.setOwner(null);
             bank.returnPropertyToBank(prop);
+            prop.setOwner(null);
         });
         this.ownedProperties.clear();
     }
@@ -150,7 +175,7 @@ class Player {
      * @return true if the player is in prison, false otherwise.
      */
     public boolean isInPrison() {
-        return this.inPrison;
+        return table.isInPrison(row);
     }
 
     /**
@@ -159,7 +184,7 @@ class Player {
      * @return The number of turns in prison.
      */
     public int getTurnsInPrison() {
-        return this.turnsInPrison;
+        return table.getTurnsInPrison(row);
     }
 
     /**
@@ -168,9 +193,9 @@ class Player {
      * @param prisonSpace The prison space to send the player to.
      */
     public void sendToPrison(Space prisonSpace) {
-        this.inPrison = true;
-        this.turnsInPrison = 0;
-        this.consecutiveDoubles = 0;
+        table.setInPrison(row, true);
+        table.setTurnsInPrison(row, 0);
+        table.setDoubles(row, 0);
         this.car.setInPrison(true);
         this.car.setPosition(prisonSpace);
     }
@@ -179,8 +204,8 @@ class Player {
      * Increments the counter of turns in prison.
      */
     public void incrementTurnsInPrison() {
-        if (this.inPrison) {
-            this.turnsInPrison++;
+        if (table.isInPrison(row)) {
+            table.setTurnsInPrison(row, table.getTurnsInPrison(row) + 1);
         }
     }
 
@@ -188,9 +213,9 @@ class Player {
      * Releases the player from prison, resetting their state.
      */
     public void releaseFromPrison() {
-        this.inPrison = false;
-        this.turnsInPrison = 0;
-        this.consecutiveDoubles = 0;
+        table.setInPrison(row, false);
+        table.setTurnsInPrison(row, 0);
+        table.setDoubles(row, 0);
         this.car.setInPrison(false);
     }
 
@@ -213,6 +238,15 @@ class Player {
         card.setOwner(this);
     }
 
+    /**
+     * Returns the first "Get Out of Prison" card without removing it.
+     * 
+     * @return The card, or null if the player doesn't have one.
+     */
+    GetOutPrisonCard peekGetOutPrisonCard() {
+        return getOutPrisonCards.isEmpty() ? null : getOutPrisonCards.get(0);
+    }
+
     /**
      * Removes and returns the first "Get Out of Prison" card from the player.
      * 
@@ -225,6 +259,54 @@ class Player {
         return getOutPrisonCards.remove(0);
     }
     
+    /**
+     * Returns the "Get Out of Prison" card at a position of the player's hand.
+     * 
+     * @param index Position, 0 is the card used first.
+     * @return The card.
+     */
+    GetOutPrisonCard getGetOutPrisonCard(int index) {
+        return getOutPrisonCards.get(index);
+    }
+    
+    /**
+     * Puts a used "Get Out of Prison" card back in the player's hand, as the
+     * first card (undoing its use).
+     * 
+     * @param card The card.
+     */
+    void putBackGetOutPrisonCard(GetOutPrisonCard card) {
+        getOutPrisonCards.add(0, card);
+        card.setOwner(this);
+    }
+    
+    /**
+     * Removes a card from the player's hand without returning it to the deck
+     * (undoing the draw that gave it to the player).
+     * 
+     * @param card The card.
+     */
+    void dropGetOutPrisonCard(GetOutPrisonCard card) {
+        getOutPrisonCards.remove(card);
+        card.setOwner(null);
+    }
+    
+    /**
+     * Drops every "Get Out of Prison" card without returning it to the deck
+     * (restoring a GameSnapshot, which puts the cards back where they were).
+     */
+    void clearGetOutPrisonCards() {
+        getOutPrisonCards.clear();
+    }
+    
+    /**
+     * Drops every property from the player's list, without touching the
+     * properties or the bank (restoring a GameSnapshot).
+     */
+    void clearProperties() {
+        ownedProperties.clear();
+    }
+    
     /**
      * Returns the number of "Get Out of Prison" cards the player has.
      * 
@@ -241,7 +323,7 @@ class Player {
      * @return true if the player is in prison, false otherwise.
      */
     public boolean canTryDoubleDice() {
-        return this.inPrison;
+        return table.isInPrison(row);
     }
 
     /**
@@ -250,7 +332,7 @@ class Player {
      * @return The number of consecutive doubles.
      */
     public int getConsecutiveDoubles() {
-        return this.consecutiveDoubles;
+        return table.getDoubles(row);
     }
 
     /**
@@ -262,15 +344,16 @@ class Player {
      */
     public boolean processDiceRoll(int dice1, int dice2) {
         if (dice1 == dice2) {
-            this.consecutiveDoubles++;
+            int doubles = table.getDoubles(row) + 1;
             // If rolled 3 consecutive doubles, must go to prison
-            if (this.consecutiveDoubles >= 3) {
-                this.consecutiveDoubles = 0; // Reset counter
+            if (doubles >= 3) {
+                table.setDoubles(row, 0); // Reset counter
                 return true; // Must go to prison (caller should call sendToPrison with prison space)
             }
+            table.setDoubles(row, doubles);
         } else {
             // If not a double, reset the counter
-            this.consecutiveDoubles = 0;
+            table.setDoubles(row, 0);
         }
         return false; // Does not go to prison
     }
@@ -279,7 +362,7 @@ class Player {
      * Resets the counter of consecutive doubles.
      */
     public void resetConsecutiveDoubles() {
-        this.consecutiveDoubles = 0;
+        table.setDoubles(row, 0);
     }
 
     /**
@@ -314,7 +397,7 @@ class Player {
      * @param balance The balance to set
      */
     void setBalance(int balance) {
-        this.balance = balance;
+        table.setBalance(row, balance);
     }
     
     /**
@@ -324,8 +407,8 @@ class Player {
      * @param turnsInPrison Number of turns spent in prison
      */
     void setPrisonState(boolean inPrison, int turnsInPrison) {
-        this.inPrison = inPrison;
-        this.turnsInPrison = turnsInPrison;
+        table.setInPrison(row, inPrison);
+        table.setTurnsInPrison(row, turnsInPrison);
         this.car.setInPrison(inPrison);
     }
     
@@ -335,7 +418,39 @@ class Player {
      * @param consecutiveDoubles The consecutive doubles count
      */
     void setConsecutiveDoubles(int consecutiveDoubles) {
-        this.consecutiveDoubles = consecutiveDoubles;
+        table.setDoubles(row, consecutiveDoubles);
+    }
+    
+    /**
+     * Returns the table holding this player's numbers.
+     */
+    PlayerTable getTable() {
+        return table;
+    }
+    
+    /**
+     * Returns this player's row in the table.
+     */
+    int getRow() {
+        return row;
+    }
+    
+    /**
+     * Returns the seat of the player in the bank's ownership registry.
+     * 
+     * @return The seat, or -1 if not registered.
+     */
+    int getSeat() {
+        return seat;
+    }
+    
+    /**
+     * Sets the registry seat (done by the Bank when registering the player).
+     * 
+     * @param seat The seat.
+     */
+    void setSeat(int seat) {
+        this.seat = seat;
     }
     
     /**
@@ -344,20 +459,25 @@ class Player {
      * @param property The property to add
      */
     void addPropertyWithoutPayment(Property property) {
-        if (!this.ownedProperties.contains(property)) {
-            this.ownedProperties.add(property);
+        if (this.ownedProperties.add(property)) {
             property.setOwner(this);
         }
     }
     
     /**
-     * Adds multiple GetOutPrisonCards (for loading saved games)
+     * Adds multiple GetOutPrisonCards (for loading saved games). The cards are
+     * taken from the deck, so they go back to it when used.
      * 
      * @param count Number of cards to add
+     * @param deck The deck holding the cards, or null
      */
-    void addGetOutPrisonCards(int count) {
+    void addGetOutPrisonCards(int count, LuckDeck deck) {
         for (int i = 0; i < count; i++) {
-            GetOutPrisonCard card = new GetOutPrisonCard("loaded_card", "Saída livre da prisão.", this);
+            GetOutPrisonCard card = deck != null ? deck.takeGetOutPrisonCard() : null;
+            if (card == null) {
+                card = new GetOutPrisonCard("chance9", "Saída livre da prisão.", null);
+            }
+            card.setOwner(this);
             this.getOutPrisonCards.add(card);
         }
     }
@@ -0,0 +1,216 @@
+package model.core.entities;
+
+import java.util.Arrays;
+
+/**
+ * The numeric state of all players of a game, one row per seat, stored as
+ * parallel primitive arrays: balance, board position, prison flag, turns in
+ * prison and consecutive doubles.
+ *
+ * Player and Car objects are views over one row, so code working with a
+ * single player is unchanged, while scans over every player (richest
+ * player, status list, collecting from the others) walk a few contiguous
+ * arrays instead of one object graph per player.
+ *
+ * Rows are never removed: an eliminated player's row is only marked
+ * inactive, so the rows of the other players keep their numbers.
+ */
+final class PlayerTable {
+    private static final int INITIAL_CAPACITY = 6;
+
+    private int size;
+    private int activeCount;
+    private int[] balance;
+    private int[] position;
+    private int[] turnsInPrison;
+    private int[] doubles;
+    private boolean[] inPrison;
+    private boolean[] active;
+
+    PlayerTable() {
+        this(INITIAL_CAPACITY);
+    }
+
+    PlayerTable(int capacity) {
+        capacity = Math.max(1, capacity);
+        balance = new int[capacity];
+        position = new int[capacity];
+        turnsInPrison = new int[capacity];
+        doubles = new int[capacity];
+        inPrison = new boolean[capacity];
+        active = new boolean[capacity];
+    }
+
+    /**
+     * Adds an active row
+     *
+     * @param initialBalance Starting balance
+     * @return The row of the new player
+     */
+    int add(int initialBalance) {
+        if (size == balance.length) {
+            int capacity = size * 2;
+            balance = Arrays.copyOf(balance, capacity);
+            position = Arrays.copyOf(position, capacity);
+            turnsInPrison = Arrays.copyOf(turnsInPrison, capacity);
+            doubles = Arrays.copyOf(doubles, capacity);
+            inPrison = Arrays.copyOf(inPrison, capacity);
+            active = Arrays.copyOf(active, capacity);
+        }
+        int row = size++;
+        balance[row] = initialBalance;
+        position[row] = -1;
+        active[row] = true;
+        activeCount++;
+        return row;
+    }
+
+    /** Number of rows, including eliminated players. */
+    int size() {
+        return size;
+    }
+
+    int activeCount() {
+        return activeCount;
+    }
+
+    boolean isActive(int row) {
+        return active[row];
+    }
+
+    /**
+     * Marks an eliminated player; the row keeps its number
+     */
+    void deactivate(int row) {
+        if (active[row]) {
+            active[row] = false;
+            activeCount--;
+        }
+    }
+
+    /**
+     * Marks an eliminated player as playing again (undoing the elimination)
+     */
+    void activate(int row) {
+        if (!active[row]) {
+            active[row] = true;
+            activeCount++;
+        }
+    }
+
+    /**
+     * Copies every row of this table into a new one
+     */
+    PlayerTable copy() {
+        PlayerTable copy = new PlayerTable(size);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Overwrites this table with the rows of another one of the same size
+     * (restoring a GameSnapshot). Does not allocate.
+     *
+     * @param other The table to copy
+     */
+    void copyFrom(PlayerTable other) {
+        if (other.size > balance.length) {
+            throw new IllegalArgumentException("Table has room for " + balance.length + " rows, not " + other.size);
+        }
+        int rows = other.size;
+        System.arraycopy(other.balance, 0, balance, 0, rows);
+        System.arraycopy(other.position, 0, position, 0, rows);
+        System.arraycopy(other.turnsInPrison, 0, turnsInPrison, 0, rows);
+        System.arraycopy(other.doubles, 0, doubles, 0, rows);
+        System.arraycopy(other.inPrison, 0, inPrison, 0, rows);
+        System.arraycopy(other.active, 0, active, 0, rows);
+        size = rows;
+        activeCount = other.activeCount;
+    }
+
+    // ===== PER ROW =====
+
+    int getBalance(int row) {
+        return balance[row];
+    }
+
+    void setBalance(int row, int value) {
+        balance[row] = value;
+    }
+
+    void addBalance(int row, int amount) {
+        balance[row] += amount;
+    }
+
+    /** Board index, or -1 for cars that are not addressed by index. */
+    int getPosition(int row) {
+        return position[row];
+    }
+
+    void setPosition(int row, int index) {
+        position[row] = index;
+    }
+
+    boolean isInPrison(int row) {
+        return inPrison[row];
+    }
+
+    void setInPrison(int row, boolean value) {
+        inPrison[row] = value;
+    }
+
+    int getTurnsInPrison(int row) {
+        return turnsInPrison[row];
+    }
+
+    void setTurnsInPrison(int row, int value) {
+        turnsInPrison[row] = value;
+    }
+
+    int getDoubles(int row) {
+        return doubles[row];
+    }
+
+    void setDoubles(int row, int value) {
+        doubles[row] = value;
+    }
+
+    // ===== ALL ROWS =====
+
+    /**
+     * Highest balance among the active players
+     *
+     * @return The balance, or Integer.MIN_VALUE if no player is active
+     */
+    int maxActiveBalance() {
+        int max = Integer.MIN_VALUE;
+        for (int row = 0; row < size; row++) {
+            if (active[row] && balance[row] > max) {
+                max = balance[row];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Every other active player pays the same amount to one player
+     *
+     * @param receiver Row of the player who receives
+     * @param amount Amount paid by each of the others (ignored if not positive)
+     * @return Number of players who paid
+     */
+    int collectFromOthers(int receiver, int amount) {
+        if (amount <= 0) {
+            return 0;
+        }
+        int payers = 0;
+        for (int row = 0; row < size; row++) {
+            if (active[row] && row != receiver) {
+                balance[row] -= amount;
+                payers++;
+            }
+        }
+        balance[receiver] += amount * payers;
+        return payers;
+    }
+}
@@ -41,6 +41,14 @@ class ReceiveFromOthersCard extends AutomaticCard {
             return false;
         }
         
+        // In a game every player is an active row of the holder's table:
+        // one pass over the balance array instead of a walk over the players
+        PlayerTable table = cardHolder.getTable();
+        if (table.activeCount() > 1) {
+            table.collectFromOthers(cardHolder.getRow(), this.value);
+            return true;
+        }
+        
         for (Player player : allPlayers) {
             if (!player.equals(cardHolder)) {
                 player.pay(cardHolder, this.value);
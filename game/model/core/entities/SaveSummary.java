@@ -0,0 +1,196 @@
+package model.core.entities;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.CRC32C;
+
+/**
+ * SaveSummary - What the load screen shows about a save, without loading it
+ *
+ * Player names, balances, whose turn it is, plus the size, modification date
+ * and a checksum of the file. Reading a summary stops before the properties
+ * and the log, which are most of a save, so it never builds a board or a
+ * ModelFacade.
+ *
+ * Summaries are kept in an index file (see writeIndex/readIndex) so that
+ * listing the saves only needs to re-read the files that changed.
+ */
+public class SaveSummary {
+    private static final byte[] INDEX_MAGIC = {'B', 'I', 'M', 'I'};
+    private static final int INDEX_VERSION = 1;
+
+    private final String fileName;
+    private final long size;
+    private final long lastModified;
+    private final long hash;
+    private final boolean binary;
+    private final List<String> playerNames;
+    private final int[] balances;
+    private final int currentPlayer;
+
+    SaveSummary(String fileName, long size, long lastModified, long hash, boolean binary,
+                List<String> playerNames, int[] balances, int currentPlayer) {
+        if (playerNames.size() != balances.length) {
+            throw new IllegalArgumentException("One balance per player expected");
+        }
+        this.fileName = fileName;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.hash = hash;
+        this.binary = binary;
+        this.playerNames = Collections.unmodifiableList(new ArrayList<>(playerNames));
+        this.balances = balances.clone();
+        this.currentPlayer = currentPlayer;
+    }
+
+    /**
+     * Reads the summary of a save (text or binary)
+     *
+     * @param file Save file
+     * @return The summary
+     * @throws IOException If the file cannot be read
+     * @throws IllegalArgumentException If it is not a valid save
+     */
+    public static SaveSummary read(Path file) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        CRC32C crc = new CRC32C();
+        crc.update(content);
+
+        SaveSummary partial;
+        InputStream in = new ByteArrayInputStream(content);
+        boolean binary = content.length >= GameStateBinaryCodec.MAGIC.length
+            && Arrays.equals(Arrays.copyOf(content, GameStateBinaryCodec.MAGIC.length), GameStateBinaryCodec.MAGIC);
+        if (binary) {
+            partial = GameStateBinaryCodec.readSummary(in);
+        } else {
+            partial = GameStateLoader.readSummary(in);
+        }
+        return new SaveSummary(file.getFileName().toString(), content.length, lastModified, crc.getValue(),
+                               binary, partial.playerNames, partial.balances, partial.currentPlayer);
+    }
+
+    /**
+     * Summary read from the start of a save, before the file details are known
+     */
+    static SaveSummary partial(List<String> playerNames, int[] balances, int currentPlayer) {
+        if (currentPlayer < 0 || currentPlayer >= playerNames.size()) {
+            throw new IllegalArgumentException("Invalid current player: " + currentPlayer);
+        }
+        return new SaveSummary("", 0, 0, 0, false, playerNames, balances, currentPlayer);
+    }
+
+    /**
+     * Tells whether the file may have changed since this summary was read.
+     * Compares size and modification time only, so it costs one stat call.
+     */
+    public boolean isStale(long size, long lastModified) {
+        return this.size != size || this.lastModified != lastModified;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /** CRC32C of the whole file. */
+    public long getHash() {
+        return hash;
+    }
+
+    public boolean isBinary() {
+        return binary;
+    }
+
+    public List<String> getPlayerNames() {
+        return playerNames;
+    }
+
+    public int getBalance(int player) {
+        return balances[player];
+    }
+
+    public String getCurrentPlayerName() {
+        return playerNames.get(currentPlayer);
+    }
+
+    // ===== INDEX FILE =====
+
+    /**
+     * Writes the summaries to an index file, replacing it atomically
+     */
+    public static void writeIndex(String filePath, Collection<SaveSummary> summaries) throws IOException {
+        GameStateSaver.writeAtomically(filePath, out -> {
+            DataOutputStream data = new DataOutputStream(out);
+            data.write(INDEX_MAGIC);
+            data.writeInt(INDEX_VERSION);
+            data.writeInt(summaries.size());
+            for (SaveSummary summary : summaries) {
+                data.writeUTF(summary.fileName);
+                data.writeLong(summary.size);
+                data.writeLong(summary.lastModified);
+                data.writeLong(summary.hash);
+                data.writeBoolean(summary.binary);
+                data.writeInt(summary.currentPlayer);
+                data.writeInt(summary.playerNames.size());
+                for (int i = 0; i < summary.playerNames.size(); i++) {
+                    data.writeUTF(summary.playerNames.get(i));
+                    data.writeInt(summary.balances[i]);
+                }
+            }
+            data.flush();
+        });
+    }
+
+    /**
+     * Reads an index written by writeIndex()
+     *
+     * @return The summaries, or an empty list if the index is missing,
+     *         from another version or damaged (it is rebuilt from the saves)
+     */
+    public static List<SaveSummary> readIndex(String filePath) {
+        List<SaveSummary> summaries = new ArrayList<>();
+        File file = new File(filePath);
+        if (!file.isFile()) {
+            return summaries;
+        }
+        try (DataInputStream data = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            byte[] magic = data.readNBytes(INDEX_MAGIC.length);
+            if (!Arrays.equals(magic, INDEX_MAGIC) || data.readInt() != INDEX_VERSION) {
+                return summaries;
+            }
+            int count = data.readInt();
+            for (int i = 0; i < count; i++) {
+                String fileName = data.readUTF();
+                long size = data.readLong();
+                long lastModified = data.readLong();
+                long hash = data.readLong();
+                boolean binary = data.readBoolean();
+                int currentPlayer = data.readInt();
+                int playerCount = data.readInt();
+                if (playerCount < 1 || playerCount > GameStateBinaryCodec.MAX_PLAYERS || currentPlayer < 0 || currentPlayer >= playerCount) {
+                    return new ArrayList<>();
+                }
+                List<String> names = new ArrayList<>();
+                int[] balances = new int[playerCount];
+                for (int p = 0; p < playerCount; p++) {
+                    names.add(data.readUTF());
+                    balances[p] = data.readInt();
+                }
+                summaries.add(new SaveSummary(fileName, size, lastModified, hash, binary, names, balances, currentPlayer));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            return new ArrayList<>();
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,25 @@
+package model.simulation;
+
+import model.core.entities.ModelFacade;
+
+/**
+ * Default policy and greedy reference bot: buys, builds and uses the prison
+ * card whenever the rules allow it.
+ */
+public class AlwaysBuyPolicy implements DecisionPolicy {
+
+    @Override
+    public boolean shouldBuyProperty(ModelFacade game) {
+        return true;
+    }
+
+    @Override
+    public boolean shouldBuildHouse(ModelFacade game) {
+        return true;
+    }
+
+    @Override
+    public boolean shouldBuildHotel(ModelFacade game) {
+        return true;
+    }
+}
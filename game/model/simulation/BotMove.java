@@ -0,0 +1,78 @@
+package model.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import model.core.entities.ModelFacade;
+
+/**
+ * The decisions a bot took in one roll of its turn.
+ * 
+ * GameController plays the roll with the bot on a copy of the game, on a
+ * background thread ({@link #play}), then repeats the same actions on the
+ * real game on the EDT. The real game is in the state the copy started
+ * from, so it rolls the same dice and the decisions still fit.
+ */
+public final class BotMove {
+    private final long stateHash;
+    boolean usedCard;
+    boolean bought;
+    boolean builtHouse;
+    boolean builtHotel;
+    final List<String> sales = new ArrayList<>();
+    boolean eliminated;
+    boolean rollAgain;
+
+    private BotMove(long stateHash) {
+        this.stateHash = stateHash;
+    }
+
+    /**
+     * Plays one roll of the current player's turn with the policy, the same
+     * way HeadlessSimulator does. Does not pass the turn.
+     *
+     * @param game The game (usually a copy of the one on screen).
+     * @param policy The bot of the current player.
+     * @return The decisions taken.
+     */
+    public static BotMove play(ModelFacade game, DecisionPolicy policy) {
+        BotMove move = new BotMove(game.getStateHash());
+        move.rollAgain = HeadlessSimulator.playRoll(game, policy, move);
+        return move;
+    }
+
+    /** State hash of the game before the roll. */
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    public boolean usedGetOutPrisonCard() {
+        return usedCard;
+    }
+
+    public boolean bought() {
+        return bought;
+    }
+
+    public boolean builtHouse() {
+        return builtHouse;
+    }
+
+    public boolean builtHotel() {
+        return builtHotel;
+    }
+
+    /** Names of the properties sold to the bank, in order. */
+    public List<String> getSales() {
+        return Collections.unmodifiableList(sales);
+    }
+
+    public boolean eliminated() {
+        return eliminated;
+    }
+
+    public boolean rollsAgain() {
+        return rollAgain;
+    }
+}
@@ -0,0 +1,110 @@
+package model.simulation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BotTournament - Plays bots against each other and counts their wins
+ *
+ * Every bot takes a seat in every game. Since the first player has an edge,
+ * the seating is rotated: the games are split evenly between the rotations
+ * (bot 1 first, then bot 2 first, ...), each played as a batch on the
+ * ParallelSimulationRunner. Bots must not keep per-game mutable state, since
+ * the same instance plays every game on every thread.
+ */
+public class BotTournament {
+    private static final int DEFAULT_MAX_TURNS = 1000;
+
+    private final Map<String, DecisionPolicy> bots = new LinkedHashMap<>();
+    private final int maxTurns;
+    private final int parallelism;
+
+    /**
+     * @param maxTurns Turn limit after which the richest player wins.
+     * @param parallelism Number of worker threads.
+     */
+    public BotTournament(int maxTurns, int parallelism) {
+        if (maxTurns < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Turn limit and parallelism must be positive");
+        }
+        this.maxTurns = maxTurns;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Uses the default turn limit and one worker per available processor.
+     */
+    public BotTournament() {
+        this(DEFAULT_MAX_TURNS, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Enters a bot in the tournament.
+     *
+     * @param name Name the bot plays (and wins) under.
+     * @param bot The bot.
+     * @return This tournament.
+     */
+    public BotTournament add(String name, DecisionPolicy bot) {
+        if (bots.putIfAbsent(name, bot) != null) {
+            throw new IllegalArgumentException("Duplicate bot name: " + name);
+        }
+        return this;
+    }
+
+    /**
+     * Plays the tournament. The same seed gives the same wins.
+     *
+     * @param games Total number of games.
+     * @param baseSeed Seed of the whole tournament.
+     * @return Wins by bot name, over all rotations.
+     */
+    public SimulationReport run(int games, long baseSeed) {
+        int seats = bots.size();
+        if (seats < 2) {
+            throw new IllegalStateException("A tournament needs at least 2 bots");
+        }
+        List<String> names = new ArrayList<>(bots.keySet());
+        SimulationReport total = new SimulationReport();
+        for (int rotation = 0; rotation < seats; rotation++) {
+            int batch = games / seats + (rotation < games % seats ? 1 : 0);
+            if (batch == 0) {
+                continue;
+            }
+            List<String> seatNames = new ArrayList<>();
+            List<DecisionPolicy> seatBots = new ArrayList<>();
+            for (int seat = 0; seat < seats; seat++) {
+                String name = names.get((rotation + seat) % seats);
+                seatNames.add(name);
+                seatBots.add(bots.get(name));
+            }
+            HeadlessSimulator simulator = new HeadlessSimulator(seatNames, seatBots, maxTurns);
+            ParallelSimulationRunner runner = new ParallelSimulationRunner(simulator, parallelism);
+            total.merge(runner.run(batch, HeadlessSimulator.gameSeed(baseSeed, rotation)));
+        }
+        return total;
+    }
+
+    /**
+     * Plays the reference bots against each other and prints the report.
+     *
+     * Usage: BotTournament [partidas] [threads] [semente]
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        BotTournament tournament = new BotTournament(DEFAULT_MAX_TURNS, threads)
+                .add("Guloso", new AlwaysBuyPolicy())
+                .add("ReservaDeCaixa", new CashThresholdPolicy())
+                .add("GruposDeCor", new ColorSetPolicy());
+
+        // Warm-up so the measured tournament runs on JIT-compiled code
+        tournament.run(Math.max(3, games / 10), seed + 1);
+
+        System.out.print(tournament.run(games, seed));
+    }
+}
@@ -0,0 +1,54 @@
+package model.simulation;
+
+import model.core.entities.ModelFacade;
+
+/**
+ * Reference bot that keeps a cash reserve: buys and builds only when the
+ * balance stays at or above the reserve afterwards, and when it must raise
+ * cash sells its cheapest property first.
+ */
+public class CashThresholdPolicy implements DecisionPolicy {
+    public static final int DEFAULT_RESERVE = 500;
+
+    private final int reserve;
+
+    public CashThresholdPolicy() {
+        this(DEFAULT_RESERVE);
+    }
+
+    /**
+     * @param reserve Balance the bot does not spend.
+     */
+    public CashThresholdPolicy(int reserve) {
+        this.reserve = reserve;
+    }
+
+    @Override
+    public boolean shouldBuyProperty(ModelFacade game) {
+        return game.getCurrentPlayerBalance() - game.getCurrentPropertyCost() >= reserve;
+    }
+
+    @Override
+    public boolean shouldBuildHouse(ModelFacade game) {
+        return game.getCurrentPlayerBalance() - game.getCurrentHousePrice() >= reserve;
+    }
+
+    @Override
+    public boolean shouldBuildHotel(ModelFacade game) {
+        return game.getCurrentPlayerBalance() - game.getCurrentHotelPrice() >= reserve;
+    }
+
+    @Override
+    public int chooseSale(ModelFacade game) {
+        int cheapest = -1;
+        int cheapestValue = Integer.MAX_VALUE;
+        for (int i = 0; i < game.getPropertyCount(); i++) {
+            int index = game.getPropertyIndex(i);
+            if (game.canSellProperty(index) && game.getPropertySaleValue(index) < cheapestValue) {
+                cheapest = index;
+                cheapestValue = game.getPropertySaleValue(index);
+            }
+        }
+        return cheapest;
+    }
+}
@@ -0,0 +1,73 @@
+package model.simulation;
+
+import model.core.entities.ModelFacade;
+
+/**
+ * Reference bot that goes after whole color groups: buys places of groups
+ * no other player has entered (anything else only above a cash reserve),
+ * builds only on groups it owns entirely, sells outside those groups first
+ * and, when short of cash, stays in prison rather than walk into rents.
+ */
+public class ColorSetPolicy implements DecisionPolicy {
+    public static final int DEFAULT_RESERVE = 500;
+
+    private final int reserve;
+
+    public ColorSetPolicy() {
+        this(DEFAULT_RESERVE);
+    }
+
+    /**
+     * @param reserve Balance kept when buying outside a free color group.
+     */
+    public ColorSetPolicy(int reserve) {
+        this.reserve = reserve;
+    }
+
+    @Override
+    public boolean shouldBuyProperty(ModelFacade game) {
+        int position = game.getCurrentPlayerPosition();
+        if (game.getColorGroupSize(position) > 0 && game.countColorGroupOwnedByOthers(position) == 0) {
+            return true;
+        }
+        return game.getCurrentPlayerBalance() - game.getCurrentPropertyCost() >= reserve;
+    }
+
+    @Override
+    public boolean shouldBuildHouse(ModelFacade game) {
+        return ownsWholeGroup(game, game.getCurrentPlayerPosition());
+    }
+
+    @Override
+    public boolean shouldBuildHotel(ModelFacade game) {
+        return ownsWholeGroup(game, game.getCurrentPlayerPosition());
+    }
+
+    @Override
+    public boolean shouldUseGetOutPrisonCard(ModelFacade game) {
+        return game.getCurrentPlayerBalance() >= reserve;
+    }
+
+    @Override
+    public int chooseSale(ModelFacade game) {
+        int inGroup = -1;
+        for (int i = 0; i < game.getPropertyCount(); i++) {
+            int index = game.getPropertyIndex(i);
+            if (!game.canSellProperty(index)) {
+                continue;
+            }
+            if (!ownsWholeGroup(game, index)) {
+                return index;
+            }
+            if (inGroup < 0) {
+                inGroup = index;
+            }
+        }
+        return inGroup;
+    }
+
+    private static boolean ownsWholeGroup(ModelFacade game, int position) {
+        int size = game.getColorGroupSize(position);
+        return size > 0 && game.countColorGroupOwnedByCurrentPlayer(position) == size;
+    }
+}
@@ -0,0 +1,84 @@
+package model.simulation;
+
+import model.core.entities.ModelFacade;
+
+/**
+ * Decides what a simulated player does at each choice point of a turn: the
+ * strategy of a computer player (bot).
+ * 
+ * Implementations only read the game through the public ModelFacade API,
+ * exactly like GameController does, so any policy can be swapped in without
+ * touching the model. Every decision takes the game and returns a primitive,
+ * and the non-allocating ModelFacade queries (position, prices, color
+ * groups, sale values) answer with primitives read straight from the board,
+ * so the reference policies decide without creating objects and bots can
+ * play millions of turns (BotTournamentTest checks the allocated bytes).
+ * 
+ * HeadlessSimulator calls the policy synchronously on the game it plays.
+ * In the UI, GameController calls it on a background thread, on a copy of
+ * the game in the same state (see BotMove), never on the EDT.
+ * 
+ * Reference bots: AlwaysBuyPolicy (greedy), CashThresholdPolicy and
+ * ColorSetPolicy.
+ */
+public interface DecisionPolicy {
+
+    /**
+     * Called when the current player stopped on a property that has no owner
+     * and that he can afford.
+     * 
+     * @param game The game being simulated.
+     * @return true to buy the property.
+     */
+    boolean shouldBuyProperty(ModelFacade game);
+
+    /**
+     * Called when the current player stopped on one of his own places and the
+     * model allows building a house there.
+     * 
+     * @param game The game being simulated.
+     * @return true to build a house.
+     */
+    boolean shouldBuildHouse(ModelFacade game);
+
+    /**
+     * Called when the current player stopped on one of his own places and the
+     * model allows building a hotel there.
+     * 
+     * @param game The game being simulated.
+     * @return true to build a hotel.
+     */
+    boolean shouldBuildHotel(ModelFacade game);
+
+    /**
+     * Called on a prison turn, after the roll, when the current player has a
+     * GetOutPrisonCard. A player who keeps the card leaves prison only with
+     * a double or after three turns.
+     * 
+     * @param game The game being simulated.
+     * @return true to use the card (the default).
+     */
+    default boolean shouldUseGetOutPrisonCard(ModelFacade game) {
+        return true;
+    }
+
+    /**
+     * Called while the current player's balance is negative, once per sale,
+     * until it is not.
+     * 
+     * @param game The game being simulated.
+     * @return The board index of the property to sell (one for which
+     *         ModelFacade.canSellProperty is true), or -1 to stop selling
+     *         and leave the game. By default the first property that can be
+     *         sold, in board order.
+     */
+    default int chooseSale(ModelFacade game) {
+        for (int i = 0; i < game.getPropertyCount(); i++) {
+            int index = game.getPropertyIndex(i);
+            if (game.canSellProperty(index)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,17 @@
+package model.simulation;
+
+/**
+ * Outcome of a single simulated game.
+ */
+class GameResult {
+    /** Name of the winner, or null on a tie at the turn limit. */
+    final String winner;
+    final int turns;
+    final boolean hitTurnLimit;
+
+    GameResult(String winner, int turns, boolean hitTurnLimit) {
+        this.winner = winner;
+        this.turns = turns;
+        this.hitTurnLimit = hitTurnLimit;
+    }
+}
@@ -0,0 +1,340 @@
+package model.simulation;
+
+import model.core.entities.ModelFacade;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HeadlessSimulator - Plays complete games directly on top of ModelFacade
+ *
+ * Mirrors the turn flow of GameController (prison, doubles, luck cards,
+ * bankruptcy) but without GameState, observers or any Swing code, so that
+ * thousands of games can be played in a tight loop to balance rents.
+ * Every choice is delegated to a DecisionPolicy; policies may be shared
+ * between threads, so they must not keep per-game mutable state.
+ */
+public class HeadlessSimulator {
+    /** Same colors offered by InitialFrame. */
+    private static final String[] COLORS = {"Vermelho", "Azul", "Laranja", "Amarelo", "Roxo", "Verde"};
+    private static final int DEFAULT_MAX_TURNS = 1000;
+
+    private final List<String> playerNames;
+    private final List<String> colors;
+    private final Map<String, DecisionPolicy> policies;
+    private final int maxTurns;
+
+    /**
+     * Creates a simulator where every player uses the same policy.
+     *
+     * @param numPlayers Number of players (2-6).
+     * @param policy Policy used by all players.
+     * @param maxTurns Turn limit after which the richest player wins.
+     */
+    public HeadlessSimulator(int numPlayers, DecisionPolicy policy, int maxTurns) {
+        this(fill(numPlayers, policy), maxTurns);
+    }
+
+    /**
+     * Creates a simulator with one policy per seat.
+     *
+     * @param seatPolicies Policy of each seat, in turn order.
+     * @param maxTurns Turn limit after which the richest player wins.
+     */
+    public HeadlessSimulator(List<DecisionPolicy> seatPolicies, int maxTurns) {
+        this(defaultNames(seatPolicies.size()), seatPolicies, maxTurns);
+    }
+
+    /**
+     * Creates a simulator with named seats (e.g.: the bots of a BotTournament),
+     * so the report counts wins by those names.
+     *
+     * @param names Name of each seat, in turn order.
+     * @param seatPolicies Policy of each seat, in turn order.
+     * @param maxTurns Turn limit after which the richest player wins.
+     */
+    public HeadlessSimulator(List<String> names, List<DecisionPolicy> seatPolicies, int maxTurns) {
+        if (seatPolicies.size() < 2 || seatPolicies.size() > COLORS.length) {
+            throw new IllegalArgumentException("Number of players must be between 2 and " + COLORS.length);
+        }
+        if (names.size() != seatPolicies.size()) {
+            throw new IllegalArgumentException("Each seat needs one name and one policy");
+        }
+        this.playerNames = new ArrayList<>();
+        this.colors = new ArrayList<>();
+        this.policies = new HashMap<>();
+        for (int i = 0; i < seatPolicies.size(); i++) {
+            String name = names.get(i);
+            if (policies.put(name, seatPolicies.get(i)) != null) {
+                throw new IllegalArgumentException("Duplicate player name: " + name);
+            }
+            playerNames.add(name);
+            colors.add(COLORS[i]);
+        }
+        this.maxTurns = maxTurns;
+    }
+
+    private static List<String> defaultNames(int numPlayers) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < numPlayers; i++) {
+            names.add("Jogador" + (i + 1));
+        }
+        return names;
+    }
+
+    private static List<DecisionPolicy> fill(int numPlayers, DecisionPolicy policy) {
+        List<DecisionPolicy> seats = new ArrayList<>();
+        for (int i = 0; i < numPlayers; i++) {
+            seats.add(policy);
+        }
+        return seats;
+    }
+
+    /**
+     * Plays the given number of games back to back and measures the throughput.
+     *
+     * @param games Number of games to play.
+     * @return The aggregated report.
+     */
+    public SimulationReport run(int games) {
+        return run(games, System.nanoTime());
+    }
+
+    /**
+     * Plays the given number of games back to back. Game {@code i} always uses
+     * the seed {@link #gameSeed(long, int)}, so the same base seed produces the
+     * same report as {@link ParallelSimulationRunner}.
+     *
+     * @param games Number of games to play.
+     * @param baseSeed Seed of the whole batch.
+     * @return The aggregated report.
+     */
+    public SimulationReport run(int games, long baseSeed) {
+        SimulationReport report = new SimulationReport();
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            report.recordGame(playGame(gameSeed(baseSeed, i)));
+        }
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    /**
+     * Derives the seed of one game from the seed of the batch. Depends only on
+     * the game index, never on which thread plays the game.
+     *
+     * @param baseSeed Seed of the whole batch.
+     * @param gameIndex Index of the game inside the batch.
+     * @return The seed of that game.
+     */
+    static long gameSeed(long baseSeed, int gameIndex) {
+        // SplitMix64 finalizer: consecutive indices give unrelated seeds
+        long z = baseSeed + (gameIndex + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays a single game from the initial setup to the end. Each call uses
+     * its own ModelFacade, so games can be played concurrently as long as the
+     * policies are thread-safe.
+     *
+     * @param seed Seed of this game.
+     * @return The outcome of the game.
+     */
+    GameResult playGame(long seed) {
+        ModelFacade game = new ModelFacade();
+        game.initializeGame(playerNames.size(), playerNames, colors, seed);
+
+        int turns = 0;
+        while (game.countActivePlayers() > 1 && turns < maxTurns) {
+            playTurn(game);
+            turns++;
+        }
+
+        if (game.countActivePlayers() <= 1) {
+            return new GameResult(game.getWinnerName(), turns, false);
+        }
+        List<String> richest = game.getRichestPlayers();
+        return new GameResult(richest.size() == 1 ? richest.get(0) : null, turns, true);
+    }
+
+    /**
+     * Plays the current player's turn, including extra rolls for doubles,
+     * and passes the turn to the next player.
+     */
+    void playTurn(ModelFacade game) {
+        playTurn(game, policies.get(game.getCurrentPlayerName()));
+    }
+
+    /**
+     * Plays the current player's turn with the given policy and passes the
+     * turn, for games this simulator did not set up.
+     */
+    static void playTurn(ModelFacade game, DecisionPolicy policy) {
+        while (playRoll(game, policy, null)) {
+            // Doubles: the same player rolls again
+        }
+        game.nextTurn();
+    }
+
+    /**
+     * Plays one roll of the current player's turn: the roll, prison or move,
+     * the decisions and bankruptcy. Does not pass the turn.
+     *
+     * @param move Where to note the decisions taken, or null.
+     * @return true if the player rolls again.
+     */
+    static boolean playRoll(ModelFacade game, DecisionPolicy policy, BotMove move) {
+        int[] dice = game.rollDice();
+        int d1 = dice[0];
+        int d2 = dice[1];
+        boolean rollAgain = false;
+
+        if (game.isCurrentPlayerInPrison()) {
+            if (!playPrisonTurn(game, d1, d2, policy, move)) {
+                return false;
+            }
+        } else {
+            game.moveCurrentPlayer(d1 + d2);
+            game.handleManualLuckCard();
+            rollAgain = game.wasLastRollDouble() && !game.wasPlayerSentToPrisonForDoubles();
+        }
+
+        makeDecisions(game, policy, move);
+
+        if (game.isCurrentPlayerBankrupt() && !raiseCash(game, policy, move)) {
+            game.eliminateCurrentPlayer();
+            if (move != null) {
+                move.eliminated = true;
+            }
+            return false;
+        }
+        return rollAgain && game.countActivePlayers() > 1;
+    }
+
+    /**
+     * Ends a turn whose roll, move and decision were already made elsewhere:
+     * settles a negative balance, plays the extra roll of a double and passes
+     * the turn.
+     */
+    static void finishTurn(ModelFacade game, DecisionPolicy policy) {
+        if (game.isCurrentPlayerBankrupt() && !raiseCash(game, policy, null)) {
+            game.eliminateCurrentPlayer();
+            game.nextTurn();
+            return;
+        }
+        if (!game.isCurrentPlayerInPrison() && game.wasLastRollDouble()
+                && !game.wasPlayerSentToPrisonForDoubles() && game.countActivePlayers() > 1) {
+            playTurn(game, policy);
+        } else {
+            game.nextTurn();
+        }
+    }
+
+    /**
+     * Same rules as GameController.handlePrisonTurn.
+     *
+     * @return true if the player left prison and moved.
+     */
+    private static boolean playPrisonTurn(ModelFacade game, int d1, int d2, DecisionPolicy policy, BotMove move) {
+        if (game.hasGetOutPrisonCard() && policy.shouldUseGetOutPrisonCard(game) && game.useGetOutPrisonCard()) {
+            if (move != null) {
+                move.usedCard = true;
+            }
+            moveAfterRelease(game, d1 + d2);
+            return true;
+        }
+
+        if (d1 == d2) {
+            game.releasePlayerFromPrison();
+            moveAfterRelease(game, d1 + d2);
+            return true;
+        }
+
+        game.incrementPlayerPrisonTurns();
+        if (game.getCurrentPlayerTurnsInPrison() >= 3) {
+            game.releasePlayerFromPrison();
+            moveAfterRelease(game, d1 + d2);
+            return true;
+        }
+        return false;
+    }
+
+    private static void moveAfterRelease(ModelFacade game, int steps) {
+        game.moveCurrentPlayer(steps);
+        game.handleManualLuckCard();
+    }
+
+    /**
+     * Asks the policy about the space the player stopped on. Reads the game
+     * through primitive queries only, so asking the policy creates no object
+     * (acting on the answer, like buying, may).
+     */
+    private static void makeDecisions(ModelFacade game, DecisionPolicy policy, BotMove move) {
+        int cost = game.getCurrentPropertyCost();
+        if (cost == 0) {
+            return; // not a property
+        }
+
+        if (!game.isPropertyOwned(game.getCurrentPlayerPosition())) {
+            if (game.getCurrentPlayerBalance() >= cost && policy.shouldBuyProperty(game)
+                    && game.buyCurrentProperty() && move != null) {
+                move.bought = true;
+            }
+            return;
+        }
+
+        if (game.canBuildHotelOnCurrentProperty() && policy.shouldBuildHotel(game)) {
+            if (game.buildHotelOnCurrentProperty() && move != null) {
+                move.builtHotel = true;
+            }
+        } else if (game.canBuildHouseOnCurrentProperty() && policy.shouldBuildHouse(game)) {
+            if (game.buildHouseOnCurrentProperty() && move != null) {
+                move.builtHouse = true;
+            }
+        }
+    }
+
+    /**
+     * Sells the properties the policy picks until the balance is no longer
+     * negative.
+     *
+     * @return true if the player managed to pay off the debt.
+     */
+    private static boolean raiseCash(ModelFacade game, DecisionPolicy policy, BotMove move) {
+        while (game.isCurrentPlayerBankrupt()) {
+            int index = policy.chooseSale(game);
+            if (index < 0 || !game.canSellProperty(index)) {
+                return false;
+            }
+            String propertyName = game.getSpaceName(index);
+            game.sellPropertyByName(propertyName);
+            if (move != null) {
+                move.sales.add(propertyName);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Runs a batch from the command line and prints the report.
+     *
+     * Usage: HeadlessSimulator [partidas] [jogadores] [limiteDeTurnos]
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int maxTurns = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_TURNS;
+
+        HeadlessSimulator simulator = new HeadlessSimulator(players, new AlwaysBuyPolicy(), maxTurns);
+
+        // Warm-up so the measured batch runs on JIT-compiled code
+        simulator.run(Math.max(1, games / 10));
+
+        SimulationReport report = simulator.run(games);
+        System.out.print(report);
+    }
+}
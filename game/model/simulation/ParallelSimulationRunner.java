@@ -0,0 +1,123 @@
+package model.simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ParallelSimulationRunner - Monte Carlo batches spread over all cores
+ *
+ * Each game owns its ModelFacade, board, luck deck and random source, so
+ * games share no mutable state and can be played on any worker of a
+ * fork-join pool. Results are stored by game index and aggregated in index
+ * order, which makes the report for a given seed identical whatever the
+ * number of threads.
+ */
+public class ParallelSimulationRunner {
+    /** Games played by a task before it stops splitting. */
+    private static final int GAMES_PER_TASK = 16;
+
+    private final HeadlessSimulator simulator;
+    private final int parallelism;
+
+    /**
+     * @param simulator Simulator describing seats, policies and turn limit.
+     * @param parallelism Number of worker threads.
+     */
+    public ParallelSimulationRunner(HeadlessSimulator simulator, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.simulator = simulator;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Uses one worker per available processor.
+     *
+     * @param simulator Simulator describing seats, policies and turn limit.
+     */
+    public ParallelSimulationRunner(HeadlessSimulator simulator) {
+        this(simulator, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Plays the batch on the pool and aggregates the results.
+     *
+     * @param games Number of games to play.
+     * @param baseSeed Seed of the whole batch.
+     * @return The aggregated report.
+     */
+    public SimulationReport run(int games, long baseSeed) {
+        GameResult[] results = new GameResult[games];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long start = System.nanoTime();
+        try {
+            pool.invoke(new PlayRange(results, baseSeed, 0, games));
+        } finally {
+            pool.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        SimulationReport report = new SimulationReport();
+        for (GameResult result : results) {
+            report.recordGame(result);
+        }
+        report.setElapsedNanos(elapsed);
+        return report;
+    }
+
+    /**
+     * Plays games [from, to) of the batch, splitting in halves while the
+     * range is large.
+     */
+    private class PlayRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final GameResult[] results;
+        private final long baseSeed;
+        private final int from;
+        private final int to;
+
+        PlayRange(GameResult[] results, long baseSeed, int from, int to) {
+            this.results = results;
+            this.baseSeed = baseSeed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    results[i] = simulator.playGame(HeadlessSimulator.gameSeed(baseSeed, i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PlayRange(results, baseSeed, from, middle),
+                      new PlayRange(results, baseSeed, middle, to));
+        }
+    }
+
+    /**
+     * Runs a batch from the command line and prints the report.
+     *
+     * Usage: ParallelSimulationRunner [partidas] [jogadores] [threads] [semente]
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+
+        HeadlessSimulator simulator = new HeadlessSimulator(players, new AlwaysBuyPolicy(), 1000);
+        ParallelSimulationRunner runner = new ParallelSimulationRunner(simulator, threads);
+
+        // Warm-up so the measured batch runs on JIT-compiled code
+        runner.run(Math.max(1, games / 10), seed + 1);
+
+        SimulationReport report = runner.run(games, seed);
+        System.out.println("Threads: " + threads);
+        System.out.print(report);
+    }
+}
@@ -0,0 +1,75 @@
+package model.simulation;
+
+/**
+ * Outcome of a PurchaseAdvisor request: the mean change in the player's net
+ * worth over the rollouts, acting and passing, and how sure the estimate is.
+ */
+public class PurchaseAdvice {
+    private final PurchaseAdvisor.Choice choice;
+    private final String playerName;
+    private final int rollouts;
+    private final double actDelta;
+    private final double passDelta;
+    private final double standardError;
+    private final boolean cancelled;
+    private final long elapsedNanos;
+
+    PurchaseAdvice(PurchaseAdvisor.Choice choice, String playerName, int rollouts, double actDelta,
+                   double passDelta, double standardError, boolean cancelled, long elapsedNanos) {
+        this.choice = choice;
+        this.playerName = playerName;
+        this.rollouts = rollouts;
+        this.actDelta = actDelta;
+        this.passDelta = passDelta;
+        this.standardError = standardError;
+        this.cancelled = cancelled;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public PurchaseAdvisor.Choice getChoice() {
+        return choice;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /** Rollouts played for each option (0 if the budget ran out first). */
+    public int getRollouts() {
+        return rollouts;
+    }
+
+    /** Mean change in net worth when the player acts (buys or builds). */
+    public double getActDelta() {
+        return actDelta;
+    }
+
+    /** Mean change in net worth when the player passes. */
+    public double getPassDelta() {
+        return passDelta;
+    }
+
+    /** How much acting is worth over passing, on average. */
+    public double getGain() {
+        return actDelta - passDelta;
+    }
+
+    /** Standard error of {@link #getGain()}. */
+    public double getStandardError() {
+        return standardError;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s: %+.0f (+/- %.0f) over %d rollouts in %d ms",
+                playerName, choice, getGain(), standardError, rollouts, elapsedNanos / 1_000_000);
+    }
+}
@@ -0,0 +1,307 @@
+package model.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import model.core.entities.GameSnapshot;
+import model.core.entities.ModelFacade;
+import model.core.entities.ModelFacade.PropertyInfo;
+
+/**
+ * PurchaseAdvisor - Monte Carlo estimate of what buying or building is worth
+ *
+ * When the current player can buy the property they stopped on, or build a
+ * house or hotel on it, the advisor plays the game ahead many times from the
+ * current state: each rollout once acting and once passing, with the same
+ * dice and cards for both (so the difference is not drowned in luck), for a
+ * fixed number of turns, every player following AlwaysBuyPolicy. The
+ * advice is the mean change in the player's net worth either way.
+ *
+ * Rollouts run on a pool of daemon threads. Each worker owns a copy of the
+ * game, made on the caller's thread, and brings it back to the starting
+ * GameSnapshot before every rollout, reseeded so that each rollout sees
+ * other dice and cards. A request stops at its rollout count, at its time
+ * budget or when cancelled, whichever comes first, and reports the rollouts
+ * played so far. The game passed in is never touched by the workers.
+ */
+public class PurchaseAdvisor {
+    public static final int DEFAULT_ROLLOUTS = 2000;
+    public static final int DEFAULT_HORIZON_TURNS = 40;
+    public static final long DEFAULT_BUDGET_MILLIS = 200;
+
+    /** What the current player can do on the space they stopped on. */
+    public enum Choice { BUY, HOUSE, HOTEL }
+
+    private final DecisionPolicy policy = new AlwaysBuyPolicy();
+    private final ExecutorService pool;
+    private final int workers;
+    private final int rollouts;
+    private final int horizonTurns;
+    private final long budgetNanos;
+
+    /**
+     * Uses every processor but one (left to the UI) and the default limits.
+     */
+    public PurchaseAdvisor() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+             DEFAULT_ROLLOUTS, DEFAULT_HORIZON_TURNS, DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * @param workers Number of worker threads.
+     * @param rollouts Rollouts per option and request.
+     * @param horizonTurns Turns played ahead in each rollout.
+     * @param budgetMillis Time after which a request stops.
+     */
+    public PurchaseAdvisor(int workers, int rollouts, int horizonTurns, long budgetMillis) {
+        if (workers < 1 || rollouts < 1 || horizonTurns < 1 || budgetMillis < 1) {
+            throw new IllegalArgumentException("Workers, rollouts, horizon and budget must be positive");
+        }
+        this.workers = workers;
+        this.rollouts = rollouts;
+        this.horizonTurns = horizonTurns;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.pool = Executors.newFixedThreadPool(workers, task -> {
+            Thread thread = new Thread(task, "purchase-advisor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns what the current player can do where they stopped, or null
+     * if there is nothing to decide (not rolled yet, in prison, space owned
+     * by someone else, or not enough money to buy).
+     *
+     * @param game The game.
+     * @return The choice, or null.
+     */
+    public static Choice choiceFor(ModelFacade game) {
+        if (!game.hasDiceRolled() || game.isCurrentPlayerInPrison()) {
+            return null;
+        }
+        PropertyInfo info = game.getCurrentPropertyInfo();
+        if (info == null) {
+            return null;
+        }
+        if (info.ownerName == null) {
+            return game.getCurrentPlayerBalance() >= info.cost ? Choice.BUY : null;
+        }
+        if (info.canBuildHotel) {
+            return Choice.HOTEL;
+        }
+        return info.canBuildHouse ? Choice.HOUSE : null;
+    }
+
+    /**
+     * Starts estimating the current player's choice in the background. Must
+     * be called on the thread that plays the game: it is copied here.
+     *
+     * @param game The game.
+     * @return The request, or null if the player has nothing to decide.
+     */
+    public Request start(ModelFacade game) {
+        Choice choice = choiceFor(game);
+        if (choice == null) {
+            return null;
+        }
+        String playerName = game.getCurrentPlayerName();
+        Request request = new Request(choice, System.nanoTime());
+        GameSnapshot start = game.snapshot();
+        int worthBefore = game.getPlayerNetWorth(playerName);
+        long baseSeed = game.getStateHash();
+
+        List<CompletableFuture<Tally>> parts = new ArrayList<>();
+        int tasks = Math.min(workers, rollouts);
+        for (int first = 0; first < tasks; first++) {
+            ModelFacade copy = game.copy();
+            Rollouts part = new Rollouts(request, copy, start, playerName, worthBefore, baseSeed, first, tasks);
+            parts.add(CompletableFuture.supplyAsync(part::play, pool));
+        }
+        request.result = CompletableFuture.allOf(parts.toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> merge(request, playerName, parts));
+        return request;
+    }
+
+    /**
+     * Estimates the current player's choice and waits for the answer (at
+     * most about the time budget).
+     *
+     * @param game The game.
+     * @return The advice, or null if the player has nothing to decide.
+     */
+    public PurchaseAdvice advise(ModelFacade game) {
+        Request request = start(game);
+        return request == null ? null : request.join();
+    }
+
+    /**
+     * Stops the worker threads once the requests already started are done
+     * (within their time budget). No new request can be started.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static PurchaseAdvice merge(Request request, String playerName, List<CompletableFuture<Tally>> parts) {
+        Tally total = new Tally();
+        for (CompletableFuture<Tally> part : parts) {
+            total.add(part.join());
+        }
+        long elapsed = System.nanoTime() - request.startNanos;
+        int n = total.count;
+        if (n == 0) {
+            return new PurchaseAdvice(request.choice, playerName, 0, 0, 0, 0, request.cancelled, elapsed);
+        }
+        double meanGain = (double) (total.actSum - total.passSum) / n;
+        double variance = n > 1 ? (total.gainSquares - n * meanGain * meanGain) / (n - 1) : 0;
+        return new PurchaseAdvice(request.choice, playerName, n, (double) total.actSum / n,
+                (double) total.passSum / n, Math.sqrt(Math.max(0, variance) / n), request.cancelled, elapsed);
+    }
+
+    /**
+     * One estimate in progress. Cancelling stops the workers after the
+     * rollout they are playing.
+     */
+    public final class Request {
+        private final Choice choice;
+        private final long startNanos;
+        private volatile boolean cancelled;
+        private CompletableFuture<PurchaseAdvice> result;
+
+        private Request(Choice choice, long startNanos) {
+            this.choice = choice;
+            this.startNanos = startNanos;
+        }
+
+        public Choice getChoice() {
+            return choice;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public boolean isDone() {
+            return result.isDone();
+        }
+
+        /**
+         * Waits for the advice
+         */
+        public PurchaseAdvice join() {
+            return result.join();
+        }
+
+        /**
+         * Calls the listener with the advice when it is ready, on a worker
+         * thread (or on the caller's, if it is already ready)
+         */
+        public void whenDone(Consumer<PurchaseAdvice> listener) {
+            result.thenAccept(listener);
+        }
+
+        private boolean shouldStop() {
+            return cancelled || System.nanoTime() - startNanos >= budgetNanos;
+        }
+    }
+
+    /**
+     * The rollouts of one worker: every {@code step}-th one from {@code first}
+     */
+    private class Rollouts {
+        private final Request request;
+        private final ModelFacade game;
+        private final GameSnapshot start;
+        private final String playerName;
+        private final int worthBefore;
+        private final long baseSeed;
+        private final int first;
+        private final int step;
+
+        Rollouts(Request request, ModelFacade game, GameSnapshot start, String playerName,
+                 int worthBefore, long baseSeed, int first, int step) {
+            this.request = request;
+            this.game = game;
+            this.start = start;
+            this.playerName = playerName;
+            this.worthBefore = worthBefore;
+            this.baseSeed = baseSeed;
+            this.first = first;
+            this.step = step;
+        }
+
+        Tally play() {
+            Tally tally = new Tally();
+            for (int i = first; i < rollouts && !request.shouldStop(); i += step) {
+                long seed = HeadlessSimulator.gameSeed(baseSeed, i);
+                int acted = rollout(seed, true) - worthBefore;
+                int passed = rollout(seed, false) - worthBefore;
+                tally.add(acted, passed);
+            }
+            return tally;
+        }
+
+        /**
+         * Plays the game ahead from the start state
+         *
+         * @return The player's net worth at the end
+         */
+        private int rollout(long seed, boolean act) {
+            game.restore(start);
+            game.reseed(seed);
+            if (act) {
+                switch (request.choice) {
+                    case BUY:
+                        game.buyCurrentProperty();
+                        break;
+                    case HOUSE:
+                        game.buildHouseOnCurrentProperty();
+                        break;
+                    case HOTEL:
+                        game.buildHotelOnCurrentProperty();
+                        break;
+                }
+            }
+            HeadlessSimulator.finishTurn(game, policy);
+            for (int turn = 1; turn < horizonTurns && game.countActivePlayers() > 1; turn++) {
+                HeadlessSimulator.playTurn(game, policy);
+            }
+            return game.getPlayerNetWorth(playerName);
+        }
+    }
+
+    /**
+     * Sums over paired rollouts
+     */
+    private static class Tally {
+        int count;
+        long actSum;
+        long passSum;
+        double gainSquares;
+
+        void add(int acted, int passed) {
+            count++;
+            actSum += acted;
+            passSum += passed;
+            double gain = acted - passed;
+            gainSquares += gain * gain;
+        }
+
+        void add(Tally other) {
+            count += other.count;
+            actSum += other.actSum;
+            passSum += other.passSum;
+            gainSquares += other.gainSquares;
+        }
+    }
+}
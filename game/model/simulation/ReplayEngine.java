@@ -0,0 +1,167 @@
+package model.simulation;
+
+import model.core.entities.GameRecording;
+import model.core.entities.GameRecording.Event;
+import model.core.entities.ModelFacade;
+
+/**
+ * ReplayEngine - Plays a GameRecording again on a fresh ModelFacade
+ *
+ * The game is created with the recorded seed and players, so the dice and
+ * the luck deck come out in the same order, and every recorded call is made
+ * again in order. The replayed game records itself too: after each call its
+ * new event must equal the recorded one, which checks the dice, the card
+ * drawn on every move and, at each turn change, the hash of the whole state.
+ * The first difference stops the replay with an IllegalStateException that
+ * says where it happened.
+ *
+ * Either run everything with runToEnd() (headless, as fast as the model
+ * goes) or advance with step() / stepTurn() and show the game in between.
+ */
+public class ReplayEngine {
+    private final GameRecording recording;
+    private final ModelFacade game;
+    private final GameRecording check;
+    private int position;
+    private int turn;
+
+    /**
+     * @param recording Recording to play; it is only read
+     */
+    public ReplayEngine(GameRecording recording) {
+        this.recording = recording;
+        this.game = new ModelFacade();
+        game.initializeGame(recording.getPlayerNames().size(), recording.getPlayerNames(),
+                            recording.getColors(), recording.getSeed());
+        this.check = game.startRecording();
+    }
+
+    /**
+     * The game being replayed. Callers may read it between steps but must
+     * not change it, or the next step will report a divergence.
+     */
+    public ModelFacade getGame() {
+        return game;
+    }
+
+    public GameRecording getRecording() {
+        return recording;
+    }
+
+    /** Index of the next event to play. */
+    public int getPosition() {
+        return position;
+    }
+
+    /** Turn changes played (and verified) so far. */
+    public int getTurn() {
+        return turn;
+    }
+
+    public boolean isFinished() {
+        return position >= recording.size();
+    }
+
+    /**
+     * Plays the next recorded event and checks its outcome.
+     *
+     * @return The event played
+     * @throws IllegalStateException If the replay no longer matches the recording
+     * @throws java.util.NoSuchElementException If there are no events left
+     */
+    public Event step() {
+        if (isFinished()) {
+            throw new java.util.NoSuchElementException("Recording finished");
+        }
+        Event expected = recording.getEvent(position);
+        apply(expected);
+
+        Event actual = check.size() == position + 1 ? check.getEvent(position) : null;
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("Replay diverged at event " + position + " (turn " + turn + "): expected "
+                                            + expected + " but got " + actual);
+        }
+        position++;
+        if (expected.getAction() == GameRecording.Action.NEXT_TURN) {
+            turn++;
+        }
+        return expected;
+    }
+
+    /**
+     * Plays events up to and including the next turn change (or to the end).
+     *
+     * @return Number of events played
+     */
+    public int stepTurn() {
+        int played = 0;
+        while (!isFinished()) {
+            played++;
+            if (step().getAction() == GameRecording.Action.NEXT_TURN) {
+                break;
+            }
+        }
+        return played;
+    }
+
+    /**
+     * Plays the rest of the recording.
+     *
+     * @return Number of state hashes verified (turn changes)
+     */
+    public int runToEnd() {
+        while (!isFinished()) {
+            step();
+        }
+        return turn;
+    }
+
+    private void apply(Event event) {
+        switch (event.getAction()) {
+            case ROLL:
+                game.rollDice();
+                break;
+            case ROLL_MANUAL:
+                game.rollDiceManual((int) event.getA(), (int) event.getB());
+                break;
+            case MOVE:
+                game.moveCurrentPlayer((int) event.getA());
+                break;
+            case LUCK_CARD:
+                game.handleManualLuckCard();
+                break;
+            case BUY:
+                game.buyCurrentProperty();
+                break;
+            case BUILD_HOUSE:
+                game.buildHouseOnCurrentProperty();
+                break;
+            case BUILD_HOTEL:
+                game.buildHotelOnCurrentProperty();
+                break;
+            case SELL_CURRENT:
+                game.sellCurrentPropertyToBank();
+                break;
+            case SELL_BY_NAME:
+                game.sellPropertyByName(event.getText());
+                break;
+            case USE_PRISON_CARD:
+                game.useGetOutPrisonCard();
+                break;
+            case RELEASE_FROM_PRISON:
+                game.releasePlayerFromPrison();
+                break;
+            case PRISON_TURN:
+                game.incrementPlayerPrisonTurns();
+                break;
+            case ELIMINATE:
+                game.eliminateCurrentPlayer();
+                break;
+            case NEXT_TURN:
+                game.nextTurn();
+                break;
+            default:
+                throw new IllegalStateException("Unknown action: " + event.getAction());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package model.simulation;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Aggregated result of a batch of headless games.
+ */
+public class SimulationReport {
+    private int games;
+    private long totalTurns;
+    private int gamesHitTurnLimit;
+    private long elapsedNanos;
+    private final Map<String, Integer> winsByPlayer;
+
+    public SimulationReport() {
+        this.winsByPlayer = new LinkedHashMap<>();
+    }
+
+    /**
+     * Accounts for one finished game.
+     * 
+     * @param result The outcome of the game.
+     */
+    void recordGame(GameResult result) {
+        this.games++;
+        this.totalTurns += result.turns;
+        if (result.hitTurnLimit) {
+            this.gamesHitTurnLimit++;
+        }
+        if (result.winner != null) {
+            winsByPlayer.merge(result.winner, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Adds the games of another report to this one (wins, turns and time).
+     * 
+     * @param other The report to add.
+     */
+    void merge(SimulationReport other) {
+        this.games += other.games;
+        this.totalTurns += other.totalTurns;
+        this.gamesHitTurnLimit += other.gamesHitTurnLimit;
+        this.elapsedNanos += other.elapsedNanos;
+        for (Map.Entry<String, Integer> entry : other.winsByPlayer.entrySet()) {
+            winsByPlayer.merge(entry.getKey(), entry.getValue(), Integer::sum);
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    public int getGamesHitTurnLimit() {
+        return gamesHitTurnLimit;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public Map<String, Integer> getWinsByPlayer() {
+        return Collections.unmodifiableMap(winsByPlayer);
+    }
+
+    /**
+     * Returns the measured throughput of the batch.
+     * 
+     * @return Games simulated per second of wall-clock time.
+     */
+    public double getGamesPerSecond() {
+        if (elapsedNanos <= 0) {
+            return 0.0;
+        }
+        return games / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    /**
+     * Checks whether two reports describe the same games, ignoring timing.
+     * 
+     * @param other The report to compare with.
+     * @return true if games, turns and wins are identical.
+     */
+    public boolean sameOutcomeAs(SimulationReport other) {
+        return games == other.games
+            && totalTurns == other.totalTurns
+            && gamesHitTurnLimit == other.gamesHitTurnLimit
+            && winsByPlayer.equals(other.winsByPlayer);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Partidas: ").append(games).append("\n");
+        sb.append("Turnos: ").append(totalTurns).append("\n");
+        sb.append("Encerradas pelo limite de turnos: ").append(gamesHitTurnLimit).append("\n");
+        sb.append(String.format("Tempo: %.3f s%n", elapsedNanos / 1_000_000_000.0));
+        sb.append(String.format("Vazão: %.1f partidas/s%n", getGamesPerSecond()));
+        for (Map.Entry<String, Integer> entry : winsByPlayer.entrySet()) {
+            sb.append("Vitórias ").append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,198 @@
+package view;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import javax.swing.SwingUtilities;
+
+/**
+ * AssetLoader - Carrega as imagens do jogo em segundo plano
+ *
+ * As imagens são decodificadas em paralelo por um pool de threads daemon e
+ * convertidas para o formato da tela (quando há uma), então desenhá-las não
+ * exige conversão de pixels. Enquanto uma imagem não fica pronta, get()
+ * retorna null e a View desenha um substituto. Os ouvintes são avisados na
+ * thread da interface (EDT) a cada imagem concluída.
+ */
+public class AssetLoader {
+
+    /**
+     * Recebe o aviso de cada imagem concluída (na EDT)
+     */
+    public interface Listener {
+        /**
+         * @param key Nome da imagem
+         * @param image A imagem, ou null se não pôde ser lida
+         * @param loaded Imagens concluídas até agora
+         * @param total Total de imagens pedidas
+         */
+        void assetLoaded(String key, BufferedImage image, int loaded, int total);
+    }
+
+    private final GraphicsConfiguration config;
+    private final ExecutorService pool;
+    private final Map<String, BufferedImage> images = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final AtomicInteger total = new AtomicInteger();
+    private final long startNanos;
+    private volatile long finishNanos;
+
+    /**
+     * @param config Configuração da tela para converter as imagens (pode ser null)
+     */
+    public AssetLoader(GraphicsConfiguration config) {
+        this(config, Runtime.getRuntime().availableProcessors());
+    }
+
+    public AssetLoader(GraphicsConfiguration config, int threads) {
+        this.config = config;
+        this.startNanos = System.nanoTime();
+        this.pool = Executors.newFixedThreadPool(Math.max(1, threads), daemonThreads("asset-loader"));
+    }
+    
+    /**
+     * Threads daemon (não impedem o programa de terminar) com nome numerado
+     */
+    static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Agenda a leitura das imagens. A ordem do mapa é a ordem de envio ao
+     * pool, então as imagens mais importantes devem vir primeiro.
+     *
+     * @param paths Nome da imagem -> caminho do arquivo
+     */
+    public void loadAll(Map<String, String> paths) {
+        total.addAndGet(paths.size());
+        for (Map.Entry<String, String> entry : paths.entrySet()) {
+            String key = entry.getKey();
+            String path = entry.getValue();
+            pool.execute(() -> {
+                BufferedImage image = null;
+                try {
+                    image = decode(path, config);
+                    images.put(key, image);
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Erro ao carregar imagem " + key + ": " + e.getMessage());
+                }
+                finished(key, image);
+            });
+        }
+    }
+
+    private void finished(String key, BufferedImage image) {
+        int done = loaded.incrementAndGet();
+        int all = total.get();
+        if (done == all) {
+            finishNanos = System.nanoTime();
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+        if (!listeners.isEmpty()) {
+            SwingUtilities.invokeLater(() -> {
+                for (Listener listener : listeners) {
+                    listener.assetLoaded(key, image, done, all);
+                }
+            });
+        }
+    }
+
+    /**
+     * Retorna a imagem, ou null se ainda não foi carregada (ou falhou)
+     */
+    public BufferedImage get(String key) {
+        return images.get(key);
+    }
+
+    public int getLoadedCount() {
+        return loaded.get();
+    }
+
+    public int getTotalCount() {
+        return total.get();
+    }
+
+    public boolean isDone() {
+        return loaded.get() == total.get();
+    }
+
+    /**
+     * Tempo entre a criação do carregador e a última imagem concluída
+     * (ou até agora, se ainda está carregando)
+     */
+    public long getElapsedMillis() {
+        long end = isDone() && finishNanos != 0 ? finishNanos : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+    }
+
+    /**
+     * Espera todas as imagens pedidas ficarem prontas
+     *
+     * @return true se terminou dentro do prazo
+     */
+    public synchronized boolean awaitAll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isDone()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Interrompe as leituras pendentes
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Lê uma imagem e a converte para o formato da tela
+     *
+     * @param path Caminho do arquivo
+     * @param config Configuração da tela (null mantém a imagem como foi lida)
+     */
+    public static BufferedImage decode(String path, GraphicsConfiguration config) throws IOException {
+        BufferedImage source = ImageIO.read(new File(path));
+        if (source == null) {
+            throw new IOException("Formato não suportado: " + path);
+        }
+        if (config == null) {
+            return source;
+        }
+        BufferedImage image = config.createCompatibleImage(
+            source.getWidth(), source.getHeight(), source.getTransparency());
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.drawImage(source, 0, 0, null);
+        } finally {
+            g2d.dispose();
+        }
+        return image;
+    }
+}
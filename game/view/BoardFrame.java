@@ -18,10 +18,17 @@ public class BoardFrame extends JFrame implements Observer {
     private JButton manualDiceButton;
     private JButton saveGameButton;
     private JButton exitGameButton;
+    private JButton undoButton;
+    private JButton redoButton;
     private PlayerStatusPanel playerStatusPanel;
     private GameLogPanel gameLogPanel;
     private boolean gameOverShown = false;
+    /** Mudanças do GameState que afetam o tabuleiro e os botões. */
+    private static final int BOARD_CHANGES =
+        GameState.CHANGE_ALL & ~(GameState.CHANGE_LOG | GameState.CHANGE_PLAYER_STATUS);
     private String lastPlayerName = "";
+    /** Pausa antes de aplicar cada rolagem de um bot, para dar para acompanhar. */
+    private static final int BOT_DELAY_MS = 700;
     
     public BoardFrame(GameController controller) {
         this.controller = controller;
@@ -31,6 +38,7 @@ public class BoardFrame extends JFrame implements Observer {
         gameState.addObserver(this);
         
         initComponents();
+        SwingUtilities.invokeLater(this::playBotIfNeeded);  // o primeiro jogador pode ser um bot
     }
     
     private void initComponents() {
@@ -60,9 +68,21 @@ public class BoardFrame extends JFrame implements Observer {
         exitGameButton.addActionListener(e -> exitGame());
         exitGameButton.setToolTipText("Encerra a aplicação");
         
+        undoButton = new JButton("Desfazer");
+        undoButton.addActionListener(e -> undo());
+        undoButton.setToolTipText("Desfaz a última ação (Ctrl+Z)");
+        undoButton.setEnabled(false);
+        
+        redoButton = new JButton("Refazer");
+        redoButton.addActionListener(e -> redo());
+        redoButton.setToolTipText("Refaz a ação desfeita (Ctrl+Y)");
+        redoButton.setEnabled(false);
+        
         JPanel buttonPanel = new JPanel();
         buttonPanel.add(rollDiceButton);
         buttonPanel.add(manualDiceButton);
+        buttonPanel.add(undoButton);
+        buttonPanel.add(redoButton);
         buttonPanel.add(saveGameButton);
         buttonPanel.add(exitGameButton);
         add(buttonPanel, BorderLayout.SOUTH);
@@ -79,12 +99,35 @@ public class BoardFrame extends JFrame implements Observer {
         
         // Configurar teclas de atalho
         setupKeyBindings();
+        
+        if (controller.isReplaying()) {
+            setupReplayButtons();
+        }
+    }
+    
+    /**
+     * Modo de reprodução: o botão de rolar avança um turno da gravação e os
+     * outros botões de jogada ficam desligados
+     */
+    private void setupReplayButtons() {
+        setTitle("Banco Imobiliário - Reprodução");
+        rollDiceButton.setText("Próximo Turno");
+        for (java.awt.event.ActionListener al : rollDiceButton.getActionListeners()) {
+            rollDiceButton.removeActionListener(al);
+        }
+        rollDiceButton.addActionListener(e -> rollDiceButton.setEnabled(controller.stepReplay()));
+        rollDiceButton.setEnabled(true);
+        manualDiceButton.setEnabled(false);
+        saveGameButton.setEnabled(false);
     }
 
     /**
      * Reseta os botões para o estado inicial de um turno.
      */
     private void resetButtonsForNewTurn() {
+        if (controller.isReplaying()) {
+            return; // os botões da reprodução não mudam a cada turno
+        }
         rollDiceButton.setText("Rolar Dados");
         
         // Remove listeners antigos
@@ -176,31 +219,104 @@ public class BoardFrame extends JFrame implements Observer {
                 eliminatePlayer();
             }
         });
+        
+        // Ctrl+Z / Ctrl+Y para desfazer e refazer
+        boardPanel.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
+                  .put(KeyStroke.getKeyStroke("ctrl Z"), "undo");
+        boardPanel.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
+                  .put(KeyStroke.getKeyStroke("ctrl Y"), "redo");
+        
+        boardPanel.getActionMap().put("undo", new AbstractAction() {
+            private static final long serialVersionUID = 1L;
+            
+            @Override
+            public void actionPerformed(java.awt.event.ActionEvent e) {
+                undo();
+            }
+        });
+        boardPanel.getActionMap().put("redo", new AbstractAction() {
+            private static final long serialVersionUID = 1L;
+            
+            @Override
+            public void actionPerformed(java.awt.event.ActionEvent e) {
+                redo();
+            }
+        });
     }
     
     private void buyCurrentProperty() {
         controller.buyCurrentProperty();
-        boardPanel.repaint();
     }
     
     private void buildHouse() {
         controller.buildHouse();
-        boardPanel.repaint();
     }
 
     private void buildHotel() {
         controller.buildHotel();
-        boardPanel.repaint();
     }
     
     private void sellProperty() {
         controller.sellProperty();
-        boardPanel.repaint();
     }
     
     private void eliminatePlayer() {
         controller.eliminateCurrentPlayer();
-        boardPanel.repaint();
+    }
+    
+    private void undo() {
+        if (controller.undo()) {
+            refreshTurnButtons();
+        }
+    }
+    
+    private void redo() {
+        if (controller.redo()) {
+            refreshTurnButtons();
+        }
+    }
+    
+    /**
+     * Depois de desfazer/refazer, o turno pode ter voltado a antes ou depois
+     * da rolagem, ou até para o jogador anterior
+     */
+    private void refreshTurnButtons() {
+        if (controller.hasDiceRolled()) {
+            toggleButtonsAfterRoll();
+        } else {
+            resetButtonsForNewTurn();
+        }
+        lastPlayerName = gameState.getCurrentPlayerName();
+        undoButton.setEnabled(controller.canUndo());
+        redoButton.setEnabled(controller.canRedo());
+    }
+    
+    /**
+     * Se a vez é de um bot, desliga os botões de jogada e pede a rolagem
+     * dele ao controller; quando ela termina, confere de novo (dupla, ou o
+     * próximo jogador também é bot)
+     */
+    private void playBotIfNeeded() {
+        if (!controller.isCurrentPlayerBot()) {
+            return;
+        }
+        rollDiceButton.setEnabled(false);
+        manualDiceButton.setEnabled(false);
+        controller.playBotStep(this::later, () -> {
+            if (!controller.isGameOver()) {
+                refreshTurnButtons();
+            }
+            playBotIfNeeded();
+        });
+    }
+    
+    /**
+     * Roda a tarefa na EDT depois da pausa dos bots
+     */
+    private void later(Runnable task) {
+        Timer timer = new Timer(BOT_DELAY_MS, e -> task.run());
+        timer.setRepeats(false);
+        timer.start();
     }
     
     private void saveGame() {
@@ -237,10 +353,8 @@ public class BoardFrame extends JFrame implements Observer {
             java.io.File selectedFile = fileChooser.getSelectedFile();
             String filePath = selectedFile.getAbsolutePath();
             
-            // Ensure .txt extension
-            if (!filePath.toLowerCase().endsWith(".txt")) {
-                filePath += ".txt";
-            }
+            // Ensure .txt or .bin extension (the format follows the extension)
+            filePath = SaveFileManager.ensureSaveExtension(filePath, fileChooser.getFileFilter());
             
             // Try to save
             boolean saveSuccess = controller.saveGame(filePath);
@@ -357,8 +471,13 @@ public class BoardFrame extends JFrame implements Observer {
     
     @Override
     public void update(Observable o, Object arg) {
-        // Quando GameState notifica, redesenhar
-        boardPanel.repaint();
+        // O histórico e a lista de jogadores têm seus próprios painéis
+        if (!GameState.affects(arg, BOARD_CHANGES)) {
+            return;
+        }
+        
+        // Quando GameState notifica, redesenhar só o que mudou
+        boardPanel.repaintChanges(arg);
         
         if (controller.isGameOver()) {
            if (!gameOverShown) {
@@ -376,6 +495,8 @@ public class BoardFrame extends JFrame implements Observer {
                 if (manualDiceButton != null) manualDiceButton.setEnabled(false);
                 if (saveGameButton != null) saveGameButton.setEnabled(false);
                 if (exitGameButton != null) exitGameButton.setEnabled(false);
+                undoButton.setEnabled(false);
+                redoButton.setEnabled(false);
                 
                 // Marca que já mostrou para não entrar aqui de novo
                 gameOverShown = true;
@@ -384,7 +505,7 @@ public class BoardFrame extends JFrame implements Observer {
         }
         
         // Update Save Game button state based on dice roll
-        if (saveGameButton != null) {
+        if (saveGameButton != null && !controller.isReplaying()) {
             boolean canSave = controller.canSaveGame();
             saveGameButton.setEnabled(canSave);
             if (canSave) {
@@ -394,12 +515,16 @@ public class BoardFrame extends JFrame implements Observer {
             }
         }
         
+        undoButton.setEnabled(controller.canUndo());
+        redoButton.setEnabled(controller.canRedo());
+        
         //logica para garantir botoes corretos a cada turno
         String currentPlayer = gameState.getCurrentPlayerName();
         if (currentPlayer != null && !currentPlayer.equals(lastPlayerName)) {
             resetButtonsForNewTurn();
             lastPlayerName = currentPlayer;
         }
+        playBotIfNeeded();
 
         // Verificar fim de jogo
     }
@@ -4,20 +4,47 @@ import controller.GameState;
 import controller.GameController;
 import model.core.entities.ModelFacade.PropertyInfo;
 import model.core.entities.ModelFacade.PlayerStatusInfo;
+import model.simulation.PurchaseAdvice;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.File;
-import java.io.IOException;
 import java.util.*;
 
 public class BoardPanel extends JPanel {
     private static final long serialVersionUID = 1L;
     
+    private static final int BOARD_SIZE = 700;
+    private static final int PAWN_SIZE = 30;
+    
+    // Memória máxima das imagens de carta em cache (cerca de 16 cartas);
+    // pode ser mudada com -Dbancoimobiliario.cardCacheBytes=...
+    private static final long CARD_CACHE_BYTES = Long.getLong("bancoimobiliario.cardCacheBytes", 4L * 1024 * 1024);
+    
+    // Regiões da tela redesenhadas de forma independente
+    private static final Rectangle BOARD_REGION = new Rectangle(0, 0, BOARD_SIZE, BOARD_SIZE);
+    private static final Rectangle DICE_REGION = new Rectangle(240, 290, 180, 80);
+    private static final Rectangle CARD_REGION = new Rectangle(BOARD_SIZE, 0, 300, BOARD_SIZE);
+    private static final Rectangle INFO_REGION = new Rectangle(0, BOARD_SIZE, 1000, 100);
+    
+    // Cor do overlay de cada jogador (baseado na cor do pião), semi-transparente
+    private static final Map<String, Color> OWNER_COLORS;
+    private static final Color UNKNOWN_OWNER_COLOR = new Color(200, 200, 200, 100);
+    static {
+        Map<String, Color> colors = new HashMap<>();
+        colors.put("Vermelho", new Color(255, 0, 0, 100));
+        colors.put("Azul", new Color(0, 0, 255, 100));
+        colors.put("Laranja", new Color(200, 125, 0, 100));
+        colors.put("Amarelo", new Color(255, 200, 0, 100));
+        colors.put("Roxo", new Color(128, 0, 128, 100));
+        colors.put("Verde", new Color(0, 128, 0, 100));
+        OWNER_COLORS = Collections.unmodifiableMap(colors);
+    }
+    
     private GameState gameState;
     private GameController controller;
-    private Map<String, BufferedImage> imageCache;
+    private AssetLoader assets;
+    private ImageCache cardImages;
+    private JProgressBar loadingBar;
     private Map<Integer, Point> spaceCoordinates;
     private JButton btnBuyProperty;
     private JButton btnManageProperties;
@@ -25,108 +52,190 @@ public class BoardPanel extends JPanel {
     private JButton btnBuildHotel;
     private JButton btnEliminatePlayer;
     
+    // Camadas em cache: tabuleiro já escalado (fixo) e tabuleiro + donos,
+    // refeita só quando a versão de propriedade muda
+    private BufferedImage boardLayer;
+    private BufferedImage staticLayer;
+    private long staticLayerVersion = -1;
+    
+    // Onde cada pião foi desenhado na última pintura (índice do jogador -> área)
+    private Map<Integer, Rectangle> paintedPawns = new HashMap<>();
+    // Se os dados já tinham sido rolados quando a carta foi desenhada (os botões dependem disso)
+    private boolean paintedDiceRolled;
+    
+    // Medição do tempo até o primeiro quadro (com -Dbancoimobiliario.timing=true)
+    private static final boolean REPORT_TIMING = Boolean.getBoolean("bancoimobiliario.timing");
+    private final long createdNanos = System.nanoTime();
+    private boolean firstFrameReported;
+    
     public BoardPanel(GameState gameState, GameController controller) {
         this.gameState = gameState;
         this.controller = controller;
-        this.imageCache = new HashMap<>();
         this.spaceCoordinates = new HashMap<>();
         
         setLayout(null); //serve para posicionar botoes manualmente se necessario
-        loadImages();
         initializeSpaceCoordinates();
         initializeButtons();
+        initializeLoadingBar();
+        loadImages();
+        if (controller != null) {
+            // A estimativa fica pronta numa thread do PurchaseAdvisor
+            controller.setAdviceListener(() -> SwingUtilities.invokeLater(() -> repaint(CARD_REGION)));
+        }
 
         setPreferredSize(new Dimension(1000, 800));  // Máximo 1280x800 do enunciado
         setBackground(Color.WHITE);
     }
     
+    /**
+     * Inicia a leitura das imagens em segundo plano. Até cada imagem ficar
+     * pronta o painel desenha um substituto no lugar dela. Tabuleiro, piões
+     * e dados são lidos de uma vez; as cartas só quando (ou pouco antes de)
+     * aparecerem, em um cache limitado por memória.
+     */
     private void loadImages() {
-        try {
-            // Carregar tabuleiro
-            imageCache.put("tabuleiro", ImageIO.read(
-                new File("assets/images/tabuleiro.png")));
-            
-            // Carregar piões (6 jogadores possíveis)
-            for (int i = 0; i <= 5; i++) {
-                imageCache.put("pin" + i, ImageIO.read(
-                    new File("assets/images/pinos/pin" + i + ".png")));
-            }
-            
-            // Carregar dados
-            for (int i = 1; i <= 6; i++) {
-                imageCache.put("die" + i, ImageIO.read(
-                    new File("assets/images/dados/die_face_" + i + ".png")));
-            }
-            
-            // Carregar imagens dos territórios
-            // Mapeamento: nome no jogo -> nome do arquivo
-            Map<String, String> territoryMap = new HashMap<>();
-            territoryMap.put("Leblon", "Leblon");
-            territoryMap.put("Av. Presidente Vargas", "Av. Presidente Vargas");
-            territoryMap.put("Av. Nossa Sra. De Copacabana", "Av. Nossa S. de Copacabana");
-            territoryMap.put("Av. Brigadeiro Faria Lima", "Av. Brigadero Faria Lima");
-            territoryMap.put("Av. Rebouças", "Av. Rebouças");
-            territoryMap.put("Av. 9 de Julho", "Av. 9 de Julho");
-            territoryMap.put("Av. Europa", "Av. Europa");
-            territoryMap.put("Rua Augusta", "Rua Augusta");
-            territoryMap.put("Av. Pacaembú", "Av. Pacaembú");
-            territoryMap.put("Interlagos", "Interlagos");
-            territoryMap.put("Morumbi", "Morumbi");
-            territoryMap.put("Flamengo", "Flamengo");
-            territoryMap.put("Botafogo", "Botafogo");
-            territoryMap.put("Av. Brasil", "Av. Brasil");
-            territoryMap.put("Av. Paulista", "Av. Paulista");
-            territoryMap.put("Jardim Europa", "Jardim Europa");
-            territoryMap.put("Copacabana", "Copacabana");
-            territoryMap.put("Av. Vieira Souto", "Av. Vieira Souto");
-            territoryMap.put("Av. Atlântica", "Av. Atlântica");
-            territoryMap.put("Ipanema", "Ipanema");
-            territoryMap.put("Jardim Paulista", "Jardim Paulista");
-            territoryMap.put("Brooklin", "Brooklin");
-            
-            for (Map.Entry<String, String> entry : territoryMap.entrySet()) {
-                try {
-                    imageCache.put(entry.getKey(), ImageIO.read(
-                        new File("assets/images/territorios/" + entry.getValue() + ".png")));
-                } catch (IOException e) {
-                    System.err.println("Erro ao carregar território " + entry.getKey() + ": " + e.getMessage());
-                }
-            }
-            
-            // Carregar imagens das companhias (mapeamento manual)
-            Map<String, String> companyMap = new HashMap<>();
-            companyMap.put("Companhia Ferroviária", "company1");
-            companyMap.put("Companhia de Viação", "company2");
-            companyMap.put("Companhia de Táxi", "company3");
-            companyMap.put("Companhia de Navegação", "company4");
-            companyMap.put("Companhia de Aviação", "company5");
-            companyMap.put("Companhia de Táxi Aéreo", "company6");
-            
-            for (Map.Entry<String, String> entry : companyMap.entrySet()) {
-                try {
-                    imageCache.put(entry.getKey(), ImageIO.read(
-                        new File("assets/images/companhias/" + entry.getValue() + ".png")));
-                } catch (IOException e) {
-                    System.err.println("Erro ao carregar companhia " + entry.getKey() + ": " + e.getMessage());
-                }
+        GraphicsConfiguration config = GraphicsEnvironment.isHeadless() ? null
+            : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        assets = new AssetLoader(config);
+        assets.addListener(this::assetLoaded);
+        assets.loadAll(getAssetPaths());
+        
+        cardImages = new ImageCache(config, CARD_CACHE_BYTES);
+        cardImages.registerAll(getCardImagePaths());
+        cardImages.addListener((key, image) -> repaint(CARD_REGION));
+        prefetchCardImages();
+    }
+    
+    /**
+     * Caminho das imagens sempre visíveis, na ordem em que devem ser lidas
+     */
+    private static Map<String, String> getAssetPaths() {
+        Map<String, String> paths = new LinkedHashMap<>();
+        
+        // Tabuleiro
+        paths.put("tabuleiro", "assets/images/tabuleiro.png");
+        
+        // Piões (6 jogadores possíveis)
+        for (int i = 0; i <= 5; i++) {
+            paths.put("pin" + i, "assets/images/pinos/pin" + i + ".png");
+        }
+        
+        // Dados
+        for (int i = 1; i <= 6; i++) {
+            paths.put("die" + i, "assets/images/dados/die_face_" + i + ".png");
+        }
+        
+        return paths;
+    }
+    
+    /**
+     * Caminho das imagens de carta (lidas sob demanda)
+     */
+    private static Map<String, String> getCardImagePaths() {
+        Map<String, String> paths = new HashMap<>();
+        
+        // Imagens dos territórios
+        // Mapeamento: nome no jogo -> nome do arquivo
+        Map<String, String> territoryMap = new HashMap<>();
+        territoryMap.put("Leblon", "Leblon");
+        territoryMap.put("Av. Presidente Vargas", "Av. Presidente Vargas");
+        territoryMap.put("Av. Nossa Sra. De Copacabana", "Av. Nossa S. de Copacabana");
+        territoryMap.put("Av. Brigadeiro Faria Lima", "Av. Brigadero Faria Lima");
+        territoryMap.put("Av. Rebouças", "Av. Rebouças");
+        territoryMap.put("Av. 9 de Julho", "Av. 9 de Julho");
+        territoryMap.put("Av. Europa", "Av. Europa");
+        territoryMap.put("Rua Augusta", "Rua Augusta");
+        territoryMap.put("Av. Pacaembú", "Av. Pacaembú");
+        territoryMap.put("Interlagos", "Interlagos");
+        territoryMap.put("Morumbi", "Morumbi");
+        territoryMap.put("Flamengo", "Flamengo");
+        territoryMap.put("Botafogo", "Botafogo");
+        territoryMap.put("Av. Brasil", "Av. Brasil");
+        territoryMap.put("Av. Paulista", "Av. Paulista");
+        territoryMap.put("Jardim Europa", "Jardim Europa");
+        territoryMap.put("Copacabana", "Copacabana");
+        territoryMap.put("Av. Vieira Souto", "Av. Vieira Souto");
+        territoryMap.put("Av. Atlântica", "Av. Atlântica");
+        territoryMap.put("Ipanema", "Ipanema");
+        territoryMap.put("Jardim Paulista", "Jardim Paulista");
+        territoryMap.put("Brooklin", "Brooklin");
+        
+        for (Map.Entry<String, String> entry : territoryMap.entrySet()) {
+            paths.put(entry.getKey(), "assets/images/territorios/" + entry.getValue() + ".png");
+        }
+        
+        // Imagens das companhias (mapeamento manual)
+        Map<String, String> companyMap = new HashMap<>();
+        companyMap.put("Companhia Ferroviária", "company1");
+        companyMap.put("Companhia de Viação", "company2");
+        companyMap.put("Companhia de Táxi", "company3");
+        companyMap.put("Companhia de Navegação", "company4");
+        companyMap.put("Companhia de Aviação", "company5");
+        companyMap.put("Companhia de Táxi Aéreo", "company6");
+        
+        for (Map.Entry<String, String> entry : companyMap.entrySet()) {
+            paths.put(entry.getKey(), "assets/images/companhias/" + entry.getValue() + ".png");
+        }
+        
+        // Imagens das cartas de sorte (chance1 a chance30)
+        for (int i = 1; i <= 30; i++) {
+            paths.put("chance" + i, "assets/images/sorteReves/chance" + i + ".png");
+        }
+        
+        return paths;
+    }
+    
+    /**
+     * Barra de progresso mostrada enquanto as imagens carregam
+     */
+    private void initializeLoadingBar() {
+        loadingBar = new JProgressBar();
+        loadingBar.setStringPainted(true);
+        loadingBar.setString("Carregando imagens...");
+        loadingBar.setBounds(720, 765, 260, 20);
+        add(loadingBar);
+    }
+    
+    /**
+     * Chamado (na EDT) a cada imagem concluída: atualiza o progresso e
+     * redesenha só a região onde a imagem aparece
+     */
+    private void assetLoaded(String key, BufferedImage image, int loaded, int total) {
+        loadingBar.setMaximum(total);
+        loadingBar.setValue(loaded);
+        loadingBar.setString("Carregando imagens " + loaded + "/" + total);
+        
+        if (key.equals("tabuleiro")) {
+            boardLayer = null;
+            staticLayerVersion = -1; // refaz a camada com a imagem real
+            repaint(BOARD_REGION);
+        } else if (key.startsWith("pin")) {
+            repaint(BOARD_REGION);
+        } else if (key.startsWith("die")) {
+            repaint(DICE_REGION);
+        }
+        
+        if (loaded == total) {
+            if (assets.get("tabuleiro") == null) {
+                boardLayer = null; // troca "Carregando" pelo aviso de falha
+                staticLayerVersion = -1;
+                repaint(BOARD_REGION);
             }
-            
-            // Carregar imagens das cartas de sorte (chance1 a chance30)
-            for (int i = 1; i <= 30; i++) {
-                try {
-                    imageCache.put("chance" + i, ImageIO.read(
-                        new File("assets/images/sorteReves/chance" + i + ".png")));
-                } catch (IOException e) {
-                    System.err.println("Erro ao carregar carta de sorte chance" + i + ": " + e.getMessage());
-                }
+            loadingBar.setVisible(false);
+            assets.shutdown();  // tudo lido: as threads do carregador não servem mais
+            if (REPORT_TIMING) {
+                System.out.println("Imagens carregadas: " + total + " em " + assets.getElapsedMillis() + " ms");
             }
-            
-        } catch (IOException e) {
-            System.err.println("Erro ao carregar imagens: " + e.getMessage());
-            e.printStackTrace();
         }
     }
     
+    /**
+     * Espera o carregamento das imagens (usado por benchmarks)
+     */
+    boolean awaitAssets(long timeoutMillis) throws InterruptedException {
+        return assets.awaitAll(timeoutMillis, java.util.concurrent.TimeUnit.MILLISECONDS);
+    }
+    
     private void initializeSpaceCoordinates() {
         // Dimensões reais do tabuleiro baseadas na imagem
         int border = 6;
@@ -190,151 +299,306 @@ public class BoardPanel extends JPanel {
         }
     }
     
+    /**
+     * Redesenha apenas as regiões afetadas por uma notificação do GameState
+     * (máscara CHANGE_*). Notificações sem máscara redesenham tudo.
+     */
+    public void repaintChanges(Object arg) {
+        if (!(arg instanceof Integer)) {
+            repaint();
+            return;
+        }
+        java.util.List<Rectangle> regions = new ArrayList<>();
+        collectDirtyRegions((Integer) arg, regions);
+        for (Rectangle region : regions) {
+            repaint(region);
+        }
+        
+        int moved = GameState.CHANGE_POSITIONS | GameState.CHANGE_CURRENT_PLAYER | GameState.CHANGE_SPACE;
+        if (((Integer) arg & moved) != 0) {
+            prefetchCardImages();
+        }
+    }
+    
+    /**
+     * Lê antes as cartas que podem aparecer em seguida
+     */
+    private void prefetchCardImages() {
+        if (controller != null) {
+            cardImages.prefetch(controller.getLikelyNextCardImageIds());
+        }
+    }
+    
+    /**
+     * Calcula as áreas da tela que mudam com as alterações da máscara
+     */
+    void collectDirtyRegions(int changes, java.util.List<Rectangle> regions) {
+        if ((changes & GameState.CHANGE_GAME_OVER) != 0) {
+            regions.add(new Rectangle(0, 0, getWidth(), getHeight()));
+            return;
+        }
+        
+        // Mudança de dono: a camada do tabuleiro será refeita
+        if (controller != null && controller.getOwnershipVersion() != staticLayerVersion) {
+            regions.add(BOARD_REGION);
+        }
+        
+        if ((changes & (GameState.CHANGE_POSITIONS | GameState.CHANGE_PLAYER_STATUS)) != 0) {
+            collectMovedPawns(regions);
+        }
+        if ((changes & GameState.CHANGE_DICE) != 0) {
+            regions.add(DICE_REGION);
+        }
+        // A carta e os botões de ação dependem do jogador, da casa e de os
+        // dados já terem sido rolados
+        boolean diceRolledChanged = controller != null && controller.hasDiceRolled() != paintedDiceRolled;
+        if (diceRolledChanged || (changes & (GameState.CHANGE_CURRENT_PLAYER | GameState.CHANGE_SPACE
+                | GameState.CHANGE_ROLL_AGAIN)) != 0) {
+            regions.add(CARD_REGION);
+        }
+        if ((changes & (GameState.CHANGE_CURRENT_PLAYER | GameState.CHANGE_SPACE
+                | GameState.CHANGE_MESSAGE)) != 0) {
+            regions.add(INFO_REGION);
+        }
+    }
+    
+    /**
+     * Adiciona a área antiga e a nova de cada pião que mudou de lugar
+     */
+    private void collectMovedPawns(java.util.List<Rectangle> regions) {
+        Map<Integer, Rectangle> current = computePawnBounds();
+        for (Map.Entry<Integer, Rectangle> entry : paintedPawns.entrySet()) {
+            Rectangle now = current.get(entry.getKey());
+            if (!entry.getValue().equals(now)) {
+                regions.add(entry.getValue());
+            }
+        }
+        for (Map.Entry<Integer, Rectangle> entry : current.entrySet()) {
+            if (!entry.getValue().equals(paintedPawns.get(entry.getKey()))) {
+                regions.add(entry.getValue());
+            }
+        }
+    }
+    
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
+        Rectangle clip = g2d.getClipBounds();
         
         // Anti-aliasing
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, 
                              RenderingHints.VALUE_ANTIALIAS_ON);
         
-        // 1. Desenhar tabuleiro
-        drawBoard(g2d);
-        
-        // 2. Desenhar overlays de propriedades (ownership)
-        drawPropertyOwnershipOverlays(g2d);
+        // 1-2. Tabuleiro e overlays de propriedades (camada em cache)
+        if (isDirty(clip, BOARD_REGION)) {
+            g2d.drawImage(getStaticLayer(), 0, 0, null);
+        }
         
         // 3. Desenhar piões
         drawPawns(g2d);
         
         // 4. Desenhar dados
-        drawDice(g2d);
+        if (isDirty(clip, DICE_REGION)) {
+            drawDice(g2d);
+        }
         
         // 5. Desenhar informações do jogador
-        drawPlayerInfo(g2d);
+        if (isDirty(clip, INFO_REGION)) {
+            drawPlayerInfo(g2d);
+        }
         
-        // 6. Desenhar carta da propriedade atual
-        drawCurrentPropertyCard(g2d);
+        // 6-7. Desenhar carta da propriedade atual e carta de sorte (se houver)
+        if (isDirty(clip, CARD_REGION)) {
+            paintedDiceRolled = controller != null && controller.hasDiceRolled();
+            drawCurrentPropertyCard(g2d);
+            drawCurrentLuckCard(g2d);
+        }
         
-        // 7. Desenhar carta de sorte (se houver)
-        drawCurrentLuckCard(g2d);
+        if (REPORT_TIMING && !firstFrameReported) {
+            firstFrameReported = true;
+            System.out.println("Primeiro quadro em " + (System.nanoTime() - createdNanos) / 1_000_000 + " ms ("
+                + assets.getLoadedCount() + "/" + assets.getTotalCount() + " imagens prontas)");
+        }
+    }
+    
+    /**
+     * O painel saiu da janela (ex.: a janela foi fechada): para as threads
+     * de leitura de imagens e de busca antecipada das cartas
+     */
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        assets.shutdown();
+        cardImages.shutdown();
+    }
+    
+    private static boolean isDirty(Rectangle clip, Rectangle region) {
+        return clip == null || clip.intersects(region);
+    }
+    
+    /**
+     * Retorna o tabuleiro com os overlays de donos, refazendo a camada apenas
+     * quando alguma propriedade mudou de dono
+     */
+    private BufferedImage getStaticLayer() {
+        long version = controller != null ? controller.getOwnershipVersion() : 0;
+        if (staticLayer == null || version != staticLayerVersion) {
+            if (staticLayer == null) {
+                staticLayer = createLayer(Transparency.OPAQUE);
+            }
+            Graphics2D g2d = staticLayer.createGraphics();
+            try {
+                g2d.drawImage(getBoardLayer(), 0, 0, null);
+                drawPropertyOwnershipOverlays(g2d);
+            } finally {
+                g2d.dispose();
+            }
+            staticLayerVersion = version;
+        }
+        return staticLayer;
+    }
+    
+    /**
+     * Retorna o tabuleiro já escalado para 700x700 (escalado uma única vez)
+     */
+    private BufferedImage getBoardLayer() {
+        if (boardLayer == null) {
+            boardLayer = createLayer(Transparency.OPAQUE);
+            Graphics2D g2d = boardLayer.createGraphics();
+            try {
+                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                                     RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2d.setColor(getBackground());
+                g2d.fillRect(0, 0, BOARD_SIZE, BOARD_SIZE);
+                drawBoard(g2d);
+            } finally {
+                g2d.dispose();
+            }
+        }
+        return boardLayer;
+    }
+    
+    /**
+     * Cria uma imagem no formato da tela (quando há uma), para que o desenho
+     * seja uma cópia direta sem conversão de pixels
+     */
+    private BufferedImage createLayer(int transparency) {
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        if (config != null) {
+            return config.createCompatibleImage(BOARD_SIZE, BOARD_SIZE, transparency);
+        }
+        int type = transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        return new BufferedImage(BOARD_SIZE, BOARD_SIZE, type);
     }
     
     private void drawBoard(Graphics2D g2d) {
-        BufferedImage boardImage = imageCache.get("tabuleiro");
+        BufferedImage boardImage = assets.get("tabuleiro");
         if (boardImage != null) {
             // Desenhar imagem no tamanho exato do painel
-            g2d.drawImage(boardImage, 0, 0, 700, 700, null);
+            g2d.drawImage(boardImage, 0, 0, BOARD_SIZE, BOARD_SIZE, null);
         } else {
-            // Fallback se imagem não carregar
+            // Substituto enquanto a imagem carrega (ou se não carregar)
             g2d.setColor(Color.LIGHT_GRAY);
-            g2d.fillRect(0, 0, 700, 700);
+            g2d.fillRect(0, 0, BOARD_SIZE, BOARD_SIZE);
             g2d.setColor(Color.BLACK);
-            g2d.drawString("Tabuleiro não carregado", 300, 350);
+            g2d.drawString(assets.isDone() ? "Tabuleiro não carregado" : "Carregando tabuleiro...", 300, 350);
         }
     }
     
     private void drawPropertyOwnershipOverlays(Graphics2D g2d) {
         if (controller == null) return;
         
-        // Mapa de cores para cada jogador (baseado na cor do pião)
-        Map<String, Color> colorMap = new HashMap<>();
-        colorMap.put("Vermelho", new Color(255, 0, 0, 100));      // Vermelho semi-transparente
-        colorMap.put("Azul", new Color(0, 0, 255, 100));          // Azul semi-transparente
-        colorMap.put("Laranja", new Color(200, 125, 0, 100));     // Laranja semi-transparente
-        colorMap.put("Amarelo", new Color(255, 200, 0, 100));     // Amarelo semi-transparente
-        colorMap.put("Roxo", new Color(128, 0, 128, 100));        // Roxo semi-transparente
-        colorMap.put("Verde", new Color(0, 128, 0, 100));         // Verde semi-transparente
-        
-        // Dimensões das casas
-        int horizontalWidth = 54;
-        int verticalHeight = 54;
-        int cornerSize = 94;
-        
         // Obter mapa de propriedades com donos
         Map<Integer, String> propertiesWithOwners = controller.getAllPropertiesWithOwners();
         if (propertiesWithOwners == null || propertiesWithOwners.isEmpty()) {
             return;
         }
         
-        // Desenhar overlays para cada espaço
-        for (int i = 0; i < 40; i++) {
-            Point coords = spaceCoordinates.get(i);
-            if (coords == null) continue;
-            
-            // Determinar tamanho e offset do overlay baseado na posição
-            int width = horizontalWidth;
-            int height = verticalHeight;
-            int offsetX = 0;
-            int offsetY = 0;
-            
-            // Cantos têm tamanho diferente
-            if (i == 0 || i == 10 || i == 20 || i == 30) {
-                width = cornerSize;
-                height = cornerSize;
-            }
-            // Linhas horizontais (1-9, 21-29)
-            else if (i >= 1 && i <= 9) {
-                width = horizontalWidth;
-                height = cornerSize;
-                // Offset para alinhar com a propriedade (não com o canto)
-                offsetY = (cornerSize - verticalHeight) / 2 - 3;
-                offsetX = 18-i*2;
-            }
-            else if (i >= 21 && i <= 29) {
-                width = horizontalWidth;
-                height = cornerSize;
-                // Offset para alinhar com a propriedade (não com o canto)
-                offsetY = 0;
-                offsetX = (int)((i-20)*1.5);
-            }
-            // Linhas verticais (11-19, 31-39)
-            else if (i >= 11 && i <= 19) {
-                width = cornerSize;
-                height = verticalHeight;
-                // Offset para alinhar com a propriedade (não com o canto)
-                offsetX = 0;
-                offsetY = (int)((19-i)*1.7);
-            }
-            else if (i >= 31 && i <= 39) {
-                width = cornerSize;
-                height = verticalHeight;
-                // Offset para alinhar com a propriedade (não com o canto)
-                offsetX = 10;
-                offsetY = (int)((i-30)*1.6);
-            }
+        // Desenhar overlays para cada propriedade com dono
+        for (Map.Entry<Integer, String> entry : propertiesWithOwners.entrySet()) {
+            String ownerName = entry.getValue();
+            if (ownerName == null) continue;
             
-            // Verificar se há dono para esta propriedade
-            String ownerName = propertiesWithOwners.get(i);
+            Rectangle bounds = getOverlayBounds(entry.getKey());
+            if (bounds == null) continue;
             
-            if (ownerName != null) {
-                // Propriedade tem dono - desenhar overlay com cor do dono
-                String ownerColor = controller.getPlayerColorByName(ownerName);
-                Color overlayColor = colorMap.getOrDefault(ownerColor, new Color(200, 200, 200, 100));
-                g2d.setColor(overlayColor);
-                g2d.fillRect(coords.x + offsetX, coords.y + offsetY, width, height);
-            }
+            String ownerColor = controller.getPlayerColorByName(ownerName);
+            g2d.setColor(OWNER_COLORS.getOrDefault(ownerColor, UNKNOWN_OWNER_COLOR));
+            g2d.fill(bounds);
         }
     }
     
+    /**
+     * Área do overlay de uma casa, ajustada à arte do tabuleiro
+     */
+    private Rectangle getOverlayBounds(int i) {
+        Point coords = spaceCoordinates.get(i);
+        if (coords == null) return null;
+        
+        // Dimensões das casas
+        int horizontalWidth = 54;
+        int verticalHeight = 54;
+        int cornerSize = 94;
+        
+        // Determinar tamanho e offset do overlay baseado na posição
+        int width = horizontalWidth;
+        int height = verticalHeight;
+        int offsetX = 0;
+        int offsetY = 0;
+        
+        // Cantos têm tamanho diferente
+        if (i == 0 || i == 10 || i == 20 || i == 30) {
+            width = cornerSize;
+            height = cornerSize;
+        }
+        // Linhas horizontais (1-9, 21-29)
+        else if (i >= 1 && i <= 9) {
+            width = horizontalWidth;
+            height = cornerSize;
+            // Offset para alinhar com a propriedade (não com o canto)
+            offsetY = (cornerSize - verticalHeight) / 2 - 3;
+            offsetX = 18-i*2;
+        }
+        else if (i >= 21 && i <= 29) {
+            width = horizontalWidth;
+            height = cornerSize;
+            // Offset para alinhar com a propriedade (não com o canto)
+            offsetY = 0;
+            offsetX = (int)((i-20)*1.5);
+        }
+        // Linhas verticais (11-19, 31-39)
+        else if (i >= 11 && i <= 19) {
+            width = cornerSize;
+            height = verticalHeight;
+            // Offset para alinhar com a propriedade (não com o canto)
+            offsetX = 0;
+            offsetY = (int)((19-i)*1.7);
+        }
+        else if (i >= 31 && i <= 39) {
+            width = cornerSize;
+            height = verticalHeight;
+            // Offset para alinhar com a propriedade (não com o canto)
+            offsetX = 10;
+            offsetY = (int)((i-30)*1.6);
+        }
+        
+        return new Rectangle(coords.x + offsetX, coords.y + offsetY, width, height);
+    }
+    
     private void drawPawns(Graphics2D g2d) {
-        Map<Integer, Integer> playerPositions = gameState.getAllPlayerPositions();
+        paintedPawns = computePawnBounds();
+        if (paintedPawns.isEmpty()) {
+            return; // Ainda não carregou
+        }
         
         java.util.List<PlayerStatusInfo> allStatus = gameState.getAllPlayerStatusInfo();//TODO linha feia, importar corretamente depois para cada pacote
+        Rectangle clip = g2d.getClipBounds();
         
-        if (playerPositions == null || playerPositions.isEmpty() || 
-                allStatus == null || allStatus.isEmpty() ||
-                playerPositions.size() != allStatus.size()) {
-                return; // Ainda não carregou
-            }
-        
-        for (Map.Entry<Integer, Integer> entry : playerPositions.entrySet()) {
+        for (Map.Entry<Integer, Rectangle> entry : paintedPawns.entrySet()) {
             int playerIndex = entry.getKey();
-            int spaceIndex = entry.getValue();
-            
-            Point coords = spaceCoordinates.get(spaceIndex);
-            if (coords == null) continue;
+            Rectangle bounds = entry.getValue();
+            if (!isDirty(clip, bounds)) continue;
             
             // Pegar o status do jogador atual (pelo índice)
             model.core.entities.ModelFacade.PlayerStatusInfo playerStatus = allStatus.get(playerIndex);
@@ -346,22 +610,47 @@ public class BoardPanel extends JPanel {
             String pinFilename = getPinFilenameFromColor(colorName);
             
             //  Buscar a imagem correta do cache
-            BufferedImage pinImage = imageCache.get(pinFilename);
+            BufferedImage pinImage = assets.get(pinFilename);
             
             if (pinImage != null) {
-                // Offset para múltiplos piões na mesma casa
-                int offsetX = (playerIndex % 3) * 20;
-                int offsetY = (playerIndex / 3) * 20;
-                
-                g2d.drawImage(pinImage, 
-                              coords.x + offsetX, 
-                              coords.y + offsetY, 
-                              30, 30,  // tamanho do pião
-                              null);
+                g2d.drawImage(pinImage, bounds.x, bounds.y, bounds.width, bounds.height, null);
+            } else {
+                // Substituto: círculo na cor do jogador
+                g2d.setColor(OWNER_COLORS.getOrDefault(colorName, UNKNOWN_OWNER_COLOR));
+                g2d.fillOval(bounds.x, bounds.y, bounds.width, bounds.height);
+                g2d.setColor(Color.BLACK);
+                g2d.drawOval(bounds.x, bounds.y, bounds.width, bounds.height);
             }
         }
     }
     
+    /**
+     * Área de cada pião segundo o estado atual (vazio se ainda não carregou)
+     */
+    private Map<Integer, Rectangle> computePawnBounds() {
+        Map<Integer, Rectangle> bounds = new HashMap<>();
+        Map<Integer, Integer> playerPositions = gameState.getAllPlayerPositions();
+        java.util.List<PlayerStatusInfo> allStatus = gameState.getAllPlayerStatusInfo();
+        
+        if (playerPositions == null || playerPositions.isEmpty() || 
+                allStatus == null || allStatus.isEmpty() ||
+                playerPositions.size() != allStatus.size()) {
+            return bounds;
+        }
+        
+        for (Map.Entry<Integer, Integer> entry : playerPositions.entrySet()) {
+            int playerIndex = entry.getKey();
+            Point coords = spaceCoordinates.get(entry.getValue());
+            if (coords == null) continue;
+            
+            // Offset para múltiplos piões na mesma casa
+            int offsetX = (playerIndex % 3) * 20;
+            int offsetY = (playerIndex / 3) * 20;
+            bounds.put(playerIndex, new Rectangle(coords.x + offsetX, coords.y + offsetY, PAWN_SIZE, PAWN_SIZE));
+        }
+        return bounds;
+    }
+    
     /**
      * Mapeia o nome da cor (em Português) para o nome do arquivo de imagem do pino.
      * Baseado na sua descrição:
@@ -400,12 +689,12 @@ public class BoardPanel extends JPanel {
             return;
         }
         
-        BufferedImage die1 = imageCache.get("die" + diceRoll[0]);
-        BufferedImage die2 = imageCache.get("die" + diceRoll[1]);
+        BufferedImage die1 = assets.get("die" + diceRoll[0]);
+        BufferedImage die2 = assets.get("die" + diceRoll[1]);
         
-        // Posição dos dados (centro do tabuleiro)
-        int diceX = 250;
-        int diceY = 300;
+        // Posição dos dados (centro do tabuleiro, dentro de DICE_REGION)
+        int diceX = DICE_REGION.x + 10;
+        int diceY = DICE_REGION.y + 10;
         int diceSize = 60;
         
         // Desenhar fundo branco semi-transparente
@@ -413,12 +702,22 @@ public class BoardPanel extends JPanel {
         g2d.fillRoundRect(diceX - 10, diceY - 10, 180, 80, 10, 10);
         
         // Desenhar dados
-        if (die1 != null) {
-            g2d.drawImage(die1, diceX, diceY, diceSize, diceSize, null);
-        }
-        if (die2 != null) {
-            g2d.drawImage(die2, diceX + 80, diceY, diceSize, diceSize, null);
+        drawDie(g2d, die1, diceRoll[0], diceX, diceY, diceSize);
+        drawDie(g2d, die2, diceRoll[1], diceX + 80, diceY, diceSize);
+    }
+    
+    private void drawDie(Graphics2D g2d, BufferedImage face, int value, int x, int y, int size) {
+        if (face != null) {
+            g2d.drawImage(face, x, y, size, size, null);
+            return;
         }
+        // Substituto enquanto a imagem carrega: quadrado com o valor
+        g2d.setColor(Color.WHITE);
+        g2d.fillRoundRect(x, y, size, size, 8, 8);
+        g2d.setColor(Color.BLACK);
+        g2d.drawRoundRect(x, y, size, size, 8, 8);
+        g2d.setFont(new Font("Arial", Font.BOLD, 24));
+        g2d.drawString(String.valueOf(value), x + size / 2 - 7, y + size / 2 + 9);
     }
     
     private void drawPlayerInfo(Graphics2D g2d) {
@@ -434,7 +733,7 @@ public class BoardPanel extends JPanel {
         } else {
             g2d.setColor(new Color(240, 240, 240)); // Cinza claro
         }
-        g2d.fillRect(0, 700, 1000, 100);
+        g2d.fill(INFO_REGION);
         
         // Nome do jogador
         g2d.setColor(Color.BLACK);
@@ -520,7 +819,7 @@ public class BoardPanel extends JPanel {
         }
         
         // Tentar carregar imagem da propriedade
-        BufferedImage cardImage = imageCache.get(propertyInfo.name);
+        BufferedImage cardImage = cardImages.get(propertyInfo.name);
         
         int cardX = 720;
         int cardY = 20;
@@ -620,6 +919,59 @@ public class BoardPanel extends JPanel {
                 g2d.drawString("Sua!", cardX + 10, cardY + 155);
             }
         }
+        
+        drawPurchaseAdvice(g2d);
+    }
+    
+    /**
+     * Mostra abaixo dos botões quanto comprar (ou construir) deve render
+     * contra passar, segundo as simulações do PurchaseAdvisor
+     */
+    private void drawPurchaseAdvice(Graphics2D g2d) {
+        PurchaseAdvice advice = controller.getPurchaseAdvice();
+        JButton target = null;
+        if (advice != null) {
+            switch (advice.getChoice()) {
+                case BUY:
+                    target = btnBuyProperty;
+                    break;
+                case HOUSE:
+                    target = btnBuildHouse;
+                    break;
+                case HOTEL:
+                    target = btnBuildHotel;
+                    break;
+            }
+        }
+        btnBuyProperty.setToolTipText(null);
+        btnBuildHouse.setToolTipText(null);
+        btnBuildHotel.setToolTipText(null);
+        if (target == null || !target.isVisible()) {
+            return;
+        }
+        
+        // Abaixo do último botão visível
+        int x = target.getX();
+        int y = 0;
+        for (JButton button : new JButton[]{btnEliminatePlayer, btnManageProperties, btnBuyProperty,
+                                            btnBuildHouse, btnBuildHotel}) {
+            if (button.isVisible()) {
+                y = Math.max(y, button.getY() + button.getHeight());
+            }
+        }
+        
+        long gain = Math.round(advice.getGain());
+        String verdict = gain >= 0 ? "vale a pena" : "melhor passar";
+        g2d.setFont(new Font("Arial", Font.BOLD, 11));
+        g2d.setColor(gain >= 0 ? new Color(0, 130, 0) : Color.RED);
+        g2d.drawString("Simulação: " + verdict, x, y + 15);
+        g2d.setFont(new Font("Arial", Font.PLAIN, 11));
+        g2d.setColor(Color.DARK_GRAY);
+        g2d.drawString(String.format("%+d de patrimônio (±%d)", gain, Math.round(advice.getStandardError())),
+                       x, y + 29);
+        target.setToolTipText("Média de " + advice.getRollouts() + " partidas simuladas: "
+                + Math.round(advice.getActDelta()) + " contra " + Math.round(advice.getPassDelta())
+                + " passando");
     }
 
     private void updateActionButtons(PropertyInfo info, int x, int y) {
@@ -723,7 +1075,7 @@ public class BoardPanel extends JPanel {
                 
             if (confirm == JOptionPane.YES_OPTION) {
                 controller.sellSpecificProperty(propertyName);
-                this.repaint();
+                repaint(CARD_REGION);
             }
         }
     }
@@ -737,7 +1089,7 @@ public class BoardPanel extends JPanel {
         btnBuyProperty.setBackground(new Color(100, 255, 100)); // Verde claro
         btnBuyProperty.addActionListener(e -> {
             controller.buyCurrentProperty();
-            this.repaint(); // Força atualização para esconder o botão quando preciso.
+            repaint(CARD_REGION); // Força atualização para esconder o botão quando preciso.
         });
         add(btnBuyProperty); // Adiciona ao painel
         
@@ -753,7 +1105,7 @@ public class BoardPanel extends JPanel {
         btnBuildHouse.setBackground(new Color(100, 200, 255)); // Azul claro
         btnBuildHouse.addActionListener(e -> {
             controller.buildHouse();
-            this.repaint();
+            repaint(CARD_REGION);
         });
         add(btnBuildHouse);
         
@@ -763,7 +1115,7 @@ public class BoardPanel extends JPanel {
         btnBuildHotel.setBackground(new Color(255, 215, 0)); // Dourado
         btnBuildHotel.addActionListener(e -> {
             controller.buildHotel();
-            this.repaint(); // Atualiza para talvez sumir o botão (limite por turno)
+            repaint(CARD_REGION); // Atualiza para talvez sumir o botão (limite por turno)
         });
         add(btnBuildHotel);
         
@@ -780,7 +1132,7 @@ public class BoardPanel extends JPanel {
                 
             if (confirm == JOptionPane.YES_OPTION) {
                 controller.eliminateCurrentPlayer();
-                this.repaint();
+                repaint(CARD_REGION);
             }
         });
         add(btnEliminatePlayer);
@@ -797,7 +1149,7 @@ public class BoardPanel extends JPanel {
         }
         
         // Tentar carregar imagem da carta de sorte
-        BufferedImage cardImage = imageCache.get(luckCardInfo.imageId);
+        BufferedImage cardImage = cardImages.get(luckCardInfo.imageId);
         
         int cardX = 720;
         int cardY = 20;
@@ -1,9 +1,9 @@
 package view;
 
+import controller.GameLog;
 import controller.GameState;
 import javax.swing.*;
 import java.awt.*;
-import java.util.List;
 import java.util.Observable;
 import java.util.Observer;
 
@@ -13,7 +13,8 @@ public class GameLogPanel extends JPanel implements Observer {
     private GameState gameState;
     private JTextArea logArea;
     private JScrollPane scrollPane;
-    private int lastLogSize = 0;
+    private long nextSequence = 0;   // próxima mensagem do histórico a exibir
+    private int logEpoch;
 
     public GameLogPanel(GameState gameState) {
         this.gameState = gameState;
@@ -50,34 +51,37 @@ public class GameLogPanel extends JPanel implements Observer {
      * Útil quando um jogo é carregado e já tem histórico
      */
     private void loadExistingMessages() {
-        List<String> messages = gameState.getLogMessages();
-        
-        if (!messages.isEmpty()) {
-            // Adiciona todas as mensagens existentes
-            for (String message : messages) {
-                logArea.append("> " + message + "\n\n");
-            }
-            lastLogSize = messages.size();
-            
-            // Rola automaticamente para o final
-            logArea.setCaretPosition(logArea.getDocument().getLength());
-        }
+        logEpoch = gameState.getLog().getEpoch();
+        nextSequence = 0;
+        appendNewMessages();
     }
 
     @Override
     public void update(Observable o, Object arg) {
-        List<String> messages = gameState.getLogMessages();
+        if (!GameState.affects(arg, GameState.CHANGE_LOG)) {
+            return;
+        }
         
-        // Se o tamanho da lista mudou, atualizamos o texto
-        if (messages.size() > lastLogSize) {
-            // Adiciona apenas as mensagens novas para performance
-            for (int i = lastLogSize; i < messages.size(); i++) {
-                logArea.append("> " + messages.get(i) + "\n\n");
-            }
-            lastLogSize = messages.size();
-            
-            // Rola automaticamente para o final (auto-scroll)
-            logArea.setCaretPosition(logArea.getDocument().getLength());
+        // Histórico substituído (partida carregada): recomeça do zero
+        if (gameState.getLog().getEpoch() != logEpoch) {
+            logArea.setText("");
+            loadExistingMessages();
+            return;
         }
+        appendNewMessages();
+    }
+    
+    /**
+     * Adiciona apenas as mensagens posteriores à última exibida
+     */
+    private void appendNewMessages() {
+        GameLog log = gameState.getLog();
+        if (log.getSequence() == nextSequence) {
+            return;
+        }
+        nextSequence = log.readSince(nextSequence, message -> logArea.append("> " + message + "\n\n"));
+        
+        // Rola automaticamente para o final (auto-scroll)
+        logArea.setCaretPosition(logArea.getDocument().getLength());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,222 @@
+package view;
+
+import java.awt.GraphicsConfiguration;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import javax.swing.SwingUtilities;
+
+/**
+ * ImageCache - Cache de imagens lidas sob demanda, limitado por memória
+ *
+ * As imagens são registradas só pelo caminho. get() devolve a imagem se ela
+ * já está em memória; senão agenda a leitura em segundo plano e devolve null,
+ * para a View desenhar um substituto até o aviso de imagem pronta. Quando o
+ * total de bytes passa do orçamento, as imagens usadas há mais tempo (LRU)
+ * são descartadas. prefetch() lê antes as imagens que devem aparecer em
+ * seguida.
+ */
+public class ImageCache {
+
+    /**
+     * Recebe o aviso de cada imagem lida (na EDT)
+     */
+    public interface Listener {
+        void imageLoaded(String key, BufferedImage image);
+    }
+
+    private final GraphicsConfiguration config;
+    private final long budgetBytes;
+    private final ExecutorService pool;
+    private final Map<String, String> paths = new ConcurrentHashMap<>();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // Ordem de acesso: a primeira entrada é a usada há mais tempo
+    private final LinkedHashMap<String, BufferedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param config Configuração da tela para converter as imagens (pode ser null)
+     * @param budgetBytes Memória máxima ocupada pelas imagens em cache
+     */
+    public ImageCache(GraphicsConfiguration config, long budgetBytes) {
+        if (budgetBytes <= 0) {
+            throw new IllegalArgumentException("Orçamento inválido: " + budgetBytes);
+        }
+        this.config = config;
+        this.budgetBytes = budgetBytes;
+        this.pool = Executors.newFixedThreadPool(2, AssetLoader.daemonThreads("image-cache"));
+    }
+
+    /**
+     * Registra onde a imagem está, sem lê-la
+     */
+    public void register(String key, String path) {
+        paths.put(key, path);
+    }
+
+    public void registerAll(Map<String, String> keyToPath) {
+        paths.putAll(keyToPath);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Retorna a imagem se já estiver em memória; senão agenda a leitura
+     *
+     * @return A imagem, ou null enquanto não foi lida (ou se não há imagem com esse nome)
+     */
+    public BufferedImage get(String key) {
+        if (key == null) {
+            return null;
+        }
+        synchronized (this) {
+            BufferedImage image = images.get(key);
+            if (image != null) {
+                hits++;
+                return image;
+            }
+            if (paths.containsKey(key)) {
+                misses++;
+            }
+        }
+        schedule(key);
+        return null;
+    }
+
+    /**
+     * Lê antes as imagens indicadas (as que já estão em memória só são
+     * marcadas como usadas recentemente)
+     */
+    public void prefetch(Collection<String> keys) {
+        for (String key : keys) {
+            synchronized (this) {
+                if (images.get(key) != null) {
+                    continue;
+                }
+            }
+            schedule(key);
+        }
+    }
+
+    /**
+     * Lê a imagem na hora (fora da EDT), guardando no cache
+     */
+    public BufferedImage load(String key) throws IOException {
+        synchronized (this) {
+            BufferedImage image = images.get(key);
+            if (image != null) {
+                hits++;
+                return image;
+            }
+        }
+        String path = paths.get(key);
+        if (path == null) {
+            return null;
+        }
+        BufferedImage image = AssetLoader.decode(path, config);
+        store(key, image);
+        return image;
+    }
+
+    private void schedule(String key) {
+        String path = paths.get(key);
+        if (path == null || !pending.add(key)) {
+            return;
+        }
+        try {
+            pool.execute(() -> {
+                try {
+                    BufferedImage image = AssetLoader.decode(path, config);
+                    store(key, image);
+                    if (!listeners.isEmpty()) {
+                        SwingUtilities.invokeLater(() -> {
+                            for (Listener listener : listeners) {
+                                listener.imageLoaded(key, image);
+                            }
+                        });
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // Não tenta de novo: a View segue com o substituto
+                    System.err.println("Erro ao carregar imagem " + key + ": " + e.getMessage());
+                    paths.remove(key);
+                } finally {
+                    pending.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(key);
+        }
+    }
+
+    private synchronized void store(String key, BufferedImage image) {
+        BufferedImage previous = images.put(key, image);
+        if (previous != null) {
+            usedBytes -= sizeOf(previous);
+        }
+        usedBytes += sizeOf(image);
+
+        // Descarta as menos usadas, mas nunca a que acabou de entrar
+        Iterator<Map.Entry<String, BufferedImage>> it = images.entrySet().iterator();
+        while (usedBytes > budgetBytes && it.hasNext()) {
+            Map.Entry<String, BufferedImage> eldest = it.next();
+            if (eldest.getKey().equals(key)) {
+                break;
+            }
+            usedBytes -= sizeOf(eldest.getValue());
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Bytes ocupados pelos pixels da imagem
+     */
+    static long sizeOf(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    public synchronized boolean contains(String key) {
+        return images.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return images.size();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Interrompe as leituras pendentes
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
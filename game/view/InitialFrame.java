@@ -2,6 +2,10 @@ package view;
 
 import controller.GameController;
 import controller.SaveFileManager;
+import model.simulation.AlwaysBuyPolicy;
+import model.simulation.CashThresholdPolicy;
+import model.simulation.ColorSetPolicy;
+import model.simulation.DecisionPolicy;
 import javax.swing.*;
 import java.awt.*;
 import java.io.File;
@@ -15,11 +19,53 @@ public class InitialFrame extends JFrame {
     private JComboBox<Integer> numPlayersCombo;
     private JTextField[] nameFields;
     private JComboBox<String>[] colorCombos;
+    private List<JComboBox<String>> controlCombos;
     private JPanel playerConfigPanel;
     
     public InitialFrame() {
         this.controller = new GameController();
         initComponents();
+        checkAutosave();
+    }
+    
+    /**
+     * Procura uma partida interrompida (salvamento automático) sem travar a
+     * janela e, se houver, pergunta se o jogador quer continuá-la
+     */
+    private void checkAutosave() {
+        new SwingWorker<Boolean, Void>() {
+            @Override
+            protected Boolean doInBackground() {
+                return controller.findAutosave();
+            }
+            
+            @Override
+            protected void done() {
+                boolean found;
+                try {
+                    found = get();
+                } catch (Exception e) {
+                    found = false;
+                }
+                // Se uma partida já foi iniciada ou carregada, não pergunta mais
+                if (!found || !isDisplayable()) {
+                    return;
+                }
+                int choice = JOptionPane.showConfirmDialog(InitialFrame.this,
+                    "Foi encontrada uma partida que não terminou (turno " + controller.getAutosaveTurn() + ").\n" +
+                    "Deseja continuá-la?",
+                    "Partida Interrompida",
+                    JOptionPane.YES_NO_OPTION,
+                    JOptionPane.QUESTION_MESSAGE);
+                if (choice == JOptionPane.YES_OPTION && controller.resumeAutosave()) {
+                    BoardFrame boardFrame = new BoardFrame(controller);
+                    boardFrame.setVisible(true);
+                    dispose();
+                } else if (choice == JOptionPane.NO_OPTION) {
+                    controller.discardAutosave();
+                }
+            }
+        }.execute();
     }
     
     private void initComponents() {
@@ -78,6 +124,15 @@ public class InitialFrame extends JFrame {
         loadButton.addActionListener(e -> loadGame());
         mainPanel.add(loadButton);
         
+        mainPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        
+        // Botão reproduzir gravação
+        JButton replayButton = new JButton("Reproduzir Gravação");
+        replayButton.setFont(new Font("Arial", Font.BOLD, 16));
+        replayButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+        replayButton.addActionListener(e -> replayRecording());
+        mainPanel.add(replayButton);
+        
         // Scroll pane para caso tenha muitos jogadores
         JScrollPane scrollPane = new JScrollPane(mainPanel);
         scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
@@ -90,8 +145,10 @@ public class InitialFrame extends JFrame {
         
         nameFields = new JTextField[numPlayers];
         colorCombos = new JComboBox[numPlayers];
+        controlCombos = new ArrayList<>();
         
         String[] availableColors = {"Vermelho", "Azul", "Verde", "Amarelo", "Roxo", "Laranja"};
+        String[] controls = {"Humano", "Bot guloso", "Bot reserva de caixa", "Bot grupos de cor"};
         
         for (int i = 0; i < numPlayers; i++) {
             JPanel playerPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
@@ -106,11 +163,17 @@ public class InitialFrame extends JFrame {
             colorCombos[i] = new JComboBox<>(availableColors);
             colorCombos[i].setSelectedIndex(i);
             
+            // Quem joga: humano ou um dos bots
+            JComboBox<String> controlCombo = new JComboBox<>(controls);
+            controlCombos.add(controlCombo);
+            
             playerPanel.add(nameLabel);
             playerPanel.add(nameFields[i]);
             playerPanel.add(Box.createRigidArea(new Dimension(20, 0)));
             playerPanel.add(colorLabel);
             playerPanel.add(colorCombos[i]);
+            playerPanel.add(Box.createRigidArea(new Dimension(20, 0)));
+            playerPanel.add(controlCombo);
             
             playerConfigPanel.add(playerPanel);
         }
@@ -128,6 +191,7 @@ public class InitialFrame extends JFrame {
         // Coletar nomes e cores
         List<String> names = new ArrayList<>();
         List<String> colors = new ArrayList<>();
+        List<DecisionPolicy> seatBots = new ArrayList<>();
         Set<String> usedColors = new HashSet<>();
         
         for (int i = 0; i < nameFields.length; i++) {
@@ -146,10 +210,11 @@ public class InitialFrame extends JFrame {
             }
             usedColors.add(color);
             colors.add(color);
+            seatBots.add(createBot(controlCombos.get(i).getSelectedIndex()));
         }
         
         // Iniciar jogo através do controller
-        controller.startNewGame(names, colors);
+        controller.startNewGame(names, colors, seatBots);
         
         // Abrir janela do tabuleiro
         BoardFrame boardFrame = new BoardFrame(controller);
@@ -159,6 +224,22 @@ public class InitialFrame extends JFrame {
         this.dispose();
     }
     
+    /**
+     * Bot escolhido no combo de um jogador (null para humano)
+     */
+    private static DecisionPolicy createBot(int choice) {
+        switch (choice) {
+            case 1:
+                return new AlwaysBuyPolicy();
+            case 2:
+                return new CashThresholdPolicy();
+            case 3:
+                return new ColorSetPolicy();
+            default:
+                return null;
+        }
+    }
+    
     private boolean validateInput() {
         // Verificar se todos os nomes estão preenchidos
         for (int i = 0; i < nameFields.length; i++) {
@@ -175,17 +256,12 @@ public class InitialFrame extends JFrame {
     }
     
     private void loadGame() {
-        // Create file chooser configured for saves directory
-        JFileChooser fileChooser = SaveFileManager.createLoadChooser();
-        
-        // Show open dialog
-        int result = fileChooser.showOpenDialog(this);
+        // List of saves from the index (with a fallback file chooser)
+        String selectedPath = LoadGameDialog.choose(this);
         
-        if (result == JFileChooser.APPROVE_OPTION) {
-            File selectedFile = fileChooser.getSelectedFile();
-            
+        if (selectedPath != null) {
             // Try to load the game
-            boolean loadSuccess = controller.loadGame(selectedFile.getAbsolutePath());
+            boolean loadSuccess = controller.loadGame(selectedPath);
             
             if (loadSuccess) {
                 // Open board frame with loaded game
@@ -206,6 +282,26 @@ public class InitialFrame extends JFrame {
         // If user cancels, do nothing (dialog closes automatically)
     }
     
+    private void replayRecording() {
+        JFileChooser fileChooser = SaveFileManager.createRecordingChooser();
+        
+        if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            File selectedFile = fileChooser.getSelectedFile();
+            
+            if (controller.startReplay(selectedFile.getAbsolutePath())) {
+                // O tabuleiro abre no modo de reprodução
+                BoardFrame boardFrame = new BoardFrame(controller);
+                boardFrame.setVisible(true);
+                this.dispose();
+            } else {
+                JOptionPane.showMessageDialog(this,
+                    "Erro ao abrir a gravação.\nVerifique se o arquivo é uma gravação (.rec) válida.",
+                    "Erro ao Reproduzir",
+                    JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+    
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
             InitialFrame frame = new InitialFrame();
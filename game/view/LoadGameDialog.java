@@ -0,0 +1,223 @@
+package view;
+
+import controller.SaveFileManager;
+import controller.SaveIndex;
+import model.core.entities.SaveSummary;
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * LoadGameDialog - Lista dos saves para escolher qual carregar
+ *
+ * Mostra jogadores, saldos, de quem é a vez e a data de cada save, lidos do
+ * índice (SaveIndex) e não dos arquivos. A lista aparece na hora com o que
+ * está no índice, é conferida com a pasta em segundo plano e acompanha a
+ * pasta enquanto o diálogo está aberto.
+ */
+public class LoadGameDialog extends JDialog {
+    private static final long serialVersionUID = 1L;
+
+    private final SaveIndex index;
+    private final SavesTableModel tableModel = new SavesTableModel();
+    private final JTable table = new JTable(tableModel);
+    private final JButton loadButton = new JButton("Carregar");
+    private String selectedPath;
+
+    private LoadGameDialog(Frame owner) {
+        super(owner, "Carregar Jogo Salvo", true);
+        this.index = SaveFileManager.getSaveIndex();
+        initComponents();
+
+        // O que já está no índice aparece assim que é lido, depois a pasta é conferida
+        tableModel.setSaves(index.getSaves());
+        refreshInBackground();
+
+        index.setListener(() -> SwingUtilities.invokeLater(() -> tableModel.setSaves(index.getSaves())));
+        try {
+            index.startWatching();
+        } catch (IOException e) {
+            // Sem acompanhamento: a lista fica como estava ao abrir
+        }
+    }
+
+    /**
+     * Abre o diálogo e espera a escolha
+     *
+     * @param owner Janela dona do diálogo
+     * @return Caminho do save escolhido, ou null se o jogador cancelou
+     */
+    public static String choose(Frame owner) {
+        LoadGameDialog dialog = new LoadGameDialog(owner);
+        dialog.setVisible(true);
+        return dialog.selectedPath;
+    }
+
+    private void initComponents() {
+        setLayout(new BorderLayout());
+
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.setFillsViewportHeight(true);
+        table.getColumnModel().getColumn(0).setPreferredWidth(180);
+        table.getColumnModel().getColumn(2).setPreferredWidth(220);
+        table.getSelectionModel().addListSelectionListener(e ->
+            loadButton.setEnabled(table.getSelectedRow() >= 0));
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2 && table.getSelectedRow() >= 0) {
+                    loadSelected();
+                }
+            }
+        });
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setPreferredSize(new Dimension(720, 300));
+        add(scrollPane, BorderLayout.CENTER);
+
+        loadButton.setEnabled(false);
+        loadButton.addActionListener(e -> loadSelected());
+
+        JButton otherFileButton = new JButton("Outro Arquivo...");
+        otherFileButton.addActionListener(e -> chooseOtherFile());
+
+        JButton cancelButton = new JButton("Cancelar");
+        cancelButton.addActionListener(e -> close());
+
+        JPanel buttonPanel = new JPanel();
+        buttonPanel.add(loadButton);
+        buttonPanel.add(otherFileButton);
+        buttonPanel.add(cancelButton);
+        add(buttonPanel, BorderLayout.SOUTH);
+
+        setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosing(java.awt.event.WindowEvent e) {
+                close();
+            }
+        });
+
+        pack();
+        setLocationRelativeTo(getOwner());
+    }
+
+    /**
+     * Lê o índice e confere a pasta sem travar a janela (só os saves novos
+     * ou alterados são lidos); a lista do índice aparece antes da conferência
+     */
+    private void refreshInBackground() {
+        new SwingWorker<List<SaveSummary>, List<SaveSummary>>() {
+            @Override
+            protected List<SaveSummary> doInBackground() {
+                publish(index.load());
+                return index.refresh();
+            }
+
+            @Override
+            protected void process(List<List<SaveSummary>> chunks) {
+                if (!isDone()) {
+                    tableModel.setSaves(chunks.get(chunks.size() - 1));
+                }
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    tableModel.setSaves(get());
+                } catch (Exception e) {
+                    // Fica a lista do índice
+                }
+            }
+        }.execute();
+    }
+
+    private void loadSelected() {
+        int row = table.getSelectedRow();
+        if (row < 0) {
+            return;
+        }
+        selectedPath = index.getPath(tableModel.getSave(table.convertRowIndexToModel(row)));
+        close();
+    }
+
+    private void chooseOtherFile() {
+        JFileChooser fileChooser = SaveFileManager.createLoadChooser();
+        if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            selectedPath = fileChooser.getSelectedFile().getAbsolutePath();
+            close();
+        }
+    }
+
+    private void close() {
+        index.setListener(null);
+        index.stopWatching();
+        dispose();
+    }
+
+    /**
+     * Uma linha por save: jogadores, vez de, saldos, data e formato
+     */
+    private static class SavesTableModel extends AbstractTableModel {
+        private static final long serialVersionUID = 1L;
+        private static final String[] COLUMNS = {"Jogadores", "Vez de", "Saldos", "Salvo em", "Formato"};
+
+        private final SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm");
+        private List<SaveSummary> saves = new ArrayList<>();
+
+        void setSaves(List<SaveSummary> saves) {
+            this.saves = saves;
+            fireTableDataChanged();
+        }
+
+        SaveSummary getSave(int row) {
+            return saves.get(row);
+        }
+
+        @Override
+        public int getRowCount() {
+            return saves.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            SaveSummary save = saves.get(row);
+            switch (column) {
+                case 0:
+                    return String.join(", ", save.getPlayerNames());
+                case 1:
+                    return save.getCurrentPlayerName();
+                case 2: {
+                    StringBuilder balances = new StringBuilder();
+                    for (int i = 0; i < save.getPlayerNames().size(); i++) {
+                        if (i > 0) {
+                            balances.append("  ");
+                        }
+                        balances.append("$").append(save.getBalance(i));
+                    }
+                    return balances.toString();
+                }
+                case 3:
+                    return dateFormat.format(new Date(save.getLastModified()));
+                default:
+                    return save.isBinary() ? "Compacto" : "Texto";
+            }
+        }
+    }
+}
@@ -84,8 +84,10 @@ public class PlayerStatusPanel extends JPanel implements Observer {
      */
     @Override
     public void update(Observable o, Object arg) {
-        // Quando o GameState notificar, atualiza a lista de jogadores
-        updatePlayerList();
+        // Só recria a lista quando o status dos jogadores mudou
+        if (GameState.affects(arg, GameState.CHANGE_PLAYER_STATUS)) {
+            updatePlayerList();
+        }
     }
     
     /**
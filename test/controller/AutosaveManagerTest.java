@@ -0,0 +1,98 @@
+package controller;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import model.core.entities.AutosaveJournal;
+import model.core.entities.GameRecording;
+import model.core.entities.ModelFacade;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class AutosaveManagerTest {
+
+    private static final int DEFAULT_TIMEOUT = 5000;
+    private ModelFacade facade;
+    private File file;
+    private AutosaveManager autosave;
+
+    @Before
+    public void setUp() throws IOException {
+        List<String> names = Arrays.asList("Ana", "Bruno");
+        facade = new ModelFacade();
+        facade.initializeGame(names.size(), names, Arrays.asList("Vermelho", "Azul"), 5L);
+
+        file = File.createTempFile("autosave_test", ".journal");
+        file.delete();
+        autosave = new AutosaveManager(file, 3);
+    }
+
+    @After
+    public void tearDown() {
+        autosave.shutdown();
+        file.delete();
+    }
+
+    private void playTurn() {
+        int[] dice = facade.rollDice();
+        facade.moveCurrentPlayer(dice[0] + dice[1]);
+        facade.buyCurrentProperty();
+        facade.nextTurn();
+        autosave.turnEnded(facade);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testRecoversLastTurnAfterBackgroundWrites() throws Exception {
+        autosave.gameStarted(facade, 0);
+        for (int i = 0; i < 7; i++) {
+            playTurn();
+        }
+        assertTrue(autosave.flush(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+
+        AutosaveJournal.Recovery recovery = autosave.recover();
+
+        assertNotNull(recovery);
+        assertEquals(7, recovery.getTurn());
+        assertEquals(facade.getCurrentPlayerIndex(), recovery.getFacade().getCurrentPlayerIndex());
+        assertEquals(facade.getAllPlayerPositions(), recovery.getFacade().getAllPlayerPositions());
+        assertEquals(facade.getAllPropertiesWithOwners(), recovery.getFacade().getAllPropertiesWithOwners());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testGameOverDeletesJournal() throws Exception {
+        autosave.gameStarted(facade, 0);
+        playTurn();
+        assertTrue(autosave.flush(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+        assertTrue(autosave.hasJournal());
+
+        autosave.gameOver();
+        assertTrue(autosave.flush(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+
+        assertFalse(autosave.hasJournal());
+        assertNull(autosave.recover());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testSaveRecordingKeepsTurnsPlayedSoFar() throws Exception {
+        GameRecording recording = facade.startRecording();
+        playTurn();
+        File recordingFile = File.createTempFile("recording_test", ".rec");
+        try {
+            autosave.saveRecording(recording, recordingFile);
+            playTurn();  // after the copy: not in the file
+            assertTrue(autosave.flush(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+
+            GameRecording saved = GameRecording.loadFromFile(recordingFile.getPath());
+            assertEquals(1, saved.getTurns());
+            assertEquals(2, recording.getTurns());
+        } finally {
+            recordingFile.delete();
+        }
+    }
+}
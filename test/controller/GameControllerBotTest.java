@@ -0,0 +1,106 @@
+package controller;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import model.core.entities.ModelFacade;
+import model.simulation.AlwaysBuyPolicy;
+import model.simulation.BotMove;
+import model.simulation.CashThresholdPolicy;
+import model.simulation.ColorSetPolicy;
+import model.simulation.DecisionPolicy;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class GameControllerBotTest {
+
+    private static final int DEFAULT_TIMEOUT = 20000;
+    private static final int MAX_STEPS = 1500;
+    private static final long SEED = 2L;
+    private File file;
+    private AutosaveManager autosave;
+    private GameController controller;
+    private ExecutorService ui;
+    private final Map<String, DecisionPolicy> bots = new HashMap<>();
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("bot_test", ".journal");
+        file.delete();
+        autosave = new AutosaveManager(file, 3);
+        controller = new GameController(autosave, false);
+        ui = Executors.newSingleThreadExecutor();
+
+        List<String> names = Arrays.asList("Ana", "Bruno", "Carla");
+        List<DecisionPolicy> seats = Arrays.asList(new AlwaysBuyPolicy(), new CashThresholdPolicy(),
+                                                  new ColorSetPolicy(Integer.MAX_VALUE));  // never uses the prison card
+        for (int i = 0; i < names.size(); i++) {
+            bots.put(names.get(i), seats.get(i));
+        }
+        GameState.getInstance().setGameOver(false);
+        List<String> colors = Arrays.asList("Vermelho", "Azul", "Laranja");
+        controller.startNewGame(names, colors, seats);
+        // Same dice and cards every run (this seed reaches a bot in prison with a card it keeps)
+        controller.getModelFacade().initializeGame(names.size(), names, colors, SEED);
+    }
+
+    @After
+    public void tearDown() {
+        ui.shutdownNow();
+        autosave.shutdown();
+        file.delete();
+        GameState.getInstance().setGameOver(false);
+    }
+
+    /**
+     * The state the UI path should reach: the bot's roll played by
+     * HeadlessSimulator on a copy, then the turn passed as the controller
+     * passes it
+     */
+    private long expectedAfterStep() {
+        ModelFacade expected = controller.getModelFacade().copy();
+        BotMove move = BotMove.play(expected, bots.get(expected.getCurrentPlayerName()));
+        if (move.eliminated() ? expected.countActivePlayers() > 1 : !move.rollsAgain()) {
+            expected.nextTurn();
+        }
+        return expected.getStateHash();
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testMovesAppliedThroughControllerMatchTheCopy() throws Exception {
+        int steps = 0;
+        while (steps < MAX_STEPS && ui.submit(() -> controller.isCurrentPlayerBot()).get()) {
+            CountDownLatch done = new CountDownLatch(1);
+            long expected = ui.submit(() -> {
+                long hash = expectedAfterStep();
+                assertTrue(controller.playBotStep(ui, done::countDown));
+                return hash;
+            }).get();
+            assertTrue(done.await(DEFAULT_TIMEOUT / 2, TimeUnit.MILLISECONDS));
+
+            long actual = ui.submit(() -> controller.getModelFacade().getStateHash()).get();
+            assertEquals("Step " + steps, expected, actual);
+            steps++;
+        }
+        assertTrue(steps > 0);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testHumanSeatsAreNotPlayed() throws Exception {
+        controller.startNewGame(Arrays.asList("Ana", "Bruno"), Arrays.asList("Vermelho", "Azul"),
+                                Arrays.asList(null, new AlwaysBuyPolicy()));
+        assertFalse(ui.submit(() -> controller.isCurrentPlayerBot()).get());
+        assertFalse(ui.submit(() -> controller.playBotStep(ui, () -> { })).get());
+    }
+}
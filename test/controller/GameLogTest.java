@@ -0,0 +1,105 @@
+package controller;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class GameLogTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testAppendReturnsSequence() {
+        GameLog log = new GameLog(4);
+
+        assertEquals(0, log.append("a"));
+        assertEquals(1, log.append("b"));
+        assertEquals(2, log.getSequence());
+        assertEquals(2, log.size());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testReadSinceReturnsOnlyNewEntries() {
+        GameLog log = new GameLog(4);
+        log.append("a");
+        log.append("b");
+
+        List<String> read = new ArrayList<>();
+        long next = log.readSince(0, read::add);
+        assertEquals(Arrays.asList("a", "b"), read);
+        assertEquals(2, next);
+
+        log.append("c");
+        read.clear();
+        next = log.readSince(next, read::add);
+        assertEquals(Arrays.asList("c"), read);
+        assertEquals(3, next);
+
+        read.clear();
+        assertEquals(3, log.readSince(next, read::add));
+        assertTrue(read.isEmpty());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testOldEntriesSpillAndFullHistoryIsKept() {
+        GameLog log = new GameLog(4);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String message = "mensagem " + i + (i % 7 == 0 ? "\ncom quebra \\ e barra" : "");
+            expected.add(message);
+            log.append(message);
+        }
+
+        assertEquals(expected, log.toList());
+
+        List<String> tail = new ArrayList<>();
+        log.readSince(45, tail::add);
+        assertEquals(expected.subList(45, 50), tail);
+
+        List<String> range = new ArrayList<>();
+        assertEquals(12, log.read(3, 12, range::add));
+        assertEquals(expected.subList(3, 12), range);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testResetReplacesHistoryAndChangesEpoch() {
+        GameLog log = new GameLog(2);
+        for (int i = 0; i < 10; i++) {
+            log.append("antiga " + i);
+        }
+        int epoch = log.getEpoch();
+
+        log.reset(Arrays.asList("x", "y", "z"));
+
+        assertNotEquals(epoch, log.getEpoch());
+        assertEquals(3, log.getSequence());
+        assertEquals(Arrays.asList("x", "y", "z"), log.toList());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testConcurrentReaderSeesEveryEntryInOrder() throws InterruptedException {
+        final int total = 5000;
+        GameLog log = new GameLog(8);
+        List<String> read = new ArrayList<>();
+
+        Thread reader = new Thread(() -> {
+            long next = 0;
+            while (next < total) {
+                next = log.readSince(next, read::add);
+            }
+        });
+        reader.start();
+        for (int i = 0; i < total; i++) {
+            log.append("m" + i);
+        }
+        reader.join();
+
+        assertEquals(total, read.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals("m" + i, read.get(i));
+        }
+    }
+}
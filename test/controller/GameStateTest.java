@@ -0,0 +1,100 @@
+package controller;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Observer;
+
+public class GameStateTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+    private GameState gameState;
+    private List<Object> notifications;
+    private Observer recorder;
+
+    @Before
+    public void setUp() {
+        gameState = GameState.getInstance();
+        notifications = new ArrayList<>();
+        recorder = (o, arg) -> notifications.add(arg);
+        gameState.addObserver(recorder);
+    }
+
+    @After
+    public void tearDown() {
+        gameState.deleteObserver(recorder);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testSetterOutsideBatchNotifiesImmediately() {
+        gameState.setMessage("fora do lote " + System.nanoTime());
+
+        assertEquals(1, notifications.size());
+        assertEquals(GameState.CHANGE_MESSAGE, notifications.get(0));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testBatchPublishesOneNotificationWithAllChanges() {
+        gameState.beginUpdate();
+        gameState.setMessage("dentro do lote " + System.nanoTime());
+        gameState.setDiceRoll(7, 7);
+        gameState.addLogMessage("log");
+        assertTrue("Nothing should be published before endUpdate", notifications.isEmpty());
+        gameState.endUpdate();
+
+        assertEquals(1, notifications.size());
+        Object mask = notifications.get(0);
+        assertTrue(GameState.affects(mask, GameState.CHANGE_MESSAGE));
+        assertTrue(GameState.affects(mask, GameState.CHANGE_DICE));
+        assertTrue(GameState.affects(mask, GameState.CHANGE_LOG));
+        assertFalse(GameState.affects(mask, GameState.CHANGE_PLAYER_STATUS));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testNestedBatchesPublishOnOutermostEnd() {
+        gameState.beginUpdate();
+        gameState.beginUpdate();
+        gameState.setMessage("aninhado " + System.nanoTime());
+        gameState.endUpdate();
+        assertTrue(notifications.isEmpty());
+        gameState.endUpdate();
+
+        assertEquals(1, notifications.size());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testUnchangedValueIsNotPublished() {
+        String message = "mesma mensagem " + System.nanoTime();
+        gameState.setMessage(message);
+        notifications.clear();
+
+        gameState.setMessage(message);
+
+        assertTrue(notifications.isEmpty());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testUnchangedCurrentPlayerIsNotPublished() {
+        String name = "Jogador " + System.nanoTime();
+        List<String> properties = new ArrayList<>();
+        properties.add("Leblon");
+        gameState.updateCurrentPlayer(name, 1000, "Azul", properties);
+        notifications.clear();
+
+        gameState.updateCurrentPlayer(name, 1000, "Azul", new ArrayList<>(properties));
+        assertTrue(notifications.isEmpty());
+
+        gameState.updateCurrentPlayer(name, 900, "Azul", properties);
+        assertEquals(1, notifications.size());
+        assertEquals(GameState.CHANGE_CURRENT_PLAYER, notifications.get(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEndWithoutBeginFails() {
+        gameState.endUpdate();
+    }
+}
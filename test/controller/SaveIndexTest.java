@@ -0,0 +1,126 @@
+package controller;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import model.core.entities.GameStateBinaryCodec;
+import model.core.entities.GameStateSaver;
+import model.core.entities.ModelFacade;
+import model.core.entities.SaveSummary;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class SaveIndexTest {
+
+    private static final int DEFAULT_TIMEOUT = 10000;
+    private File directory;
+    private ModelFacade facade;
+    private SaveIndex index;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("save_index_test").toFile();
+        List<String> names = Arrays.asList("Ana", "Bruno", "Carla");
+        facade = new ModelFacade();
+        facade.initializeGame(names.size(), names, Arrays.asList("Vermelho", "Azul", "Laranja"), 9L);
+        GameState.getInstance().setLogMessages(Arrays.asList("Início"));
+        facade.buyCurrentProperty();
+        facade.nextTurn();
+        index = new SaveIndex(directory);
+    }
+
+    @After
+    public void tearDown() {
+        index.stopWatching();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testSummarizesTextAndBinarySaves() throws IOException {
+        GameStateSaver.saveToFile(new File(directory, "a.txt").getPath(), facade);
+        GameStateBinaryCodec.saveToFile(new File(directory, "b.bin").getPath(), facade);
+        new File(directory, "notas.md").createNewFile();
+
+        List<SaveSummary> saves = index.refresh();
+
+        assertEquals(2, saves.size());
+        for (SaveSummary save : saves) {
+            assertEquals(Arrays.asList("Ana", "Bruno", "Carla"), save.getPlayerNames());
+            assertEquals("Bruno", save.getCurrentPlayerName());
+            assertEquals(facade.getAllPlayerStatusInfo().get(0).balance, save.getBalance(0));
+            assertEquals(save.getFileName().endsWith(".bin"), save.isBinary());
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testUnchangedFilesComeFromIndex() throws IOException {
+        File save = new File(directory, "a.txt");
+        GameStateSaver.saveToFile(save.getPath(), facade);
+        long hash = index.refresh().get(0).getHash();
+
+        // Same size and date, different content: the file is not read again
+        byte[] content = Files.readAllBytes(save.toPath());
+        long modified = save.lastModified();
+        content[content.length - 2] ^= 1;
+        Files.write(save.toPath(), content);
+        save.setLastModified(modified);
+
+        SaveIndex reopened = new SaveIndex(directory);
+        assertEquals(hash, reopened.refresh().get(0).getHash());
+
+        // A real change is picked up
+        save.setLastModified(modified + 2000);
+        assertNotEquals(hash, reopened.refresh().get(0).getHash());
+
+        save.delete();
+        assertTrue(reopened.refresh().isEmpty());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testGetSavesReturnsWhatWasPublished() throws IOException {
+        GameStateSaver.saveToFile(new File(directory, "a.txt").getPath(), facade);
+        index.refresh();
+
+        SaveIndex reopened = new SaveIndex(directory);
+        assertTrue(reopened.getSaves().isEmpty());  // nothing read yet
+        assertEquals(1, reopened.load().size());    // from the index file only
+        assertEquals("a.txt", reopened.getSaves().get(0).getFileName());
+
+        // Published lists are snapshots: a later change does not alter them
+        List<SaveSummary> before = reopened.getSaves();
+        GameStateBinaryCodec.saveToFile(new File(directory, "b.bin").getPath(), facade);
+        assertEquals(2, reopened.refresh().size());
+        assertEquals(1, before.size());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testWatcherIndexesNewSave() throws Exception {
+        index.refresh();
+        CountDownLatch changed = new CountDownLatch(1);
+        index.setListener(() -> {
+            if (!index.getSaves().isEmpty()) {
+                changed.countDown();
+            }
+        });
+        index.startWatching();
+
+        GameStateBinaryCodec.saveToFile(new File(directory, "nova.bin").getPath(), facade);
+
+        assertTrue(changed.await(DEFAULT_TIMEOUT / 2, TimeUnit.MILLISECONDS));
+        assertEquals("nova.bin", index.getSaves().get(0).getFileName());
+    }
+}
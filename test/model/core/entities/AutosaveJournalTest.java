@@ -0,0 +1,118 @@
+package model.core.entities;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class AutosaveJournalTest {
+
+    private static final int DEFAULT_TIMEOUT = 5000;
+    private ModelFacade facade;
+    private File file;
+    private AutosaveJournal journal;
+
+    @Before
+    public void setUp() throws IOException {
+        List<String> names = Arrays.asList("Ana", "Bruno", "Carla");
+        List<String> colors = Arrays.asList("Vermelho", "Azul", "Laranja");
+        facade = new ModelFacade();
+        facade.initializeGame(names.size(), names, colors, 11L);
+        controller.GameState.getInstance().setLogMessages(new ArrayList<>());
+
+        file = File.createTempFile("journal_test", ".journal");
+        file.delete();
+        journal = new AutosaveJournal(file.getPath());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        journal.delete();
+    }
+
+    private void playTurn(int turn) {
+        int[] dice = facade.rollDice();
+        facade.moveCurrentPlayer(dice[0] + dice[1]);
+        facade.handleManualLuckCard();
+        facade.buyCurrentProperty();
+        controller.GameState.getInstance().addLogMessage("Turno " + turn);
+        facade.nextTurn();
+    }
+
+    private void assertSameGame(ModelFacade expected, ModelFacade actual) {
+        assertEquals(expected.getCurrentPlayerIndex(), actual.getCurrentPlayerIndex());
+        assertEquals(expected.getAllPlayerPositions(), actual.getAllPlayerPositions());
+        assertEquals(expected.getAllPropertiesWithOwners(), actual.getAllPropertiesWithOwners());
+        for (int i = 0; i < expected.getAllPlayers().size(); i++) {
+            assertEquals(expected.getAllPlayers().get(i).getBalance(), actual.getAllPlayers().get(i).getBalance());
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testReplayRebuildsLatestTurn() throws IOException {
+        assertTrue(journal.append(AutosaveJournal.capture(facade, 0), true));
+        for (int turn = 1; turn <= 25; turn++) {
+            playTurn(turn);
+            assertFalse(journal.append(AutosaveJournal.capture(facade, turn), false));
+        }
+
+        AutosaveJournal.Recovery recovery = AutosaveJournal.replay(file.getPath());
+
+        assertNotNull(recovery);
+        assertEquals(25, recovery.getTurn());
+        assertSameGame(facade, recovery.getFacade());
+        assertEquals(controller.GameState.getInstance().getLogMessages(), recovery.getLog());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testCheckpointRestartsJournal() throws IOException {
+        journal.append(AutosaveJournal.capture(facade, 0), true);
+        for (int turn = 1; turn <= 5; turn++) {
+            playTurn(turn);
+            journal.append(AutosaveJournal.capture(facade, turn), false);
+        }
+        long before = file.length();
+
+        playTurn(6);
+        assertTrue(journal.append(AutosaveJournal.capture(facade, 6), true));
+
+        // Only the new checkpoint is left, which is smaller than checkpoint + 5 deltas
+        assertTrue(file.length() < before);
+        assertSameGame(facade, AutosaveJournal.replay(file.getPath()).getFacade());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testTornRecordIsIgnored() throws IOException {
+        journal.append(AutosaveJournal.capture(facade, 0), true);
+        playTurn(1);
+        journal.append(AutosaveJournal.capture(facade, 1), false);
+        ModelFacade afterFirst = GameStateBinaryCodec.restore(GameStateBinaryCodec.capture(facade),
+                                                              BoardInitializer.createStandardBoard());
+        long complete = file.length();
+        playTurn(2);
+        journal.append(AutosaveJournal.capture(facade, 2), false);
+        journal.close();
+
+        // Simulate a crash in the middle of writing turn 2
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(complete + (raf.length() - complete) / 2);
+        }
+
+        AutosaveJournal.Recovery recovery = AutosaveJournal.replay(file.getPath());
+        assertEquals(1, recovery.getTurn());
+        assertSameGame(afterFirst, recovery.getFacade());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testFirstRecordIsAlwaysCheckpoint() throws IOException {
+        assertTrue(journal.append(AutosaveJournal.capture(facade, 0), false));
+        assertNull(AutosaveJournal.replay(file.getPath() + ".missing"));
+    }
+}
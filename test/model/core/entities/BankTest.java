@@ -50,4 +50,54 @@ public class BankTest {
         assertTrue("Property should be unowned after returning to bank", 
                   bank.isPropertyUnowned(property));
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testAssignOwnerUpdatesRegistry() {
+        Player player = new Player("Ana", "Azul", new Car("Azul", property), 1000);
+        long version = bank.getOwnershipVersion();
+        
+        bank.assignOwner(property, player);
+        
+        assertFalse(bank.isPropertyUnowned(property));
+        assertSame(player, property.getOwner());
+        assertTrue(player.getLiquidAssets().contains(property));
+        assertEquals(player.getSeat(), bank.getOwnerSeat(0));
+        assertEquals(1L, bank.getOwnershipMask(player.getSeat()));
+        assertTrue(bank.getOwnershipVersion() > version);
+    }
+    
+    @Test
+    public void testReturnPropertyToBankClearsOwner() {
+        Player player = new Player("Ana", "Azul", new Car("Azul", property), 1000);
+        bank.assignOwner(property, player);
+        
+        bank.returnPropertyToBank(property);
+        
+        assertTrue(bank.isPropertyUnowned(property));
+        assertNull(property.getOwner());
+        assertFalse(player.hasLiquidAssets());
+        assertEquals(-1, bank.getOwnerSeat(0));
+        assertEquals(0L, bank.getOwnershipMask(player.getSeat()));
+    }
+    
+    @Test
+    public void testReturnAllPropertiesToBank() {
+        Property second = new Company("Second Property", null, 100, 100);
+        properties.add(second);
+        Bank twoProperties = new Bank(1000, properties);
+        Player player = new Player("Ana", "Azul", new Car("Azul", property), 1000);
+        Player other = new Player("Bia", "Roxo", new Car("Roxo", property), 1000);
+        twoProperties.registerPlayer(player);
+        twoProperties.registerPlayer(other);
+        twoProperties.assignOwner(property, player);
+        twoProperties.assignOwner(second, player);
+        
+        twoProperties.returnAllPropertiesToBank(player);
+        
+        assertTrue(twoProperties.isPropertyUnowned(property));
+        assertTrue(twoProperties.isPropertyUnowned(second));
+        assertFalse(player.hasLiquidAssets());
+        assertEquals(2, twoProperties.getUnownedSlots().cardinality());
+        assertEquals(1, other.getSeat());
+    }
+}
@@ -202,4 +202,35 @@ public class BoardTest {
         assertTrue(board.getBoardSize() > 0);
         assertFalse(board.getAllSpaces().isEmpty());
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testStandardBoardLookupTables() {
+        Board standard = BoardInitializer.createStandardBoard();
+        
+        assertEquals(0, standard.getStartIndex());
+        assertEquals(10, standard.getPrisonIndex());
+        assertSame(standard.getSpace(10), standard.getPrisonSpace());
+        assertEquals(standard.getProperties().size(), standard.getPropertyIndices().length);
+        assertEquals(standard.getProperties().size(),
+                     standard.getPlaces().size() + standard.getCompanies().size());
+        
+        for (int index : standard.getPropertyIndices()) {
+            assertTrue(standard.getSpace(index) instanceof Property);
+        }
+        for (int index : standard.getLuckIndices()) {
+            assertTrue(standard.getSpace(index) instanceof LuckSpace);
+        }
+    }
+    
+    @Test
+    public void testStandardBoardColorGroups() {
+        Board standard = BoardInitializer.createStandardBoard();
+        
+        assertEquals(8, standard.getColorGroupCount());
+        int leblonGroup = standard.getColorGroupOf(1);
+        assertTrue(leblonGroup >= 0);
+        assertArrayEquals(new int[] {1, 3, 4}, standard.getColorGroup(leblonGroup));
+        assertEquals(-1, standard.getColorGroupOf(5)); // companies have no color
+        assertSame(standard.getSpace(1), standard.getPropertyByName("Leblon"));
+    }
+}
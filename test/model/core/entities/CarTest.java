@@ -57,4 +57,33 @@ public class CarTest {
         testCar.setPosition(thirdSpace);
         assertEquals("Car should be on the third space after setting position", thirdSpace, testCar.getPosition());
     }
-}
\ No newline at end of file
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testIndexedCar_advancePosition_usesBoardIndex() {
+        Board board = new Board(java.util.Arrays.asList(startSpace, secondSpace, thirdSpace));
+        Car car = new Car("testColor", board, 0);
+
+        assertFalse("Moving inside the board should not wrap", car.advancePosition(2));
+        assertEquals("Car should be on index 2", 2, car.getPositionIndex());
+        assertEquals("Car should be on the third space", thirdSpace, car.getPosition());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testIndexedCar_advancePosition_reportsWrapAround() {
+        Board board = new Board(java.util.Arrays.asList(startSpace, secondSpace, thirdSpace));
+        Car car = new Car("testColor", board, 2);
+
+        assertTrue("Going past the last space should wrap", car.advancePosition(2));
+        assertEquals("Car should be on index 1", 1, car.getPositionIndex());
+        assertEquals("Car should be on the second space", secondSpace, car.getPosition());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testIndexedCar_setPosition_updatesIndex() {
+        Board board = new Board(java.util.Arrays.asList(startSpace, secondSpace, thirdSpace));
+        Car car = new Car("testColor", board, 0);
+
+        car.setPosition(thirdSpace);
+        assertEquals("Index should follow the new space", 2, car.getPositionIndex());
+    }
+}
@@ -0,0 +1,234 @@
+package model.core.entities;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import model.simulation.ReplayEngine;
+
+public class CommandLogTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+    private ModelFacade facade;
+
+    @Before
+    public void setUp() {
+        List<String> names = Arrays.asList("Ana", "Bruno", "Carla");
+        List<String> colors = Arrays.asList("Vermelho", "Azul", "Laranja");
+        facade = new ModelFacade();
+        facade.initializeGame(names.size(), names, colors, 23L);
+    }
+
+    /**
+     * Plays turns using every kind of action
+     *
+     * @return The state hash after each turn
+     */
+    private static List<Long> playTurns(ModelFacade game, int turns) {
+        List<Long> hashes = new ArrayList<>();
+        for (int turn = 0; turn < turns && game.countActivePlayers() > 1; turn++) {
+            int[] dice = game.rollDice();
+            if (game.isCurrentPlayerInPrison()) {
+                if (game.hasGetOutPrisonCard()) {
+                    game.useGetOutPrisonCard();
+                } else if (dice[0] == dice[1]) {
+                    game.releasePlayerFromPrison();
+                } else {
+                    game.incrementPlayerPrisonTurns();
+                    if (game.getCurrentPlayerTurnsInPrison() >= 3) {
+                        game.releasePlayerFromPrison();
+                    }
+                }
+            }
+            if (!game.isCurrentPlayerInPrison()) {
+                game.moveCurrentPlayer(dice[0] + dice[1]);
+                game.handleManualLuckCard();
+                game.buyCurrentProperty();
+                game.buildHouseOnCurrentProperty();
+                game.buildHotelOnCurrentProperty();
+            }
+            List<String> owned = game.getCurrentPlayerProperties();
+            if (turn % 7 == 6 && owned.size() > 1) {
+                game.sellPropertyByName(owned.get(0));
+            }
+            if (game.isCurrentPlayerBankrupt()) {
+                game.eliminateCurrentPlayer();
+            }
+            game.nextTurn();
+            hashes.add(game.getStateHash());
+        }
+        return hashes;
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testUndoIsOffByDefault() {
+        playTurns(facade, 3);
+        assertFalse(facade.canUndo());
+        assertNull(facade.undo());
+        assertNull(facade.redo());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testUndoAndRedoPurchase() {
+        facade.enableUndo();
+        facade.rollDiceManual(1, 1);
+        facade.moveCurrentPlayer(1); // Leblon
+        assertTrue(facade.buyCurrentProperty());
+        int balance = facade.getCurrentPlayerBalance();
+
+        assertEquals("compra de Leblon", facade.undo());
+        assertEquals(4000, facade.getCurrentPlayerBalance());
+        assertTrue(facade.getCurrentPlayerProperties().isEmpty());
+        assertNull(facade.getPropertyJustBought());
+        assertTrue(facade.canRedo());
+
+        assertEquals("compra de Leblon", facade.redo());
+        assertEquals(balance, facade.getCurrentPlayerBalance());
+        assertEquals(Arrays.asList("Leblon"), facade.getCurrentPlayerProperties());
+        assertFalse(facade.canRedo());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testUndoEverythingThenRedoEverything() {
+        long start = facade.getStateHash();
+        List<String> startCards = facade.getLikelyNextCardImageIds();
+        facade.enableUndo();
+
+        List<Long> firstRun = playTurns(facade, 80);
+        long end = facade.getStateHash();
+        List<String> endProperties = facade.getCurrentPlayerProperties();
+
+        while (facade.canUndo()) {
+            assertNotNull(facade.undo());
+        }
+        assertEquals(start, facade.getStateHash());
+        assertEquals(startCards, facade.getLikelyNextCardImageIds());
+
+        while (facade.canRedo()) {
+            facade.redo();
+        }
+        assertEquals(end, facade.getStateHash());
+        assertEquals(endProperties, facade.getCurrentPlayerProperties());
+
+        // Undo brings back the dice too: playing again from the start gives the same game
+        while (facade.canUndo()) {
+            facade.undo();
+        }
+        assertEquals(firstRun, playTurns(facade, 80));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testRedoEverythingGivesTheSameGameToPlayOn() {
+        // Few cards left and little money, so the deck is reshuffled and
+        // players go bankrupt early
+        LuckDeck deck = facade.getBoard().getLuckDeck();
+        while (deck.size() > 2) {
+            deck.discard(deck.drawCard());
+        }
+        for (Player player : facade.getAllPlayers()) {
+            player.setBalance(600);
+        }
+        facade.enableUndo();
+        int reshuffles = 0;
+        for (int turn = 0; turn < 400 && facade.countActivePlayers() > 1; turn++) {
+            boolean empty = deck.isEmpty();
+            playTurns(facade, 1);
+            if (empty && !deck.isEmpty()) {
+                reshuffles++;
+            }
+        }
+        // Reshuffles, prison cards and eliminations all went through the log
+        assertTrue(reshuffles > 0);
+        assertTrue(facade.countActivePlayers() < 3);
+        ModelFacade end = facade.copy();
+
+        while (facade.canUndo()) {
+            facade.undo();
+        }
+        while (facade.canRedo()) {
+            facade.redo();
+        }
+        assertEquals(end.getStateHash(), facade.getStateHash());
+        assertEquals(end.getLikelyNextCardImageIds(), facade.getLikelyNextCardImageIds());
+        assertEquals(playTurns(end, 100), playTurns(facade, 100));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testUndoAndRedoPrisonCardUse() {
+        LuckDeck deck = facade.getBoard().getLuckDeck();
+        Player player = facade.getCurrentPlayer();
+        player.receiveGetOutPrisonCard(deck.takeGetOutPrisonCard());
+        player.sendToPrison(facade.getBoard().getPrisonSpace());
+        int deckSize = deck.size();
+        facade.enableUndo();
+        long start = facade.getStateHash();
+
+        assertTrue(facade.useGetOutPrisonCard());
+        long end = facade.getStateHash();
+        List<String> endCards = facade.getLikelyNextCardImageIds();
+        assertEquals(deckSize + 1, deck.size());
+
+        assertEquals("uso da carta de saída da prisão", facade.undo());
+        assertEquals(start, facade.getStateHash());
+        assertTrue(facade.isCurrentPlayerInPrison());
+        assertTrue(facade.hasGetOutPrisonCard());
+        assertEquals(deckSize, deck.size());
+
+        facade.redo();
+        assertEquals(end, facade.getStateHash());
+        assertFalse(facade.hasGetOutPrisonCard());
+        assertEquals(endCards, facade.getLikelyNextCardImageIds());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testNewActionAfterUndoDropsRedo() {
+        facade.enableUndo();
+        facade.rollDice();
+        facade.undo();
+        assertTrue(facade.canRedo());
+
+        facade.rollDiceManual(2, 3);
+        assertFalse(facade.canRedo());
+        assertArrayEquals(new int[]{2, 3}, facade.getLastDiceRollArray());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testActionGroupIsUndoneInOneStep() {
+        facade.enableUndo();
+        long start = facade.getStateHash();
+        facade.beginAction();
+        facade.rollDiceManual(1, 2);
+        facade.moveCurrentPlayer(3);
+        facade.handleManualLuckCard();
+        facade.endAction();
+        long end = facade.getStateHash();
+
+        assertEquals("rolagem dos dados (1+2)", facade.undo());
+        assertEquals(start, facade.getStateHash());
+        assertFalse(facade.hasDiceRolled());
+        assertFalse(facade.canUndo());
+
+        facade.redo();
+        assertEquals(end, facade.getStateHash());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testRecordingFollowsUndoAndRedo() {
+        GameRecording recording = facade.startRecording();
+        facade.enableUndo();
+        playTurns(facade, 30);
+        for (int i = 0; i < 12; i++) {
+            facade.undo();
+        }
+        facade.redo();
+        playTurns(facade, 10);
+
+        ReplayEngine replay = new ReplayEngine(recording.copy());
+        replay.runToEnd();
+        assertEquals(facade.getStateHash(), replay.getGame().getStateHash());
+    }
+}
@@ -11,4 +11,48 @@ public class DiceTest {
 //		fail("Not yet implemented");
 	}
 
+	@Test
+	public void testRollStaysBetweenOneAndSix() {
+		Dice dice = new Dice(new GameRandom(7L));
+		for (int i = 0; i < 1000; i++) {
+			int value = dice.roll();
+			assertTrue("Roll out of range: " + value, value >= 1 && value <= 6);
+		}
+	}
+
+	@Test
+	public void testSameSeedGivesSameRolls() {
+		Dice first = new Dice(new GameRandom(99L));
+		Dice second = new Dice(new GameRandom(99L));
+		for (int i = 0; i < 100; i++) {
+			assertEquals(first.roll(), second.roll());
+		}
+	}
+
+	@Test
+	public void testSplitStreamsAreIndependentOfEachOther() {
+		GameRandom root = new GameRandom(5L);
+		GameRandom diceStream = root.split();
+		GameRandom deckStream = root.split();
+
+		GameRandom sameRoot = new GameRandom(5L);
+		GameRandom sameDiceStream = sameRoot.split();
+		GameRandom sameDeckStream = sameRoot.split();
+
+		// Rolling more dice on one side must not change the other stream
+		for (int i = 0; i < 10; i++) {
+			diceStream.rollDie();
+		}
+		assertEquals(sameDeckStream.nextInt(1000), deckStream.nextInt(1000));
+		assertEquals(5L, sameDiceStream.getSeed());
+	}
+
+	@Test
+	public void testRollFixedClampsValue() {
+		Dice dice = new Dice();
+		assertEquals(1, dice.rollFixed(0));
+		assertEquals(6, dice.rollFixed(9));
+		assertEquals(4, dice.rollFixed(4));
+	}
+
 }
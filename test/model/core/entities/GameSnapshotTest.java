@@ -0,0 +1,127 @@
+package model.core.entities;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class GameSnapshotTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+    private ModelFacade facade;
+
+    @Before
+    public void setUp() {
+        List<String> names = Arrays.asList("Ana", "Bruno", "Carla");
+        List<String> colors = Arrays.asList("Vermelho", "Azul", "Laranja");
+        facade = new ModelFacade();
+        facade.initializeGame(names.size(), names, colors, 11L);
+        playTurns(facade, 40);
+    }
+
+    /**
+     * Plays turns the same way every time, so two games in the same state
+     * stay in the same state
+     *
+     * @return The state hash after each turn
+     */
+    private static List<Long> playTurns(ModelFacade game, int turns) {
+        List<Long> hashes = new ArrayList<>();
+        for (int turn = 0; turn < turns && game.countActivePlayers() > 1; turn++) {
+            if (game.isCurrentPlayerInPrison() && game.hasGetOutPrisonCard()) {
+                game.useGetOutPrisonCard();
+            }
+            int[] dice = game.rollDice();
+            game.moveCurrentPlayer(dice[0] + dice[1]);
+            game.handleManualLuckCard();
+            game.buyCurrentProperty();
+            game.buildHouseOnCurrentProperty();
+            if (game.isCurrentPlayerBankrupt()) {
+                game.eliminateCurrentPlayer();
+            }
+            game.nextTurn();
+            hashes.add(game.getStateHash());
+        }
+        return hashes;
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testRestoreRewindsStateAndRandomStreams() {
+        GameSnapshot snapshot = facade.snapshot();
+        long hash = facade.getStateHash();
+        List<String> properties = facade.getCurrentPlayerProperties();
+        List<String> nextCards = facade.getLikelyNextCardImageIds();
+
+        List<Long> firstRun = playTurns(facade, 60);
+        assertNotEquals(hash, facade.getStateHash());
+
+        facade.restore(snapshot);
+        assertEquals(hash, facade.getStateHash());
+        assertEquals(properties, facade.getCurrentPlayerProperties());
+        assertEquals(nextCards, facade.getLikelyNextCardImageIds());
+
+        // Same dice and same cards after the rollback
+        assertEquals(firstRun, playTurns(facade, 60));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testCopyIsIndependentAndPlaysTheSameGame() {
+        long hash = facade.getStateHash();
+        ModelFacade copy = facade.copy();
+        assertEquals(hash, copy.getStateHash());
+        assertEquals(facade.getSeed(), copy.getSeed());
+
+        List<Long> copyRun = playTurns(copy, 60);
+        assertEquals(hash, facade.getStateHash());
+        assertEquals(copyRun, playTurns(facade, 60));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testReseedGivesAnotherFutureAndKeepsSnapshotsValid() {
+        GameSnapshot snapshot = facade.snapshot();
+        ModelFacade first = facade.copy();
+        ModelFacade second = facade.copy();
+        first.reseed(1L);
+        second.reseed(1L);
+        assertEquals(facade.getStateHash(), first.getStateHash());
+        List<Long> reseeded = playTurns(first, 30);
+        assertEquals(reseeded, playTurns(second, 30));
+        assertNotEquals(reseeded, playTurns(facade.copy(), 30));
+
+        first.restore(snapshot);
+        assertEquals(playTurns(facade.copy(), 30), playTurns(first, 30));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testRestoreBringsBackEliminatedPlayerAndCards() {
+        Player leaving = facade.getCurrentPlayer();
+        GetOutPrisonCard card = facade.getBoard().getLuckDeck().takeGetOutPrisonCard();
+        leaving.receiveGetOutPrisonCard(card);
+        int owned = leaving.getLiquidAssets().size();
+        GameSnapshot snapshot = facade.snapshot();
+        long hash = facade.getStateHash();
+
+        facade.eliminateCurrentPlayer();
+        assertEquals(2, facade.countActivePlayers());
+        assertNull(card.getOwner());
+
+        facade.restore(snapshot);
+        assertEquals(3, facade.countActivePlayers());
+        assertSame(leaving, facade.getCurrentPlayer());
+        assertEquals(owned, leaving.getLiquidAssets().size());
+        assertSame(leaving, card.getOwner());
+        assertTrue(facade.hasGetOutPrisonCard());
+        assertEquals(hash, facade.getStateHash());
+        assertEquals(3, snapshot.getActivePlayerCount());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT, expected = IllegalArgumentException.class)
+    public void testSnapshotOfAnotherGameIsRejected() {
+        ModelFacade other = new ModelFacade();
+        other.initializeGame(2, Arrays.asList("Davi", "Eva"), Arrays.asList("Roxo", "Cinza"), 11L);
+        other.restore(facade.snapshot());
+    }
+}
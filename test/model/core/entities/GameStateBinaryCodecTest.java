@@ -0,0 +1,120 @@
+package model.core.entities;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class GameStateBinaryCodecTest {
+
+    private static final int DEFAULT_TIMEOUT = 5000;
+    private ModelFacade facade;
+    private File binaryFile;
+    private File textFile;
+
+    @Before
+    public void setUp() throws IOException {
+        List<String> names = Arrays.asList("Ana", "Bruno", "Carla");
+        List<String> colors = Arrays.asList("Vermelho", "Azul", "Laranja");
+        facade = new ModelFacade();
+        facade.initializeGame(names.size(), names, colors, 7L);
+
+        for (int turn = 0; turn < 60; turn++) {
+            int[] dice = facade.rollDice();
+            facade.moveCurrentPlayer(dice[0] + dice[1]);
+            facade.handleManualLuckCard();
+            facade.buyCurrentProperty();
+            facade.nextTurn();
+        }
+
+        List<String> messages = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            messages.add("Mensagem " + i + ": saldo=" + (i * 10) + (i % 50 == 0 ? "\nlinha extra" : ""));
+        }
+        controller.GameState.getInstance().setLogMessages(messages);
+
+        binaryFile = File.createTempFile("codec_test", ".bin");
+        textFile = File.createTempFile("codec_test", ".txt");
+    }
+
+    @After
+    public void tearDown() {
+        binaryFile.delete();
+        textFile.delete();
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testRoundTripRestoresPlayersPropertiesAndLog() throws IOException {
+        Place built = facade.getBoard().getPlaces().get(0);
+        built.setHouses(2);
+        List<String> messages = controller.GameState.getInstance().getLogMessages();
+
+        GameStateBinaryCodec.saveToFile(binaryFile.getPath(), facade);
+        controller.GameState.getInstance().setLogMessages(new ArrayList<>());
+        ModelFacade loaded = GameStateBinaryCodec.loadFromFile(binaryFile.getPath());
+
+        assertEquals(facade.getCurrentPlayerIndex(), loaded.getCurrentPlayerIndex());
+        assertArrayEquals(facade.getLastDiceRollArray(), loaded.getLastDiceRollArray());
+        List<Player> expected = facade.getAllPlayers();
+        List<Player> actual = loaded.getAllPlayers();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getCar().getColor(), actual.get(i).getCar().getColor());
+            assertEquals(expected.get(i).getBalance(), actual.get(i).getBalance());
+            assertEquals(expected.get(i).getCar().getPositionIndex(), actual.get(i).getCar().getPositionIndex());
+            assertEquals(expected.get(i).isInPrison(), actual.get(i).isInPrison());
+            assertEquals(expected.get(i).getGetOutPrisonCardCount(), actual.get(i).getGetOutPrisonCardCount());
+        }
+        assertEquals(facade.getAllPropertiesWithOwners(), loaded.getAllPropertiesWithOwners());
+        assertEquals(2, loaded.getBoard().getPlaces().get(0).getNumOfHouses());
+        assertEquals(messages, controller.GameState.getInstance().getLogMessages());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testBinaryIsSmallerThanText() throws IOException {
+        GameStateSaver.saveToFile(textFile.getPath(), facade);
+        GameStateBinaryCodec.saveToFile(binaryFile.getPath(), facade);
+
+        assertTrue("Binary save should be at least 3x smaller: " + binaryFile.length() + " vs " + textFile.length(),
+                   binaryFile.length() * 3 < textFile.length());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testLoaderDetectsFormatByContent() throws IOException {
+        // Binary content under a .txt name is still read as binary
+        GameStateBinaryCodec.saveToFile(textFile.getPath(), facade);
+        assertTrue(GameStateBinaryCodec.isBinarySave(textFile.getPath()));
+
+        ModelFacade loaded = GameStateLoader.loadFromFile(textFile.getPath());
+        assertEquals(facade.getAllPropertiesWithOwners(), loaded.getAllPropertiesWithOwners());
+
+        GameStateSaver.saveToFile(binaryFile.getPath(), facade);
+        assertFalse(GameStateBinaryCodec.isBinarySave(binaryFile.getPath()));
+        assertEquals(facade.getCurrentPlayerIndex(),
+                     GameStateLoader.loadFromFile(binaryFile.getPath()).getCurrentPlayerIndex());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT, expected = IllegalArgumentException.class)
+    public void testRejectsUnknownVersion() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(binaryFile)) {
+            out.write(GameStateBinaryCodec.MAGIC);
+            out.write(99);
+        }
+        GameStateBinaryCodec.loadFromFile(binaryFile.getPath());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testZigzagKeepsNegativeBalances() {
+        for (int value : new int[]{0, 1, -1, 4000, -250, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            assertEquals(value, GameStateBinaryCodec.unzigzag(GameStateBinaryCodec.zigzag(value)));
+        }
+    }
+}
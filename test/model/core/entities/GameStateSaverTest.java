@@ -0,0 +1,74 @@
+package model.core.entities;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+public class GameStateSaverTest {
+
+    private static final int DEFAULT_TIMEOUT = 5000;
+    private ModelFacade facade;
+    private File dir;
+    private File saveFile;
+
+    @Before
+    public void setUp() throws IOException {
+        List<String> names = Arrays.asList("Ana", "Bruno");
+        List<String> colors = Arrays.asList("Vermelho", "Azul");
+        facade = new ModelFacade();
+        facade.initializeGame(names.size(), names, colors, 3L);
+
+        dir = Files.createTempDirectory("saver-test").toFile();
+        saveFile = new File(dir, "partida.txt");
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testSaveReplacesExistingFile() throws IOException {
+        Files.write(saveFile.toPath(), "antigo".getBytes(StandardCharsets.UTF_8));
+
+        GameStateSaver.saveToFile(saveFile.getPath(), facade);
+
+        String content = new String(Files.readAllBytes(saveFile.toPath()), StandardCharsets.UTF_8);
+        assertTrue(content.startsWith("# Banco Imobiliário - Partida Salva"));
+        assertTrue(content.contains("[LOG]"));
+        assertEquals(1, dir.listFiles().length);
+        assertEquals(2, GameStateLoader.loadFromFile(saveFile.getPath()).getAllPlayers().size());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testFailedSaveKeepsPreviousFile() throws IOException {
+        Files.write(saveFile.toPath(), "antigo".getBytes(StandardCharsets.UTF_8));
+
+        try {
+            GameStateSaver.writeAtomically(saveFile.getPath(), out -> {
+                out.write("parcial".getBytes(StandardCharsets.UTF_8));
+                throw new IOException("disco cheio");
+            });
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("disco cheio", e.getMessage());
+        }
+
+        assertEquals("antigo", new String(Files.readAllBytes(saveFile.toPath()), StandardCharsets.UTF_8));
+        assertEquals("Temporary file should be removed", 1, dir.listFiles().length);
+    }
+}
@@ -0,0 +1,111 @@
+package model.core.entities;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.List;
+import java.util.ArrayList;
+
+/**
+ * The standard 29-card deck (prison space and players set), with its draw
+ * and discard piles.
+ */
+public class LuckDeckPilesTest {
+    
+    private static final int DEFAULT_TIMEOUT = 2000;
+    
+    private LuckDeck createStandardDeck(long seed) {
+        LuckDeck deck = new LuckDeck(new GameRandom(seed));
+        deck.setPrisonSpace(new Prison("Prisão", null));
+        deck.setAllPlayers(new ArrayList<>());
+        return deck;
+    }
+    
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testResetReshufflesDiscardPileWithoutNewCards() {
+        LuckDeck deck = createStandardDeck(3L);
+        int fullSize = deck.size();
+        List<LuckCard> drawn = new ArrayList<>();
+        
+        while (!deck.isEmpty()) {
+            LuckCard card = deck.drawCard();
+            drawn.add(card);
+            deck.discard(card);
+        }
+        assertEquals(fullSize, deck.discardSize());
+        
+        deck.reset();
+        
+        assertEquals(fullSize, deck.size());
+        assertEquals(0, deck.discardSize());
+        for (int i = 0; i < fullSize; i++) {
+            LuckCard card = deck.drawCard();
+            assertTrue("Reset should reuse the same card objects", drawn.contains(card));
+        }
+    }
+    
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testHeldCardStaysOutUntilReturned() {
+        LuckDeck deck = createStandardDeck(5L);
+        int fullSize = deck.size();
+        
+        GetOutPrisonCard held = deck.takeGetOutPrisonCard();
+        assertNotNull(held);
+        assertEquals(fullSize - 1, deck.size());
+        
+        // Play the whole deck: the held card must not come back with the reshuffle
+        while (!deck.isEmpty()) {
+            deck.discard(deck.drawCard());
+        }
+        deck.reset();
+        assertEquals(fullSize - 1, deck.size());
+        
+        // Once used, it goes to the bottom of the deck
+        deck.returnToDeck(held);
+        assertEquals(fullSize, deck.size());
+        LuckCard last = null;
+        while (!deck.isEmpty()) {
+            last = deck.drawCard();
+        }
+        assertSame(held, last);
+    }
+    
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testSameSeedGivesSameDrawOrder() {
+        LuckDeck first = createStandardDeck(11L);
+        LuckDeck second = createStandardDeck(11L);
+        
+        while (!first.isEmpty()) {
+            assertEquals(first.drawCard().getImageId(), second.drawCard().getImageId());
+        }
+    }
+    
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testResetBringsBackCardsDrawnButNotDiscarded() {
+        LuckDeck deck = createStandardDeck(7L);
+        int fullSize = deck.size();
+        
+        deck.discard(deck.drawCard());
+        deck.drawCard();
+        deck.drawCard();
+        deck.reset();
+        
+        assertEquals(fullSize, deck.size());
+        assertEquals(0, deck.discardSize());
+    }
+    
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testPeekShowsNextCardWithoutDrawing() {
+        LuckDeck deck = createStandardDeck(13L);
+        int fullSize = deck.size();
+        
+        LuckCard top = deck.peekCard();
+        assertNotNull(top);
+        assertEquals(fullSize, deck.size());
+        assertSame(top, deck.drawCard());
+        
+        while (!deck.isEmpty()) {
+            deck.drawCard();
+        }
+        assertNull(deck.peekCard());
+    }
+}
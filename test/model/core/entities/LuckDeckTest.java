@@ -10,17 +10,35 @@ import java.util.ArrayList;
 
 public class LuckDeckTest {
     
+    /** Cards created once the deck has its prison space and players. */
+    private static final int STANDARD_DECK_SIZE = 29;
+    
     private LuckDeck luckDeck;
     
     @Before
     public void setUp() {
-        luckDeck = new LuckDeck();
+        luckDeck = createStandardDeck();
+    }
+    
+    private LuckDeck createStandardDeck() {
+        LuckDeck deck = new LuckDeck(new GameRandom(7L));
+        deck.setPrisonSpace(new Prison("Prisão", null));
+        deck.setAllPlayers(new ArrayList<>());
+        return deck;
+    }
+    
+    @Test
+    public void testConstructorStartsEmpty() {
+        // The cards are only created once the prison space and players are set
+        LuckDeck bareDeck = new LuckDeck();
+        assertTrue(bareDeck.isEmpty());
+        assertEquals(0, bareDeck.size());
     }
     
     @Test
     public void testConstructorInitializesDeck() {
         assertFalse(luckDeck.isEmpty());
-        assertEquals(5, luckDeck.size()); // Should have 5 default cards
+        assertEquals(STANDARD_DECK_SIZE, luckDeck.size());
     }
     
     @Test
@@ -34,7 +52,7 @@ public class LuckDeckTest {
     
     @Test
     public void testDrawCardFromEmptyDeck() {
-        LuckDeck emptyDeck = new LuckDeck();
+        LuckDeck emptyDeck = createStandardDeck();
         // Remove all cards by drawing them
         while (!emptyDeck.isEmpty()) {
             emptyDeck.drawCard();
@@ -70,7 +88,7 @@ public class LuckDeckTest {
     @Test
     public void testAddCard() {
         int initialSize = luckDeck.size();
-        ReceiveCard newCard = new ReceiveCard("Test card", 100);
+        ReceiveCard newCard = new ReceiveCard("test1", 100, "Test card");
         
         luckDeck.addCard(newCard);
         
@@ -105,13 +123,13 @@ public class LuckDeckTest {
     
     @Test
     public void testSize() {
-        assertEquals(5, luckDeck.size());
+        assertEquals(STANDARD_DECK_SIZE, luckDeck.size());
         
-        luckDeck.addCard(new PayCard(50, "Test"));
-        assertEquals(6, luckDeck.size());
+        luckDeck.addCard(new PayCard("test2", 50, "Test"));
+        assertEquals(STANDARD_DECK_SIZE + 1, luckDeck.size());
         
-        luckDeck.addCard(new ReceiveCard("Test2", 75));
-        assertEquals(7, luckDeck.size());
+        luckDeck.addCard(new ReceiveCard("test3", 75, "Test2"));
+        assertEquals(STANDARD_DECK_SIZE + 2, luckDeck.size());
     }
     
     @Test
@@ -129,7 +147,7 @@ public class LuckDeckTest {
     @Test
     public void testDrawCardRemovesFromDeck() {
         // Create a deck with known cards
-        LuckDeck testDeck = new LuckDeck();
+        LuckDeck testDeck = createStandardDeck();
         int initialSize = testDeck.size();
         
         // Draw first card
@@ -150,7 +168,7 @@ public class LuckDeckTest {
     @Test
     public void testEmptyDeckBehavior() {
         // Create a small deck and empty it
-        LuckDeck smallDeck = new LuckDeck();
+        LuckDeck smallDeck = createStandardDeck();
         List<LuckCard> drawnCards = new ArrayList<>();
         
         // Draw all cards
@@ -166,7 +184,7 @@ public class LuckDeckTest {
         assertNull(smallDeck.drawCard());
         
         // Add a card back
-        smallDeck.addCard(new ReceiveCard("New card", 100));
+        smallDeck.addCard(new ReceiveCard("test4", 100, "New card"));
         assertFalse(smallDeck.isEmpty());
         assertEquals(1, smallDeck.size());
         
@@ -213,8 +231,8 @@ public class LuckDeckTest {
         assertEquals(initialSize - 2, luckDeck.size());
         
         // Add some cards (size increases)
-        luckDeck.addCard(new ReceiveCard("Bonus", 150));
-        luckDeck.addCard(new PayCard(75, "Tax"));
+        luckDeck.addCard(new ReceiveCard("test5", 150, "Bonus"));
+        luckDeck.addCard(new PayCard("test6", 75, "Tax"));
         assertEquals(initialSize, luckDeck.size()); // Back to original size
         
         // Shuffle
@@ -235,17 +253,20 @@ public class LuckDeckTest {
         int initialSize = luckDeck.size();
         
         // Draw some cards
-        luckDeck.drawCard();
-        luckDeck.drawCard();
-        luckDeck.drawCard();
+        int held = 0;
+        for (int i = 0; i < 3; i++) {
+            if (luckDeck.drawCard() instanceof GetOutPrisonCard) {
+                held++; // kept by the player who drew it
+            }
+        }
         
         assertTrue(luckDeck.size() < initialSize);
         
         // Reset the deck
         luckDeck.reset();
         
-        // Should be back to initial size
-        assertEquals(initialSize, luckDeck.size());
+        // Should be back to initial size, except for a held prison card
+        assertEquals(initialSize - held, luckDeck.size());
         assertFalse(luckDeck.isEmpty());
         
         // Should be able to draw cards again
@@ -262,10 +283,11 @@ public class LuckDeckTest {
         assertTrue(luckDeck.isEmpty());
         assertEquals(0, luckDeck.size());
         
-        // Reset should restore the deck
+        // Reset should restore the deck, except for the prison card a
+        // player now holds
         luckDeck.reset();
         
-        assertEquals(5, luckDeck.size()); // Should have 5 default cards
+        assertEquals(STANDARD_DECK_SIZE - 1, luckDeck.size());
         assertFalse(luckDeck.isEmpty());
         assertNotNull(luckDeck.drawCard());
-    }}
+    }}
\ No newline at end of file
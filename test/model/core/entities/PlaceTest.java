@@ -459,4 +459,21 @@ public class PlaceTest {
         place.buildHotel();
         assertEquals("House + Hotel = 900", 900, place.calculateRent()); // 400 + 500
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testRentTableFollowsFormulaForEveryBuildingState() {
+        // Vb = 10% of cost, Vc = 15% of cost per house, plus hotel rent
+        int baseRent = (int) (place.getCost() * 0.10);
+        int rentPerHouse = (int) (place.getCost() * 0.15);
+        
+        for (int houses = 0; houses <= 4; houses++) {
+            place.setHouses(houses);
+            place.setHotels(0);
+            assertEquals(baseRent + rentPerHouse * houses, place.calculateRent());
+            assertEquals(place.calculateRent(), place.getCurrentRent());
+            
+            place.setHotels(1);
+            assertEquals(baseRent + rentPerHouse * houses + place.getHotelRent(), place.calculateRent());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package model.core.entities;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PlayerTableTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+    private Board board;
+    private PlayerTable table;
+    private List<Player> players;
+
+    @Before
+    public void setUp() {
+        board = BoardInitializer.createStandardBoard(new GameRandom(1L));
+        table = new PlayerTable(2);
+        players = new ArrayList<>();
+        for (String name : Arrays.asList("Ana", "Bruno", "Carla")) {
+            players.add(new Player(name, new Car("Azul", board, 0), table, 1000));
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testPlayersAreViewsOverTheirRows() {
+        assertEquals(3, table.size());
+        Player bruno = players.get(1);
+
+        bruno.debit(300);
+        bruno.getCar().advancePosition(7);
+        bruno.sendToPrison(board.getPrisonSpace());
+        bruno.incrementTurnsInPrison();
+
+        int row = bruno.getRow();
+        assertEquals(700, table.getBalance(row));
+        assertEquals(board.getPosition(board.getPrisonSpace()), table.getPosition(row));
+        assertTrue(table.isInPrison(row));
+        assertEquals(1, table.getTurnsInPrison(row));
+        assertEquals(1000, players.get(0).getBalance());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testDeactivatedRowsAreSkipped() {
+        players.get(0).credit(5000);
+        table.deactivate(players.get(0).getRow());
+
+        assertEquals(2, table.activeCount());
+        assertEquals(1000, table.maxActiveBalance());
+
+        assertEquals(1, table.collectFromOthers(players.get(1).getRow(), 50));
+        assertEquals(1050, players.get(1).getBalance());
+        assertEquals(950, players.get(2).getBalance());
+        assertEquals(6000, players.get(0).getBalance());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testReceiveFromOthersCardUsesTable() {
+        ReceiveFromOthersCard card = new ReceiveFromOthersCard("chance1", 50, "Aniversário");
+        card.setAllPlayers(players);
+
+        assertTrue(card.use(players.get(2)));
+
+        assertEquals(1100, players.get(2).getBalance());
+        assertEquals(950, players.get(0).getBalance());
+        assertEquals(950, players.get(1).getBalance());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testLoadedGameSharesOneTable() throws Exception {
+        ModelFacade facade = new ModelFacade();
+        facade.initializeGame(3, Arrays.asList("Ana", "Bruno", "Carla"),
+                              Arrays.asList("Vermelho", "Azul", "Laranja"), 4L);
+        facade.eliminateCurrentPlayer();
+
+        ModelFacade copy = GameStateBinaryCodec.restore(GameStateBinaryCodec.capture(facade),
+                                                        BoardInitializer.createStandardBoard());
+
+        PlayerTable loaded = copy.getAllPlayers().get(0).getTable();
+        assertSame(loaded, copy.getAllPlayers().get(1).getTable());
+        assertEquals(2, loaded.activeCount());
+        assertEquals(facade.getRichestPlayers(), copy.getRichestPlayers());
+    }
+}
@@ -0,0 +1,156 @@
+package model.simulation;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+import com.sun.management.ThreadMXBean;
+
+import model.core.entities.ModelFacade;
+
+public class BotTournamentTest {
+
+    private static final int DEFAULT_TIMEOUT = 10000;
+    private ModelFacade facade;
+
+    @Before
+    public void setUp() {
+        List<String> names = Arrays.asList("Ana", "Bruno", "Carla");
+        List<String> colors = Arrays.asList("Vermelho", "Azul", "Laranja");
+        facade = new ModelFacade();
+        facade.initializeGame(names.size(), names, colors, 11L);
+    }
+
+    /** Puts the current player on Leblon, which has no owner. */
+    private void landOnFreeProperty() {
+        facade.rollDiceManual(1, 2);
+        facade.moveCurrentPlayer(1);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testCashThresholdKeepsItsReserve() {
+        landOnFreeProperty();
+        int balance = facade.getCurrentPlayerBalance();
+        int cost = facade.getCurrentPropertyCost();
+        assertTrue(cost > 0);
+
+        assertTrue(new CashThresholdPolicy(balance - cost).shouldBuyProperty(facade));
+        assertFalse(new CashThresholdPolicy(balance - cost + 1).shouldBuyProperty(facade));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testColorSetBuysIntoFreeGroupWhateverTheReserve() {
+        landOnFreeProperty();
+        assertTrue(new ColorSetPolicy(Integer.MAX_VALUE).shouldBuyProperty(facade));
+        assertTrue(facade.buyCurrentProperty());
+        // Owns one place of the group only: no house yet
+        assertFalse(new ColorSetPolicy().shouldBuildHouse(facade));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testChooseSaleIsSellableOrNone() {
+        DecisionPolicy[] bots = {new AlwaysBuyPolicy(), new CashThresholdPolicy(), new ColorSetPolicy()};
+        for (DecisionPolicy bot : bots) {
+            assertEquals(-1, bot.chooseSale(facade));
+        }
+        landOnFreeProperty();
+        facade.buyCurrentProperty();
+        int leblon = facade.getCurrentPlayerPosition();
+        // Not in the turn it was bought
+        for (DecisionPolicy bot : bots) {
+            assertEquals(-1, bot.chooseSale(facade));
+        }
+        for (int i = 0; i < 3; i++) {
+            facade.nextTurn();
+        }
+        for (DecisionPolicy bot : bots) {
+            assertEquals(leblon, bot.chooseSale(facade));
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testBotMoveOnCopyMatchesLiveGame() {
+        DecisionPolicy bot = new ColorSetPolicy();
+        for (int roll = 0; roll < 300 && facade.countActivePlayers() > 1; roll++) {
+            ModelFacade copy = facade.copy();
+            BotMove planned = BotMove.play(copy, bot);
+            BotMove played = BotMove.play(facade, bot);
+
+            assertEquals(planned.getStateHash(), played.getStateHash());
+            assertEquals(copy.getStateHash(), facade.getStateHash());
+            assertEquals(planned.bought(), played.bought());
+            assertEquals(planned.getSales(), played.getSales());
+            if (!played.rollsAgain() && !played.eliminated()) {
+                facade.nextTurn();
+            }
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testDecisionsDoNotAllocate() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean)) {
+            return; // no per-thread allocation counter on this JVM
+        }
+        ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        bean.setThreadAllocatedMemoryEnabled(true);
+
+        // Leblon owned and sellable, so chooseSale walks the properties and
+        // the color group of every one it can sell
+        landOnFreeProperty();
+        facade.buyCurrentProperty();
+        for (int i = 0; i < 3; i++) {
+            facade.nextTurn();
+        }
+        DecisionPolicy[] bots = {new CashThresholdPolicy(), new ColorSetPolicy()};
+        int decisions = 20000;
+        decide(bots, decisions); // warm-up
+
+        long threadId = Thread.currentThread().getId();
+        long before = bean.getThreadAllocatedBytes(threadId);
+        int checksum = decide(bots, decisions);
+        long allocated = bean.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(checksum != 0);
+        // Cloning the board arrays cost kilobytes per decision; allow less
+        // than one byte per decision for the measurement itself
+        assertTrue("allocated " + allocated + " bytes", allocated < decisions);
+    }
+
+    private int decide(DecisionPolicy[] bots, int decisions) {
+        int checksum = 0;
+        for (int i = 0; i < decisions; i++) {
+            DecisionPolicy bot = bots[i % bots.length];
+            checksum += bot.chooseSale(facade);
+            checksum += bot.shouldBuyProperty(facade) ? 1 : 0;
+            checksum += bot.shouldBuildHouse(facade) ? 1 : 0;
+        }
+        return checksum;
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testTournamentCountsWinsByBotName() {
+        BotTournament tournament = new BotTournament(300, 2)
+                .add("Guloso", new AlwaysBuyPolicy())
+                .add("Reserva", new CashThresholdPolicy())
+                .add("Cores", new ColorSetPolicy());
+        SimulationReport report = tournament.run(20, 3L);
+
+        assertEquals(20, report.getGames());
+        int wins = 0;
+        for (String name : report.getWinsByPlayer().keySet()) {
+            assertTrue(Arrays.asList("Guloso", "Reserva", "Cores").contains(name));
+            wins += report.getWinsByPlayer().get(name);
+        }
+        assertTrue(wins <= report.getGames());
+        assertTrue(report.sameOutcomeAs(tournament.run(20, 3L)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsDuplicateBotName() {
+        new BotTournament().add("Bot", new AlwaysBuyPolicy()).add("Bot", new ColorSetPolicy());
+    }
+}
@@ -0,0 +1,37 @@
+package model.simulation;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class HeadlessSimulatorTest {
+
+    private static final int DEFAULT_TIMEOUT = 10000;
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testRunPlaysRequestedNumberOfGames() {
+        HeadlessSimulator simulator = new HeadlessSimulator(3, new AlwaysBuyPolicy(), 200);
+        SimulationReport report = simulator.run(5);
+
+        assertEquals(5, report.getGames());
+        assertTrue("Games should have at least one turn", report.getTotalTurns() > 0);
+        assertTrue("Turn limit must be respected", report.getTotalTurns() <= 5 * 200);
+        assertTrue(report.getGamesPerSecond() > 0);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testEveryFinishedGameHasAtMostOneWinner() {
+        HeadlessSimulator simulator = new HeadlessSimulator(2, new AlwaysBuyPolicy(), 100);
+        SimulationReport report = simulator.run(10);
+
+        int wins = 0;
+        for (int w : report.getWinsByPlayer().values()) {
+            wins += w;
+        }
+        assertTrue(wins <= report.getGames());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsSinglePlayer() {
+        new HeadlessSimulator(1, new AlwaysBuyPolicy(), 100);
+    }
+}
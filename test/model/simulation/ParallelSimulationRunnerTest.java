@@ -0,0 +1,32 @@
+package model.simulation;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ParallelSimulationRunnerTest {
+
+    private static final int DEFAULT_TIMEOUT = 30000;
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testSameSeedGivesSameReportForAnyThreadCount() {
+        HeadlessSimulator simulator = new HeadlessSimulator(4, new AlwaysBuyPolicy(), 150);
+
+        SimulationReport single = new ParallelSimulationRunner(simulator, 1).run(40, 1234L);
+        SimulationReport multi = new ParallelSimulationRunner(simulator, 4).run(40, 1234L);
+        SimulationReport sequential = simulator.run(40, 1234L);
+
+        assertTrue("1 and 4 threads must agree", single.sameOutcomeAs(multi));
+        assertTrue("Parallel and sequential runs must agree", single.sameOutcomeAs(sequential));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testDifferentSeedsGiveDifferentGames() {
+        HeadlessSimulator simulator = new HeadlessSimulator(4, new AlwaysBuyPolicy(), 150);
+        ParallelSimulationRunner runner = new ParallelSimulationRunner(simulator, 2);
+
+        SimulationReport first = runner.run(40, 1L);
+        SimulationReport second = runner.run(40, 2L);
+
+        assertFalse(first.sameOutcomeAs(second));
+    }
+}
@@ -0,0 +1,107 @@
+package model.simulation;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import model.core.entities.ModelFacade;
+
+public class PurchaseAdvisorTest {
+
+    private static final int DEFAULT_TIMEOUT = 10000;
+    private ModelFacade facade;
+    private PurchaseAdvisor advisor;
+
+    @Before
+    public void setUp() {
+        List<String> names = Arrays.asList("Ana", "Bruno", "Carla");
+        List<String> colors = Arrays.asList("Vermelho", "Azul", "Laranja");
+        facade = new ModelFacade();
+        facade.initializeGame(names.size(), names, colors, 5L);
+        advisor = new PurchaseAdvisor(2, 64, 20, 60000);
+    }
+
+    @After
+    public void tearDown() {
+        advisor.shutdown();
+    }
+
+    /** Puts the current player on Leblon, which has no owner. */
+    private void landOnFreeProperty() {
+        facade.rollDiceManual(1, 2);
+        facade.moveCurrentPlayer(1);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testNothingToAdviseBeforeRolling() {
+        assertNull(PurchaseAdvisor.choiceFor(facade));
+        assertNull(advisor.start(facade));
+        assertNull(advisor.advise(facade));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testAdvisesBuyingWithoutTouchingTheGame() {
+        landOnFreeProperty();
+        long hash = facade.getStateHash();
+        List<String> nextCards = facade.getLikelyNextCardImageIds();
+
+        PurchaseAdvice advice = advisor.advise(facade);
+        assertEquals(PurchaseAdvisor.Choice.BUY, advice.getChoice());
+        assertEquals("Ana", advice.getPlayerName());
+        assertEquals(64, advice.getRollouts());
+        assertFalse(advice.isCancelled());
+        assertEquals(advice.getActDelta() - advice.getPassDelta(), advice.getGain(), 1e-9);
+
+        assertEquals(hash, facade.getStateHash());
+        assertEquals(nextCards, facade.getLikelyNextCardImageIds());
+        assertTrue(facade.getCurrentPlayerProperties().isEmpty());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testSameStateGivesSameAdviceForAnyWorkerCount() {
+        landOnFreeProperty();
+        PurchaseAdvisor single = new PurchaseAdvisor(1, 64, 20, 60000);
+        try {
+            PurchaseAdvice one = single.advise(facade);
+            PurchaseAdvice two = advisor.advise(facade);
+            assertEquals(one.getActDelta(), two.getActDelta(), 1e-9);
+            assertEquals(one.getPassDelta(), two.getPassDelta(), 1e-9);
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testStopsAtTheTimeBudget() {
+        landOnFreeProperty();
+        PurchaseAdvisor hurried = new PurchaseAdvisor(2, 1_000_000, 40, 50);
+        try {
+            long start = System.nanoTime();
+            PurchaseAdvice advice = hurried.advise(facade);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            assertTrue(advice.getRollouts() < 1_000_000);
+            assertTrue("took " + elapsedMillis + " ms", elapsedMillis < 1000);
+        } finally {
+            hurried.shutdown();
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testCancelStopsTheRequest() {
+        landOnFreeProperty();
+        PurchaseAdvisor slow = new PurchaseAdvisor(2, 1_000_000, 40, 60000);
+        try {
+            PurchaseAdvisor.Request request = slow.start(facade);
+            request.cancel();
+            PurchaseAdvice advice = request.join();
+            assertTrue(advice.isCancelled());
+            assertTrue(request.isDone());
+        } finally {
+            slow.shutdown();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package model.simulation;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.core.entities.GameRecording;
+import model.core.entities.ModelFacade;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class ReplayEngineTest {
+
+    private static final int DEFAULT_TIMEOUT = 10000;
+    private static final List<String> NAMES = Arrays.asList("Jogador1", "Jogador2", "Jogador3");
+    private static final List<String> COLORS = Arrays.asList("Vermelho", "Azul", "Laranja");
+
+    /**
+     * Plays a recorded game with the simulator's turn flow, plus one manual roll
+     */
+    private ModelFacade playRecordedGame(long seed, int turns) {
+        HeadlessSimulator simulator = new HeadlessSimulator(NAMES.size(), new AlwaysBuyPolicy(), turns);
+        ModelFacade game = new ModelFacade();
+        game.initializeGame(NAMES.size(), NAMES, COLORS, seed);
+        game.startRecording();
+
+        game.rollDiceManual(3, 4);
+        game.moveCurrentPlayer(7);
+        game.handleManualLuckCard();
+        game.nextTurn();
+        for (int i = 1; i < turns && game.countActivePlayers() > 1; i++) {
+            simulator.playTurn(game);
+        }
+        return game;
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testReplayMatchesEveryCheckpoint() throws IOException {
+        ModelFacade original = playRecordedGame(42L, 150);
+        GameRecording recording = original.getRecording();
+
+        File file = File.createTempFile("replay_test", ".rec");
+        try {
+            recording.saveToFile(file.getPath());
+            GameRecording loaded = GameRecording.loadFromFile(file.getPath());
+            assertEquals(recording.size(), loaded.size());
+
+            ReplayEngine replay = new ReplayEngine(loaded);
+            assertEquals(recording.getTurns(), replay.runToEnd());
+            assertTrue(replay.isFinished());
+            assertEquals(original.getStateHash(), replay.getGame().getStateHash());
+            assertEquals(original.getAllPlayerPositions(), replay.getGame().getAllPlayerPositions());
+            assertEquals(original.getAllPropertiesWithOwners(), replay.getGame().getAllPropertiesWithOwners());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testStepTurnStopsAfterTurnChange() {
+        GameRecording recording = playRecordedGame(7L, 20).getRecording();
+        ReplayEngine replay = new ReplayEngine(recording);
+
+        int played = replay.stepTurn();
+
+        assertEquals(1, replay.getTurn());
+        assertEquals(played, replay.getPosition());
+        assertEquals(GameRecording.Action.NEXT_TURN, recording.getEvent(played - 1).getAction());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testOffScriptChangeIsReported() {
+        GameRecording recording = playRecordedGame(3L, 20).getRecording();
+        ReplayEngine replay = new ReplayEngine(recording);
+        replay.stepTurn();
+
+        // A call that is not in the recording
+        replay.getGame().rollDice();
+
+        try {
+            replay.runToEnd();
+            fail("Replay should have diverged");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("diverged"));
+        }
+    }
+}
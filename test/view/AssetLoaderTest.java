@@ -0,0 +1,86 @@
+package view;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+
+public class AssetLoaderTest {
+
+    private static final int DEFAULT_TIMEOUT = 5000;
+    private AssetLoader loader;
+    private File dir;
+
+    @Before
+    public void setUp() throws IOException {
+        loader = new AssetLoader(null, 2);
+        dir = java.nio.file.Files.createTempDirectory("assets-test").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        loader.shutdown();
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    private String writeImage(String name, int width, int height) throws IOException {
+        File file = new File(dir, name + ".png");
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", file);
+        return file.getPath();
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testLoadsAllImagesInBackground() throws Exception {
+        Map<String, String> paths = new LinkedHashMap<>();
+        for (int i = 0; i < 8; i++) {
+            paths.put("img" + i, writeImage("img" + i, 10 + i, 20));
+        }
+
+        loader.loadAll(paths);
+
+        assertTrue(loader.awaitAll(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+        assertTrue(loader.isDone());
+        assertEquals(8, loader.getLoadedCount());
+        assertEquals(8, loader.getTotalCount());
+        for (int i = 0; i < 8; i++) {
+            BufferedImage image = loader.get("img" + i);
+            assertNotNull(image);
+            assertEquals(10 + i, image.getWidth());
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testMissingImageCountsAsDoneAndStaysNull() throws Exception {
+        Map<String, String> paths = new LinkedHashMap<>();
+        paths.put("ok", writeImage("ok", 5, 5));
+        paths.put("missing", new File(dir, "nao-existe.png").getPath());
+
+        loader.loadAll(paths);
+
+        assertTrue(loader.awaitAll(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+        assertNotNull(loader.get("ok"));
+        assertNull(loader.get("missing"));
+        assertEquals(2, loader.getLoadedCount());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testNothingRequestedIsDone() throws Exception {
+        assertTrue(loader.isDone());
+        assertTrue(loader.awaitAll(1, TimeUnit.MILLISECONDS));
+        assertNull(loader.get("tabuleiro"));
+    }
+}
@@ -0,0 +1,99 @@
+package view;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import javax.imageio.ImageIO;
+
+public class ImageCacheTest {
+
+    private static final int DEFAULT_TIMEOUT = 5000;
+    // Imagens de 10x10 em INT_ARGB ocupam 400 bytes
+    private static final long IMAGE_BYTES = 400;
+    private ImageCache cache;
+    private File dir;
+
+    @Before
+    public void setUp() throws IOException {
+        cache = new ImageCache(null, 3 * IMAGE_BYTES);
+        dir = java.nio.file.Files.createTempDirectory("cache-test").toFile();
+        for (String name : new String[]{"a", "b", "c", "d"}) {
+            File file = new File(dir, name + ".png");
+            ImageIO.write(new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB), "png", file);
+            cache.register(name, file.getPath());
+        }
+    }
+
+    @After
+    public void tearDown() {
+        cache.shutdown();
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    private void waitFor(String key) throws InterruptedException {
+        while (!cache.contains(key)) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testEvictsLeastRecentlyUsedOverBudget() throws Exception {
+        cache.load("a");
+        cache.load("b");
+        cache.load("c");
+        assertEquals(3 * IMAGE_BYTES, cache.getUsedBytes());
+
+        // "a" foi usada por último, então "b" é a mais antiga
+        assertNotNull(cache.get("a"));
+        cache.load("d");
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertTrue(cache.contains("d"));
+        assertEquals(1, cache.getEvictions());
+        assertTrue(cache.getUsedBytes() <= cache.getBudgetBytes());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testGetLoadsOnDemandInBackground() throws Exception {
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.getMisses());
+
+        waitFor("a");
+
+        assertNotNull(cache.get("a"));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testPrefetchLoadsAheadOfUse() throws Exception {
+        cache.prefetch(Arrays.asList("c", "d"));
+
+        waitFor("c");
+        waitFor("d");
+
+        assertNotNull(cache.get("c"));
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testUnknownKeyIsNotCached() throws Exception {
+        assertNull(cache.get("Início"));
+        assertNull(cache.load("Início"));
+        assertEquals(0, cache.getMisses());
+        assertEquals(0, cache.size());
+    }
+}